@@ -51,6 +51,8 @@ INSERT INTO scrty_fn_lk VALUES('FN_BUSINESS_OBJECT_FORMATS_GENERATE_DDL_POST','F
 INSERT INTO scrty_fn_lk VALUES('FN_BUSINESS_OBJECT_FORMATS_GET','FN_BUSINESS_OBJECT_FORMATS_GET','FN_BUSINESS_OBJECT_FORMATS_GET',current_timestamp,'SYSTEM',current_timestamp,'SYSTEM');
 INSERT INTO scrty_fn_lk VALUES('FN_BUSINESS_OBJECT_FORMATS_POST','FN_BUSINESS_OBJECT_FORMATS_POST','FN_BUSINESS_OBJECT_FORMATS_POST',current_timestamp,'SYSTEM',current_timestamp,'SYSTEM');
 INSERT INTO scrty_fn_lk VALUES('FN_BUSINESS_OBJECT_FORMATS_PUT','FN_BUSINESS_OBJECT_FORMATS_PUT','FN_BUSINESS_OBJECT_FORMATS_PUT',current_timestamp,'SYSTEM',current_timestamp,'SYSTEM');
+INSERT INTO scrty_fn_lk VALUES('FN_CACHES_ALL_GET','FN_CACHES_ALL_GET','FN_CACHES_ALL_GET',current_timestamp,'SYSTEM',current_timestamp,'SYSTEM');
+INSERT INTO scrty_fn_lk VALUES('FN_CACHES_DELETE','FN_CACHES_DELETE','FN_CACHES_DELETE',current_timestamp,'SYSTEM',current_timestamp,'SYSTEM');
 INSERT INTO scrty_fn_lk VALUES('FN_CUSTOM_DDLS_ALL_GET','FN_CUSTOM_DDLS_ALL_GET','FN_CUSTOM_DDLS_ALL_GET',current_timestamp,'SYSTEM',current_timestamp,'SYSTEM');
 INSERT INTO scrty_fn_lk VALUES('FN_CUSTOM_DDLS_DELETE','FN_CUSTOM_DDLS_DELETE','FN_CUSTOM_DDLS_DELETE',current_timestamp,'SYSTEM',current_timestamp,'SYSTEM');
 INSERT INTO scrty_fn_lk VALUES('FN_CUSTOM_DDLS_GET','FN_CUSTOM_DDLS_GET','FN_CUSTOM_DDLS_GET',current_timestamp,'SYSTEM',current_timestamp,'SYSTEM');
@@ -0,0 +1,88 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+-- Adds the business object data latest version table to an existing herd database.
+--
+-- The table keeps, per business object format, partition values, storage and business object data status, the latest business object data version that
+-- has a storage unit in that storage. herd maintains the rows whenever business object data or storage units are saved or deleted, and uses them instead of
+-- aggregating over the whole business object data history when it looks up the latest data versions for availability and DDL generation. The script below
+-- creates the table and backfills it from the existing business object data.
+--
+-- The same table is included in herd.postgres.create.sql for new installations.
+
+SET statement_timeout = 0;
+SET lock_timeout = 0;
+SET client_encoding = 'UTF8';
+SET standard_conforming_strings = on;
+SET check_function_bodies = false;
+SET client_min_messages = warning;
+
+CREATE TABLE bus_objct_data_ltst_vrsn (
+    bus_objct_data_ltst_vrsn_id bigint NOT NULL,
+    bus_objct_frmt_id bigint NOT NULL,
+    prtn_value_tx character varying(50) NOT NULL,
+    prtn_value_2_tx character varying(30),
+    prtn_value_3_tx character varying(30),
+    prtn_value_4_tx character varying(30),
+    prtn_value_5_tx character varying(30),
+    strge_cd character varying(25) NOT NULL,
+    bus_objct_data_stts_cd character varying(20) NOT NULL,
+    vrsn_nb bigint NOT NULL,
+    creat_ts timestamp without time zone DEFAULT ('now'::text)::timestamp without time zone NOT NULL,
+    creat_user_id character varying(100) NOT NULL,
+    updt_ts timestamp without time zone DEFAULT ('now'::text)::timestamp without time zone NOT NULL,
+    updt_user_id character varying(100)
+);
+
+CREATE SEQUENCE bus_objct_data_ltst_vrsn_seq
+    START WITH 1
+    INCREMENT BY 1
+    NO MINVALUE
+    NO MAXVALUE
+    CACHE 20;
+
+ALTER TABLE ONLY bus_objct_data_ltst_vrsn
+    ADD CONSTRAINT bus_objct_data_ltst_vrsn_pk PRIMARY KEY (bus_objct_data_ltst_vrsn_id);
+
+CREATE INDEX bus_objct_data_ltst_vrsn_ix1 ON bus_objct_data_ltst_vrsn USING btree (bus_objct_frmt_id, prtn_value_tx, strge_cd);
+
+CREATE INDEX bus_objct_data_ltst_vrsn_ix2 ON bus_objct_data_ltst_vrsn USING btree (strge_cd);
+
+CREATE INDEX bus_objct_data_ltst_vrsn_ix3 ON bus_objct_data_ltst_vrsn USING btree (bus_objct_data_stts_cd);
+
+ALTER TABLE ONLY bus_objct_data_ltst_vrsn
+    ADD CONSTRAINT bus_objct_data_ltst_vrsn_fk1 FOREIGN KEY (bus_objct_frmt_id) REFERENCES bus_objct_frmt(bus_objct_frmt_id) DEFERRABLE INITIALLY DEFERRED;
+
+ALTER TABLE ONLY bus_objct_data_ltst_vrsn
+    ADD CONSTRAINT bus_objct_data_ltst_vrsn_fk2 FOREIGN KEY (strge_cd) REFERENCES strge(strge_cd) DEFERRABLE INITIALLY DEFERRED;
+
+ALTER TABLE ONLY bus_objct_data_ltst_vrsn
+    ADD CONSTRAINT bus_objct_data_ltst_vrsn_fk3 FOREIGN KEY (bus_objct_data_stts_cd) REFERENCES bus_objct_data_stts_cd_lk(bus_objct_data_stts_cd) DEFERRABLE INITIALLY DEFERRED;
+
+-- Backfill the latest versions from the existing business object data.
+
+INSERT INTO bus_objct_data_ltst_vrsn (bus_objct_data_ltst_vrsn_id, bus_objct_frmt_id, prtn_value_tx, prtn_value_2_tx, prtn_value_3_tx, prtn_value_4_tx,
+    prtn_value_5_tx, strge_cd, bus_objct_data_stts_cd, vrsn_nb, creat_user_id, updt_user_id)
+SELECT nextval('bus_objct_data_ltst_vrsn_seq'), t.bus_objct_frmt_id, t.prtn_value_tx, t.prtn_value_2_tx, t.prtn_value_3_tx, t.prtn_value_4_tx,
+    t.prtn_value_5_tx, t.strge_cd, t.bus_objct_data_stts_cd, t.vrsn_nb, 'SYSTEM', 'SYSTEM'
+FROM (SELECT bd.bus_objct_frmt_id, bd.prtn_value_tx, bd.prtn_value_2_tx, bd.prtn_value_3_tx, bd.prtn_value_4_tx, bd.prtn_value_5_tx, su.strge_cd,
+          bd.bus_objct_data_stts_cd, max(bd.vrsn_nb) AS vrsn_nb
+      FROM bus_objct_data bd
+          JOIN strge_unit su ON (su.bus_objct_data_id = bd.bus_objct_data_id)
+      GROUP BY bd.bus_objct_frmt_id, bd.prtn_value_tx, bd.prtn_value_2_tx, bd.prtn_value_3_tx, bd.prtn_value_4_tx, bd.prtn_value_5_tx, su.strge_cd,
+          bd.bus_objct_data_stts_cd) t;
+
+ANALYZE bus_objct_data_ltst_vrsn;
@@ -0,0 +1,38 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+-- Adds the claim columns to the JMS message queue table of an existing herd database.
+--
+-- JMS messages are published by several workers on several herd nodes at the same time. Each worker claims a slice of the oldest messages by recording its
+-- claim and the claim expiration in the columns below, publishes the claimed messages and deletes them. Messages that fail to publish stay claimed until
+-- the claim expires, after which any worker can claim them again.
+--
+-- The same columns and indexes are included in herd.postgres.create.sql for new installations.
+
+SET statement_timeout = 0;
+SET lock_timeout = 0;
+SET client_encoding = 'UTF8';
+SET standard_conforming_strings = on;
+SET check_function_bodies = false;
+SET client_min_messages = warning;
+
+ALTER TABLE jms_msg ADD COLUMN clm_by_tx character varying(100);
+
+ALTER TABLE jms_msg ADD COLUMN clm_exprn_ts timestamp without time zone;
+
+CREATE INDEX jms_msg_ix1 ON jms_msg USING btree (jms_queue_nm);
+
+CREATE INDEX jms_msg_ix2 ON jms_msg USING btree (clm_by_tx);
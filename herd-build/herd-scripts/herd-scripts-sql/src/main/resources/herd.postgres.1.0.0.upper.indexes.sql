@@ -0,0 +1,82 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+
+-- Adds upper() functional indexes to an existing herd database.
+--
+-- herd looks up alternate keys case-insensitively, i.e. the generated SQL compares UPPER(column) with an upper-cased parameter. The plain btree indexes on
+-- those columns can not be used for such predicates, so PostgreSQL falls back to sequential scans of the relative tables. The indexes below match the
+-- UPPER(column) predicates, so the optimizer can use index scans for them. Since the application enforces case-insensitive uniqueness of the alternate keys,
+-- the indexes are created as non-unique to avoid failing on any legacy data.
+--
+-- The same indexes are included in herd.postgres.create.sql for new installations.
+
+SET statement_timeout = 0;
+SET lock_timeout = 0;
+SET client_encoding = 'UTF8';
+SET standard_conforming_strings = on;
+SET check_function_bodies = false;
+SET client_min_messages = warning;
+
+-- Namespace, business object definition and business object format alternate keys.
+
+CREATE INDEX name_space_ix1 ON name_space USING btree (upper((name_space_cd)::text));
+
+CREATE INDEX bus_objct_dfntn_ix3 ON bus_objct_dfntn USING btree (name_space_cd, upper((name_tx)::text));
+
+CREATE INDEX bus_objct_frmt_ix4 ON bus_objct_frmt USING btree (bus_objct_dfntn_id, upper((usage_cd)::text), file_type_cd, frmt_vrsn_nb);
+
+-- Reference data codes.
+
+CREATE INDEX file_type_cd_lk_ix1 ON file_type_cd_lk USING btree (upper((file_type_cd)::text));
+
+CREATE INDEX strge_ix2 ON strge USING btree (upper((strge_cd)::text));
+
+CREATE INDEX bus_objct_data_stts_cd_lk_ix1 ON bus_objct_data_stts_cd_lk USING btree (upper((bus_objct_data_stts_cd)::text));
+
+CREATE INDEX data_prvdr_ix1 ON data_prvdr USING btree (upper((data_prvdr_cd)::text));
+
+CREATE INDEX prtn_key_group_ix1 ON prtn_key_group USING btree (upper((prtn_key_group_tx)::text));
+
+CREATE INDEX ntfcn_event_type_cd_lk_ix1 ON ntfcn_event_type_cd_lk USING btree (upper((ntfcn_event_type_cd)::text));
+
+CREATE INDEX scrty_role_ix1 ON scrty_role USING btree (upper((scrty_role_cd)::text));
+
+-- Alternate keys of the namespace and business object format scoped entities.
+
+CREATE INDEX cstm_ddl_ix2 ON cstm_ddl USING btree (bus_objct_frmt_id, upper((name_tx)::text));
+
+CREATE INDEX job_dfntn_ix3 ON job_dfntn USING btree (name_space_cd, upper((name_tx)::text));
+
+CREATE INDEX emr_clstr_dfntn_ix2 ON emr_clstr_dfntn USING btree (name_space_cd, upper((name_tx)::text));
+
+CREATE INDEX ntfcn_rgstn_ix7 ON ntfcn_rgstn USING btree (name_space_cd, upper((name_tx)::text));
+
+-- Refresh the planner statistics, so the new indexes get considered right away.
+
+ANALYZE name_space;
+ANALYZE bus_objct_dfntn;
+ANALYZE bus_objct_frmt;
+ANALYZE file_type_cd_lk;
+ANALYZE strge;
+ANALYZE bus_objct_data_stts_cd_lk;
+ANALYZE data_prvdr;
+ANALYZE prtn_key_group;
+ANALYZE ntfcn_event_type_cd_lk;
+ANALYZE scrty_role;
+ANALYZE cstm_ddl;
+ANALYZE job_dfntn;
+ANALYZE emr_clstr_dfntn;
+ANALYZE ntfcn_rgstn;
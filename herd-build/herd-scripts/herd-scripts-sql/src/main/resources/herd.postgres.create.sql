@@ -124,6 +124,23 @@ CREATE TABLE strge_unit (
     drcty_path_tx character varying(1024)
 );
 
+CREATE TABLE bus_objct_data_ltst_vrsn (
+    bus_objct_data_ltst_vrsn_id bigint NOT NULL,
+    bus_objct_frmt_id bigint NOT NULL,
+    prtn_value_tx character varying(50) NOT NULL,
+    prtn_value_2_tx character varying(30),
+    prtn_value_3_tx character varying(30),
+    prtn_value_4_tx character varying(30),
+    prtn_value_5_tx character varying(30),
+    strge_cd character varying(25) NOT NULL,
+    bus_objct_data_stts_cd character varying(20) NOT NULL,
+    vrsn_nb bigint NOT NULL,
+    creat_ts timestamp without time zone DEFAULT ('now'::text)::timestamp without time zone NOT NULL,
+    creat_user_id character varying(100) NOT NULL,
+    updt_ts timestamp without time zone DEFAULT ('now'::text)::timestamp without time zone NOT NULL,
+    updt_user_id character varying(100)
+);
+
 CREATE VIEW biz_dt_file_vw AS
  SELECT sf.strge_file_id,
     df.name_space_cd AS namespace,
@@ -384,6 +401,8 @@ CREATE TABLE jms_msg (
     jms_msg_id bigint NOT NULL,
     jms_queue_nm character varying(100) NOT NULL,
     msg_tx text NOT NULL,
+    clm_by_tx character varying(100),
+    clm_exprn_ts timestamp without time zone,
     creat_ts timestamp without time zone DEFAULT ('now'::text)::timestamp without time zone NOT NULL,
     creat_user_id character varying(100) NOT NULL,
     updt_ts timestamp without time zone DEFAULT ('now'::text)::timestamp without time zone NOT NULL,
@@ -638,6 +657,13 @@ CREATE SEQUENCE strge_unit_seq
     NO MAXVALUE
     CACHE 20;
 
+CREATE SEQUENCE bus_objct_data_ltst_vrsn_seq
+    START WITH 1
+    INCREMENT BY 1
+    NO MINVALUE
+    NO MAXVALUE
+    CACHE 20;
+
 
 CREATE TABLE xpctd_prtn_value (
     xpctd_prtn_value_id bigint NOT NULL,
@@ -808,6 +834,9 @@ ALTER TABLE ONLY strge_pltfm
 ALTER TABLE ONLY strge_unit
     ADD CONSTRAINT strge_unit_pk PRIMARY KEY (strge_unit_id);
 
+ALTER TABLE ONLY bus_objct_data_ltst_vrsn
+    ADD CONSTRAINT bus_objct_data_ltst_vrsn_pk PRIMARY KEY (bus_objct_data_ltst_vrsn_id);
+
 
 ALTER TABLE ONLY xpctd_prtn_value
     ADD CONSTRAINT xpctd_prtn_value_pk PRIMARY KEY (xpctd_prtn_value_id);
@@ -900,6 +929,12 @@ CREATE UNIQUE INDEX job_dfntn_ak ON job_dfntn USING btree (name_space_cd, name_t
 CREATE UNIQUE INDEX job_dfntn_atrbt_ak ON job_dfntn_atrbt USING btree (job_dfntn_id, atrbt_nm);
 
 
+CREATE INDEX jms_msg_ix1 ON jms_msg USING btree (jms_queue_nm);
+
+
+CREATE INDEX jms_msg_ix2 ON jms_msg USING btree (clm_by_tx);
+
+
 CREATE INDEX job_dfntn_atrbt_ix1 ON job_dfntn_atrbt USING btree (job_dfntn_id);
 
 
@@ -971,12 +1006,60 @@ CREATE UNIQUE INDEX strge_unit_ak ON strge_unit USING btree (strge_cd, bus_objct
 
 CREATE INDEX strge_unit_ix2 ON strge_unit USING btree (bus_objct_data_id);
 
+CREATE INDEX bus_objct_data_ltst_vrsn_ix1 ON bus_objct_data_ltst_vrsn USING btree (bus_objct_frmt_id, prtn_value_tx, strge_cd);
+
+CREATE INDEX bus_objct_data_ltst_vrsn_ix2 ON bus_objct_data_ltst_vrsn USING btree (strge_cd);
+
+CREATE INDEX bus_objct_data_ltst_vrsn_ix3 ON bus_objct_data_ltst_vrsn USING btree (bus_objct_data_stts_cd);
+
 
 CREATE UNIQUE INDEX xpctd_prtn_value_ak ON xpctd_prtn_value USING btree (prtn_key_group_tx, prtn_value_tx);
 
 
 CREATE INDEX xpctd_prtn_value_ix1 ON xpctd_prtn_value USING btree (prtn_key_group_tx);
 
+
+CREATE INDEX name_space_ix1 ON name_space USING btree (upper((name_space_cd)::text));
+
+
+CREATE INDEX bus_objct_dfntn_ix3 ON bus_objct_dfntn USING btree (name_space_cd, upper((name_tx)::text));
+
+
+CREATE INDEX bus_objct_frmt_ix4 ON bus_objct_frmt USING btree (bus_objct_dfntn_id, upper((usage_cd)::text), file_type_cd, frmt_vrsn_nb);
+
+
+CREATE INDEX file_type_cd_lk_ix1 ON file_type_cd_lk USING btree (upper((file_type_cd)::text));
+
+
+CREATE INDEX strge_ix2 ON strge USING btree (upper((strge_cd)::text));
+
+
+CREATE INDEX bus_objct_data_stts_cd_lk_ix1 ON bus_objct_data_stts_cd_lk USING btree (upper((bus_objct_data_stts_cd)::text));
+
+
+CREATE INDEX data_prvdr_ix1 ON data_prvdr USING btree (upper((data_prvdr_cd)::text));
+
+
+CREATE INDEX prtn_key_group_ix1 ON prtn_key_group USING btree (upper((prtn_key_group_tx)::text));
+
+
+CREATE INDEX ntfcn_event_type_cd_lk_ix1 ON ntfcn_event_type_cd_lk USING btree (upper((ntfcn_event_type_cd)::text));
+
+
+CREATE INDEX scrty_role_ix1 ON scrty_role USING btree (upper((scrty_role_cd)::text));
+
+
+CREATE INDEX cstm_ddl_ix2 ON cstm_ddl USING btree (bus_objct_frmt_id, upper((name_tx)::text));
+
+
+CREATE INDEX job_dfntn_ix3 ON job_dfntn USING btree (name_space_cd, upper((name_tx)::text));
+
+
+CREATE INDEX emr_clstr_dfntn_ix2 ON emr_clstr_dfntn USING btree (name_space_cd, upper((name_tx)::text));
+
+
+CREATE INDEX ntfcn_rgstn_ix7 ON ntfcn_rgstn USING btree (name_space_cd, upper((name_tx)::text));
+
 ALTER TABLE ONLY app_endpoint_lk
     ADD CONSTRAINT app_endpoint_fk1 FOREIGN KEY (scrty_fn_cd) REFERENCES scrty_fn_lk(scrty_fn_cd) DEFERRABLE INITIALLY DEFERRED;
 
@@ -1085,6 +1168,15 @@ ALTER TABLE ONLY strge_unit
 ALTER TABLE ONLY strge_unit
     ADD CONSTRAINT strge_unit_fk2 FOREIGN KEY (bus_objct_data_id) REFERENCES bus_objct_data(bus_objct_data_id) DEFERRABLE INITIALLY DEFERRED;
 
+ALTER TABLE ONLY bus_objct_data_ltst_vrsn
+    ADD CONSTRAINT bus_objct_data_ltst_vrsn_fk1 FOREIGN KEY (bus_objct_frmt_id) REFERENCES bus_objct_frmt(bus_objct_frmt_id) DEFERRABLE INITIALLY DEFERRED;
+
+ALTER TABLE ONLY bus_objct_data_ltst_vrsn
+    ADD CONSTRAINT bus_objct_data_ltst_vrsn_fk2 FOREIGN KEY (strge_cd) REFERENCES strge(strge_cd) DEFERRABLE INITIALLY DEFERRED;
+
+ALTER TABLE ONLY bus_objct_data_ltst_vrsn
+    ADD CONSTRAINT bus_objct_data_ltst_vrsn_fk3 FOREIGN KEY (bus_objct_data_stts_cd) REFERENCES bus_objct_data_stts_cd_lk(bus_objct_data_stts_cd) DEFERRABLE INITIALLY DEFERRED;
+
 ALTER TABLE ONLY xpctd_prtn_value
     ADD CONSTRAINT xpctd_prtn_value_fk1 FOREIGN KEY (prtn_key_group_tx) REFERENCES prtn_key_group(prtn_key_group_tx) DEFERRABLE INITIALLY DEFERRED;
 
@@ -0,0 +1,315 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.core;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.apache.log4j.Logger;
+
+/**
+ * A bounded thread pool executor dedicated to a single asynchronous workload. Besides the standard thread pool statistics, it keeps track of how long tasks
+ * wait in the queue before they start running and of how many tasks were rejected, so the pool can be sized from observed values. The statistics are
+ * logged whenever a task is rejected and can be exposed through the platform MBean server with {@link #registerMBean()}.
+ */
+public class MonitoredThreadPoolExecutor extends ThreadPoolExecutor implements MonitoredThreadPoolExecutorMXBean
+{
+    private static final Logger LOGGER = Logger.getLogger(MonitoredThreadPoolExecutor.class);
+
+    /**
+     * The prefix of the object name the thread pool statistics are registered under with the platform MBean server. It is followed by the thread pool name.
+     */
+    public static final String OBJECT_NAME_PREFIX = "org.finra.herd:type=ThreadPool,name=";
+
+    /**
+     * The policies applied to tasks submitted when the thread pool and its queue are both full.
+     */
+    public enum RejectionPolicy
+    {
+        /**
+         * The task is run by the thread that submitted it, which slows the submitter down until the pool catches up.
+         */
+        CALLER_RUNS,
+
+        /**
+         * The task is rejected with a RejectedExecutionException.
+         */
+        ABORT
+    }
+
+    private final String name;
+
+    private final AtomicLong executedTaskCount = new AtomicLong();
+
+    private final AtomicLong totalWaitTimeMillis = new AtomicLong();
+
+    private final AtomicLong maxWaitTimeMillis = new AtomicLong();
+
+    private final AtomicLong rejectedTaskCount = new AtomicLong();
+
+    // Specifies whether this thread pool registered its statistics with the platform MBean server.
+    private volatile boolean mBeanRegistered;
+
+    /**
+     * Creates a new thread pool executor.
+     *
+     * @param name the name of the thread pool, used to name its threads
+     * @param corePoolSize the number of threads to keep in the pool
+     * @param maxPoolSize the maximum number of threads in the pool
+     * @param keepAliveSeconds the number of seconds threads over the core pool size are kept alive when idle
+     * @param queueCapacity the maximum number of tasks waiting to run
+     * @param rejectionPolicy the policy applied to tasks submitted when the thread pool and its queue are full
+     */
+    public MonitoredThreadPoolExecutor(final String name, int corePoolSize, int maxPoolSize, int keepAliveSeconds, int queueCapacity,
+        RejectionPolicy rejectionPolicy)
+    {
+        super(corePoolSize, maxPoolSize, keepAliveSeconds, TimeUnit.SECONDS, createQueue(queueCapacity), new ThreadFactory()
+        {
+            private final AtomicInteger threadNumber = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable runnable)
+            {
+                return new Thread(runnable, "herd-" + name + "-" + threadNumber.incrementAndGet());
+            }
+        });
+
+        this.name = name;
+
+        final RejectedExecutionHandler rejectedExecutionHandler =
+            rejectionPolicy == RejectionPolicy.ABORT ? new ThreadPoolExecutor.AbortPolicy() : new ThreadPoolExecutor.CallerRunsPolicy();
+        setRejectedExecutionHandler(new RejectedExecutionHandler()
+        {
+            @Override
+            public void rejectedExecution(Runnable runnable, ThreadPoolExecutor executor)
+            {
+                rejectedTaskCount.incrementAndGet();
+                LOGGER.warn(String.format("The \"%s\" thread pool is full. Applying the rejection policy. %s", MonitoredThreadPoolExecutor.this.name,
+                    getStatistics()));
+                rejectedExecutionHandler.rejectedExecution(runnable, executor);
+            }
+        });
+    }
+
+    /**
+     * Creates the task queue. A capacity of zero or less hands tasks directly over to the threads without queuing them.
+     *
+     * @param queueCapacity the queue capacity
+     *
+     * @return the task queue
+     */
+    private static BlockingQueue<Runnable> createQueue(int queueCapacity)
+    {
+        if (queueCapacity <= 0)
+        {
+            return new SynchronousQueue<>();
+        }
+        else if (queueCapacity == Integer.MAX_VALUE)
+        {
+            return new LinkedBlockingQueue<>();
+        }
+        else
+        {
+            return new ArrayBlockingQueue<>(queueCapacity);
+        }
+    }
+
+    @Override
+    public void execute(Runnable command)
+    {
+        if (command == null)
+        {
+            throw new NullPointerException();
+        }
+
+        super.execute(new TimedTask(command));
+    }
+
+    @Override
+    public String getName()
+    {
+        return name;
+    }
+
+    @Override
+    public int getQueueDepth()
+    {
+        return getQueue().size();
+    }
+
+    @Override
+    public long getAverageWaitTimeMillis()
+    {
+        long count = executedTaskCount.get();
+        return count == 0 ? 0 : totalWaitTimeMillis.get() / count;
+    }
+
+    @Override
+    public long getMaxWaitTimeMillis()
+    {
+        return maxWaitTimeMillis.get();
+    }
+
+    @Override
+    public long getRejectedTaskCount()
+    {
+        return rejectedTaskCount.get();
+    }
+
+    /**
+     * Gets a printable summary of the thread pool statistics.
+     *
+     * @return the thread pool statistics
+     */
+    public String getStatistics()
+    {
+        return String.format("{poolSize=%d, activeCount=%d, queueDepth=%d, completedTaskCount=%d, averageWaitTimeMillis=%d, maxWaitTimeMillis=%d, " +
+            "rejectedTaskCount=%d}", getPoolSize(), getActiveCount(), getQueueDepth(), getCompletedTaskCount(), getAverageWaitTimeMillis(),
+            getMaxWaitTimeMillis(), getRejectedTaskCount());
+    }
+
+    /**
+     * Registers the statistics of this thread pool with the platform MBean server, replacing the thread pool of the same name registered by a previous
+     * deployment of the application. The registration is removed once this thread pool terminates.
+     */
+    public void registerMBean()
+    {
+        try
+        {
+            MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objectName = getObjectName();
+            if (mBeanServer.isRegistered(objectName))
+            {
+                mBeanServer.unregisterMBean(objectName);
+            }
+            mBeanServer.registerMBean(this, objectName);
+            mBeanRegistered = true;
+        }
+        catch (JMException e)
+        {
+            LOGGER.warn(String.format("Failed to register the MBean of the \"%s\" thread pool.", name), e);
+        }
+    }
+
+    @Override
+    protected void terminated()
+    {
+        super.terminated();
+
+        try
+        {
+            MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objectName = getObjectName();
+            if (mBeanRegistered && mBeanServer.isRegistered(objectName))
+            {
+                mBeanServer.unregisterMBean(objectName);
+            }
+        }
+        catch (JMException e)
+        {
+            LOGGER.warn(String.format("Failed to unregister the MBean of the \"%s\" thread pool.", name), e);
+        }
+    }
+
+    /**
+     * Gets the rejection policy with the specified name.
+     *
+     * @param rejectionPolicyName the rejection policy name (case-insensitive)
+     *
+     * @return the rejection policy
+     * @throws IllegalArgumentException if the rejection policy name is not valid
+     */
+    public static RejectionPolicy getRejectionPolicy(String rejectionPolicyName)
+    {
+        for (RejectionPolicy rejectionPolicy : RejectionPolicy.values())
+        {
+            if (rejectionPolicy.name().equalsIgnoreCase(rejectionPolicyName == null ? null : rejectionPolicyName.trim()))
+            {
+                return rejectionPolicy;
+            }
+        }
+
+        throw new IllegalArgumentException(String.format("Invalid thread pool rejection policy \"%s\".", rejectionPolicyName));
+    }
+
+    /**
+     * Gets the object name the statistics of this thread pool are registered under with the platform MBean server.
+     *
+     * @return the object name
+     * @throws JMException if the thread pool name is not a valid object name value
+     */
+    private ObjectName getObjectName() throws JMException
+    {
+        return new ObjectName(OBJECT_NAME_PREFIX + ObjectName.quote(name));
+    }
+
+    /**
+     * Records the time the task waited in the queue.
+     *
+     * @param waitTimeMillis the wait time in milliseconds
+     */
+    private void recordWaitTime(long waitTimeMillis)
+    {
+        executedTaskCount.incrementAndGet();
+        totalWaitTimeMillis.addAndGet(waitTimeMillis);
+
+        long currentMaxWaitTimeMillis = maxWaitTimeMillis.get();
+        while (waitTimeMillis > currentMaxWaitTimeMillis && !maxWaitTimeMillis.compareAndSet(currentMaxWaitTimeMillis, waitTimeMillis))
+        {
+            currentMaxWaitTimeMillis = maxWaitTimeMillis.get();
+        }
+
+        if (LOGGER.isDebugEnabled())
+        {
+            LOGGER.debug(String.format("Task started on the \"%s\" thread pool after waiting %d ms. %s", name, waitTimeMillis, getStatistics()));
+        }
+    }
+
+    /**
+     * A task wrapper that records when the task was submitted, so the time it waited in the queue can be measured once it starts running.
+     */
+    private class TimedTask implements Runnable
+    {
+        private final Runnable task;
+
+        private final long submitTimeMillis = System.currentTimeMillis();
+
+        private TimedTask(Runnable task)
+        {
+            this.task = task;
+        }
+
+        @Override
+        public void run()
+        {
+            recordWaitTime(System.currentTimeMillis() - submitTimeMillis);
+            task.run();
+        }
+    }
+}
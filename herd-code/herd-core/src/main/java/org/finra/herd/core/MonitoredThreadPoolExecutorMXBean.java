@@ -0,0 +1,78 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.core;
+
+/**
+ * The management interface of a monitored thread pool executor, which exposes its thread pool statistics.
+ */
+public interface MonitoredThreadPoolExecutorMXBean
+{
+    /**
+     * Gets the name of the thread pool.
+     *
+     * @return the thread pool name
+     */
+    String getName();
+
+    /**
+     * Gets the current number of threads in the pool.
+     *
+     * @return the pool size
+     */
+    int getPoolSize();
+
+    /**
+     * Gets the approximate number of threads that are running tasks.
+     *
+     * @return the number of active threads
+     */
+    int getActiveCount();
+
+    /**
+     * Gets the number of tasks waiting in the queue to run.
+     *
+     * @return the queue depth
+     */
+    int getQueueDepth();
+
+    /**
+     * Gets the approximate number of tasks that completed running.
+     *
+     * @return the number of completed tasks
+     */
+    long getCompletedTaskCount();
+
+    /**
+     * Gets the average number of milliseconds tasks waited in the queue before they started running.
+     *
+     * @return the average wait time in milliseconds
+     */
+    long getAverageWaitTimeMillis();
+
+    /**
+     * Gets the longest number of milliseconds a task waited in the queue before it started running.
+     *
+     * @return the maximum wait time in milliseconds
+     */
+    long getMaxWaitTimeMillis();
+
+    /**
+     * Gets the number of tasks that were submitted when the thread pool and its queue were full.
+     *
+     * @return the number of rejected tasks
+     */
+    long getRejectedTaskCount();
+}
@@ -113,7 +113,7 @@ public class CoreSpringModuleConfig implements AsyncConfigurer
      * Returns an Async "task" executor which is also a normal "executor". This is being wired into Activity via the job executor bean. It is also being used by
      * the "@EnableAsync" annotation and the fact that this class implements AsyncConfigurer. That way, all methods annotated with "@Async" will be executed
      * asynchronously by this executor. Thus, we have a shared thread pool that handles both Async method calls as well as Activiti asynchronous job executions
-     * (e.g. timers, messages, etc.).
+     * (e.g. timers, messages, etc.). Async methods of heavy workloads name their own dedicated executor in the "@Async" annotation instead.
      *
      * @return the async task executor.
      */
@@ -0,0 +1,192 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.junit.Test;
+
+/**
+ * This class tests functionality within the MonitoredThreadPoolExecutor class.
+ */
+public class MonitoredThreadPoolExecutorTest extends AbstractCoreTest
+{
+    @Test
+    public void testQueueDepthAndWaitTime() throws Exception
+    {
+        MonitoredThreadPoolExecutor executor = new MonitoredThreadPoolExecutor("test", 1, 1, 60, 10, MonitoredThreadPoolExecutor.RejectionPolicy.ABORT);
+        try
+        {
+            // Keep the only thread busy, so the next task has to wait in the queue.
+            CountDownLatch latch = new CountDownLatch(1);
+            executor.execute(createBlockingTask(latch));
+            Future<?> future = executor.submit(createBlockingTask(new CountDownLatch(0)));
+            assertEquals(1, executor.getQueueDepth());
+
+            Thread.sleep(100);
+            latch.countDown();
+            future.get(10, TimeUnit.SECONDS);
+
+            assertEquals(0, executor.getQueueDepth());
+            assertTrue(executor.getMaxWaitTimeMillis() >= 100);
+            assertTrue(executor.getAverageWaitTimeMillis() > 0);
+            assertEquals(0, executor.getRejectedTaskCount());
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testRejectionPolicyAbort() throws Exception
+    {
+        MonitoredThreadPoolExecutor executor = new MonitoredThreadPoolExecutor("test", 1, 1, 60, 1, MonitoredThreadPoolExecutor.RejectionPolicy.ABORT);
+        CountDownLatch latch = new CountDownLatch(1);
+        try
+        {
+            // Fill the only thread and the queue.
+            executor.execute(createBlockingTask(latch));
+            executor.execute(createBlockingTask(latch));
+
+            try
+            {
+                executor.execute(createBlockingTask(latch));
+                fail("Should throw a RejectedExecutionException when the thread pool is full.");
+            }
+            catch (RejectedExecutionException e)
+            {
+                assertEquals(1, executor.getRejectedTaskCount());
+            }
+        }
+        finally
+        {
+            latch.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testRejectionPolicyCallerRuns() throws Exception
+    {
+        MonitoredThreadPoolExecutor executor = new MonitoredThreadPoolExecutor("test", 1, 1, 60, 1, MonitoredThreadPoolExecutor.RejectionPolicy.CALLER_RUNS);
+        CountDownLatch latch = new CountDownLatch(1);
+        try
+        {
+            // Fill the only thread and the queue.
+            executor.execute(createBlockingTask(latch));
+            executor.execute(createBlockingTask(latch));
+
+            // The rejected task is run by this thread.
+            final Thread callerThread = Thread.currentThread();
+            final Thread[] taskThread = new Thread[1];
+            executor.execute(new Runnable()
+            {
+                @Override
+                public void run()
+                {
+                    taskThread[0] = Thread.currentThread();
+                }
+            });
+
+            assertEquals(callerThread, taskThread[0]);
+            assertEquals(1, executor.getRejectedTaskCount());
+        }
+        finally
+        {
+            latch.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testRegisterMBean() throws Exception
+    {
+        MonitoredThreadPoolExecutor executor = new MonitoredThreadPoolExecutor("test", 1, 1, 60, 1, MonitoredThreadPoolExecutor.RejectionPolicy.ABORT);
+        MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+        ObjectName objectName = new ObjectName(MonitoredThreadPoolExecutor.OBJECT_NAME_PREFIX + ObjectName.quote("test"));
+        try
+        {
+            // Validate that the thread pool statistics are exposed through the platform MBean server.
+            executor.registerMBean();
+            assertEquals("test", mBeanServer.getAttribute(objectName, "Name"));
+            assertEquals(0L, mBeanServer.getAttribute(objectName, "RejectedTaskCount"));
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+
+        // Validate that the registration is removed once the thread pool terminates.
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        assertFalse(mBeanServer.isRegistered(objectName));
+    }
+
+    @Test
+    public void testGetRejectionPolicy()
+    {
+        assertEquals(MonitoredThreadPoolExecutor.RejectionPolicy.CALLER_RUNS, MonitoredThreadPoolExecutor.getRejectionPolicy(" caller_runs "));
+        assertEquals(MonitoredThreadPoolExecutor.RejectionPolicy.ABORT, MonitoredThreadPoolExecutor.getRejectionPolicy("ABORT"));
+
+        try
+        {
+            MonitoredThreadPoolExecutor.getRejectionPolicy("I_DO_NOT_EXIST");
+            fail("Should throw an IllegalArgumentException when the rejection policy is not valid.");
+        }
+        catch (IllegalArgumentException e)
+        {
+            assertEquals("Invalid thread pool rejection policy \"I_DO_NOT_EXIST\".", e.getMessage());
+        }
+    }
+
+    /**
+     * Creates a task that blocks until the specified latch is released.
+     *
+     * @param latch the latch
+     *
+     * @return the task
+     */
+    private Runnable createBlockingTask(final CountDownLatch latch)
+    {
+        return new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                try
+                {
+                    latch.await();
+                }
+                catch (InterruptedException e)
+                {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+    }
+}
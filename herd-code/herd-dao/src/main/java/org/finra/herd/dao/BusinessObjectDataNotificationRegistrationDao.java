@@ -71,4 +71,10 @@ public interface BusinessObjectDataNotificationRegistrationDao
     public List<BusinessObjectDataNotificationRegistrationEntity> getBusinessObjectDataNotificationRegistrations(String notificationEventTypeCode,
         BusinessObjectDataKey businessObjectDataKey, String newBusinessObjectDataStatus, String oldBusinessObjectDataStatus,
         String notificationRegistrationStatus);
+
+    /**
+     * Discards the in-memory index used to match business object data notification registrations, so it gets rebuilt from the database on the next lookup.
+     * When called within a transaction, the index is discarded again once the transaction completes.
+     */
+    public void invalidateBusinessObjectDataNotificationRegistrationIndex();
 }
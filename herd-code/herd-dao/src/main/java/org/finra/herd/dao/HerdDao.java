@@ -16,6 +16,7 @@
 package org.finra.herd.dao;
 
 import java.sql.Timestamp;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
@@ -76,6 +77,11 @@ public interface HerdDao extends BaseJpaDao
      */
     public static final String DEFAULT_SINGLE_DAY_DATE_MASK = "yyyy-MM-dd";
 
+    /**
+     * The ordered JMS queue name that stands for all JMS queues.
+     */
+    public static final String ALL_JMS_QUEUE_NAMES = "*";
+
     // System
 
     /**
@@ -413,6 +419,16 @@ public interface HerdDao extends BaseJpaDao
      */
     public List<BusinessObjectDataEntity> getBusinessObjectDataEntities(BusinessObjectDataKey businessObjectDataKey);
 
+    /**
+     * Retrieves business object data instances that match any of the specified business object data keys using a single query. All the keys must specify
+     * both the business object format version and the business object data version.
+     *
+     * @param businessObjectDataKeys the business object data keys
+     *
+     * @return the list of business object data instances found, in no particular order
+     */
+    public List<BusinessObjectDataEntity> getBusinessObjectDataEntitiesByAltKeys(Collection<BusinessObjectDataKey> businessObjectDataKeys);
+
     /**
      * Retrieves a list of business object data entities per specified parameters.
      *
@@ -462,6 +478,23 @@ public interface HerdDao extends BaseJpaDao
     public Map<BusinessObjectDataEntity, StoragePolicyEntity> getBusinessObjectDataEntitiesMatchingStoragePolicies(
         StoragePolicyPriorityLevel storagePolicyPriorityLevel, List<String> supportedBusinessObjectDataStatuses, int startPosition, int maxResult);
 
+    // BusinessObjectDataLatestVersion
+
+    /**
+     * Re-computes the latest business object data versions registered for the business object format and the partition values of the specified business object
+     * data, one per storage and business object data status.
+     *
+     * @param businessObjectDataEntity the business object data entity
+     */
+    public void refreshBusinessObjectDataLatestVersions(BusinessObjectDataEntity businessObjectDataEntity);
+
+    /**
+     * Re-computes the latest business object data versions of the partitions whose business object data or storage units were inserted, updated or deleted in
+     * the current transaction since the last refresh. This method is called automatically before the transaction commits, before the latest versions are
+     * read and whenever an entity is saved and refreshed or deleted through this DAO. It does nothing outside of a transaction.
+     */
+    public void refreshPendingBusinessObjectDataLatestVersions();
+
     // StoragePlatform
 
     /**
@@ -560,6 +593,28 @@ public interface HerdDao extends BaseJpaDao
         List<List<String>> partitionFilters, Integer businessObjectDataVersion, String businessObjectDataStatus, List<String> storageNames,
         String storagePlatformType, String excludedStoragePlatformType, boolean selectOnlyAvailableStorageUnits);
 
+    /**
+     * Retrieves a list of all storage unit entities registered for the business object data that matches the specified partition filters, regardless of the
+     * business object format version, business object data version, business object data status, and storage unit status, unless the relative version is
+     * specified. This allows the caller to select the latest versions per its own criteria in memory, instead of running a separate query per criteria.
+     *
+     * @param businessObjectFormatKey the business object format key (case-insensitive). If a business object format version isn't specified, the storage
+     * units of all business object format versions are returned
+     * @param partitionFilters the list of partition filter to be used to select business object data instances. Each partition filter contains a list of
+     * primary and sub-partition values in the right order up to the maximum partition levels allowed by business object data registration - with partition
+     * values for the relative partitions not to be used for selection passed as nulls.
+     * @param businessObjectDataVersion the business object data version. If a business object data version isn't specified, the storage units of all business
+     * object data versions are returned
+     * @param storageNames the optional list of storage names where the business object data storage units should be looked for (case-insensitive). When not
+     * specified, storage units from all storages are returned
+     * @param additionalStoragePlatformType the optional storage platform type of the storages to look in, in addition to the specified storages. It is ignored
+     * when the list of storages is empty
+     *
+     * @return the list of storage unit entities sorted by partition values and storage names
+     */
+    public List<StorageUnitEntity> getAllStorageUnitsByPartitionFilters(BusinessObjectFormatKey businessObjectFormatKey, List<List<String>> partitionFilters,
+        Integer businessObjectDataVersion, List<String> storageNames, String additionalStoragePlatformType);
+
     // StorageFile
 
     /**
@@ -572,6 +627,17 @@ public interface HerdDao extends BaseJpaDao
      */
     public StorageFileEntity getStorageFileByStorageNameAndFilePath(String storageName, String filePath);
 
+    /**
+     * Retrieves a list of storage files registered in the specified storage that match any of the specified file paths. The file paths are checked in chunks,
+     * so that each query uses an "in" clause no larger than the configured "in" clause chunk size.
+     *
+     * @param storageName the storage name (case-insensitive)
+     * @param filePaths the list of file paths
+     *
+     * @return the list of storage file entities sorted by file path
+     */
+    public List<StorageFileEntity> getStorageFilesByStorageNameAndFilePaths(String storageName, List<String> filePaths);
+
     /**
      * Counts all storage files matching the file path prefix in the specified storage.
      *
@@ -592,6 +658,14 @@ public interface HerdDao extends BaseJpaDao
      */
     public List<StorageFileEntity> getStorageFilesByStorageAndFilePathPrefix(String storageName, String filePathPrefix);
 
+    /**
+     * Saves a list of storage file entities. The entities are flushed to the database in batches, so the inserts get grouped into JDBC batches of the
+     * configured size instead of being sent to the database one statement at a time. Unlike saveAndRefresh, the entities are not re-loaded from the database.
+     *
+     * @param storageFileEntities the list of storage file entities to save
+     */
+    public void saveStorageFiles(List<StorageFileEntity> storageFileEntities);
+
     /**
      * Retrieves a map of storage unit ids to their corresponding storage file paths.
      *
@@ -601,6 +675,17 @@ public interface HerdDao extends BaseJpaDao
      */
     public MultiValuedMap<Integer, String> getStorageFilePathsByStorageUnits(List<StorageUnitEntity> storageUnitEntities);
 
+    /**
+     * Streams storage file paths for the specified storage units to the callback handler. The storage files are read from the database one page at a time
+     * using keyset pagination on the storage file id, so no more than one page of storage file paths is held in memory at any time. The storage file paths
+     * for each storage unit are passed to the callback handler in the ascending order of the storage file ids.
+     *
+     * @param storageUnitEntities the list of storage unit entities
+     * @param storageFilePathCallbackHandler the callback handler to process each storage file path
+     */
+    public void processStorageFilePathsByStorageUnits(List<StorageUnitEntity> storageUnitEntities,
+        StorageFilePathCallbackHandler storageFilePathCallbackHandler);
+
     // StoragePolicyRuleType
 
     /**
@@ -727,6 +812,31 @@ public interface HerdDao extends BaseJpaDao
      */
     public JmsMessageEntity getOldestJmsMessage();
 
+    /**
+     * Deletes the specified JMS messages from the queue using a single bulk delete statement.
+     *
+     * @param jmsMessageIds the list of JMS message ids
+     *
+     * @return the number of deleted JMS messages
+     */
+    public int deleteJmsMessages(List<Integer> jmsMessageIds);
+
+    /**
+     * Claims the oldest JMS messages that are not claimed yet or whose claim has expired. Concurrent publishers, on the same or on different herd nodes, always
+     * claim disjoint sets of messages. For the ordered queues, a publisher only claims messages when no other publisher holds an active claim on an older
+     * message of the same queue. This check is best effort: two publishers that claim messages of the same ordered queue at the same moment may both keep
+     * their claims, so strict ordering requires a single publisher.
+     *
+     * @param claimant the unique identifier of the claim
+     * @param claimDurationSeconds the number of seconds the claim lasts
+     * @param orderedJmsQueueNames the names of the queues that require the messages to be published in order, where {@link #ALL_JMS_QUEUE_NAMES} stands for
+     * all queues
+     * @param maxResults the maximum number of messages to claim
+     *
+     * @return the list of claimed JMS messages ordered by their ids
+     */
+    public List<JmsMessageEntity> claimJmsMessages(String claimant, int claimDurationSeconds, Collection<String> orderedJmsQueueNames, int maxResults);
+
     // OnDemandPricing
 
     /**
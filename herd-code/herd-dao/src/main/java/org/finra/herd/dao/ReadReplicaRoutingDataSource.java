@@ -0,0 +1,426 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.dao;
+
+import java.lang.management.ManagementFactory;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.sql.DataSource;
+
+import org.apache.log4j.Logger;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * A data source that routes read-only transactions to read replicas and everything else to the primary data source. Replicas are picked in a round-robin
+ * fashion. A replica is skipped while its last measured replication lag exceeds the configured maximum lag, while its lag can not be measured or while its
+ * last measurement is out of date. When no replica is available, read-only transactions fall back to the primary data source.
+ * <p/>
+ * The replication lag is measured on a separate short-lived thread once the lag check interval has elapsed, so routing a connection never waits for a lag
+ * check. The lag query runs with a query timeout, and a check that hangs anyway leaves the replica out of the rotation once its last measurement gets out of
+ * date.
+ * <p/>
+ * The routing statistics are exposed through the platform MBean server under the {@link #OBJECT_NAME} object name.
+ * <p/>
+ * The read-only flag of a transaction is only known once the transaction synchronization is initialized, which happens after the transaction manager obtained
+ * its connection. This data source should therefore be wrapped by a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}, so the target
+ * connection is fetched when the first statement gets executed.
+ */
+public class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource implements ReadReplicaRoutingDataSourceMXBean
+{
+    private static final Logger LOGGER = Logger.getLogger(ReadReplicaRoutingDataSource.class);
+
+    /**
+     * The lookup key of the primary data source.
+     */
+    public static final String PRIMARY_DATA_SOURCE_KEY = "primary";
+
+    /**
+     * The object name the routing statistics are registered under with the platform MBean server.
+     */
+    public static final String OBJECT_NAME = "org.finra.herd:type=ReadReplicaRoutingDataSource";
+
+    // The number of milliseconds in a second.
+    private static final long MILLISECONDS_IN_A_SECOND = 1000L;
+
+    // The lookup keys of the read replicas.
+    private final List<String> replicaKeys;
+
+    // The replication lag state of the read replicas.
+    private final Map<String, ReplicaState> replicaStates = new HashMap<>();
+
+    // The number of connections routed to each target data source.
+    private final Map<String, AtomicLong> connectionCounts = new LinkedHashMap<>();
+
+    // The number of read-only connections that fell back to the primary data source since no read replica was available.
+    private final AtomicLong fallbackCount = new AtomicLong();
+
+    // The index used to pick the next read replica.
+    private final AtomicInteger nextReplicaIndex = new AtomicInteger();
+
+    private final long maxLagMillis;
+
+    private final long lagCheckIntervalMillis;
+
+    // The query timeout of the lag query, which is the lag check interval but at least one second.
+    private final int lagQueryTimeoutSeconds;
+
+    // The age after which a lag measurement is out of date, which leaves room for one missed lag check.
+    private final long maxLagMeasurementAgeMillis;
+
+    private final String lagQuery;
+
+    /**
+     * Constructs the data source.
+     *
+     * @param primaryDataSource the primary data source
+     * @param replicaDataSources the read replica data sources keyed by their names
+     * @param maxLagSeconds the maximum replication lag in seconds a read replica may have to still receive read-only transactions
+     * @param lagCheckIntervalSeconds the interval in seconds between two replication lag checks of a read replica
+     * @param lagQuery the query that returns the replication lag of a read replica in seconds
+     */
+    public ReadReplicaRoutingDataSource(DataSource primaryDataSource, Map<String, DataSource> replicaDataSources, long maxLagSeconds,
+        long lagCheckIntervalSeconds, String lagQuery)
+    {
+        this.replicaKeys = new ArrayList<>(replicaDataSources.keySet());
+        this.maxLagMillis = maxLagSeconds * MILLISECONDS_IN_A_SECOND;
+        this.lagCheckIntervalMillis = lagCheckIntervalSeconds * MILLISECONDS_IN_A_SECOND;
+        this.lagQueryTimeoutSeconds = (int) Math.max(1L, lagCheckIntervalSeconds);
+        this.maxLagMeasurementAgeMillis = lagCheckIntervalMillis + 2 * lagQueryTimeoutSeconds * MILLISECONDS_IN_A_SECOND;
+        this.lagQuery = lagQuery;
+
+        Map<Object, Object> targetDataSources = new HashMap<>();
+        targetDataSources.put(PRIMARY_DATA_SOURCE_KEY, primaryDataSource);
+        connectionCounts.put(PRIMARY_DATA_SOURCE_KEY, new AtomicLong());
+        for (Map.Entry<String, DataSource> entry : replicaDataSources.entrySet())
+        {
+            targetDataSources.put(entry.getKey(), entry.getValue());
+            connectionCounts.put(entry.getKey(), new AtomicLong());
+            replicaStates.put(entry.getKey(), new ReplicaState(entry.getValue()));
+        }
+
+        setTargetDataSources(targetDataSources);
+        setDefaultTargetDataSource(primaryDataSource);
+        setLenientFallback(false);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * This implementation also starts measuring the replication lag of the read replicas and registers the routing statistics with the platform MBean server.
+     * Read-only transactions go to the primary data source until the lag of a read replica has been measured.
+     */
+    @Override
+    public void afterPropertiesSet()
+    {
+        super.afterPropertiesSet();
+
+        for (String replicaKey : replicaKeys)
+        {
+            startLagCheckIfDue(replicaKey, replicaStates.get(replicaKey));
+        }
+
+        registerMBean();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey()
+    {
+        String lookupKey = PRIMARY_DATA_SOURCE_KEY;
+
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly())
+        {
+            String replicaKey = getAvailableReplicaKey();
+            if (replicaKey != null)
+            {
+                lookupKey = replicaKey;
+            }
+            else
+            {
+                fallbackCount.incrementAndGet();
+            }
+        }
+
+        connectionCounts.get(lookupKey).incrementAndGet();
+
+        if (LOGGER.isDebugEnabled())
+        {
+            LOGGER.debug(String.format("Routing connection to \"%s\" data source.", lookupKey));
+        }
+
+        return lookupKey;
+    }
+
+    /**
+     * Measures the replication lag of all read replicas on the calling thread, skipping the replicas whose lag is being measured already.
+     */
+    public void checkReplicaLags()
+    {
+        for (String replicaKey : replicaKeys)
+        {
+            ReplicaState replicaState = replicaStates.get(replicaKey);
+            if (replicaState.checking.compareAndSet(false, true))
+            {
+                replicaState.lastCheckStartTime = System.currentTimeMillis();
+                checkReplicaLag(replicaKey, replicaState);
+            }
+        }
+    }
+
+    /**
+     * Gets the number of connections routed to the specified target data source.
+     *
+     * @param lookupKey the lookup key of the target data source, i.e. {@link #PRIMARY_DATA_SOURCE_KEY} or a read replica name
+     *
+     * @return the number of connections or null if the target data source doesn't exist
+     */
+    public Long getConnectionCount(String lookupKey)
+    {
+        AtomicLong connectionCount = connectionCounts.get(lookupKey);
+        return connectionCount != null ? connectionCount.get() : null;
+    }
+
+    @Override
+    public Map<String, Long> getConnectionCounts()
+    {
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (Map.Entry<String, AtomicLong> entry : connectionCounts.entrySet())
+        {
+            result.put(entry.getKey(), entry.getValue().get());
+        }
+        return result;
+    }
+
+    @Override
+    public long getFallbackCount()
+    {
+        return fallbackCount.get();
+    }
+
+    /**
+     * Gets the last measured replication lag of the specified read replica.
+     *
+     * @param replicaKey the read replica name
+     *
+     * @return the replication lag in milliseconds or null if the replica doesn't exist or its lag has not been measured successfully
+     */
+    public Long getReplicaLagMillis(String replicaKey)
+    {
+        ReplicaState replicaState = replicaStates.get(replicaKey);
+        return replicaState != null ? replicaState.lagMillis : null;
+    }
+
+    @Override
+    public Map<String, Long> getReplicaLagsMillis()
+    {
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (String replicaKey : replicaKeys)
+        {
+            Long lagMillis = replicaStates.get(replicaKey).lagMillis;
+            result.put(replicaKey, lagMillis != null ? lagMillis : -1L);
+        }
+        return result;
+    }
+
+    @Override
+    public List<String> getAvailableReplicaNames()
+    {
+        List<String> result = new ArrayList<>();
+        for (String replicaKey : replicaKeys)
+        {
+            if (isReplicaAvailable(replicaStates.get(replicaKey), System.currentTimeMillis()))
+            {
+                result.add(replicaKey);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets the key of the next available read replica in round-robin order.
+     *
+     * @return the read replica key or null if no read replica is available
+     */
+    private String getAvailableReplicaKey()
+    {
+        int replicaCount = replicaKeys.size();
+        if (replicaCount > 0)
+        {
+            int startIndex = (nextReplicaIndex.getAndIncrement() & Integer.MAX_VALUE) % replicaCount;
+            for (int i = 0; i < replicaCount; i++)
+            {
+                String replicaKey = replicaKeys.get((startIndex + i) % replicaCount);
+                ReplicaState replicaState = replicaStates.get(replicaKey);
+                startLagCheckIfDue(replicaKey, replicaState);
+                if (isReplicaAvailable(replicaState, System.currentTimeMillis()))
+                {
+                    return replicaKey;
+                }
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Determines whether the specified read replica may receive read-only transactions, based on its last lag measurement.
+     *
+     * @param replicaState the read replica state
+     * @param currentTime the current time in milliseconds
+     *
+     * @return true if the replica is available, false otherwise
+     */
+    private boolean isReplicaAvailable(ReplicaState replicaState, long currentTime)
+    {
+        return replicaState.lagWithinLimit && currentTime - replicaState.lastCheckEndTime <= maxLagMeasurementAgeMillis;
+    }
+
+    /**
+     * Starts measuring the replication lag of the specified read replica on a separate thread when the lag check interval has elapsed and no lag check of the
+     * replica is running.
+     *
+     * @param replicaKey the read replica key
+     * @param replicaState the read replica state
+     */
+    private void startLagCheckIfDue(final String replicaKey, final ReplicaState replicaState)
+    {
+        long currentTime = System.currentTimeMillis();
+        if (currentTime - replicaState.lastCheckStartTime >= lagCheckIntervalMillis && replicaState.checking.compareAndSet(false, true))
+        {
+            replicaState.lastCheckStartTime = currentTime;
+            Thread thread = new Thread(new Runnable()
+            {
+                @Override
+                public void run()
+                {
+                    checkReplicaLag(replicaKey, replicaState);
+                }
+            }, "herd-replica-lag-check-" + replicaKey);
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    /**
+     * Measures the replication lag of a read replica and records the result. The caller must have set the checking flag of the replica, which gets cleared.
+     *
+     * @param replicaKey the read replica key
+     * @param replicaState the read replica state
+     */
+    private void checkReplicaLag(String replicaKey, ReplicaState replicaState)
+    {
+        try
+        {
+            Long lagMillis = getReplicaLagMillis(replicaKey, replicaState.dataSource);
+            replicaState.lagMillis = lagMillis;
+            replicaState.lagWithinLimit = lagMillis != null && lagMillis <= maxLagMillis;
+            replicaState.lastCheckEndTime = System.currentTimeMillis();
+
+            if (!replicaState.lagWithinLimit)
+            {
+                LOGGER.warn(String
+                    .format("Read replica \"%s\" is not available. replicationLagMillis=%s maxLagMillis=%d", replicaKey, lagMillis, maxLagMillis));
+            }
+        }
+        finally
+        {
+            replicaState.checking.set(false);
+        }
+    }
+
+    /**
+     * Measures the replication lag of a read replica.
+     *
+     * @param replicaKey the read replica key
+     * @param dataSource the read replica data source
+     *
+     * @return the replication lag in milliseconds or null if the lag could not be measured
+     */
+    private Long getReplicaLagMillis(String replicaKey, DataSource dataSource)
+    {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement())
+        {
+            statement.setQueryTimeout(lagQueryTimeoutSeconds);
+            try (ResultSet resultSet = statement.executeQuery(lagQuery))
+            {
+                return resultSet.next() ? (long) (resultSet.getDouble(1) * MILLISECONDS_IN_A_SECOND) : null;
+            }
+        }
+        catch (SQLException e)
+        {
+            LOGGER.warn(String.format("Failed to measure the replication lag of read replica \"%s\".", replicaKey), e);
+            return null;
+        }
+    }
+
+    /**
+     * Registers this data source with the platform MBean server, replacing the data source registered by a previous deployment of the application.
+     */
+    private void registerMBean()
+    {
+        try
+        {
+            MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objectName = new ObjectName(OBJECT_NAME);
+            if (mBeanServer.isRegistered(objectName))
+            {
+                mBeanServer.unregisterMBean(objectName);
+            }
+            mBeanServer.registerMBean(this, objectName);
+        }
+        catch (JMException e)
+        {
+            LOGGER.warn(String.format("Failed to register \"%s\" MBean.", OBJECT_NAME), e);
+        }
+    }
+
+    /**
+     * The replication lag state of a read replica.
+     */
+    private static class ReplicaState
+    {
+        private final DataSource dataSource;
+
+        private final AtomicBoolean checking = new AtomicBoolean();
+
+        private volatile long lastCheckStartTime;
+
+        private volatile long lastCheckEndTime;
+
+        private volatile Long lagMillis;
+
+        private volatile boolean lagWithinLimit;
+
+        private ReplicaState(DataSource dataSource)
+        {
+            this.dataSource = dataSource;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.dao;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The management interface of the read replica routing data source, which exposes its routing statistics.
+ */
+public interface ReadReplicaRoutingDataSourceMXBean
+{
+    /**
+     * Gets the number of connections routed to each target data source.
+     *
+     * @return the number of connections keyed by the primary data source key and the read replica names
+     */
+    Map<String, Long> getConnectionCounts();
+
+    /**
+     * Gets the number of read-only connections that fell back to the primary data source since no read replica was available.
+     *
+     * @return the number of connections
+     */
+    long getFallbackCount();
+
+    /**
+     * Gets the last measured replication lag of each read replica.
+     *
+     * @return the replication lag in milliseconds keyed by the read replica names, with -1 for the replicas whose lag has not been measured successfully
+     */
+    Map<String, Long> getReplicaLagsMillis();
+
+    /**
+     * Gets the names of the read replicas that currently receive read-only transactions.
+     *
+     * @return the list of read replica names
+     */
+    List<String> getAvailableReplicaNames();
+}
@@ -15,6 +15,8 @@
 */
 package org.finra.herd.dao;
 
+import java.util.List;
+
 import org.finra.herd.model.dto.AwsParamsDto;
 
 /**
@@ -23,4 +25,16 @@ import org.finra.herd.model.dto.AwsParamsDto;
 public interface SqsDao
 {
     public void sendSqsTextMessage(AwsParamsDto awsParamsDto, String queueName, String messageText);
+
+    /**
+     * Sends text messages to the specified AWS SQS queue using SQS send message batch requests of up to 10 messages each. A batch request that fails
+     * altogether is reported as a failure of all messages in that batch, while the messages of the other batches are still sent.
+     *
+     * @param awsParamsDto the AWS related parameters
+     * @param queueName the queue name
+     * @param messageTexts the list of message texts
+     *
+     * @return the list of indexes of the messages that failed to be sent, or an empty list when all messages were sent
+     */
+    public List<Integer> sendSqsTextMessages(AwsParamsDto awsParamsDto, String queueName, List<String> messageTexts);
 }
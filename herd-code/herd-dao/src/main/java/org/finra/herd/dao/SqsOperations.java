@@ -15,7 +15,9 @@
 */
 package org.finra.herd.dao;
 
-import com.amazonaws.ClientConfiguration;
+import java.util.List;
+
+import com.amazonaws.services.sqs.AmazonSQSClient;
 
 /**
  * AWS SQS Operations Service.
@@ -23,7 +25,22 @@ import com.amazonaws.ClientConfiguration;
 public interface SqsOperations
 {
     /**
-     * Sends a text message to the specified AWS SQS queue.
+     * Gets the URL of the specified AWS SQS queue.
+     *
+     * @throws IllegalStateException if the queue does not exist
+     */
+    public String getQueueUrl(String queueName, AmazonSQSClient sqsClient);
+
+    /**
+     * Sends a text message to the AWS SQS queue with the specified URL.
+     */
+    public void sendSqsTextMessage(String queueUrl, String messageText, AmazonSQSClient sqsClient);
+
+    /**
+     * Sends a batch of text messages to the AWS SQS queue with the specified URL using a single SQS send message batch request. The batch may contain at most
+     * 10 messages.
+     *
+     * @return the list of indexes of the messages that failed to be sent, or an empty list when all messages were sent
      */
-    public void sendSqsTextMessage(ClientConfiguration client, String queueName, String messageText);
+    public List<Integer> sendSqsTextMessageBatch(String queueUrl, List<String> messageTexts, AmazonSQSClient sqsClient);
 }
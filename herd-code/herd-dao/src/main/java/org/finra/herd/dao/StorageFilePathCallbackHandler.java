@@ -0,0 +1,30 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.dao;
+
+/**
+ * A callback used to process storage file paths one at a time as they are streamed from the database.
+ */
+public interface StorageFilePathCallbackHandler
+{
+    /**
+     * Processes a single storage file path.
+     *
+     * @param storageUnitId the id of the storage unit that the storage file is registered with
+     * @param storageFilePath the storage file path
+     */
+    public void processStorageFilePath(Integer storageUnitId, String storageFilePath);
+}
@@ -15,11 +15,16 @@
 */
 package org.finra.herd.dao.config;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 import javax.sql.DataSource;
 
+import org.apache.commons.lang3.StringUtils;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
 import org.springframework.jdbc.datasource.lookup.JndiDataSourceLookup;
 
 import org.finra.herd.core.ApplicationContextHolder;
@@ -31,6 +36,7 @@ import org.finra.herd.dao.HttpClientOperations;
 import org.finra.herd.dao.JdbcOperations;
 import org.finra.herd.dao.KmsOperations;
 import org.finra.herd.dao.OozieOperations;
+import org.finra.herd.dao.ReadReplicaRoutingDataSource;
 import org.finra.herd.dao.S3Operations;
 import org.finra.herd.dao.SqsOperations;
 import org.finra.herd.dao.StsOperations;
@@ -67,8 +73,36 @@ public class DaoEnvSpringModuleConfig
         // Get the configuration property for the data source JNDI name.
         String dataSourceJndiName = ConfigurationHelper.getProperty(ConfigurationValue.HERD_DATA_SOURCE_JNDI_NAME, environment);
 
-        // Return a new JNDI data source.
-        return new JndiDataSourceLookup().getDataSource(dataSourceJndiName);
+        // Get a new JNDI data source.
+        JndiDataSourceLookup jndiDataSourceLookup = new JndiDataSourceLookup();
+        DataSource primaryDataSource = jndiDataSourceLookup.getDataSource(dataSourceJndiName);
+
+        // Return the primary data source as is when no read replicas are configured.
+        String replicaJndiNames = ConfigurationHelper.getProperty(ConfigurationValue.HERD_DATA_SOURCE_REPLICA_JNDI_NAMES, environment);
+        if (StringUtils.isBlank(replicaJndiNames))
+        {
+            return primaryDataSource;
+        }
+
+        // Get the read replica JNDI data sources.
+        Map<String, DataSource> replicaDataSources = new LinkedHashMap<>();
+        for (String replicaJndiName : replicaJndiNames.split(","))
+        {
+            if (StringUtils.isNotBlank(replicaJndiName))
+            {
+                replicaDataSources.put(replicaJndiName.trim(), jndiDataSourceLookup.getDataSource(replicaJndiName.trim()));
+            }
+        }
+
+        // Route read-only transactions to the read replicas. The routing data source is wrapped by a lazy connection proxy, so the target data source gets
+        // determined once the read-only flag of the transaction is known.
+        ReadReplicaRoutingDataSource routingDataSource = new ReadReplicaRoutingDataSource(primaryDataSource, replicaDataSources,
+            ConfigurationHelper.getProperty(ConfigurationValue.HERD_DATA_SOURCE_REPLICA_MAX_LAG_SECONDS, Long.class, environment),
+            ConfigurationHelper.getProperty(ConfigurationValue.HERD_DATA_SOURCE_REPLICA_LAG_CHECK_INTERVAL_SECONDS, Long.class, environment),
+            ConfigurationHelper.getProperty(ConfigurationValue.HERD_DATA_SOURCE_REPLICA_LAG_QUERY, environment));
+        routingDataSource.afterPropertiesSet();
+
+        return new LazyConnectionDataSourceProxy(routingDataSource);
     }
 
     /**
@@ -24,6 +24,8 @@ import org.apache.commons.configuration.ConfigurationConverter;
 import org.apache.commons.configuration.DatabaseConfiguration;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.log4j.Logger;
+import org.hibernate.cache.internal.StandardQueryCache;
+import org.hibernate.cache.spi.UpdateTimestampsCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CachingConfigurer;
@@ -36,6 +38,7 @@ import org.springframework.cache.interceptor.SimpleCacheErrorHandler;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
 import org.springframework.context.annotation.FilterType;
 import org.springframework.context.annotation.Import;
 import org.springframework.context.support.PropertySourcesPlaceholderConfigurer;
@@ -53,7 +56,19 @@ import org.finra.herd.core.helper.ConfigurationHelper;
 import org.finra.herd.dao.CacheKeyGenerator;
 import org.finra.herd.dao.ReloadablePropertySource;
 import org.finra.herd.model.dto.ConfigurationValue;
+import org.finra.herd.model.jpa.BusinessObjectDataStatusEntity;
+import org.finra.herd.model.jpa.BusinessObjectFormatEntity;
 import org.finra.herd.model.jpa.ConfigurationEntity;
+import org.finra.herd.model.jpa.EmrClusterDefinitionEntity;
+import org.finra.herd.model.jpa.FileTypeEntity;
+import org.finra.herd.model.jpa.JobDefinitionEntity;
+import org.finra.herd.model.jpa.NamespaceEntity;
+import org.finra.herd.model.jpa.PartitionKeyGroupEntity;
+import org.finra.herd.model.jpa.SchemaColumnEntity;
+import org.finra.herd.model.jpa.StorageAttributeEntity;
+import org.finra.herd.model.jpa.StorageEntity;
+import org.finra.herd.model.jpa.StoragePlatformEntity;
+import org.finra.herd.model.jpa.StorageUnitStatusEntity;
 
 /**
  * DAO Spring module configuration.
@@ -93,16 +108,32 @@ public class DaoSpringModuleConfig implements CachingConfigurer
     public static final String MODEL_PACKAGES_TO_SCAN = "org.finra.herd.model.jpa";
 
     /**
-     * The herd cache name.
+     * The herd cache name. This cache region holds the security functions.
      */
     public static final String HERD_CACHE_NAME = "herd_cache";
 
+    /**
+     * The reference data cache name.
+     */
+    public static final String REFERENCE_DATA_CACHE_NAME = "herd_reference_data_cache";
+
+    /**
+     * The EMR pricing cache name.
+     */
+    public static final String EMR_PRICING_CACHE_NAME = "herd_emr_pricing_cache";
+
+    /**
+     * The DDL fragments cache name.
+     */
+    public static final String DDL_FRAGMENTS_CACHE_NAME = "herd_ddl_fragments_cache";
+
     /**
      * The JPA entity manager factory.
      *
      * @return the entity manager factory.
      */
     @Bean
+    @DependsOn("ehCacheManager")
     public LocalContainerEntityManagerFactoryBean entityManagerFactory()
     {
         // Create the entity manager factory against our data source.
@@ -162,9 +193,16 @@ public class DaoSpringModuleConfig implements CachingConfigurer
         properties.setProperty(ConfigurationValue.HIBERNATE_DIALECT.getKey(), hibernateDialect);
         LOGGER.info("Hibernate Dialect: " + properties.getProperty(ConfigurationValue.HIBERNATE_DIALECT.getKey()));
         properties.setProperty("hibernate.query.substitutions", "true='Y', false='N', yes='Y', no='N'");
-        properties.setProperty("hibernate.cache.region.factory_class", "org.hibernate.cache.ehcache.EhCacheRegionFactory");
+        // Use the singleton EH Cache region factory, so the second level cache regions are hosted by the EH Cache manager configured below.
+        properties.setProperty("hibernate.cache.region.factory_class", "org.hibernate.cache.ehcache.SingletonEhCacheRegionFactory");
         properties.setProperty("hibernate.cache.use_query_cache", "true");
         properties.setProperty("hibernate.cache.use_second_level_cache", "true");
+        // Set the JDBC batch size and order the inserts and updates by entity, so statements against the same table can be grouped into JDBC batches.
+        properties.setProperty(ConfigurationValue.HIBERNATE_JDBC_BATCH_SIZE.getKey(),
+            configurationHelper.getProperty(ConfigurationValue.HIBERNATE_JDBC_BATCH_SIZE, Integer.class).toString());
+        LOGGER.info("Hibernate JDBC Batch Size: " + properties.getProperty(ConfigurationValue.HIBERNATE_JDBC_BATCH_SIZE.getKey()));
+        properties.setProperty("hibernate.order_inserts", "true");
+        properties.setProperty("hibernate.order_updates", "true");
         // Set the "show sql" flag.
         properties.setProperty(ConfigurationValue.SHOW_SQL.getKey(), configurationHelper.getProperty(ConfigurationValue.SHOW_SQL));
         LOGGER.info("Show SQL: " + properties.getProperty(ConfigurationValue.SHOW_SQL.getKey()));
@@ -265,13 +303,117 @@ public class DaoSpringModuleConfig implements CachingConfigurer
         cacheConfiguration.setTimeToIdleSeconds(configurationHelper.getProperty(ConfigurationValue.HERD_CACHE_TIME_TO_IDLE_SECONDS, Long.class));
         cacheConfiguration.setMaxElementsInMemory(configurationHelper.getProperty(ConfigurationValue.HERD_CACHE_MAX_ELEMENTS_IN_MEMORY, Integer.class));
         cacheConfiguration.setMemoryStoreEvictionPolicy(configurationHelper.getProperty(ConfigurationValue.HERD_CACHE_MEMORY_STORE_EVICTION_POLICY));
+        cacheConfiguration.setStatistics(true);
 
         net.sf.ehcache.config.Configuration config = new net.sf.ehcache.config.Configuration();
         config.addCache(cacheConfiguration);
 
+        // Add the per-purpose cache regions. The reference data cache entries get their time to live assigned when they are put into the cache.
+        config.addCache(createCacheConfiguration(REFERENCE_DATA_CACHE_NAME,
+            configurationHelper.getProperty(ConfigurationValue.REFERENCE_DATA_CACHE_MAX_ELEMENTS, Integer.class), 0L));
+        config.addCache(createCacheConfiguration(EMR_PRICING_CACHE_NAME,
+            configurationHelper.getProperty(ConfigurationValue.EMR_PRICING_CACHE_MAX_ELEMENTS_IN_MEMORY, Integer.class),
+            configurationHelper.getProperty(ConfigurationValue.EMR_PRICING_CACHE_TIME_TO_LIVE_SECONDS, Long.class)));
+        config.addCache(createCacheConfiguration(DDL_FRAGMENTS_CACHE_NAME,
+            configurationHelper.getProperty(ConfigurationValue.DDL_FRAGMENTS_CACHE_MAX_ELEMENTS_IN_MEMORY, Integer.class),
+            configurationHelper.getProperty(ConfigurationValue.DDL_FRAGMENTS_CACHE_TIME_TO_LIVE_SECONDS, Long.class)));
+
+        // The default cache configuration is used by any Hibernate second level cache region that is not explicitly configured below.
+        CacheConfiguration defaultCacheConfiguration = new CacheConfiguration();
+        defaultCacheConfiguration.setMaxElementsInMemory(10000);
+        defaultCacheConfiguration.setTimeToLiveSeconds(3600);
+        defaultCacheConfiguration.setTimeToIdleSeconds(3600);
+        config.setDefaultCacheConfiguration(defaultCacheConfiguration);
+
+        // Add the Hibernate query cache regions.
+        config.addCache(createCacheConfiguration(StandardQueryCache.class.getName(), 10000, 3600L));
+        CacheConfiguration updateTimestampsCacheConfiguration = createCacheConfiguration(UpdateTimestampsCache.class.getName(), 10000, 0L);
+        updateTimestampsCacheConfiguration.setEternal(true);
+        config.addCache(updateTimestampsCacheConfiguration);
+
+        // Add the Hibernate second level cache regions for the cacheable entities. Entity and collection regions are named after the entity class and the
+        // collection role. The child entities and the collections share the configuration of their parent entity. All cacheable entities use the READ_WRITE
+        // concurrency strategy, which keeps the cache of this node consistent with the transactions of this node. The regions are not replicated, so an
+        // update made on another node is only picked up once the cached entry expires, i.e. the time to live of a region is its cross-node staleness bound.
+        addHibernateCacheRegions(config, ConfigurationValue.HIBERNATE_CACHE_BUSINESS_OBJECT_FORMAT_MAX_ELEMENTS_IN_MEMORY,
+            ConfigurationValue.HIBERNATE_CACHE_BUSINESS_OBJECT_FORMAT_TIME_TO_LIVE_SECONDS, BusinessObjectFormatEntity.class.getName(),
+            BusinessObjectFormatEntity.class.getName() + ".schemaColumns", SchemaColumnEntity.class.getName());
+        addHibernateCacheRegions(config, ConfigurationValue.HIBERNATE_CACHE_STORAGE_MAX_ELEMENTS_IN_MEMORY,
+            ConfigurationValue.HIBERNATE_CACHE_STORAGE_TIME_TO_LIVE_SECONDS, StorageEntity.class.getName(), StorageEntity.class.getName() + ".attributes",
+            StorageAttributeEntity.class.getName());
+        addHibernateCacheRegions(config, ConfigurationValue.HIBERNATE_CACHE_PARTITION_KEY_GROUP_MAX_ELEMENTS_IN_MEMORY,
+            ConfigurationValue.HIBERNATE_CACHE_PARTITION_KEY_GROUP_TIME_TO_LIVE_SECONDS, PartitionKeyGroupEntity.class.getName());
+        addHibernateCacheRegions(config, ConfigurationValue.HIBERNATE_CACHE_JOB_DEFINITION_MAX_ELEMENTS_IN_MEMORY,
+            ConfigurationValue.HIBERNATE_CACHE_JOB_DEFINITION_TIME_TO_LIVE_SECONDS, JobDefinitionEntity.class.getName());
+        addHibernateCacheRegions(config, ConfigurationValue.HIBERNATE_CACHE_EMR_CLUSTER_DEFINITION_MAX_ELEMENTS_IN_MEMORY,
+            ConfigurationValue.HIBERNATE_CACHE_EMR_CLUSTER_DEFINITION_TIME_TO_LIVE_SECONDS, EmrClusterDefinitionEntity.class.getName());
+        addHibernateCacheRegions(config, ConfigurationValue.HIBERNATE_CACHE_REFERENCE_DATA_MAX_ELEMENTS_IN_MEMORY,
+            ConfigurationValue.HIBERNATE_CACHE_REFERENCE_DATA_TIME_TO_LIVE_SECONDS, NamespaceEntity.class.getName(), FileTypeEntity.class.getName(),
+            BusinessObjectDataStatusEntity.class.getName(), StorageUnitStatusEntity.class.getName(), StoragePlatformEntity.class.getName());
+
+        // Add the Hibernate query cache regions for the case-insensitive reference data lookups. They share the configuration of the reference data entities.
+        addHibernateCacheRegions(config, ConfigurationValue.HIBERNATE_CACHE_REFERENCE_DATA_MAX_ELEMENTS_IN_MEMORY,
+            ConfigurationValue.HIBERNATE_CACHE_REFERENCE_DATA_TIME_TO_LIVE_SECONDS, getLookupQueryCacheRegionName(NamespaceEntity.class),
+            getLookupQueryCacheRegionName(FileTypeEntity.class), getLookupQueryCacheRegionName(BusinessObjectDataStatusEntity.class),
+            getLookupQueryCacheRegionName(StorageEntity.class), getLookupQueryCacheRegionName(StorageUnitStatusEntity.class),
+            getLookupQueryCacheRegionName(StoragePlatformEntity.class));
+
         return net.sf.ehcache.CacheManager.create(config);
     }
 
+    /**
+     * Gets the name of the Hibernate query cache region that keeps the results of the case-insensitive lookup query of a reference data entity.
+     *
+     * @param entityClass the reference data entity class
+     *
+     * @return the query cache region name
+     */
+    public static String getLookupQueryCacheRegionName(Class<?> entityClass)
+    {
+        return entityClass.getName() + ".lookupQuery";
+    }
+
+    /**
+     * Adds the Hibernate second level cache regions that share the specified configuration values.
+     *
+     * @param config the EH Cache configuration
+     * @param maxElementsInMemoryConfigurationValue the configuration value for the max elements in memory of each region
+     * @param timeToLiveSecondsConfigurationValue the configuration value for the time to live in seconds of each region
+     * @param regionNames the region names
+     */
+    private void addHibernateCacheRegions(net.sf.ehcache.config.Configuration config, ConfigurationValue maxElementsInMemoryConfigurationValue,
+        ConfigurationValue timeToLiveSecondsConfigurationValue, String... regionNames)
+    {
+        int maxElementsInMemory = configurationHelper.getProperty(maxElementsInMemoryConfigurationValue, Integer.class);
+        long timeToLiveSeconds = configurationHelper.getProperty(timeToLiveSecondsConfigurationValue, Long.class);
+
+        for (String regionName : regionNames)
+        {
+            config.addCache(createCacheConfiguration(regionName, maxElementsInMemory, timeToLiveSeconds));
+            LOGGER.info(String.format("Hibernate second level cache region: name=\"%s\" maxElementsInMemory=%d timeToLiveSeconds=%d", regionName,
+                maxElementsInMemory, timeToLiveSeconds));
+        }
+    }
+
+    /**
+     * Creates an EH Cache configuration with the statistics enabled.
+     *
+     * @param cacheName the cache name
+     * @param maxElementsInMemory the max elements in memory
+     * @param timeToLiveSeconds the time to live in seconds
+     *
+     * @return the cache configuration
+     */
+    private CacheConfiguration createCacheConfiguration(String cacheName, int maxElementsInMemory, long timeToLiveSeconds)
+    {
+        CacheConfiguration cacheConfiguration = new CacheConfiguration();
+        cacheConfiguration.setName(cacheName);
+        cacheConfiguration.setMaxElementsInMemory(maxElementsInMemory);
+        cacheConfiguration.setTimeToLiveSeconds(timeToLiveSeconds);
+        cacheConfiguration.setStatistics(true);
+        return cacheConfiguration;
+    }
+
     @Bean
     @Override
     public CacheManager cacheManager()
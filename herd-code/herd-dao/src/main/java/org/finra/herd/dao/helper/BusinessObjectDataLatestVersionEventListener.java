@@ -0,0 +1,184 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.dao.helper;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.PersistenceUnit;
+
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import org.finra.herd.dao.HerdDao;
+import org.finra.herd.model.jpa.BusinessObjectDataEntity;
+import org.finra.herd.model.jpa.StorageUnitEntity;
+
+/**
+ * Keeps track of the partitions whose latest business object data versions need to be refreshed. The listener is registered with Hibernate, so it sees every
+ * business object data and storage unit row that gets inserted, updated or deleted, including the rows saved without a refresh, the rows deleted by a cascade
+ * or by orphan removal, and the rows written through other DAOs. Only bulk update and delete statements are not seen, and none of them touch these tables.
+ * <p/>
+ * The tracked partitions are refreshed before the transaction commits, and also before any query that reads the latest versions in the same transaction.
+ */
+@Component
+public class BusinessObjectDataLatestVersionEventListener implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener
+{
+    private static final long serialVersionUID = 1L;
+
+    @PersistenceUnit
+    private transient EntityManagerFactory entityManagerFactory;
+
+    // The DAO is injected lazily, since it depends on this listener.
+    @Autowired
+    @Lazy
+    private transient HerdDao herdDao;
+
+    // The business object data of the tracked partitions per Hibernate session, keyed by the business object format id and the partition values.
+    private final transient Map<Object, Map<List<Object>, BusinessObjectDataEntity>> pendingBusinessObjectDataBySession = new ConcurrentHashMap<>();
+
+    /**
+     * Registers this listener with the Hibernate session factory behind the entity manager factory.
+     */
+    @PostConstruct
+    public void registerListener()
+    {
+        EventListenerRegistry eventListenerRegistry =
+            entityManagerFactory.unwrap(SessionFactoryImplementor.class).getServiceRegistry().getService(EventListenerRegistry.class);
+        eventListenerRegistry.appendListeners(EventType.POST_INSERT, this);
+        eventListenerRegistry.appendListeners(EventType.POST_UPDATE, this);
+        eventListenerRegistry.appendListeners(EventType.POST_DELETE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event)
+    {
+        track(event.getSession(), event.getEntity());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event)
+    {
+        track(event.getSession(), event.getEntity());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event)
+    {
+        track(event.getSession(), event.getEntity());
+    }
+
+    @Override
+    public boolean requiresPostCommitHanding(EntityPersister persister)
+    {
+        return false;
+    }
+
+    /**
+     * Removes and returns the business object data of the partitions tracked for the specified session.
+     *
+     * @param session the Hibernate session
+     *
+     * @return the list of business object data entities, one per tracked partition
+     */
+    public List<BusinessObjectDataEntity> takePendingBusinessObjectData(Object session)
+    {
+        List<BusinessObjectDataEntity> result = new ArrayList<>();
+        Map<List<Object>, BusinessObjectDataEntity> pendingBusinessObjectData = pendingBusinessObjectDataBySession.get(session);
+        if (pendingBusinessObjectData != null)
+        {
+            result.addAll(pendingBusinessObjectData.values());
+            pendingBusinessObjectData.clear();
+        }
+        return result;
+    }
+
+    /**
+     * Tracks the partition of the specified entity when it is business object data or a storage unit. The first tracked partition of a session registers the
+     * processes that refresh the latest versions before the transaction commits and that forget the session once the transaction completes.
+     *
+     * @param session the Hibernate session that wrote the entity
+     * @param entity the entity that was inserted, updated or deleted
+     */
+    private void track(final EventSource session, Object entity)
+    {
+        BusinessObjectDataEntity businessObjectDataEntity = null;
+        if (entity instanceof BusinessObjectDataEntity)
+        {
+            businessObjectDataEntity = (BusinessObjectDataEntity) entity;
+        }
+        else if (entity instanceof StorageUnitEntity)
+        {
+            businessObjectDataEntity = ((StorageUnitEntity) entity).getBusinessObjectData();
+        }
+
+        if (businessObjectDataEntity == null || businessObjectDataEntity.getBusinessObjectFormat() == null)
+        {
+            return;
+        }
+
+        Map<List<Object>, BusinessObjectDataEntity> pendingBusinessObjectData = pendingBusinessObjectDataBySession.get(session);
+        if (pendingBusinessObjectData == null)
+        {
+            pendingBusinessObjectData = new LinkedHashMap<>();
+            pendingBusinessObjectDataBySession.put(session, pendingBusinessObjectData);
+
+            session.getActionQueue().registerProcess(new BeforeTransactionCompletionProcess()
+            {
+                @Override
+                public void doBeforeTransactionCompletion(SessionImplementor sessionImplementor)
+                {
+                    herdDao.refreshPendingBusinessObjectDataLatestVersions();
+                }
+            });
+            session.getActionQueue().registerProcess(new AfterTransactionCompletionProcess()
+            {
+                @Override
+                public void doAfterTransactionCompletion(boolean success, SessionImplementor sessionImplementor)
+                {
+                    pendingBusinessObjectDataBySession.remove(session);
+                }
+            });
+        }
+
+        List<Object> partitionKey = Arrays
+            .<Object>asList(businessObjectDataEntity.getBusinessObjectFormat().getId(), businessObjectDataEntity.getPartitionValue(),
+                businessObjectDataEntity.getPartitionValue2(), businessObjectDataEntity.getPartitionValue3(), businessObjectDataEntity.getPartitionValue4(),
+                businessObjectDataEntity.getPartitionValue5());
+        pendingBusinessObjectData.put(partitionKey, businessObjectDataEntity);
+    }
+}
@@ -0,0 +1,97 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.dao.helper;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import net.sf.ehcache.CacheManager;
+import net.sf.ehcache.Ehcache;
+import net.sf.ehcache.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import org.finra.herd.model.ObjectNotFoundException;
+import org.finra.herd.model.dto.CacheStatisticsDto;
+
+/**
+ * A helper that exposes the runtime statistics of the EH Cache regions, including the Hibernate second level cache regions.
+ */
+@Component
+public class CacheStatisticsHelper
+{
+    @Autowired
+    private CacheManager ehCacheManager;
+
+    /**
+     * Gets the statistics of all EH Cache regions ordered by the region name.
+     *
+     * @return the list of cache statistics
+     */
+    public List<CacheStatisticsDto> getCacheStatistics()
+    {
+        String[] cacheNames = ehCacheManager.getCacheNames();
+        Arrays.sort(cacheNames);
+
+        List<CacheStatisticsDto> cacheStatistics = new ArrayList<>();
+        for (String cacheName : cacheNames)
+        {
+            Ehcache ehcache = ehCacheManager.getEhcache(cacheName);
+            if (ehcache != null)
+            {
+                cacheStatistics.add(createCacheStatisticsDto(ehcache));
+            }
+        }
+
+        return cacheStatistics;
+    }
+
+    /**
+     * Removes all elements from the specified EH Cache region. The region statistics are kept.
+     *
+     * @param cacheName the name of the cache region
+     *
+     * @return the statistics of the cache region after it was cleared
+     * @throws ObjectNotFoundException if the cache region doesn't exist
+     */
+    public CacheStatisticsDto clearCache(String cacheName) throws ObjectNotFoundException
+    {
+        Ehcache ehcache = ehCacheManager.getEhcache(cacheName);
+        if (ehcache == null)
+        {
+            throw new ObjectNotFoundException(String.format("Cache \"%s\" doesn't exist.", cacheName));
+        }
+
+        ehcache.removeAll();
+
+        return createCacheStatisticsDto(ehcache);
+    }
+
+    /**
+     * Creates the cache statistics DTO from the runtime statistics of the specified EH Cache region.
+     *
+     * @param ehcache the cache region
+     *
+     * @return the cache statistics DTO
+     */
+    private CacheStatisticsDto createCacheStatisticsDto(Ehcache ehcache)
+    {
+        Statistics statistics = ehcache.getStatistics();
+        return new CacheStatisticsDto(ehcache.getName(), statistics.getObjectCount(), statistics.getCacheHits(), statistics.getCacheMisses(),
+            statistics.getEvictionCount());
+    }
+}
@@ -0,0 +1,129 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.dao.helper;
+
+import net.sf.ehcache.CacheManager;
+import net.sf.ehcache.Ehcache;
+import net.sf.ehcache.Element;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import org.finra.herd.core.helper.ConfigurationHelper;
+import org.finra.herd.dao.config.DaoSpringModuleConfig;
+import org.finra.herd.model.dto.ConfigurationValue;
+
+/**
+ * A cache that maps case-insensitive reference data codes (i.e. namespace codes, file type codes, status codes, storage names and storage platform names) to
+ * the primary keys of the matching entities. The entries are kept in the reference data EH Cache region, so the region size and statistics are managed along
+ * with the other herd cache regions.
+ * <p/>
+ * Since the primary keys of the reference data entities are the codes themselves, a cached primary key is always verified by loading the entity by its
+ * primary key. The reference data entities are kept in the Hibernate second level cache, so that load does not query the database either. An entity that
+ * was deleted is not found by the primary key lookup once it is gone from the second level cache, so the stale entry is evicted and the caller falls back to
+ * the case-insensitive query. Entries also expire after the configured time to live, so the cache never holds a mapping for longer than that.
+ */
+@Component
+public class ReferenceDataCacheHelper
+{
+    @Autowired
+    private ConfigurationHelper configurationHelper;
+
+    @Autowired
+    private CacheManager ehCacheManager;
+
+    /**
+     * Gets the cached primary key of the reference data entity with the specified code.
+     *
+     * @param entityClass the reference data entity class
+     * @param code the case-insensitive code of the reference data entity
+     *
+     * @return the primary key of the reference data entity or null if no valid entry is cached
+     */
+    public String getPrimaryKey(Class<?> entityClass, String code)
+    {
+        if (getTimeToLiveSeconds() <= 0)
+        {
+            return null;
+        }
+
+        Element element = getCache().get(getKey(entityClass, code));
+        return element != null ? (String) element.getObjectValue() : null;
+    }
+
+    /**
+     * Caches the primary key of the reference data entity with the specified code.
+     *
+     * @param entityClass the reference data entity class
+     * @param code the case-insensitive code of the reference data entity
+     * @param primaryKey the primary key of the reference data entity
+     */
+    public void putPrimaryKey(Class<?> entityClass, String code, String primaryKey)
+    {
+        long timeToLiveSeconds = getTimeToLiveSeconds();
+        if (timeToLiveSeconds <= 0)
+        {
+            return;
+        }
+
+        Element element = new Element(getKey(entityClass, code), primaryKey);
+        element.setTimeToLive((int) Math.min(timeToLiveSeconds, Integer.MAX_VALUE));
+        getCache().put(element);
+    }
+
+    /**
+     * Evicts the cached primary key of the reference data entity with the specified code.
+     *
+     * @param entityClass the reference data entity class
+     * @param code the case-insensitive code of the reference data entity
+     */
+    public void evict(Class<?> entityClass, String code)
+    {
+        getCache().remove(getKey(entityClass, code));
+    }
+
+    /**
+     * Gets the configured time to live of the cache entries in seconds.
+     *
+     * @return the time to live in seconds
+     */
+    private long getTimeToLiveSeconds()
+    {
+        return configurationHelper.getProperty(ConfigurationValue.REFERENCE_DATA_CACHE_TIME_TO_LIVE_SECONDS, Long.class);
+    }
+
+    /**
+     * Gets the reference data cache region.
+     *
+     * @return the reference data cache region
+     */
+    private Ehcache getCache()
+    {
+        return ehCacheManager.getEhcache(DaoSpringModuleConfig.REFERENCE_DATA_CACHE_NAME);
+    }
+
+    /**
+     * Builds the cache key for the specified reference data entity type and code.
+     *
+     * @param entityClass the reference data entity class
+     * @param code the case-insensitive code of the reference data entity
+     *
+     * @return the cache key
+     */
+    private String getKey(Class<?> entityClass, String code)
+    {
+        return entityClass.getSimpleName() + ":" + code.toUpperCase();
+    }
+}
@@ -0,0 +1,399 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.dao.helper;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.amazonaws.ClientConfiguration;
+import com.amazonaws.auth.AWSCredentials;
+import com.amazonaws.auth.AWSCredentialsProvider;
+import com.amazonaws.auth.AWSCredentialsProviderChain;
+import com.amazonaws.auth.BasicAWSCredentials;
+import com.amazonaws.auth.BasicSessionCredentials;
+import com.amazonaws.auth.DefaultAWSCredentialsProviderChain;
+import com.amazonaws.internal.StaticCredentialsProvider;
+import com.amazonaws.services.s3.AmazonS3Client;
+import com.amazonaws.services.s3.transfer.TransferManager;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.log4j.Logger;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import org.finra.herd.core.helper.ConfigurationHelper;
+import org.finra.herd.model.api.xml.AwsCredential;
+import org.finra.herd.model.dto.ConfigurationValue;
+import org.finra.herd.model.dto.HerdAWSCredentialsProvider;
+import org.finra.herd.model.dto.S3FileTransferRequestParamsDto;
+
+/**
+ * A registry of long-lived Amazon S3 clients. Amazon S3 clients are thread safe, so the registry shares a single client, along with its HTTP connection pool,
+ * among all callers that use the same endpoint, proxy, signer override and credentials. A client is leased by {@link #getAmazonS3Client} and must be handed
+ * back by {@link #releaseAmazonS3Client} once the caller is done with it. Clients that are not leased and have not been used for the configured idle timeout
+ * are shut down and removed from the registry. Transfer managers are not kept by the registry: each transfer gets its own transfer manager, built on a shared
+ * client and a view of the shared S3 transfer executor, so concurrent transfers do not share a thread quota.
+ */
+@Component
+public class S3ClientRegistry implements DisposableBean
+{
+    private static final Logger LOGGER = Logger.getLogger(S3ClientRegistry.class);
+
+    // The number of milliseconds in a second.
+    private static final long MILLISECONDS_IN_A_SECOND = 1000L;
+
+    @Autowired
+    private ConfigurationHelper configurationHelper;
+
+    @Autowired
+    private S3TransferExecutor s3TransferExecutor;
+
+    // The registered clients keyed by the client settings.
+    private final Map<List<Object>, S3ClientEntry> s3ClientEntries = new ConcurrentHashMap<>();
+
+    // The registered clients keyed by the client itself, used to find the entry of a client being released.
+    private final Map<AmazonS3Client, S3ClientEntry> s3ClientEntriesByClient = new ConcurrentHashMap<>();
+
+    private final AtomicLong leaseCount = new AtomicLong();
+
+    private final AtomicLong createCount = new AtomicLong();
+
+    private final AtomicLong evictionCount = new AtomicLong();
+
+    /**
+     * A {@link AWSCredentialsProvider} which delegates to its wrapped {@link HerdAWSCredentialsProvider}
+     */
+    private static class HerdAwsCredentialsProviderWrapper implements AWSCredentialsProvider
+    {
+        private HerdAWSCredentialsProvider herdAWSCredentialsProvider;
+
+        public HerdAwsCredentialsProviderWrapper(HerdAWSCredentialsProvider herdAWSCredentialsProvider)
+        {
+            this.herdAWSCredentialsProvider = herdAWSCredentialsProvider;
+        }
+
+        @Override
+        public AWSCredentials getCredentials()
+        {
+            AwsCredential herdAwsCredential = herdAWSCredentialsProvider.getAwsCredential();
+            return new BasicSessionCredentials(herdAwsCredential.getAwsAccessKey(), herdAwsCredential.getAwsSecretKey(),
+                herdAwsCredential.getAwsSessionToken());
+        }
+
+        @Override
+        public void refresh()
+        {
+            // No need to implement this. AWS doesn't use this.
+        }
+    }
+
+    /**
+     * A registered client along with its usage information.
+     */
+    private static class S3ClientEntry
+    {
+        private final AmazonS3Client amazonS3Client;
+
+        private final AtomicInteger activeLeaseCount = new AtomicInteger();
+
+        private volatile long lastUsedTime = System.currentTimeMillis();
+
+        private S3ClientEntry(AmazonS3Client amazonS3Client)
+        {
+            this.amazonS3Client = amazonS3Client;
+        }
+    }
+
+    /**
+     * Leases an S3 client for the specified parameters. A client is created when none is registered yet for the endpoint, proxy, signer override and
+     * credentials in the parameters. The HTTP proxy information will be added if the host and port are specified in the parameters.
+     *
+     * @param params the parameters
+     *
+     * @return the Amazon S3 client
+     */
+    public AmazonS3Client getAmazonS3Client(S3FileTransferRequestParamsDto params)
+    {
+        evictIdleClients();
+
+        List<Object> key = getKey(params);
+
+        S3ClientEntry s3ClientEntry;
+        synchronized (s3ClientEntries)
+        {
+            s3ClientEntry = s3ClientEntries.get(key);
+            if (s3ClientEntry == null)
+            {
+                s3ClientEntry = new S3ClientEntry(createAmazonS3Client(params));
+                s3ClientEntries.put(key, s3ClientEntry);
+                s3ClientEntriesByClient.put(s3ClientEntry.amazonS3Client, s3ClientEntry);
+                createCount.incrementAndGet();
+            }
+
+            s3ClientEntry.activeLeaseCount.incrementAndGet();
+            s3ClientEntry.lastUsedTime = System.currentTimeMillis();
+        }
+
+        leaseCount.incrementAndGet();
+
+        return s3ClientEntry.amazonS3Client;
+    }
+
+    /**
+     * Hands back an S3 client leased by {@link #getAmazonS3Client}. The client stays open for reuse by other callers.
+     *
+     * @param amazonS3Client the Amazon S3 client, may be null
+     */
+    public void releaseAmazonS3Client(AmazonS3Client amazonS3Client)
+    {
+        if (amazonS3Client != null)
+        {
+            S3ClientEntry s3ClientEntry = s3ClientEntriesByClient.get(amazonS3Client);
+            if (s3ClientEntry != null)
+            {
+                s3ClientEntry.lastUsedTime = System.currentTimeMillis();
+                s3ClientEntry.activeLeaseCount.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Creates a transfer manager for a single transfer built on the specified S3 client. The transfer manager runs its tasks on its own view of the shared S3
+     * transfer executor, so the maximum number of threads applies to this transfer only. The caller must shut the transfer manager down with {@code
+     * shutdownNow(false)} once the transfer is done, which shuts down the view without shutting down the S3 client or the shared S3 transfer executor.
+     *
+     * @param amazonS3Client the Amazon S3 client leased by {@link #getAmazonS3Client}
+     * @param maxThreads the maximum number of threads the transfer manager may use at a time, or null to use the configured default
+     *
+     * @return the transfer manager
+     */
+    public TransferManager getTransferManager(AmazonS3Client amazonS3Client, Integer maxThreads)
+    {
+        if (!s3ClientEntriesByClient.containsKey(amazonS3Client))
+        {
+            throw new IllegalArgumentException("The S3 client is not registered.");
+        }
+
+        return new TransferManager(amazonS3Client, s3TransferExecutor.createExecutorService(maxThreads));
+    }
+
+    /**
+     * Gets the number of clients currently registered.
+     *
+     * @return the number of registered clients
+     */
+    public int getClientCount()
+    {
+        return s3ClientEntries.size();
+    }
+
+    /**
+     * Gets the number of clients currently leased.
+     *
+     * @return the number of active leases over all registered clients
+     */
+    public int getActiveLeaseCount()
+    {
+        int activeLeaseCount = 0;
+        for (S3ClientEntry s3ClientEntry : s3ClientEntries.values())
+        {
+            activeLeaseCount += s3ClientEntry.activeLeaseCount.get();
+        }
+        return activeLeaseCount;
+    }
+
+    /**
+     * Gets the total number of client leases.
+     *
+     * @return the total number of leases
+     */
+    public long getLeaseCount()
+    {
+        return leaseCount.get();
+    }
+
+    /**
+     * Gets the total number of clients created. Leases that did not create a client reused a registered one.
+     *
+     * @return the total number of created clients
+     */
+    public long getCreateCount()
+    {
+        return createCount.get();
+    }
+
+    /**
+     * Gets the total number of clients shut down because they were idle.
+     *
+     * @return the total number of evicted clients
+     */
+    public long getEvictionCount()
+    {
+        return evictionCount.get();
+    }
+
+    /**
+     * Shuts down and removes the clients that are not leased and have been idle longer than the configured idle timeout.
+     */
+    public void evictIdleClients()
+    {
+        long idleTimeoutMillis = configurationHelper.getProperty(ConfigurationValue.S3_CLIENT_IDLE_TIMEOUT_SECONDS, Long.class) * MILLISECONDS_IN_A_SECOND;
+        long currentTime = System.currentTimeMillis();
+
+        synchronized (s3ClientEntries)
+        {
+            Iterator<S3ClientEntry> iterator = s3ClientEntries.values().iterator();
+            while (iterator.hasNext())
+            {
+                S3ClientEntry s3ClientEntry = iterator.next();
+                if (s3ClientEntry.activeLeaseCount.get() <= 0 && currentTime - s3ClientEntry.lastUsedTime >= idleTimeoutMillis)
+                {
+                    iterator.remove();
+                    s3ClientEntriesByClient.remove(s3ClientEntry.amazonS3Client);
+                    shutdown(s3ClientEntry);
+                    evictionCount.incrementAndGet();
+                }
+            }
+        }
+    }
+
+    /**
+     * Shuts down all registered clients when the application context is closed.
+     */
+    @Override
+    public void destroy()
+    {
+        synchronized (s3ClientEntries)
+        {
+            for (S3ClientEntry s3ClientEntry : s3ClientEntries.values())
+            {
+                shutdown(s3ClientEntry);
+            }
+            s3ClientEntries.clear();
+            s3ClientEntriesByClient.clear();
+        }
+    }
+
+    /**
+     * Shuts down the S3 client of the specified registry entry.
+     *
+     * @param s3ClientEntry the registry entry
+     */
+    private void shutdown(S3ClientEntry s3ClientEntry)
+    {
+        s3ClientEntry.amazonS3Client.shutdown();
+    }
+
+    /**
+     * Gets the registry key for the specified parameters. Additional herd credentials providers are compared by identity.
+     *
+     * @param params the parameters
+     *
+     * @return the registry key
+     */
+    private List<Object> getKey(S3FileTransferRequestParamsDto params)
+    {
+        return Arrays.<Object>asList(params.getS3Endpoint(), params.getHttpProxyHost(), params.getHttpProxyPort(), params.getSignerOverride(),
+            params.getS3AccessKey(), params.getS3SecretKey(), new ArrayList<>(params.getAdditionalAwsCredentialsProviders()));
+    }
+
+    /**
+     * Creates a new S3 client based on the specified parameters. The HTTP proxy information will be added if the host and port are specified in the
+     * parameters.
+     *
+     * @param params the parameters.
+     *
+     * @return the Amazon S3 client.
+     */
+    private AmazonS3Client createAmazonS3Client(S3FileTransferRequestParamsDto params)
+    {
+        AmazonS3Client amazonS3Client;
+
+        ClientConfiguration clientConfiguration = null;
+
+        // Creates and sets proxy configuration if proxy is specified
+        if (StringUtils.isNotBlank(params.getHttpProxyHost()) && StringUtils.isNotBlank(params.getHttpProxyPort().toString()))
+        {
+            clientConfiguration = new ClientConfiguration();
+            clientConfiguration.setProxyHost(params.getHttpProxyHost());
+            clientConfiguration.setProxyPort(params.getHttpProxyPort());
+        }
+
+        // Creates and sets signer override if signer override is specified
+        if (StringUtils.isNotBlank(params.getSignerOverride()))
+        {
+            if (clientConfiguration == null)
+            {
+                clientConfiguration = new ClientConfiguration();
+            }
+
+            clientConfiguration.setSignerOverride(params.getSignerOverride());
+        }
+
+        AWSCredentialsProvider awsCredentialsProvider = getAWSCredentialsProvider(params);
+        if (clientConfiguration != null)
+        {
+            // Create an S3 client with HTTP proxy information.
+            amazonS3Client = new AmazonS3Client(awsCredentialsProvider, clientConfiguration);
+        }
+        else
+        {
+            // Create an S3 client with no proxy information.
+            amazonS3Client = new AmazonS3Client(awsCredentialsProvider);
+        }
+
+        // Set the optional endpoint if configured.
+        if (StringUtils.isNotBlank(params.getS3Endpoint()))
+        {
+            LOGGER.info("Configured S3 Endpoint: " + params.getS3Endpoint());
+            amazonS3Client.setEndpoint(params.getS3Endpoint());
+        }
+
+        // Return the newly created client.
+        return amazonS3Client;
+    }
+
+    /**
+     * <p> Gets the {@link AWSCredentialsProvider} based on the credentials in the given parameters. </p> <p> Returns {@link DefaultAWSCredentialsProviderChain}
+     * if either access or secret key is {@code null}. Otherwise returns a {@link StaticCredentialsProvider} with the credentials. </p>
+     *
+     * @param params - Access parameters
+     *
+     * @return AWS credentials provider implementation
+     */
+    private AWSCredentialsProvider getAWSCredentialsProvider(S3FileTransferRequestParamsDto params)
+    {
+        List<AWSCredentialsProvider> providers = new ArrayList<>();
+        String accessKey = params.getS3AccessKey();
+        String secretKey = params.getS3SecretKey();
+        if (accessKey != null && secretKey != null)
+        {
+            providers.add(new StaticCredentialsProvider(new BasicAWSCredentials(accessKey, secretKey)));
+        }
+        for (HerdAWSCredentialsProvider herdAWSCredentialsProvider : params.getAdditionalAwsCredentialsProviders())
+        {
+            providers.add(new HerdAwsCredentialsProviderWrapper(herdAWSCredentialsProvider));
+        }
+        providers.add(new DefaultAWSCredentialsProviderChain());
+        return new AWSCredentialsProviderChain(providers.toArray(new AWSCredentialsProvider[providers.size()]));
+    }
+}
@@ -0,0 +1,255 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.dao.helper;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.log4j.Logger;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import org.finra.herd.core.helper.ConfigurationHelper;
+import org.finra.herd.model.dto.ConfigurationValue;
+
+/**
+ * A process-wide executor for S3 transfers. All transfer managers run their tasks on one shared thread pool, so the number of transfer threads of the process
+ * is capped no matter how many transfers run concurrently. Each transfer manager gets its own view of the shared pool that runs at most a given number of its
+ * tasks at a time, so a single large transfer can not take over the whole pool. Tasks over the quota wait in the queue of their view.
+ */
+@Component
+public class S3TransferExecutor implements InitializingBean, DisposableBean
+{
+    private static final Logger LOGGER = Logger.getLogger(S3TransferExecutor.class);
+
+    @Autowired
+    private ConfigurationHelper configurationHelper;
+
+    // The shared thread pool.
+    private ThreadPoolExecutor threadPoolExecutor;
+
+    // The number of tasks waiting in the queues of the executor views for their quota.
+    private final AtomicInteger pendingTaskCount = new AtomicInteger();
+
+    @Override
+    public void afterPropertiesSet()
+    {
+        int maxThreads = configurationHelper.getProperty(ConfigurationValue.S3_TRANSFER_EXECUTOR_MAX_THREADS, Integer.class);
+
+        LOGGER.info("Creating the shared S3 transfer executor with max threads: " + maxThreads);
+        threadPoolExecutor = new ThreadPoolExecutor(maxThreads, maxThreads, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), new ThreadFactory()
+        {
+            private final AtomicInteger threadNumber = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable runnable)
+            {
+                // Use daemon threads, so idle transfer threads do not delay the JVM upon exiting.
+                Thread thread = new Thread(runnable, "herd-s3-transfer-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        threadPoolExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    @Override
+    public void destroy()
+    {
+        threadPoolExecutor.shutdownNow();
+    }
+
+    /**
+     * Creates a view of the shared thread pool that runs at most the specified number of tasks at a time. Shutting down the view does not shut down the shared
+     * thread pool.
+     *
+     * @param maxThreads the maximum number of tasks run at a time, or null to use the configured default
+     *
+     * @return the executor service
+     */
+    public ExecutorService createExecutorService(Integer maxThreads)
+    {
+        int quota = maxThreads != null ? maxThreads : configurationHelper.getProperty(ConfigurationValue.S3_TRANSFER_DEFAULT_MAX_THREADS, Integer.class);
+        return new QuotaExecutorService(Math.max(1, Math.min(quota, threadPoolExecutor.getMaximumPoolSize())));
+    }
+
+    /**
+     * Gets the number of threads that are actively running transfer tasks.
+     *
+     * @return the number of active threads
+     */
+    public int getActiveThreadCount()
+    {
+        return threadPoolExecutor.getActiveCount();
+    }
+
+    /**
+     * Gets the number of transfer tasks waiting to run, either in the shared thread pool queue or in the queues of the executor views.
+     *
+     * @return the number of queued tasks
+     */
+    public int getQueueDepth()
+    {
+        return threadPoolExecutor.getQueue().size() + pendingTaskCount.get();
+    }
+
+    /**
+     * Gets the total number of transfer tasks completed by the shared thread pool.
+     *
+     * @return the number of completed tasks
+     */
+    public long getCompletedTaskCount()
+    {
+        return threadPoolExecutor.getCompletedTaskCount();
+    }
+
+    /**
+     * A view of the shared thread pool that runs at most a given number of tasks at a time.
+     */
+    private class QuotaExecutorService extends AbstractExecutorService
+    {
+        private final int quota;
+
+        private final Queue<Runnable> pendingTasks = new LinkedList<>();
+
+        private int runningTaskCount;
+
+        private boolean shutdown;
+
+        private QuotaExecutorService(int quota)
+        {
+            this.quota = quota;
+        }
+
+        @Override
+        public synchronized void execute(Runnable task)
+        {
+            if (shutdown)
+            {
+                throw new RejectedExecutionException("The S3 transfer executor has been shut down.");
+            }
+
+            pendingTasks.add(task);
+            pendingTaskCount.incrementAndGet();
+            runPendingTasks();
+        }
+
+        @Override
+        public synchronized void shutdown()
+        {
+            shutdown = true;
+            notifyAll();
+        }
+
+        @Override
+        public synchronized List<Runnable> shutdownNow()
+        {
+            shutdown = true;
+            List<Runnable> tasks = new ArrayList<>(pendingTasks);
+            pendingTaskCount.addAndGet(-pendingTasks.size());
+            pendingTasks.clear();
+            notifyAll();
+            return tasks;
+        }
+
+        @Override
+        public synchronized boolean isShutdown()
+        {
+            return shutdown;
+        }
+
+        @Override
+        public synchronized boolean isTerminated()
+        {
+            return shutdown && runningTaskCount == 0 && pendingTasks.isEmpty();
+        }
+
+        @Override
+        public synchronized boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException
+        {
+            long deadline = System.nanoTime() + unit.toNanos(timeout);
+            while (!isTerminated())
+            {
+                long remainingNanos = deadline - System.nanoTime();
+                if (remainingNanos <= 0)
+                {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(this, remainingNanos);
+            }
+            return true;
+        }
+
+        /**
+         * Hands pending tasks over to the shared thread pool while the quota allows it. Must be called while holding the lock of this view.
+         */
+        private void runPendingTasks()
+        {
+            while (runningTaskCount < quota && !pendingTasks.isEmpty())
+            {
+                final Runnable task = pendingTasks.poll();
+                pendingTaskCount.decrementAndGet();
+                runningTaskCount++;
+
+                try
+                {
+                    threadPoolExecutor.execute(new Runnable()
+                    {
+                        @Override
+                        public void run()
+                        {
+                            try
+                            {
+                                task.run();
+                            }
+                            finally
+                            {
+                                onTaskCompleted();
+                            }
+                        }
+                    });
+                }
+                catch (RejectedExecutionException e)
+                {
+                    runningTaskCount--;
+                    throw e;
+                }
+            }
+        }
+
+        /**
+         * Releases the quota held by a completed task and runs the next pending tasks.
+         */
+        private synchronized void onTaskCompleted()
+        {
+            runningTaskCount--;
+            runPendingTasks();
+            notifyAll();
+        }
+    }
+}
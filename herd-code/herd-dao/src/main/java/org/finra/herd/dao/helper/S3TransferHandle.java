@@ -0,0 +1,191 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.dao.helper;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import com.amazonaws.event.ProgressEvent;
+import com.amazonaws.event.ProgressEventType;
+import com.amazonaws.event.ProgressListener;
+import com.amazonaws.services.s3.transfer.Transfer;
+import com.amazonaws.services.s3.transfer.Transfer.TransferState;
+import com.amazonaws.services.s3.transfer.TransferProgress;
+
+/**
+ * A handle on an S3 transfer that completes when the transfer completes, fails or gets canceled. The handle is notified by the progress events of the
+ * transfer, so callers waiting on it return as soon as the transfer ends. The value of the handle is the state the transfer ended in. The handle also exposes
+ * the progress metrics of the transfer.
+ */
+public class S3TransferHandle extends CompletableFuture<TransferState> implements ProgressListener
+{
+    private final Transfer transfer;
+
+    private final long startTimeMillis = System.currentTimeMillis();
+
+    private volatile long endTimeMillis;
+
+    /**
+     * Creates a handle on the specified transfer. Use {@link #watch} to get a handle that is registered with the transfer.
+     *
+     * @param transfer the transfer
+     */
+    private S3TransferHandle(Transfer transfer)
+    {
+        this.transfer = transfer;
+    }
+
+    /**
+     * Gets a handle on the specified transfer. The handle is registered as a progress listener of the transfer. A transfer that has already ended by the
+     * time the handle gets registered sends no further events, so the handle is completed right away with the state of such a transfer.
+     *
+     * @param transfer the transfer
+     *
+     * @return the transfer handle
+     */
+    public static S3TransferHandle watch(Transfer transfer)
+    {
+        S3TransferHandle transferHandle = new S3TransferHandle(transfer);
+        transfer.addProgressListener(transferHandle);
+        if (transfer.isDone())
+        {
+            transferHandle.end(transfer.getState());
+        }
+        return transferHandle;
+    }
+
+    @Override
+    public void progressChanged(ProgressEvent progressEvent)
+    {
+        ProgressEventType eventType = progressEvent.getEventType();
+        if (eventType == ProgressEventType.TRANSFER_COMPLETED_EVENT)
+        {
+            end(TransferState.Completed);
+        }
+        else if (eventType == ProgressEventType.TRANSFER_FAILED_EVENT)
+        {
+            end(TransferState.Failed);
+        }
+        else if (eventType == ProgressEventType.TRANSFER_CANCELED_EVENT)
+        {
+            end(TransferState.Canceled);
+        }
+    }
+
+    /**
+     * Waits for the transfer to end.
+     *
+     * @param timeoutMillis the maximum time to wait in milliseconds
+     *
+     * @return true if the transfer has ended, false if the waiting time elapsed first
+     * @throws InterruptedException if the current thread is interrupted while waiting
+     */
+    public boolean awaitCompletion(long timeoutMillis) throws InterruptedException
+    {
+        try
+        {
+            get(timeoutMillis, TimeUnit.MILLISECONDS);
+            return true;
+        }
+        catch (TimeoutException e)
+        {
+            return false;
+        }
+        catch (ExecutionException e)
+        {
+            // The handle is only ever completed with a transfer state, so this is not expected.
+            throw new IllegalStateException("The transfer handle completed exceptionally.", e.getCause());
+        }
+    }
+
+    /**
+     * Gets the transfer.
+     *
+     * @return the transfer
+     */
+    public Transfer getTransfer()
+    {
+        return transfer;
+    }
+
+    /**
+     * Gets the number of bytes transferred so far.
+     *
+     * @return the number of bytes transferred
+     */
+    public long getBytesTransferred()
+    {
+        return transfer.getProgress().getBytesTransferred();
+    }
+
+    /**
+     * Gets the total number of bytes to transfer.
+     *
+     * @return the total number of bytes to transfer
+     */
+    public long getTotalBytesToTransfer()
+    {
+        return transfer.getProgress().getTotalBytesToTransfer();
+    }
+
+    /**
+     * Gets the percentage of bytes transferred so far.
+     *
+     * @return the percentage of bytes transferred
+     */
+    public double getPercentTransferred()
+    {
+        return transfer.getProgress().getPercentTransferred();
+    }
+
+    /**
+     * Gets the time the transfer has taken since the handle was created, up to the time it ended if it has ended.
+     *
+     * @return the elapsed time in milliseconds
+     */
+    public long getElapsedMillis()
+    {
+        return (isDone() ? endTimeMillis : System.currentTimeMillis()) - startTimeMillis;
+    }
+
+    /**
+     * Gets a description of the transfer progress for logging.
+     *
+     * @return the progress description
+     */
+    public String getProgressMessage()
+    {
+        TransferProgress transferProgress = transfer.getProgress();
+        return String.format("%d bytes transferred out of %d (%.1f%%)", transferProgress.getBytesTransferred(), transferProgress.getTotalBytesToTransfer(),
+            transferProgress.getPercentTransferred());
+    }
+
+    /**
+     * Completes the handle with the state the transfer ended in. Only the first call has an effect.
+     *
+     * @param transferState the transfer state
+     */
+    private synchronized void end(TransferState transferState)
+    {
+        if (!isDone())
+        {
+            endTimeMillis = System.currentTimeMillis();
+            complete(transferState);
+        }
+    }
+}
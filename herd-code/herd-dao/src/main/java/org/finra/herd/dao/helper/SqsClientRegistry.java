@@ -0,0 +1,341 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.dao.helper;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import com.amazonaws.ClientConfiguration;
+import com.amazonaws.services.sqs.AmazonSQSClient;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.log4j.Logger;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import org.finra.herd.core.helper.ConfigurationHelper;
+import org.finra.herd.dao.SqsOperations;
+import org.finra.herd.model.dto.AwsParamsDto;
+import org.finra.herd.model.dto.ConfigurationValue;
+
+/**
+ * A registry of long-lived Amazon SQS clients along with a cache of resolved queue URLs. Amazon SQS clients are thread safe, so the registry shares a single
+ * client, along with its HTTP connection pool, among all callers that use the same proxy. Queue URLs are cached for the configured time to live, and queue
+ * names that could not be resolved are remembered for the configured negative lookup time to live, so neither case costs an extra SQS round trip per message.
+ * The registry also keeps histograms of the send latencies per queue, separately for single message requests and for batch requests.
+ */
+@Component
+public class SqsClientRegistry implements DisposableBean
+{
+    private static final Logger LOGGER = Logger.getLogger(SqsClientRegistry.class);
+
+    // The number of milliseconds in a second.
+    private static final long MILLISECONDS_IN_A_SECOND = 1000L;
+
+    /**
+     * The upper bounds in milliseconds of the send latency histogram buckets. Latencies above the last bound are counted in an additional overflow bucket.
+     */
+    public static final long[] SEND_LATENCY_BUCKET_BOUNDS_MILLIS = {10, 25, 50, 100, 250, 500, 1000, 2500, 5000};
+
+    /**
+     * The types of send requests whose latencies are recorded in separate histograms.
+     */
+    public enum SendRequestType
+    {
+        /**
+         * A request that sends a single message.
+         */
+        SINGLE,
+
+        /**
+         * A batch request that sends up to 10 messages.
+         */
+        BATCH
+    }
+
+    @Autowired
+    private ConfigurationHelper configurationHelper;
+
+    @Autowired
+    private SqsOperations sqsOperations;
+
+    // The registered clients keyed by the client settings.
+    private final Map<List<Object>, AmazonSQSClient> amazonSqsClients = new ConcurrentHashMap<>();
+
+    // The cached queue URL lookups keyed by the queue name.
+    private final Map<String, QueueUrlEntry> queueUrlEntries = new ConcurrentHashMap<>();
+
+    // The send latency histograms keyed by the queue name and the send request type.
+    private final Map<List<Object>, SendLatencyHistogram> sendLatencyHistograms = new ConcurrentHashMap<>();
+
+    private final AtomicLong queueUrlLookupCount = new AtomicLong();
+
+    /**
+     * A cached queue URL lookup. A null queue URL means that the queue does not exist, in which case the lookup failure message is kept.
+     */
+    private static class QueueUrlEntry
+    {
+        private final String queueUrl;
+
+        private final String errorMessage;
+
+        private final long expirationTime;
+
+        private QueueUrlEntry(String queueUrl, String errorMessage, long expirationTime)
+        {
+            this.queueUrl = queueUrl;
+            this.errorMessage = errorMessage;
+            this.expirationTime = expirationTime;
+        }
+    }
+
+    /**
+     * A histogram of send latencies with fixed buckets.
+     */
+    private static class SendLatencyHistogram
+    {
+        private final AtomicLongArray bucketCounts = new AtomicLongArray(SEND_LATENCY_BUCKET_BOUNDS_MILLIS.length + 1);
+
+        private void record(long latencyMillis)
+        {
+            int bucketIndex = 0;
+            while (bucketIndex < SEND_LATENCY_BUCKET_BOUNDS_MILLIS.length && latencyMillis > SEND_LATENCY_BUCKET_BOUNDS_MILLIS[bucketIndex])
+            {
+                bucketIndex++;
+            }
+            bucketCounts.incrementAndGet(bucketIndex);
+        }
+    }
+
+    /**
+     * Gets the SQS client for the proxy configuration in the specified AWS parameters. A client is created when none is registered yet for the proxy.
+     *
+     * @param awsParamsDto the AWS related parameters
+     *
+     * @return the Amazon SQS client
+     */
+    public AmazonSQSClient getAmazonSqsClient(AwsParamsDto awsParamsDto)
+    {
+        List<Object> key = Arrays.<Object>asList(awsParamsDto.getHttpProxyHost(), awsParamsDto.getHttpProxyPort());
+
+        AmazonSQSClient amazonSqsClient = amazonSqsClients.get(key);
+        if (amazonSqsClient == null)
+        {
+            synchronized (amazonSqsClients)
+            {
+                amazonSqsClient = amazonSqsClients.get(key);
+                if (amazonSqsClient == null)
+                {
+                    amazonSqsClient = new AmazonSQSClient(getClientConfiguration(awsParamsDto));
+                    amazonSqsClients.put(key, amazonSqsClient);
+                }
+            }
+        }
+
+        return amazonSqsClient;
+    }
+
+    /**
+     * Gets the URL of the specified queue. The URL is resolved through SQS only when it is not cached yet or its cache entry has expired.
+     *
+     * @param queueName the queue name
+     * @param amazonSqsClient the Amazon SQS client to resolve the queue URL with
+     *
+     * @return the queue URL
+     * @throws IllegalStateException if the queue does not exist
+     */
+    public String getQueueUrl(String queueName, AmazonSQSClient amazonSqsClient)
+    {
+        long currentTime = System.currentTimeMillis();
+
+        QueueUrlEntry queueUrlEntry = queueUrlEntries.get(queueName);
+        if (queueUrlEntry == null || currentTime >= queueUrlEntry.expirationTime)
+        {
+            queueUrlLookupCount.incrementAndGet();
+            try
+            {
+                String queueUrl = sqsOperations.getQueueUrl(queueName, amazonSqsClient);
+                long timeToLiveMillis =
+                    configurationHelper.getProperty(ConfigurationValue.SQS_QUEUE_URL_CACHE_TTL_SECONDS, Long.class) * MILLISECONDS_IN_A_SECOND;
+                queueUrlEntry = new QueueUrlEntry(queueUrl, null, currentTime + timeToLiveMillis);
+            }
+            catch (IllegalStateException e)
+            {
+                // Remember that the queue does not exist, so the lookup is not repeated for every message sent to the queue.
+                long timeToLiveMillis =
+                    configurationHelper.getProperty(ConfigurationValue.SQS_QUEUE_URL_NEGATIVE_CACHE_TTL_SECONDS, Long.class) * MILLISECONDS_IN_A_SECOND;
+                queueUrlEntries.put(queueName, new QueueUrlEntry(null, e.getMessage(), currentTime + timeToLiveMillis));
+                throw e;
+            }
+            queueUrlEntries.put(queueName, queueUrlEntry);
+        }
+
+        if (queueUrlEntry.queueUrl == null)
+        {
+            throw new IllegalStateException(queueUrlEntry.errorMessage);
+        }
+
+        return queueUrlEntry.queueUrl;
+    }
+
+    /**
+     * Removes the cached URL of the specified queue, so the next call to {@link #getQueueUrl} resolves it again. This is used when a queue turns out not to
+     * exist under its cached URL anymore.
+     *
+     * @param queueName the queue name
+     */
+    public void evictQueueUrl(String queueName)
+    {
+        queueUrlEntries.remove(queueName);
+    }
+
+    /**
+     * Gets the total number of queue URL lookups sent to SQS. Queue URLs served from the cache are not counted.
+     *
+     * @return the total number of queue URL lookups
+     */
+    public long getQueueUrlLookupCount()
+    {
+        return queueUrlLookupCount.get();
+    }
+
+    /**
+     * Records the latency of a send request to the specified queue.
+     *
+     * @param queueName the queue name
+     * @param sendRequestType the type of the send request
+     * @param latencyMillis the latency in milliseconds
+     */
+    public void recordSendLatency(String queueName, SendRequestType sendRequestType, long latencyMillis)
+    {
+        List<Object> key = Arrays.<Object>asList(queueName, sendRequestType);
+
+        SendLatencyHistogram sendLatencyHistogram = sendLatencyHistograms.get(key);
+        if (sendLatencyHistogram == null)
+        {
+            synchronized (sendLatencyHistograms)
+            {
+                sendLatencyHistogram = sendLatencyHistograms.get(key);
+                if (sendLatencyHistogram == null)
+                {
+                    sendLatencyHistogram = new SendLatencyHistogram();
+                    sendLatencyHistograms.put(key, sendLatencyHistogram);
+                }
+            }
+        }
+
+        sendLatencyHistogram.record(latencyMillis);
+
+        if (LOGGER.isDebugEnabled())
+        {
+            LOGGER.debug(String.format("Sent a %s request to \"%s\" SQS queue in %d ms. Latency histogram: %s", sendRequestType, queueName, latencyMillis,
+                getSendLatencyHistogram(queueName, sendRequestType)));
+        }
+    }
+
+    /**
+     * Gets the names of the queues that have send latencies recorded.
+     *
+     * @return the sorted set of queue names
+     */
+    public Set<String> getSendLatencyQueueNames()
+    {
+        Set<String> queueNames = new TreeSet<>();
+        for (List<Object> key : sendLatencyHistograms.keySet())
+        {
+            queueNames.add((String) key.get(0));
+        }
+        return queueNames;
+    }
+
+    /**
+     * Gets a snapshot of the send latency histogram for the specified queue and send request type. The histogram buckets are keyed by labels such as "<=10ms"
+     * and ">5000ms", in the order of their bounds.
+     *
+     * @param queueName the queue name
+     * @param sendRequestType the type of the send requests
+     *
+     * @return the number of send requests per latency bucket, or an empty map if no latency was recorded for the queue and send request type
+     */
+    public Map<String, Long> getSendLatencyHistogram(String queueName, SendRequestType sendRequestType)
+    {
+        SendLatencyHistogram sendLatencyHistogram = sendLatencyHistograms.get(Arrays.<Object>asList(queueName, sendRequestType));
+        if (sendLatencyHistogram == null)
+        {
+            return Collections.emptyMap();
+        }
+
+        Map<String, Long> histogram = new LinkedHashMap<>();
+        for (int i = 0; i < SEND_LATENCY_BUCKET_BOUNDS_MILLIS.length; i++)
+        {
+            histogram.put("<=" + SEND_LATENCY_BUCKET_BOUNDS_MILLIS[i] + "ms", sendLatencyHistogram.bucketCounts.get(i));
+        }
+        histogram.put(">" + SEND_LATENCY_BUCKET_BOUNDS_MILLIS[SEND_LATENCY_BUCKET_BOUNDS_MILLIS.length - 1] + "ms",
+            sendLatencyHistogram.bucketCounts.get(SEND_LATENCY_BUCKET_BOUNDS_MILLIS.length));
+
+        return histogram;
+    }
+
+    /**
+     * Shuts down all registered clients when the application context is closed.
+     */
+    @Override
+    public void destroy()
+    {
+        synchronized (amazonSqsClients)
+        {
+            for (AmazonSQSClient amazonSqsClient : amazonSqsClients.values())
+            {
+                amazonSqsClient.shutdown();
+            }
+            amazonSqsClients.clear();
+        }
+        queueUrlEntries.clear();
+    }
+
+    /**
+     * Creates the client configuration based on the specified proxy configuration.
+     *
+     * @param awsParamsDto the AWS related parameters
+     *
+     * @return the client configuration
+     */
+    private ClientConfiguration getClientConfiguration(AwsParamsDto awsParamsDto)
+    {
+        // Create the connection factory based on the specified proxy configuration.
+        ClientConfiguration clientConfiguration = new ClientConfiguration();
+
+        // Only set the proxy hostname and/or port if they're configured.
+        if (StringUtils.isNotBlank(awsParamsDto.getHttpProxyHost()))
+        {
+            clientConfiguration.setProxyHost(awsParamsDto.getHttpProxyHost());
+        }
+        if (awsParamsDto.getHttpProxyPort() != null)
+        {
+            clientConfiguration.setProxyPort(awsParamsDto.getHttpProxyPort());
+        }
+
+        return clientConfiguration;
+    }
+}
@@ -23,12 +23,15 @@ import java.util.Map;
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
 import javax.persistence.Query;
+import javax.persistence.TypedQuery;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.Path;
 import javax.persistence.criteria.Predicate;
 
 import org.apache.commons.lang3.Validate;
+import org.hibernate.Session;
+import org.hibernate.annotations.QueryHints;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 import org.springframework.util.StringUtils;
@@ -245,11 +248,43 @@ public class BaseJpaDaoImpl implements BaseJpaDao
      */
     protected <T> T executeSingleResultQuery(CriteriaQuery<T> criteria, String message)
     {
-        List<T> resultList = entityManager.createQuery(criteria).getResultList();
+        return executeSingleResultQuery(entityManager.createQuery(criteria), message, null);
+    }
+
+    /**
+     * Executes query, validates if result list contains no more than record and returns the query result. The query result can optionally be kept in the
+     * Hibernate query cache, which is only worthwhile for queries against rarely updated tables, since any update of a queried table invalidates the result.
+     * <p/>
+     * Only a found record is kept in the query cache. The query cache is local to each node and an insert on another node doesn't invalidate it, so a cached
+     * empty result could hide a newly created record until the cache region expires. When the query selects no record, the whole query cache region is
+     * evicted instead, which is no more costly than the invalidation that any update of the queried table already causes. The query should therefore have a
+     * query cache region of its own.
+     *
+     * @param <T> The type of the root entity class
+     * @param query the query to be executed
+     * @param message the exception message to use if the query returns fails
+     * @param queryCacheRegion the Hibernate query cache region that keeps the query result or null if the query result is not cached
+     *
+     * @return the query result or null if 0 records were selected
+     */
+    protected <T> T executeSingleResultQuery(TypedQuery<T> query, String message, String queryCacheRegion)
+    {
+        if (queryCacheRegion != null)
+        {
+            query.setHint(QueryHints.CACHEABLE, true);
+            query.setHint(QueryHints.CACHE_REGION, queryCacheRegion);
+        }
+        List<T> resultList = query.getResultList();
 
         // Validate that the query returned no more than one record.
         Validate.isTrue(resultList.size() < 2, message);
 
+        // Don't keep an empty query result in the query cache.
+        if (queryCacheRegion != null && resultList.isEmpty())
+        {
+            entityManager.unwrap(Session.class).getSessionFactory().getCache().evictQueryRegion(queryCacheRegion);
+        }
+
         return resultList.size() == 1 ? resultList.get(0) : null;
     }
 }
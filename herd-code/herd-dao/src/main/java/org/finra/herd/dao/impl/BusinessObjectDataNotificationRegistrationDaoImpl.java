@@ -16,23 +16,35 @@
 package org.finra.herd.dao.impl;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
 
 import javax.persistence.Tuple;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.Join;
 import javax.persistence.criteria.JoinType;
-import javax.persistence.criteria.Order;
 import javax.persistence.criteria.Path;
 import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import org.finra.herd.core.helper.ConfigurationHelper;
 
 import org.finra.herd.dao.BusinessObjectDataNotificationRegistrationDao;
 import org.finra.herd.model.api.xml.BusinessObjectDataKey;
 import org.finra.herd.model.api.xml.NotificationRegistrationKey;
+import org.finra.herd.model.dto.ConfigurationValue;
 import org.finra.herd.model.jpa.BusinessObjectDataNotificationRegistrationEntity;
 import org.finra.herd.model.jpa.BusinessObjectDataNotificationRegistrationEntity_;
 import org.finra.herd.model.jpa.BusinessObjectDataStatusEntity;
@@ -51,6 +63,24 @@ import org.finra.herd.model.jpa.NotificationRegistrationStatusEntity_;
 @Repository
 public class BusinessObjectDataNotificationRegistrationDaoImpl extends BaseJpaDaoImpl implements BusinessObjectDataNotificationRegistrationDao
 {
+    @Autowired
+    private ConfigurationHelper configurationHelper;
+
+    /**
+     * The in-memory index used to match business object data notification registrations or null when it needs to be built. The index is local to this node.
+     * Registration changes made on this node discard it right away, while changes made on other nodes are only picked up once it expires, so the index time
+     * to live bounds how long another node can keep matching against outdated registrations.
+     */
+    private volatile RegistrationIndex registrationIndex;
+
+    /**
+     * The build of the registration index that is in progress or null when no build is in progress. Concurrent lookups share this build instead of each
+     * loading all registrations from the database.
+     */
+    private FutureTask<RegistrationIndex> registrationIndexBuild;
+
+    private final Object registrationIndexLock = new Object();
+
     @Override
     public BusinessObjectDataNotificationRegistrationEntity getBusinessObjectDataNotificationRegistrationByAltKey(
         NotificationRegistrationKey key)
@@ -139,15 +169,174 @@ public class BusinessObjectDataNotificationRegistrationDaoImpl extends BaseJpaDa
         BusinessObjectDataKey businessObjectDataKey, String newBusinessObjectDataStatus, String oldBusinessObjectDataStatus,
         String notificationRegistrationStatus)
     {
-        // Create the criteria builder and the criteria.
+        // Find the registrations defined for this event type and business object definition using the in-memory index. Please note that old business object
+        // data status parameter value is null for a business object data registration event.
+        List<IndexedRegistration> indexedRegistrations = getRegistrationIndex().getMatchingRegistrations(notificationEventTypeCode, businessObjectDataKey,
+            newBusinessObjectDataStatus, oldBusinessObjectDataStatus, notificationRegistrationStatus);
+
+        // Order the results by namespace and notification name.
+        Collections.sort(indexedRegistrations);
+
+        // Load the matching registration entities. A registration can be missing when it was deleted after the index got built.
+        List<BusinessObjectDataNotificationRegistrationEntity> businessObjectDataNotificationRegistrationEntities = new ArrayList<>();
+        for (IndexedRegistration indexedRegistration : indexedRegistrations)
+        {
+            BusinessObjectDataNotificationRegistrationEntity businessObjectDataNotificationRegistrationEntity =
+                entityManager.find(BusinessObjectDataNotificationRegistrationEntity.class, indexedRegistration.id);
+
+            // The registration status is checked again against the entity, since it can be changed in place on another node.
+            if (businessObjectDataNotificationRegistrationEntity != null && (notificationRegistrationStatus == null || notificationRegistrationStatus
+                .equalsIgnoreCase(businessObjectDataNotificationRegistrationEntity.getNotificationRegistrationStatus().getCode())))
+            {
+                businessObjectDataNotificationRegistrationEntities.add(businessObjectDataNotificationRegistrationEntity);
+            }
+        }
+
+        return businessObjectDataNotificationRegistrationEntities;
+    }
+
+    @Override
+    public void invalidateBusinessObjectDataNotificationRegistrationIndex()
+    {
+        invalidateRegistrationIndex();
+
+        // Invalidate the index again once the current transaction completes, so an index built from data that was not yet committed (or got rolled back) is
+        // not used by other transactions.
+        if (TransactionSynchronizationManager.isSynchronizationActive())
+        {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter()
+            {
+                @Override
+                public void afterCompletion(int status)
+                {
+                    invalidateRegistrationIndex();
+                }
+            });
+        }
+    }
+
+    /**
+     * Discards the current registration index along with the build in progress, so an index that is being built concurrently does not get published and
+     * lookups started after the invalidation do not share a build that was started before it.
+     */
+    private void invalidateRegistrationIndex()
+    {
+        synchronized (registrationIndexLock)
+        {
+            registrationIndex = null;
+            registrationIndexBuild = null;
+        }
+    }
+
+    /**
+     * Gets the registration index, building it from the database when it is missing or expired. Only one lookup at a time builds the index. While it does,
+     * the other lookups keep using the expired index, or wait for the build when there is no index at all.
+     *
+     * @return the registration index
+     */
+    private RegistrationIndex getRegistrationIndex()
+    {
+        RegistrationIndex index = registrationIndex;
+        if (index != null && !index.isExpired())
+        {
+            return index;
+        }
+
+        FutureTask<RegistrationIndex> build;
+        boolean buildOwner = false;
+        synchronized (registrationIndexLock)
+        {
+            index = registrationIndex;
+            if (index != null && (!index.isExpired() || registrationIndexBuild != null))
+            {
+                return index;
+            }
+
+            if (registrationIndexBuild == null)
+            {
+                registrationIndexBuild = new FutureTask<>(new Callable<RegistrationIndex>()
+                {
+                    @Override
+                    public RegistrationIndex call()
+                    {
+                        return loadRegistrationIndex();
+                    }
+                });
+                buildOwner = true;
+            }
+            build = registrationIndexBuild;
+        }
+
+        if (buildOwner)
+        {
+            // The index is built on this thread, so it is loaded within the current transaction.
+            build.run();
+
+            synchronized (registrationIndexLock)
+            {
+                // Only publish the new index when no registration was changed while it was being built, since that discards the build.
+                if (registrationIndexBuild == build)
+                {
+                    registrationIndexBuild = null;
+                    try
+                    {
+                        registrationIndex = build.get();
+                    }
+                    catch (InterruptedException | ExecutionException e)
+                    {
+                        // The build is complete, so this can only be a failed build. It leaves the current index in place and is reported to the caller below.
+                    }
+                }
+            }
+        }
+
+        return getBuiltRegistrationIndex(build);
+    }
+
+    /**
+     * Waits for a registration index build to complete and returns the built index.
+     *
+     * @param build the registration index build
+     *
+     * @return the registration index
+     */
+    private RegistrationIndex getBuiltRegistrationIndex(FutureTask<RegistrationIndex> build)
+    {
+        try
+        {
+            return build.get();
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the business object data notification registration index to be built.", e);
+        }
+        catch (ExecutionException e)
+        {
+            if (e.getCause() instanceof RuntimeException)
+            {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Loads all business object data notification registrations and builds the registration index.
+     *
+     * @return the registration index
+     */
+    private RegistrationIndex loadRegistrationIndex()
+    {
+        // Create the criteria builder and a tuple style criteria query.
         CriteriaBuilder builder = entityManager.getCriteriaBuilder();
-        CriteriaQuery<BusinessObjectDataNotificationRegistrationEntity> criteria = builder.createQuery(BusinessObjectDataNotificationRegistrationEntity.class);
+        CriteriaQuery<Tuple> criteria = builder.createTupleQuery();
 
         // The criteria root is the business object data notification registration entity.
         Root<BusinessObjectDataNotificationRegistrationEntity> businessObjectDataNotificationEntity = criteria.from(
             BusinessObjectDataNotificationRegistrationEntity.class);
 
-        // Join to the other tables we can filter on.
+        // Join to the other tables we need the columns from.
         Join<BusinessObjectDataNotificationRegistrationEntity, NamespaceEntity> namespaceEntity = businessObjectDataNotificationEntity.join(
             BusinessObjectDataNotificationRegistrationEntity_.namespace);
         Join<BusinessObjectDataNotificationRegistrationEntity, NotificationEventTypeEntity> notificationEventTypeEntity = businessObjectDataNotificationEntity
@@ -165,45 +354,180 @@ public class BusinessObjectDataNotificationRegistrationDaoImpl extends BaseJpaDa
         Join<BusinessObjectDataNotificationRegistrationEntity, NotificationRegistrationStatusEntity> notificationRegistrationStatusEntity =
             businessObjectDataNotificationEntity.join(BusinessObjectDataNotificationRegistrationEntity_.notificationRegistrationStatus);
 
-        // Create the standard restrictions (i.e. the standard where clauses).
-        Predicate queryRestriction = builder.equal(builder.upper(notificationEventTypeEntity.get(NotificationEventTypeEntity_.code)), notificationEventTypeCode
-            .toUpperCase());
-        queryRestriction = builder.and(queryRestriction, builder.equal(builder.upper(businessObjectDefinitionNamespaceEntity.get(NamespaceEntity_.code)),
-            businessObjectDataKey.getNamespace().toUpperCase()));
-        queryRestriction = builder.and(queryRestriction, builder.equal(builder.upper(businessObjectDefinitionEntity.get(BusinessObjectDefinitionEntity_.name)),
-            businessObjectDataKey.getBusinessObjectDefinitionName().toUpperCase()));
-        queryRestriction = builder.and(queryRestriction, builder.or(builder.isNull(businessObjectDataNotificationEntity.get(
-            BusinessObjectDataNotificationRegistrationEntity_.usage)), builder.equal(builder.upper(businessObjectDataNotificationEntity.get(
-                BusinessObjectDataNotificationRegistrationEntity_.usage)), businessObjectDataKey.getBusinessObjectFormatUsage().toUpperCase())));
-        queryRestriction = builder.and(queryRestriction, builder.or(builder.isNull(businessObjectDataNotificationEntity.get(
-            BusinessObjectDataNotificationRegistrationEntity_.fileType)), builder.equal(builder.upper(fileTypeEntity.get(FileTypeEntity_.code)),
-                businessObjectDataKey.getBusinessObjectFormatFileType().toUpperCase())));
-        queryRestriction = builder.and(queryRestriction, builder.or(builder.isNull(businessObjectDataNotificationEntity.get(
-            BusinessObjectDataNotificationRegistrationEntity_.businessObjectFormatVersion)), builder.equal(businessObjectDataNotificationEntity.get(
-                BusinessObjectDataNotificationRegistrationEntity_.businessObjectFormatVersion), businessObjectDataKey.getBusinessObjectFormatVersion())));
-        queryRestriction = builder.and(queryRestriction, builder.or(builder.isNull(businessObjectDataNotificationEntity.get(
-            BusinessObjectDataNotificationRegistrationEntity_.newBusinessObjectDataStatus)), builder.equal(builder.upper(newBusinessObjectDataStatusEntity.get(
-                BusinessObjectDataStatusEntity_.code)), newBusinessObjectDataStatus.toUpperCase())));
-        // Please note that old business object data status parameter value is null for a business object data registration event.
-        queryRestriction = builder.and(queryRestriction, builder.or(builder.isNull(businessObjectDataNotificationEntity.get(
-            BusinessObjectDataNotificationRegistrationEntity_.oldBusinessObjectDataStatus)), builder.equal(builder.upper(oldBusinessObjectDataStatusEntity.get(
-                BusinessObjectDataStatusEntity_.code)), oldBusinessObjectDataStatus == null ? null : oldBusinessObjectDataStatus.toUpperCase())));
-
-        if (notificationRegistrationStatus != null)
-        {
-            queryRestriction = builder.and(queryRestriction, builder.equal(builder.upper(notificationRegistrationStatusEntity.get(
-                NotificationRegistrationStatusEntity_.code)), notificationRegistrationStatus.toUpperCase()));
+        // Get the columns.
+        Path<Integer> idColumn = businessObjectDataNotificationEntity.get(BusinessObjectDataNotificationRegistrationEntity_.id);
+        Path<String> namespaceCodeColumn = namespaceEntity.get(NamespaceEntity_.code);
+        Path<String> notificationNameColumn = businessObjectDataNotificationEntity.get(BusinessObjectDataNotificationRegistrationEntity_.name);
+        Path<String> notificationEventTypeCodeColumn = notificationEventTypeEntity.get(NotificationEventTypeEntity_.code);
+        Path<String> businessObjectDefinitionNamespaceCodeColumn = businessObjectDefinitionNamespaceEntity.get(NamespaceEntity_.code);
+        Path<String> businessObjectDefinitionNameColumn = businessObjectDefinitionEntity.get(BusinessObjectDefinitionEntity_.name);
+        Path<String> usageColumn = businessObjectDataNotificationEntity.get(BusinessObjectDataNotificationRegistrationEntity_.usage);
+        Path<String> fileTypeCodeColumn = fileTypeEntity.get(FileTypeEntity_.code);
+        Path<Integer> businessObjectFormatVersionColumn =
+            businessObjectDataNotificationEntity.get(BusinessObjectDataNotificationRegistrationEntity_.businessObjectFormatVersion);
+        Path<String> newBusinessObjectDataStatusColumn = newBusinessObjectDataStatusEntity.get(BusinessObjectDataStatusEntity_.code);
+        Path<String> oldBusinessObjectDataStatusColumn = oldBusinessObjectDataStatusEntity.get(BusinessObjectDataStatusEntity_.code);
+        Path<String> notificationRegistrationStatusColumn = notificationRegistrationStatusEntity.get(NotificationRegistrationStatusEntity_.code);
+
+        // Add the select clause.
+        criteria.multiselect(idColumn, namespaceCodeColumn, notificationNameColumn, notificationEventTypeCodeColumn,
+            businessObjectDefinitionNamespaceCodeColumn, businessObjectDefinitionNameColumn, usageColumn, fileTypeCodeColumn, businessObjectFormatVersionColumn,
+            newBusinessObjectDataStatusColumn, oldBusinessObjectDataStatusColumn, notificationRegistrationStatusColumn);
+
+        // Run the query to get a list of tuples back.
+        List<Tuple> tuples = entityManager.createQuery(criteria).getResultList();
+
+        // Build the index from the returned tuples (i.e. 1 tuple for each registration).
+        RegistrationIndex index = new RegistrationIndex(System.currentTimeMillis() +
+            configurationHelper.getProperty(ConfigurationValue.NOTIFICATION_REGISTRATION_INDEX_TTL_SECONDS, Long.class) * 1000);
+        for (Tuple tuple : tuples)
+        {
+            IndexedRegistration indexedRegistration = new IndexedRegistration();
+            indexedRegistration.id = tuple.get(idColumn);
+            indexedRegistration.namespace = tuple.get(namespaceCodeColumn);
+            indexedRegistration.name = tuple.get(notificationNameColumn);
+            indexedRegistration.fileType = toUpperCase(tuple.get(fileTypeCodeColumn));
+            indexedRegistration.businessObjectFormatVersion = tuple.get(businessObjectFormatVersionColumn);
+            indexedRegistration.newBusinessObjectDataStatus = toUpperCase(tuple.get(newBusinessObjectDataStatusColumn));
+            indexedRegistration.oldBusinessObjectDataStatus = toUpperCase(tuple.get(oldBusinessObjectDataStatusColumn));
+            indexedRegistration.notificationRegistrationStatus = toUpperCase(tuple.get(notificationRegistrationStatusColumn));
+
+            index.add(tuple.get(notificationEventTypeCodeColumn), tuple.get(businessObjectDefinitionNamespaceCodeColumn),
+                tuple.get(businessObjectDefinitionNameColumn), tuple.get(usageColumn), indexedRegistration);
         }
 
-        // Order the results by namespace and notification name.
-        List<Order> orderBy = new ArrayList<>();
-        orderBy.add(builder.asc(namespaceEntity.get(NamespaceEntity_.code)));
-        orderBy.add(builder.asc(businessObjectDataNotificationEntity.get(BusinessObjectDataNotificationRegistrationEntity_.name)));
+        return index;
+    }
+
+    /**
+     * Converts the specified string to upper case.
+     *
+     * @param value the string to convert, may be null
+     *
+     * @return the upper case string or null if the string is null
+     */
+    private static String toUpperCase(String value)
+    {
+        return value == null ? null : value.toUpperCase();
+    }
+
+    /**
+     * An in-memory index of business object data notification registrations. Registrations are keyed by notification event type, business object definition
+     * namespace and business object definition name, and then by business object format usage. Registrations that do not specify a usage are kept in a
+     * wildcard bucket under the null usage key. The remaining optional filters are checked against the few registrations found in the two buckets.
+     */
+    private static class RegistrationIndex
+    {
+        private final long expirationTimeMillis;
+
+        private final Map<List<String>, Map<String, List<IndexedRegistration>>> registrations = new HashMap<>();
+
+        private RegistrationIndex(long expirationTimeMillis)
+        {
+            this.expirationTimeMillis = expirationTimeMillis;
+        }
+
+        private boolean isExpired()
+        {
+            return System.currentTimeMillis() >= expirationTimeMillis;
+        }
+
+        private void add(String notificationEventTypeCode, String namespace, String businessObjectDefinitionName, String usage,
+            IndexedRegistration indexedRegistration)
+        {
+            List<String> key = getKey(notificationEventTypeCode, namespace, businessObjectDefinitionName);
+            Map<String, List<IndexedRegistration>> registrationsByUsage = registrations.get(key);
+            if (registrationsByUsage == null)
+            {
+                registrationsByUsage = new HashMap<>();
+                registrations.put(key, registrationsByUsage);
+            }
+
+            String usageKey = toUpperCase(usage);
+            List<IndexedRegistration> bucket = registrationsByUsage.get(usageKey);
+            if (bucket == null)
+            {
+                bucket = new ArrayList<>();
+                registrationsByUsage.put(usageKey, bucket);
+            }
+            bucket.add(indexedRegistration);
+        }
+
+        private List<IndexedRegistration> getMatchingRegistrations(String notificationEventTypeCode, BusinessObjectDataKey businessObjectDataKey,
+            String newBusinessObjectDataStatus, String oldBusinessObjectDataStatus, String notificationRegistrationStatus)
+        {
+            List<IndexedRegistration> matchingRegistrations = new ArrayList<>();
 
-        // Add the clauses for the query.
-        criteria.select(businessObjectDataNotificationEntity).where(queryRestriction).orderBy(orderBy);
+            Map<String, List<IndexedRegistration>> registrationsByUsage = registrations.get(getKey(notificationEventTypeCode,
+                businessObjectDataKey.getNamespace(), businessObjectDataKey.getBusinessObjectDefinitionName()));
+            if (registrationsByUsage != null)
+            {
+                for (String usageKey : Arrays.asList(businessObjectDataKey.getBusinessObjectFormatUsage().toUpperCase(), null))
+                {
+                    List<IndexedRegistration> bucket = registrationsByUsage.get(usageKey);
+                    if (bucket != null)
+                    {
+                        for (IndexedRegistration indexedRegistration : bucket)
+                        {
+                            if (indexedRegistration.matches(businessObjectDataKey, newBusinessObjectDataStatus, oldBusinessObjectDataStatus,
+                                notificationRegistrationStatus))
+                            {
+                                matchingRegistrations.add(indexedRegistration);
+                            }
+                        }
+                    }
+                }
+            }
 
-        // Execute the query and return the results.
-        return entityManager.createQuery(criteria).getResultList();
+            return matchingRegistrations;
+        }
+
+        private static List<String> getKey(String notificationEventTypeCode, String namespace, String businessObjectDefinitionName)
+        {
+            return Arrays.asList(notificationEventTypeCode.toUpperCase(), namespace.toUpperCase(), businessObjectDefinitionName.toUpperCase());
+        }
+    }
+
+    /**
+     * A business object data notification registration as kept in the registration index. All the codes are stored in upper case.
+     */
+    private static class IndexedRegistration implements Comparable<IndexedRegistration>
+    {
+        private Integer id;
+
+        private String namespace;
+
+        private String name;
+
+        private String fileType;
+
+        private Integer businessObjectFormatVersion;
+
+        private String newBusinessObjectDataStatus;
+
+        private String oldBusinessObjectDataStatus;
+
+        private String notificationRegistrationStatus;
+
+        /**
+         * Checks the optional registration filters. A filter that is not specified by the registration matches any value, except for the old business object
+         * data status which never matches when the event has no old status.
+         */
+        private boolean matches(BusinessObjectDataKey businessObjectDataKey, String newBusinessObjectDataStatus, String oldBusinessObjectDataStatus,
+            String notificationRegistrationStatus)
+        {
+            return (fileType == null || fileType.equalsIgnoreCase(businessObjectDataKey.getBusinessObjectFormatFileType())) &&
+                (businessObjectFormatVersion == null || businessObjectFormatVersion.equals(businessObjectDataKey.getBusinessObjectFormatVersion())) &&
+                (this.newBusinessObjectDataStatus == null || this.newBusinessObjectDataStatus.equalsIgnoreCase(newBusinessObjectDataStatus)) &&
+                (this.oldBusinessObjectDataStatus == null || this.oldBusinessObjectDataStatus.equalsIgnoreCase(oldBusinessObjectDataStatus)) &&
+                (notificationRegistrationStatus == null || this.notificationRegistrationStatus.equalsIgnoreCase(notificationRegistrationStatus));
+        }
+
+        @Override
+        public int compareTo(IndexedRegistration other)
+        {
+            int result = namespace.compareTo(other.namespace);
+            return result != 0 ? result : name.compareTo(other.name);
+        }
     }
 }
@@ -21,17 +21,24 @@ import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import javax.persistence.CascadeType;
 import javax.persistence.OneToMany;
 import javax.persistence.Tuple;
+import javax.persistence.TypedQuery;
 import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaDelete;
 import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.CriteriaUpdate;
 import javax.persistence.criteria.Expression;
 import javax.persistence.criteria.From;
 import javax.persistence.criteria.Join;
@@ -45,17 +52,23 @@ import javax.persistence.metamodel.SingularAttribute;
 import org.apache.commons.collections4.MultiValuedMap;
 import org.apache.commons.collections4.multimap.ArrayListValuedHashMap;
 import org.apache.commons.lang3.StringUtils;
+import org.hibernate.Session;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.orm.jpa.vendor.Database;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.util.CollectionUtils;
 
 import org.finra.herd.core.HerdDateUtils;
 import org.finra.herd.core.helper.ConfigurationHelper;
+import org.finra.herd.dao.BusinessObjectDataNotificationRegistrationDao;
 import org.finra.herd.dao.HerdDao;
+import org.finra.herd.dao.StorageFilePathCallbackHandler;
 import org.finra.herd.dao.config.DaoSpringModuleConfig;
+import org.finra.herd.dao.helper.BusinessObjectDataLatestVersionEventListener;
 import org.finra.herd.dao.helper.HerdDaoSecurityHelper;
+import org.finra.herd.dao.helper.ReferenceDataCacheHelper;
 import org.finra.herd.model.api.xml.BusinessObjectDataKey;
 import org.finra.herd.model.api.xml.BusinessObjectDefinitionKey;
 import org.finra.herd.model.api.xml.BusinessObjectFormatKey;
@@ -80,6 +93,8 @@ import org.finra.herd.model.dto.StoragePolicyPriorityLevel;
 import org.finra.herd.model.jpa.AuditableEntity;
 import org.finra.herd.model.jpa.BusinessObjectDataEntity;
 import org.finra.herd.model.jpa.BusinessObjectDataEntity_;
+import org.finra.herd.model.jpa.BusinessObjectDataLatestVersionEntity;
+import org.finra.herd.model.jpa.BusinessObjectDataLatestVersionEntity_;
 import org.finra.herd.model.jpa.BusinessObjectDataStatusEntity;
 import org.finra.herd.model.jpa.BusinessObjectDataStatusEntity_;
 import org.finra.herd.model.jpa.BusinessObjectDefinitionEntity;
@@ -105,6 +120,7 @@ import org.finra.herd.model.jpa.NamespaceEntity;
 import org.finra.herd.model.jpa.NamespaceEntity_;
 import org.finra.herd.model.jpa.NotificationEventTypeEntity;
 import org.finra.herd.model.jpa.NotificationEventTypeEntity_;
+import org.finra.herd.model.jpa.NotificationRegistrationEntity;
 import org.finra.herd.model.jpa.OnDemandPriceEntity;
 import org.finra.herd.model.jpa.OnDemandPriceEntity_;
 import org.finra.herd.model.jpa.PartitionKeyGroupEntity;
@@ -150,6 +166,11 @@ public class HerdDaoImpl extends BaseJpaDaoImpl implements HerdDao
     private static final List<SingularAttribute<BusinessObjectDataEntity, String>> BUSINESS_OBJECT_DATA_SUBPARTITIONS =
         BUSINESS_OBJECT_DATA_PARTITIONS.subList(1, 1 + BusinessObjectDataEntity.MAX_SUBPARTITIONS);
 
+    private static final List<SingularAttribute<BusinessObjectDataLatestVersionEntity, String>> BUSINESS_OBJECT_DATA_LATEST_VERSION_PARTITIONS = Arrays
+        .asList(BusinessObjectDataLatestVersionEntity_.partitionValue, BusinessObjectDataLatestVersionEntity_.partitionValue2,
+            BusinessObjectDataLatestVersionEntity_.partitionValue3, BusinessObjectDataLatestVersionEntity_.partitionValue4,
+            BusinessObjectDataLatestVersionEntity_.partitionValue5);
+
     /**
      * Represents aggregate function.
      */
@@ -158,13 +179,73 @@ public class HerdDaoImpl extends BaseJpaDaoImpl implements HerdDao
         GREATEST, LEAST
     }
 
+    @Autowired
+    private BusinessObjectDataNotificationRegistrationDao businessObjectDataNotificationRegistrationDao;
+
     // TODO: Remove autowired environment once we migrate away from Oracle.  It is currently used only to check what database we are using.
+    @Autowired
+    private BusinessObjectDataLatestVersionEventListener businessObjectDataLatestVersionEventListener;
+
     @Autowired
     private ConfigurationHelper configurationHelper;
 
     @Autowired
     private HerdDaoSecurityHelper herdDaoSecurityHelper;
 
+    @Autowired
+    private ReferenceDataCacheHelper referenceDataCacheHelper;
+
+    /**
+     * Gets a reference data entity by looking up its primary key in the reference data cache. The entity is then resolved by its primary key, which is served
+     * from the persistence context or the Hibernate second level cache without querying the database, since all reference data entities are cacheable. A
+     * cached primary key that no longer resolves to an entity is evicted from the cache.
+     *
+     * @param entityClass the reference data entity class
+     * @param code the case-insensitive code of the reference data entity
+     * @param <T> the type of the reference data entity
+     *
+     * @return the reference data entity or null if it is not cached
+     */
+    private <T> T getCachedReferenceDataEntity(Class<T> entityClass, String code)
+    {
+        String primaryKey = referenceDataCacheHelper.getPrimaryKey(entityClass, code);
+        if (primaryKey == null)
+        {
+            return null;
+        }
+
+        // The entity is resolved by its primary key, so it is served from the persistence context when already loaded by the current transaction, or
+        // otherwise from the second level cache. Only an entity that is not yet in the second level cache is selected from the database.
+        T entity = entityManager.find(entityClass, primaryKey);
+        if (entity == null)
+        {
+            referenceDataCacheHelper.evict(entityClass, code);
+        }
+
+        return entity;
+    }
+
+    /**
+     * Caches the primary key of a reference data entity that was selected by its case-insensitive code.
+     *
+     * @param entityClass the reference data entity class
+     * @param code the case-insensitive code of the reference data entity
+     * @param entity the reference data entity, may be null
+     * @param <T> the type of the reference data entity
+     *
+     * @return the reference data entity
+     */
+    private <T> T cacheReferenceDataEntity(Class<T> entityClass, String code, T entity)
+    {
+        if (entity != null)
+        {
+            referenceDataCacheHelper
+                .putPrimaryKey(entityClass, code, (String) entityManager.getEntityManagerFactory().getPersistenceUnitUtil().getIdentifier(entity));
+        }
+
+        return entity;
+    }
+
     // System
 
     /**
@@ -213,6 +294,13 @@ public class HerdDaoImpl extends BaseJpaDaoImpl implements HerdDao
     @Override
     public NamespaceEntity getNamespaceByCd(String namespaceCode)
     {
+        // Try to resolve the namespace through the reference data cache first.
+        NamespaceEntity cachedNamespaceEntity = getCachedReferenceDataEntity(NamespaceEntity.class, namespaceCode);
+        if (cachedNamespaceEntity != null)
+        {
+            return cachedNamespaceEntity;
+        }
+
         // Create the criteria builder and the criteria.
         CriteriaBuilder builder = entityManager.getCriteriaBuilder();
         CriteriaQuery<NamespaceEntity> criteria = builder.createQuery(NamespaceEntity.class);
@@ -225,7 +313,10 @@ public class HerdDaoImpl extends BaseJpaDaoImpl implements HerdDao
 
         criteria.select(namespaceEntity).where(queryRestriction);
 
-        return executeSingleResultQuery(criteria, String.format("Found more than one namespace with namespaceCode=\"%s\".", namespaceCode));
+        return cacheReferenceDataEntity(NamespaceEntity.class, namespaceCode,
+            executeSingleResultQuery(entityManager.createQuery(criteria),
+                String.format("Found more than one namespace with namespaceCode=\"%s\".", namespaceCode),
+                DaoSpringModuleConfig.getLookupQueryCacheRegionName(NamespaceEntity.class)));
     }
 
     /**
@@ -439,6 +530,13 @@ public class HerdDaoImpl extends BaseJpaDaoImpl implements HerdDao
     @Override
     public FileTypeEntity getFileTypeByCode(String code)
     {
+        // Try to resolve the file type through the reference data cache first.
+        FileTypeEntity cachedFileTypeEntity = getCachedReferenceDataEntity(FileTypeEntity.class, code);
+        if (cachedFileTypeEntity != null)
+        {
+            return cachedFileTypeEntity;
+        }
+
         // Create the criteria builder and the criteria.
         CriteriaBuilder builder = entityManager.getCriteriaBuilder();
         CriteriaQuery<FileTypeEntity> criteria = builder.createQuery(FileTypeEntity.class);
@@ -451,7 +549,9 @@ public class HerdDaoImpl extends BaseJpaDaoImpl implements HerdDao
 
         criteria.select(fileType).where(fileTypeCodeRestriction);
 
-        return executeSingleResultQuery(criteria, String.format("Found more than one file type with code \"%s\".", code));
+        return cacheReferenceDataEntity(FileTypeEntity.class, code,
+            executeSingleResultQuery(entityManager.createQuery(criteria), String.format("Found more than one file type with code \"%s\".", code),
+                DaoSpringModuleConfig.getLookupQueryCacheRegionName(FileTypeEntity.class)));
     }
 
     /**
@@ -1022,6 +1122,13 @@ public class HerdDaoImpl extends BaseJpaDaoImpl implements HerdDao
     @Override
     public BusinessObjectDataStatusEntity getBusinessObjectDataStatusByCode(String code)
     {
+        // Try to resolve the business object data status through the reference data cache first.
+        BusinessObjectDataStatusEntity cachedBusinessObjectDataStatusEntity = getCachedReferenceDataEntity(BusinessObjectDataStatusEntity.class, code);
+        if (cachedBusinessObjectDataStatusEntity != null)
+        {
+            return cachedBusinessObjectDataStatusEntity;
+        }
+
         // Create the criteria builder and the criteria.
         CriteriaBuilder builder = entityManager.getCriteriaBuilder();
         CriteriaQuery<BusinessObjectDataStatusEntity> criteria = builder.createQuery(BusinessObjectDataStatusEntity.class);
@@ -1035,7 +1142,10 @@ public class HerdDaoImpl extends BaseJpaDaoImpl implements HerdDao
 
         criteria.select(businessObjectDataStatus).where(businessObjectDataStatusCodeRestriction);
 
-        return executeSingleResultQuery(criteria, String.format("Found more than one business object data status with code \"%s\".", code));
+        return cacheReferenceDataEntity(BusinessObjectDataStatusEntity.class, code,
+            executeSingleResultQuery(entityManager.createQuery(criteria),
+                String.format("Found more than one business object data status with code \"%s\".", code),
+                DaoSpringModuleConfig.getLookupQueryCacheRegionName(BusinessObjectDataStatusEntity.class)));
     }
 
     // BusinessObjectData
@@ -1438,6 +1548,50 @@ public class HerdDaoImpl extends BaseJpaDaoImpl implements HerdDao
         return entityManager.createQuery(criteria).getResultList();
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<BusinessObjectDataEntity> getBusinessObjectDataEntitiesByAltKeys(Collection<BusinessObjectDataKey> businessObjectDataKeys)
+    {
+        if (CollectionUtils.isEmpty(businessObjectDataKeys))
+        {
+            return new ArrayList<>();
+        }
+
+        // Create the criteria builder and the criteria.
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BusinessObjectDataEntity> criteria = builder.createQuery(BusinessObjectDataEntity.class);
+
+        // The criteria root is the business object data.
+        Root<BusinessObjectDataEntity> businessObjectDataEntity = criteria.from(BusinessObjectDataEntity.class);
+
+        // Join to the other tables we can filter on.
+        Join<BusinessObjectDataEntity, BusinessObjectFormatEntity> businessObjectFormatEntity =
+            businessObjectDataEntity.join(BusinessObjectDataEntity_.businessObjectFormat);
+        Join<BusinessObjectFormatEntity, FileTypeEntity> fileTypeEntity = businessObjectFormatEntity.join(BusinessObjectFormatEntity_.fileType);
+        Join<BusinessObjectFormatEntity, BusinessObjectDefinitionEntity> businessObjectDefinitionEntity =
+            businessObjectFormatEntity.join(BusinessObjectFormatEntity_.businessObjectDefinition);
+
+        // Create a restriction that matches any of the specified keys.
+        List<Predicate> keyRestrictions = new ArrayList<>();
+        for (BusinessObjectDataKey businessObjectDataKey : businessObjectDataKeys)
+        {
+            if (businessObjectDataKey.getBusinessObjectFormatVersion() == null || businessObjectDataKey.getBusinessObjectDataVersion() == null)
+            {
+                throw new IllegalArgumentException("A business object format version and a business object data version must be specified.");
+            }
+
+            keyRestrictions.add(getQueryRestriction(builder, businessObjectDataEntity, businessObjectFormatEntity, fileTypeEntity,
+                businessObjectDefinitionEntity, businessObjectDataKey));
+        }
+
+        // Add the clauses for the query.
+        criteria.select(businessObjectDataEntity).where(builder.or(keyRestrictions.toArray(new Predicate[keyRestrictions.size()])));
+
+        return entityManager.createQuery(criteria).getResultList();
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -1737,13 +1891,15 @@ public class HerdDaoImpl extends BaseJpaDaoImpl implements HerdDao
     }
 
     /**
-     * Builds a sub-query to select the maximum business object data version.
+     * Builds a sub-query to select the maximum business object data version. The sub-query reads the materialized latest business object data versions, so it
+     * does not need to aggregate over the whole business object data history.
      *
      * @param builder the criteria builder
      * @param criteria the criteria query
      * @param businessObjectDataEntity the business object data entity that appears in the from clause of the main query
      * @param businessObjectFormatEntity the business object format entity that appears in the from clause of the main query
      * @param businessObjectDataStatus the business object data status
+     * @param storageEntity the storage entity that appears in the from clause of the main query
      *
      * @return the sub-query to select the maximum business object data version
      */
@@ -1751,39 +1907,46 @@ public class HerdDaoImpl extends BaseJpaDaoImpl implements HerdDao
         From<?, BusinessObjectDataEntity> businessObjectDataEntity, From<?, BusinessObjectFormatEntity> businessObjectFormatEntity,
         String businessObjectDataStatus, From<?, StorageEntity> storageEntity)
     {
+        // Bring the latest versions up to date with the business object data written earlier in this transaction.
+        refreshPendingBusinessObjectDataLatestVersions();
+
         // Business object data version is not specified, so get the latest one in the specified storage.
         Subquery<Integer> subQuery = criteria.subquery(Integer.class);
 
-        // The criteria root is the business object data.
-        Root<BusinessObjectDataEntity> subBusinessObjectDataEntity = subQuery.from(BusinessObjectDataEntity.class);
-
-        // Join to the other tables we can filter on.
-        Join<BusinessObjectDataEntity, StorageUnitEntity> subStorageUnitEntity = subBusinessObjectDataEntity.join(BusinessObjectDataEntity_.storageUnits);
-        Join<StorageUnitEntity, StorageEntity> subStorageEntity = subStorageUnitEntity.join(StorageUnitEntity_.storage);
-        Join<BusinessObjectDataEntity, BusinessObjectFormatEntity> subBusinessObjectFormatEntity =
-            subBusinessObjectDataEntity.join(BusinessObjectDataEntity_.businessObjectFormat);
+        // The criteria root is the business object data latest version.
+        Root<BusinessObjectDataLatestVersionEntity> subBusinessObjectDataLatestVersionEntity = subQuery.from(BusinessObjectDataLatestVersionEntity.class);
 
         // Add a standard restriction on business object format.
-        Predicate subQueryRestriction = builder.equal(subBusinessObjectFormatEntity, businessObjectFormatEntity);
+        Predicate subQueryRestriction = builder
+            .equal(subBusinessObjectDataLatestVersionEntity.get(BusinessObjectDataLatestVersionEntity_.businessObjectFormat), businessObjectFormatEntity);
 
-        // Create and add standard restrictions on primary and sub-partition values.
-        subQueryRestriction =
-            builder.and(subQueryRestriction, getQueryRestrictionOnPartitionValues(builder, subBusinessObjectDataEntity, businessObjectDataEntity));
+        // Create and add standard restrictions on primary and sub-partition values. Please note that the subpartition value columns are nullable.
+        subQueryRestriction = builder.and(subQueryRestriction, builder.equal(subBusinessObjectDataLatestVersionEntity.get(
+            BusinessObjectDataLatestVersionEntity_.partitionValue), businessObjectDataEntity.get(BusinessObjectDataEntity_.partitionValue)));
+        for (int i = 0; i < BusinessObjectDataEntity.MAX_SUBPARTITIONS; i++)
+        {
+            Path<String> subPartitionValue = subBusinessObjectDataLatestVersionEntity.get(BUSINESS_OBJECT_DATA_LATEST_VERSION_PARTITIONS.get(i + 1));
+            Path<String> mainPartitionValue = businessObjectDataEntity.get(BUSINESS_OBJECT_DATA_SUBPARTITIONS.get(i));
+            subQueryRestriction = builder.and(subQueryRestriction, builder
+                .or(builder.and(builder.isNull(subPartitionValue), builder.isNull(mainPartitionValue)),
+                    builder.equal(subPartitionValue, mainPartitionValue)));
+        }
 
         // If specified, create and add a standard restriction on business object data status.
         if (businessObjectDataStatus != null)
         {
-            Join<BusinessObjectDataEntity, BusinessObjectDataStatusEntity> subBusinessObjectDataStatusEntity =
-                subBusinessObjectDataEntity.join(BusinessObjectDataEntity_.status);
+            Join<BusinessObjectDataLatestVersionEntity, BusinessObjectDataStatusEntity> subBusinessObjectDataStatusEntity =
+                subBusinessObjectDataLatestVersionEntity.join(BusinessObjectDataLatestVersionEntity_.status);
 
             subQueryRestriction = builder.and(subQueryRestriction, builder
                 .equal(builder.upper(subBusinessObjectDataStatusEntity.get(BusinessObjectDataStatusEntity_.code)), businessObjectDataStatus.toUpperCase()));
         }
 
         // Create and add a standard restriction on storage.
-        subQueryRestriction = builder.and(subQueryRestriction, builder.equal(subStorageEntity, storageEntity));
+        subQueryRestriction = builder.and(subQueryRestriction,
+            builder.equal(subBusinessObjectDataLatestVersionEntity.get(BusinessObjectDataLatestVersionEntity_.storage), storageEntity));
 
-        subQuery.select(builder.max(subBusinessObjectDataEntity.get(BusinessObjectDataEntity_.version))).where(subQueryRestriction);
+        subQuery.select(builder.max(subBusinessObjectDataLatestVersionEntity.get(BusinessObjectDataLatestVersionEntity_.version))).where(subQueryRestriction);
 
         return subQuery;
     }
@@ -1952,6 +2115,137 @@ public class HerdDaoImpl extends BaseJpaDaoImpl implements HerdDao
         return predicate;
     }
 
+    // BusinessObjectDataLatestVersion
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void refreshBusinessObjectDataLatestVersions(BusinessObjectDataEntity businessObjectDataEntity)
+    {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+
+        List<String> partitionValues = Arrays
+            .asList(businessObjectDataEntity.getPartitionValue(), businessObjectDataEntity.getPartitionValue2(), businessObjectDataEntity.getPartitionValue3(),
+                businessObjectDataEntity.getPartitionValue4(), businessObjectDataEntity.getPartitionValue5());
+
+        // Delete the latest versions currently registered for the business object format and the partition values.
+        CriteriaDelete<BusinessObjectDataLatestVersionEntity> criteriaDelete = builder.createCriteriaDelete(BusinessObjectDataLatestVersionEntity.class);
+        Root<BusinessObjectDataLatestVersionEntity> businessObjectDataLatestVersionEntity = criteriaDelete.from(BusinessObjectDataLatestVersionEntity.class);
+        criteriaDelete.where(builder.and(builder.equal(businessObjectDataLatestVersionEntity.get(BusinessObjectDataLatestVersionEntity_.businessObjectFormat),
+            businessObjectDataEntity.getBusinessObjectFormat()),
+            getQueryRestrictionOnPartitionValues(builder, businessObjectDataLatestVersionEntity, BUSINESS_OBJECT_DATA_LATEST_VERSION_PARTITIONS,
+                partitionValues)));
+        entityManager.createQuery(criteriaDelete).executeUpdate();
+
+        // Select the maximum business object data version per storage and business object data status for the business object format and partition values.
+        CriteriaQuery<Tuple> criteria = builder.createTupleQuery();
+        Root<StorageUnitEntity> storageUnitEntity = criteria.from(StorageUnitEntity.class);
+        Join<StorageUnitEntity, BusinessObjectDataEntity> subBusinessObjectDataEntity = storageUnitEntity.join(StorageUnitEntity_.businessObjectData);
+        Join<StorageUnitEntity, StorageEntity> storageEntity = storageUnitEntity.join(StorageUnitEntity_.storage);
+        Join<BusinessObjectDataEntity, BusinessObjectDataStatusEntity> businessObjectDataStatusEntity =
+            subBusinessObjectDataEntity.join(BusinessObjectDataEntity_.status);
+
+        Path<String> storageNameColumn = storageEntity.get(StorageEntity_.name);
+        Path<String> businessObjectDataStatusCodeColumn = businessObjectDataStatusEntity.get(BusinessObjectDataStatusEntity_.code);
+        Expression<Integer> maxBusinessObjectDataVersion = builder.max(subBusinessObjectDataEntity.get(BusinessObjectDataEntity_.version));
+
+        Predicate queryRestriction =
+            builder.equal(subBusinessObjectDataEntity.get(BusinessObjectDataEntity_.businessObjectFormat), businessObjectDataEntity.getBusinessObjectFormat());
+        queryRestriction = builder.and(queryRestriction,
+            getQueryRestrictionOnPartitionValues(builder, subBusinessObjectDataEntity, BUSINESS_OBJECT_DATA_PARTITIONS, partitionValues));
+
+        criteria.multiselect(storageNameColumn, businessObjectDataStatusCodeColumn, maxBusinessObjectDataVersion).where(queryRestriction)
+            .groupBy(storageNameColumn, businessObjectDataStatusCodeColumn);
+
+        // Register the latest versions.
+        for (Tuple tuple : entityManager.createQuery(criteria).getResultList())
+        {
+            BusinessObjectDataLatestVersionEntity latestVersionEntity = new BusinessObjectDataLatestVersionEntity();
+            latestVersionEntity.setBusinessObjectFormat(businessObjectDataEntity.getBusinessObjectFormat());
+            latestVersionEntity.setPartitionValue(partitionValues.get(0));
+            latestVersionEntity.setPartitionValue2(partitionValues.get(1));
+            latestVersionEntity.setPartitionValue3(partitionValues.get(2));
+            latestVersionEntity.setPartitionValue4(partitionValues.get(3));
+            latestVersionEntity.setPartitionValue5(partitionValues.get(4));
+            latestVersionEntity.setStorage(entityManager.find(StorageEntity.class, tuple.get(storageNameColumn)));
+            latestVersionEntity.setStatus(entityManager.find(BusinessObjectDataStatusEntity.class, tuple.get(businessObjectDataStatusCodeColumn)));
+            latestVersionEntity.setVersion(tuple.get(maxBusinessObjectDataVersion));
+            save(latestVersionEntity);
+        }
+
+        entityManager.flush();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void refreshPendingBusinessObjectDataLatestVersions()
+    {
+        if (!TransactionSynchronizationManager.isActualTransactionActive())
+        {
+            return;
+        }
+
+        // Flush the pending changes, so the business object data and the storage units written so far get tracked.
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly())
+        {
+            entityManager.flush();
+        }
+
+        // Refreshing the latest versions flushes again, which may track more partitions, so keep going until none are left.
+        Object session = entityManager.unwrap(Session.class);
+        List<BusinessObjectDataEntity> businessObjectDataEntities;
+        while (!(businessObjectDataEntities = businessObjectDataLatestVersionEventListener.takePendingBusinessObjectData(session)).isEmpty())
+        {
+            for (BusinessObjectDataEntity businessObjectDataEntity : businessObjectDataEntities)
+            {
+                refreshBusinessObjectDataLatestVersions(businessObjectDataEntity);
+            }
+        }
+    }
+
+    /**
+     * Builds a query restriction predicate for the specified entity that matches the specified partition values exactly. Please note that the subpartition
+     * value columns are nullable, so a null partition value only matches a null column value.
+     *
+     * @param builder the criteria builder
+     * @param entity the entity that appears in the from clause
+     * @param partitionAttributes the list of primary and sub-partition value attributes of the entity
+     * @param partitionValues the list of primary and sub-partition values
+     * @param <T> the type of the entity
+     *
+     * @return the query restriction predicate
+     */
+    private <T> Predicate getQueryRestrictionOnPartitionValues(CriteriaBuilder builder, From<?, T> entity,
+        List<SingularAttribute<T, String>> partitionAttributes, List<String> partitionValues)
+    {
+        Predicate predicate = null;
+        for (int i = 0; i < partitionAttributes.size(); i++)
+        {
+            Path<String> partitionValue = entity.get(partitionAttributes.get(i));
+            Predicate partitionValueRestriction =
+                partitionValues.get(i) != null ? builder.equal(partitionValue, partitionValues.get(i)) : builder.isNull(partitionValue);
+            predicate = (predicate == null ? partitionValueRestriction : builder.and(predicate, partitionValueRestriction));
+        }
+
+        return predicate;
+    }
+
+    /**
+     * Invalidates the business object data notification registration index when the specified entity is a notification registration.
+     *
+     * @param entity the entity that was saved or deleted
+     */
+    private void invalidateNotificationRegistrationIndexIfNeeded(Object entity)
+    {
+        if (entity instanceof NotificationRegistrationEntity)
+        {
+            businessObjectDataNotificationRegistrationDao.invalidateBusinessObjectDataNotificationRegistrationIndex();
+        }
+    }
+
     // StoragePlatform
 
     /**
@@ -1960,9 +2254,19 @@ public class HerdDaoImpl extends BaseJpaDaoImpl implements HerdDao
     @Override
     public StoragePlatformEntity getStoragePlatformByName(String name)
     {
-        Map<String, Object> params = new HashMap<>();
-        params.put(StoragePlatformEntity.COLUMN_NAME, name);
-        return queryUniqueByNamedQueryAndNamedParams(StoragePlatformEntity.QUERY_GET_STORAGE_PLATFORM_BY_NAME, params);
+        // Try to resolve the storage platform through the reference data cache first.
+        StoragePlatformEntity cachedStoragePlatformEntity = getCachedReferenceDataEntity(StoragePlatformEntity.class, name);
+        if (cachedStoragePlatformEntity != null)
+        {
+            return cachedStoragePlatformEntity;
+        }
+
+        TypedQuery<StoragePlatformEntity> query =
+            entityManager.createNamedQuery(StoragePlatformEntity.QUERY_GET_STORAGE_PLATFORM_BY_NAME, StoragePlatformEntity.class);
+        query.setParameter(StoragePlatformEntity.COLUMN_NAME, name);
+        return cacheReferenceDataEntity(StoragePlatformEntity.class, name,
+            executeSingleResultQuery(query, String.format("Found more than one storage platform with \"%s\" name.", name),
+                DaoSpringModuleConfig.getLookupQueryCacheRegionName(StoragePlatformEntity.class)));
     }
 
     // Storage
@@ -1973,6 +2277,13 @@ public class HerdDaoImpl extends BaseJpaDaoImpl implements HerdDao
     @Override
     public StorageEntity getStorageByName(String storageName)
     {
+        // Try to resolve the storage through the reference data cache first.
+        StorageEntity cachedStorageEntity = getCachedReferenceDataEntity(StorageEntity.class, storageName);
+        if (cachedStorageEntity != null)
+        {
+            return cachedStorageEntity;
+        }
+
         // Create the criteria builder and the criteria.
         CriteriaBuilder builder = entityManager.getCriteriaBuilder();
         CriteriaQuery<StorageEntity> criteria = builder.createQuery(StorageEntity.class);
@@ -1985,7 +2296,9 @@ public class HerdDaoImpl extends BaseJpaDaoImpl implements HerdDao
 
         criteria.select(storageEntity).where(queryRestriction);
 
-        return executeSingleResultQuery(criteria, String.format("Found more than one storage with \"%s\" name.", storageName));
+        return cacheReferenceDataEntity(StorageEntity.class, storageName,
+            executeSingleResultQuery(entityManager.createQuery(criteria), String.format("Found more than one storage with \"%s\" name.", storageName),
+                DaoSpringModuleConfig.getLookupQueryCacheRegionName(StorageEntity.class)));
     }
 
     /**
@@ -2031,6 +2344,13 @@ public class HerdDaoImpl extends BaseJpaDaoImpl implements HerdDao
     @Override
     public StorageUnitStatusEntity getStorageUnitStatusByCode(String code)
     {
+        // Try to resolve the storage unit status through the reference data cache first.
+        StorageUnitStatusEntity cachedStorageUnitStatusEntity = getCachedReferenceDataEntity(StorageUnitStatusEntity.class, code);
+        if (cachedStorageUnitStatusEntity != null)
+        {
+            return cachedStorageUnitStatusEntity;
+        }
+
         // Create the criteria builder and the criteria.
         CriteriaBuilder builder = entityManager.getCriteriaBuilder();
         CriteriaQuery<StorageUnitStatusEntity> criteria = builder.createQuery(StorageUnitStatusEntity.class);
@@ -2044,7 +2364,9 @@ public class HerdDaoImpl extends BaseJpaDaoImpl implements HerdDao
 
         criteria.select(storageUnitStatusEntity).where(storageUnitStatusCodeRestriction);
 
-        return executeSingleResultQuery(criteria, String.format("Found more than one storage unit status with code \"%s\".", code));
+        return cacheReferenceDataEntity(StorageUnitStatusEntity.class, code,
+            executeSingleResultQuery(entityManager.createQuery(criteria), String.format("Found more than one storage unit status with code \"%s\".", code),
+                DaoSpringModuleConfig.getLookupQueryCacheRegionName(StorageUnitStatusEntity.class)));
     }
 
     // StorageUnit
@@ -2155,6 +2477,93 @@ public class HerdDaoImpl extends BaseJpaDaoImpl implements HerdDao
         return resultStorageUnitEntities;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<StorageUnitEntity> getAllStorageUnitsByPartitionFilters(BusinessObjectFormatKey businessObjectFormatKey, List<List<String>> partitionFilters,
+        Integer businessObjectDataVersion, List<String> storageNames, String additionalStoragePlatformType)
+    {
+        List<StorageUnitEntity> resultStorageUnitEntities = new ArrayList<>();
+
+        // Loop through each chunk of partition filters until we have reached the end of the list.
+        for (int i = 0; i < partitionFilters.size(); i += MAX_PARTITION_FILTERS_PER_REQUEST)
+        {
+            // Create the criteria builder and the criteria.
+            CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+            CriteriaQuery<Tuple> criteria = builder.createTupleQuery();
+
+            // The criteria root is the storage unit.
+            Root<StorageUnitEntity> storageUnitEntity = criteria.from(StorageUnitEntity.class);
+
+            // Join to the other tables we can filter on.
+            Join<StorageUnitEntity, BusinessObjectDataEntity> businessObjectDataEntity = storageUnitEntity.join(StorageUnitEntity_.businessObjectData);
+            Join<StorageUnitEntity, StorageEntity> storageEntity = storageUnitEntity.join(StorageUnitEntity_.storage);
+            Join<StorageEntity, StoragePlatformEntity> storagePlatformEntity = storageEntity.join(StorageEntity_.storagePlatform);
+            Join<BusinessObjectDataEntity, BusinessObjectFormatEntity> businessObjectFormatEntity =
+                businessObjectDataEntity.join(BusinessObjectDataEntity_.businessObjectFormat);
+            Join<BusinessObjectFormatEntity, FileTypeEntity> fileTypeEntity = businessObjectFormatEntity.join(BusinessObjectFormatEntity_.fileType);
+            Join<BusinessObjectFormatEntity, BusinessObjectDefinitionEntity> businessObjectDefinitionEntity =
+                businessObjectFormatEntity.join(BusinessObjectFormatEntity_.businessObjectDefinition);
+            Join<StorageUnitEntity, StorageUnitStatusEntity> storageUnitStatusEntity = storageUnitEntity.join(StorageUnitEntity_.status);
+            Join<BusinessObjectDataEntity, BusinessObjectDataStatusEntity> businessObjectDataStatusEntity =
+                businessObjectDataEntity.join(BusinessObjectDataEntity_.status);
+
+            // Create a standard restriction based on the business object format key values.
+            // Please note that the business object format version is ignored when it is not specified.
+            Predicate mainQueryRestriction =
+                getQueryRestriction(builder, businessObjectFormatEntity, fileTypeEntity, businessObjectDefinitionEntity, businessObjectFormatKey, false);
+
+            // Add restriction as per specified primary and/or sub-partition values.
+            mainQueryRestriction = builder.and(mainQueryRestriction, getQueryRestrictionOnPartitionValues(builder, businessObjectDataEntity,
+                partitionFilters.subList(i, Math.min(i + MAX_PARTITION_FILTERS_PER_REQUEST, partitionFilters.size()))));
+
+            // If a data version was specified, use it.
+            if (businessObjectDataVersion != null)
+            {
+                mainQueryRestriction = builder.and(mainQueryRestriction,
+                    builder.equal(businessObjectDataEntity.get(BusinessObjectDataEntity_.version), businessObjectDataVersion));
+            }
+
+            // If specified, add restriction on storage along with the additional storage platform type.
+            if (!CollectionUtils.isEmpty(storageNames))
+            {
+                List<String> uppercaseStorageNames = new ArrayList<>();
+                for (String storageName : storageNames)
+                {
+                    uppercaseStorageNames.add(storageName.toUpperCase());
+                }
+                Predicate storageRestriction = builder.upper(storageEntity.get(StorageEntity_.name)).in(uppercaseStorageNames);
+                if (StringUtils.isNotBlank(additionalStoragePlatformType))
+                {
+                    storageRestriction = builder
+                        .or(storageRestriction, builder.equal(storagePlatformEntity.get(StoragePlatformEntity_.name), additionalStoragePlatformType));
+                }
+                mainQueryRestriction = builder.and(mainQueryRestriction, storageRestriction);
+            }
+
+            // Order by partitions and storage names.
+            List<Order> orderBy = new ArrayList<>();
+            for (SingularAttribute<BusinessObjectDataEntity, String> businessObjectDataPartition : BUSINESS_OBJECT_DATA_PARTITIONS)
+            {
+                orderBy.add(builder.asc(businessObjectDataEntity.get(businessObjectDataPartition)));
+            }
+            orderBy.add(builder.asc(storageEntity.get(StorageEntity_.name)));
+
+            // Please note that we use multiselect here in order to eliminate the Hibernate N+1 SELECT's problem, since the caller accesses the statuses,
+            // storages and business object formats of all the returned storage units.
+            criteria.multiselect(storageUnitEntity, storageUnitStatusEntity, storageEntity, storagePlatformEntity, businessObjectDataEntity,
+                businessObjectDataStatusEntity, businessObjectFormatEntity).where(mainQueryRestriction).orderBy(orderBy);
+
+            for (Tuple tuple : entityManager.createQuery(criteria).getResultList())
+            {
+                resultStorageUnitEntities.add(tuple.get(storageUnitEntity));
+            }
+        }
+
+        return resultStorageUnitEntities;
+    }
+
     /**
      * Retrieves a list of storage unit entities per specified parameters. This method processes a sublist of partition filters specified by
      * partitionFilterSubListFromIndex and partitionFilterSubListSize parameters.
@@ -2408,6 +2817,56 @@ public class HerdDaoImpl extends BaseJpaDaoImpl implements HerdDao
             String.format("Found more than one storage file with parameters {storageName=\"%s\"," + " filePath=\"%s\"}.", storageName, filePath));
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<StorageFileEntity> getStorageFilesByStorageNameAndFilePaths(String storageName, List<String> filePaths)
+    {
+        List<StorageFileEntity> result = new ArrayList<>();
+
+        // Get the chunk size from the environment.
+        int inClauseChunkSize = configurationHelper.getProperty(ConfigurationValue.DB_IN_CLAUSE_CHUNK_SIZE, Integer.class);
+
+        // Run a separate query for each chunk of file paths, so the size of each "in" clause does not exceed the configured chunk size.
+        for (int i = 0; i < filePaths.size(); i += inClauseChunkSize)
+        {
+            // Get a sub-list for the current chunk of file paths.
+            List<String> filePathsSubList = filePaths.subList(i, Math.min(i + inClauseChunkSize, filePaths.size()));
+
+            // Create the criteria builder and the criteria.
+            CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+            CriteriaQuery<StorageFileEntity> criteria = builder.createQuery(StorageFileEntity.class);
+
+            // The criteria root is the storage files.
+            Root<StorageFileEntity> storageFileEntity = criteria.from(StorageFileEntity.class);
+
+            // Join to the other tables we can filter on.
+            Join<StorageFileEntity, StorageUnitEntity> storageUnitEntity = storageFileEntity.join(StorageFileEntity_.storageUnit);
+            Join<StorageUnitEntity, StorageEntity> storageEntity = storageUnitEntity.join(StorageUnitEntity_.storage);
+
+            // Create the standard restrictions (i.e. the standard where clauses).
+            Predicate filePathRestriction = storageFileEntity.get(StorageFileEntity_.path).in(filePathsSubList);
+            Predicate storageNameRestriction = builder.equal(builder.upper(storageEntity.get(StorageEntity_.name)), storageName.toUpperCase());
+
+            criteria.select(storageFileEntity).where(builder.and(filePathRestriction, storageNameRestriction));
+
+            result.addAll(entityManager.createQuery(criteria).getResultList());
+        }
+
+        // Sort the result by file path, since it was accumulated across multiple queries.
+        Collections.sort(result, new Comparator<StorageFileEntity>()
+        {
+            @Override
+            public int compare(StorageFileEntity storageFileEntity1, StorageFileEntity storageFileEntity2)
+            {
+                return storageFileEntity1.getPath().compareTo(storageFileEntity2.getPath());
+            }
+        });
+
+        return result;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -2467,6 +2926,32 @@ public class HerdDaoImpl extends BaseJpaDaoImpl implements HerdDao
         return entityManager.createQuery(criteria).getResultList();
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void saveStorageFiles(List<StorageFileEntity> storageFileEntities)
+    {
+        // Retrieve the JDBC batch size configured in the system.
+        int batchSize = configurationHelper.getProperty(ConfigurationValue.HIBERNATE_JDBC_BATCH_SIZE, Integer.class);
+
+        int count = 0;
+        for (StorageFileEntity storageFileEntity : storageFileEntities)
+        {
+            // Save the entity, which also updates its audit fields.
+            save(storageFileEntity);
+
+            // Flush once we have a full batch, so the pending inserts are sent to the database as a single JDBC batch.
+            if (++count % batchSize == 0)
+            {
+                entityManager.flush();
+            }
+        }
+
+        // Flush the remaining inserts, so we ensure that data integrity violations, etc. are thrown here rather than at the time of transaction commit.
+        entityManager.flush();
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -2474,8 +2959,28 @@ public class HerdDaoImpl extends BaseJpaDaoImpl implements HerdDao
     public MultiValuedMap<Integer, String> getStorageFilePathsByStorageUnits(List<StorageUnitEntity> storageUnitEntities)
     {
         // Create a map that can hold a collection of values against each key.
-        MultiValuedMap<Integer, String> result = new ArrayListValuedHashMap<>();
+        final MultiValuedMap<Integer, String> result = new ArrayListValuedHashMap<>();
+
+        // Stream the storage file paths into the result map.
+        processStorageFilePathsByStorageUnits(storageUnitEntities, new StorageFilePathCallbackHandler()
+        {
+            @Override
+            public void processStorageFilePath(Integer storageUnitId, String storageFilePath)
+            {
+                result.put(storageUnitId, storageFilePath);
+            }
+        });
 
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void processStorageFilePathsByStorageUnits(List<StorageUnitEntity> storageUnitEntities,
+        StorageFilePathCallbackHandler storageFilePathCallbackHandler)
+    {
         // Retrieve the pagination size for the storage file paths query configured in the system.
         Integer paginationSize = configurationHelper.getProperty(ConfigurationValue.STORAGE_FILE_PATHS_QUERY_PAGINATION_SIZE, Integer.class);
 
@@ -2490,6 +2995,7 @@ public class HerdDaoImpl extends BaseJpaDaoImpl implements HerdDao
         Join<StorageFileEntity, StorageUnitEntity> storageUnitEntity = storageFileEntity.join(StorageFileEntity_.storageUnit);
 
         // Get the columns.
+        Path<Integer> storageFileIdColumn = storageFileEntity.get(StorageFileEntity_.id);
         Path<Integer> storageUnitIdColumn = storageUnitEntity.get(StorageUnitEntity_.id);
         Path<String> storageFilePathColumn = storageFileEntity.get(StorageFileEntity_.path);
 
@@ -2497,27 +3003,28 @@ public class HerdDaoImpl extends BaseJpaDaoImpl implements HerdDao
         Predicate queryRestriction = getPredicateForInClause(builder, storageUnitEntity, storageUnitEntities);
 
         // Add the select clause.
-        criteria.multiselect(storageUnitIdColumn, storageFilePathColumn);
+        criteria.multiselect(storageFileIdColumn, storageUnitIdColumn, storageFilePathColumn);
 
-        // Add the where clause.
-        criteria.where(queryRestriction);
+        // Order the results by storage file id, so we can seek to the next page using the last storage file id selected.
+        criteria.orderBy(builder.asc(storageFileIdColumn));
 
-        // Execute the query using pagination and populate the result map.
-        int startPosition = 0;
+        // Execute the query using keyset pagination. Unlike an offset based pagination, each page is selected by seeking past the last storage file id
+        // retrieved, so the database does not need to re-scan all of the previously selected rows and no rows get skipped or duplicated between the pages.
+        Integer lastStorageFileId = null;
         while (true)
         {
+            // Add the where clause, restricting the storage files to the ones that follow the last selected storage file, if any.
+            criteria.where(lastStorageFileId == null ? queryRestriction :
+                builder.and(queryRestriction, builder.greaterThan(storageFileIdColumn, lastStorageFileId)));
+
             // Run the query to get a list of tuples back.
-            List<Tuple> tuples = entityManager.createQuery(criteria).setFirstResult(startPosition).setMaxResults(paginationSize).getResultList();
+            List<Tuple> tuples = entityManager.createQuery(criteria).setMaxResults(paginationSize).getResultList();
 
-            // Populate the result map from the returned tuples (i.e. 1 tuple for each row).
+            // Pass the returned tuples (i.e. 1 tuple for each row) to the callback handler.
             for (Tuple tuple : tuples)
             {
-                // Extract the tuple values.
-                Integer storageUnitId = tuple.get(storageUnitIdColumn);
-                String storageFilePath = tuple.get(storageFilePathColumn);
-
-                // Update the result map.
-                result.put(storageUnitId, storageFilePath);
+                storageFilePathCallbackHandler.processStorageFilePath(tuple.get(storageUnitIdColumn), tuple.get(storageFilePathColumn));
+                lastStorageFileId = tuple.get(storageFileIdColumn);
             }
 
             // Break out of the while loop if we got less results than the pagination size.
@@ -2525,12 +3032,7 @@ public class HerdDaoImpl extends BaseJpaDaoImpl implements HerdDao
             {
                 break;
             }
-
-            // Increment the start position.
-            startPosition += paginationSize;
         }
-
-        return result;
     }
 
     // StoragePolicyRuleType
@@ -3090,14 +3592,190 @@ public class HerdDaoImpl extends BaseJpaDaoImpl implements HerdDao
         return resultList.size() > 0 ? resultList.get(0) : null;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int deleteJmsMessages(List<Integer> jmsMessageIds)
+    {
+        if (jmsMessageIds.isEmpty())
+        {
+            return 0;
+        }
+
+        // Create the criteria builder and the criteria.
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaDelete<JmsMessageEntity> criteriaDelete = builder.createCriteriaDelete(JmsMessageEntity.class);
+
+        // The criteria root is the jms message.
+        Root<JmsMessageEntity> jmsMessageEntity = criteriaDelete.from(JmsMessageEntity.class);
+
+        // Delete all specified JMS messages in a single statement.
+        criteriaDelete.where(jmsMessageEntity.get(JmsMessageEntity_.id).in(jmsMessageIds));
+
+        return entityManager.createQuery(criteriaDelete).executeUpdate();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<JmsMessageEntity> claimJmsMessages(String claimant, int claimDurationSeconds, Collection<String> orderedJmsQueueNames, int maxResults)
+    {
+        // Use the database time, so the claims made on all herd nodes are compared against the same clock.
+        Timestamp currentTimestamp = getCurrentTimestamp();
+        Timestamp claimExpiration = new Timestamp(currentTimestamp.getTime() + claimDurationSeconds * 1000L);
+
+        // Create the criteria builder and the criteria.
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Integer> criteria = builder.createQuery(Integer.class);
+
+        // The criteria root is the jms message.
+        Root<JmsMessageEntity> jmsMessageEntity = criteria.from(JmsMessageEntity.class);
+
+        // Select the messages that are not claimed yet or whose claim has expired.
+        Predicate queryRestriction = builder.not(getQueryRestrictionOnActiveJmsMessageClaim(builder, jmsMessageEntity, currentTimestamp));
+
+        // Skip the messages of the ordered queues that have messages actively claimed by another publisher.
+        boolean allJmsQueuesOrdered = orderedJmsQueueNames.contains(ALL_JMS_QUEUE_NAMES);
+        if (!orderedJmsQueueNames.isEmpty())
+        {
+            Subquery<Integer> subquery = criteria.subquery(Integer.class);
+            Root<JmsMessageEntity> claimedJmsMessageEntity = subquery.from(JmsMessageEntity.class);
+            subquery.select(claimedJmsMessageEntity.get(JmsMessageEntity_.id)).where(builder
+                .and(builder.equal(claimedJmsMessageEntity.get(JmsMessageEntity_.jmsQueueName), jmsMessageEntity.get(JmsMessageEntity_.jmsQueueName)),
+                    getQueryRestrictionOnActiveJmsMessageClaim(builder, claimedJmsMessageEntity, currentTimestamp)));
+
+            queryRestriction = builder.and(queryRestriction, allJmsQueuesOrdered ? builder.not(builder.exists(subquery)) : builder
+                .or(builder.not(jmsMessageEntity.get(JmsMessageEntity_.jmsQueueName).in(orderedJmsQueueNames)), builder.not(builder.exists(subquery))));
+        }
+
+        // Select the ids of the oldest claimable messages.
+        criteria.select(jmsMessageEntity.get(JmsMessageEntity_.id)).where(queryRestriction).orderBy(builder.asc(jmsMessageEntity.get(JmsMessageEntity_.id)));
+        List<Integer> jmsMessageIds = entityManager.createQuery(criteria).setMaxResults(maxResults).getResultList();
+
+        if (jmsMessageIds.isEmpty())
+        {
+            return new ArrayList<>();
+        }
+
+        // Claim the selected messages. The claim is conditional, so messages claimed by another publisher after they got selected are left alone.
+        CriteriaUpdate<JmsMessageEntity> criteriaUpdate = builder.createCriteriaUpdate(JmsMessageEntity.class);
+        Root<JmsMessageEntity> updatedJmsMessageEntity = criteriaUpdate.from(JmsMessageEntity.class);
+        criteriaUpdate.set(updatedJmsMessageEntity.get(JmsMessageEntity_.claimedBy), claimant)
+            .set(updatedJmsMessageEntity.get(JmsMessageEntity_.claimExpiration), claimExpiration).where(builder
+            .and(updatedJmsMessageEntity.get(JmsMessageEntity_.id).in(jmsMessageIds),
+                builder.not(getQueryRestrictionOnActiveJmsMessageClaim(builder, updatedJmsMessageEntity, currentTimestamp))));
+        entityManager.createQuery(criteriaUpdate).executeUpdate();
+
+        // Get the messages that got claimed.
+        List<JmsMessageEntity> claimedJmsMessageEntities = getJmsMessagesByClaim(claimant);
+
+        // Two publishers may have claimed messages of the same ordered queue at the same time. Only the publisher that holds the oldest message of the queue
+        // keeps its claim, the other one releases the messages of that queue. This is best effort, since neither publisher sees the claim of the other one
+        // until it gets committed, so two publishers that check at the same moment may both keep their claims.
+        Set<String> claimedOrderedJmsQueueNames = new LinkedHashSet<>();
+        for (JmsMessageEntity claimedJmsMessageEntity : claimedJmsMessageEntities)
+        {
+            if (allJmsQueuesOrdered || orderedJmsQueueNames.contains(claimedJmsMessageEntity.getJmsQueueName()))
+            {
+                claimedOrderedJmsQueueNames.add(claimedJmsMessageEntity.getJmsQueueName());
+            }
+        }
+        boolean claimReleased = false;
+        for (String jmsQueueName : claimedOrderedJmsQueueNames)
+        {
+            if (isOlderJmsMessageClaimedByOtherClaimant(claimant, jmsQueueName, currentTimestamp))
+            {
+                CriteriaUpdate<JmsMessageEntity> releaseCriteriaUpdate = builder.createCriteriaUpdate(JmsMessageEntity.class);
+                Root<JmsMessageEntity> releasedJmsMessageEntity = releaseCriteriaUpdate.from(JmsMessageEntity.class);
+                releaseCriteriaUpdate.set(releasedJmsMessageEntity.get(JmsMessageEntity_.claimedBy), (String) null)
+                    .set(releasedJmsMessageEntity.get(JmsMessageEntity_.claimExpiration), (Timestamp) null).where(builder
+                    .and(builder.equal(releasedJmsMessageEntity.get(JmsMessageEntity_.claimedBy), claimant),
+                        builder.equal(releasedJmsMessageEntity.get(JmsMessageEntity_.jmsQueueName), jmsQueueName)));
+                entityManager.createQuery(releaseCriteriaUpdate).executeUpdate();
+                claimReleased = true;
+            }
+        }
+
+        return claimReleased ? getJmsMessagesByClaim(claimant) : claimedJmsMessageEntities;
+    }
+
+    /**
+     * Gets the JMS messages claimed by the specified claimant.
+     *
+     * @param claimant the unique identifier of the claim
+     *
+     * @return the list of JMS messages ordered by their ids
+     */
+    private List<JmsMessageEntity> getJmsMessagesByClaim(String claimant)
+    {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<JmsMessageEntity> criteria = builder.createQuery(JmsMessageEntity.class);
+        Root<JmsMessageEntity> jmsMessageEntity = criteria.from(JmsMessageEntity.class);
+        criteria.select(jmsMessageEntity).where(builder.equal(jmsMessageEntity.get(JmsMessageEntity_.claimedBy), claimant))
+            .orderBy(builder.asc(jmsMessageEntity.get(JmsMessageEntity_.id)));
+        return entityManager.createQuery(criteria).getResultList();
+    }
+
+    /**
+     * Checks whether a message of the specified queue that is older than the oldest message claimed by the specified claimant is actively claimed by another
+     * claimant. Only committed claims of other claimants are visible, so the check is best effort and does not serialize concurrent claims.
+     *
+     * @param claimant the unique identifier of the claim
+     * @param jmsQueueName the JMS queue name
+     * @param currentTimestamp the current database timestamp
+     *
+     * @return true if an older message of the queue is actively claimed by another claimant, false otherwise
+     */
+    private boolean isOlderJmsMessageClaimedByOtherClaimant(String claimant, String jmsQueueName, Timestamp currentTimestamp)
+    {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> criteria = builder.createQuery(Long.class);
+        Root<JmsMessageEntity> jmsMessageEntity = criteria.from(JmsMessageEntity.class);
+
+        // Get the id of the oldest message of the queue claimed by the claimant.
+        Subquery<Integer> subquery = criteria.subquery(Integer.class);
+        Root<JmsMessageEntity> claimedJmsMessageEntity = subquery.from(JmsMessageEntity.class);
+        subquery.select(builder.min(claimedJmsMessageEntity.get(JmsMessageEntity_.id))).where(builder
+            .and(builder.equal(claimedJmsMessageEntity.get(JmsMessageEntity_.claimedBy), claimant),
+                builder.equal(claimedJmsMessageEntity.get(JmsMessageEntity_.jmsQueueName), jmsQueueName)));
+
+        criteria.select(builder.count(jmsMessageEntity)).where(builder
+            .and(builder.equal(jmsMessageEntity.get(JmsMessageEntity_.jmsQueueName), jmsQueueName),
+                builder.notEqual(jmsMessageEntity.get(JmsMessageEntity_.claimedBy), claimant),
+                getQueryRestrictionOnActiveJmsMessageClaim(builder, jmsMessageEntity, currentTimestamp),
+                builder.lessThan(jmsMessageEntity.get(JmsMessageEntity_.id), subquery)));
+
+        return entityManager.createQuery(criteria).getSingleResult() > 0;
+    }
+
+    /**
+     * Builds a query restriction predicate that matches the JMS messages with an active claim, i.e. a claim that has not expired yet.
+     *
+     * @param builder the criteria builder
+     * @param jmsMessageEntity the JMS message entity that appears in the from clause
+     * @param currentTimestamp the current database timestamp
+     *
+     * @return the query restriction predicate
+     */
+    private Predicate getQueryRestrictionOnActiveJmsMessageClaim(CriteriaBuilder builder, From<?, JmsMessageEntity> jmsMessageEntity,
+        Timestamp currentTimestamp)
+    {
+        return builder.and(builder.isNotNull(jmsMessageEntity.get(JmsMessageEntity_.claimedBy)),
+            builder.greaterThan(jmsMessageEntity.get(JmsMessageEntity_.claimExpiration), currentTimestamp));
+    }
+
     // OnDemandPricing
 
     /**
      * {@inheritDoc}
      * <p/>
-     * This implementation uses JPA criteria, and throws exception when more than 1 on-demand price is found for the specified parameters.
+     * This implementation uses JPA criteria, and throws exception when more than 1 on-demand price is found for the specified parameters. The on-demand prices
+     * found are cached in the EMR pricing cache region.
      */
     @Override
+    @Cacheable(value = DaoSpringModuleConfig.EMR_PRICING_CACHE_NAME, unless = "#result == null")
     public OnDemandPriceEntity getOnDemandPrice(String region, String instanceType)
     {
         CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
@@ -3130,6 +3808,35 @@ public class HerdDaoImpl extends BaseJpaDaoImpl implements HerdDao
         return super.save(entity);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * This method overwrites the base class method by also refreshing the latest business object data versions of the partitions written so far and by
+     * invalidating the notification registration index when a notification registration is saved.
+     */
+    @Override
+    public <T> T saveAndRefresh(T entity)
+    {
+        T result = super.saveAndRefresh(entity);
+        refreshPendingBusinessObjectDataLatestVersions();
+        invalidateNotificationRegistrationIndexIfNeeded(entity);
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * This method overwrites the base class method by also refreshing the latest business object data versions of the partitions written so far and by
+     * invalidating the notification registration index when a notification registration is deleted.
+     */
+    @Override
+    public <T> void delete(T entity)
+    {
+        super.delete(entity);
+        refreshPendingBusinessObjectDataLatestVersions();
+        invalidateNotificationRegistrationIndexIfNeeded(entity);
+    }
+
     /**
      * Updates the audit fields if the entity is of type AuditableEntity.
      *
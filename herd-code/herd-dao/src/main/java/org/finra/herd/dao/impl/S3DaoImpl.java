@@ -23,19 +23,10 @@ import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Properties;
-import java.util.concurrent.Executors;
 
 import com.amazonaws.AmazonClientException;
 import com.amazonaws.AmazonServiceException;
-import com.amazonaws.ClientConfiguration;
 import com.amazonaws.HttpMethod;
-import com.amazonaws.auth.AWSCredentials;
-import com.amazonaws.auth.AWSCredentialsProvider;
-import com.amazonaws.auth.AWSCredentialsProviderChain;
-import com.amazonaws.auth.BasicAWSCredentials;
-import com.amazonaws.auth.BasicSessionCredentials;
-import com.amazonaws.auth.DefaultAWSCredentialsProviderChain;
-import com.amazonaws.internal.StaticCredentialsProvider;
 import com.amazonaws.services.s3.AmazonS3Client;
 import com.amazonaws.services.s3.Headers;
 import com.amazonaws.services.s3.model.AbortMultipartUploadRequest;
@@ -65,7 +56,6 @@ import com.amazonaws.services.s3.transfer.Transfer;
 import com.amazonaws.services.s3.transfer.Transfer.TransferState;
 import com.amazonaws.services.s3.transfer.TransferManager;
 import com.amazonaws.services.s3.transfer.TransferProgress;
-import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.time.StopWatch;
 import org.apache.http.HttpStatus;
 import org.apache.log4j.Logger;
@@ -78,10 +68,10 @@ import org.finra.herd.dao.S3Dao;
 import org.finra.herd.dao.S3Operations;
 import org.finra.herd.dao.helper.AwsHelper;
 import org.finra.herd.dao.helper.JavaPropertiesHelper;
+import org.finra.herd.dao.helper.S3ClientRegistry;
+import org.finra.herd.dao.helper.S3TransferHandle;
 import org.finra.herd.model.ObjectNotFoundException;
-import org.finra.herd.model.api.xml.AwsCredential;
 import org.finra.herd.model.api.xml.StorageFile;
-import org.finra.herd.model.dto.HerdAWSCredentialsProvider;
 import org.finra.herd.model.dto.S3FileCopyRequestParamsDto;
 import org.finra.herd.model.dto.S3FileTransferRequestParamsDto;
 import org.finra.herd.model.dto.S3FileTransferResultsDto;
@@ -92,44 +82,20 @@ import org.finra.herd.model.dto.S3FileTransferResultsDto;
 @Repository
 public class S3DaoImpl implements S3Dao
 {
-    /**
-     * A {@link AWSCredentialsProvider} which delegates to its wrapped {@link HerdAWSCredentialsProvider}
-     */
-    private static class HerdAwsCredentialsProviderWrapper implements AWSCredentialsProvider
-    {
-        private HerdAWSCredentialsProvider herdAWSCredentialsProvider;
-
-        public HerdAwsCredentialsProviderWrapper(HerdAWSCredentialsProvider herdAWSCredentialsProvider)
-        {
-            this.herdAWSCredentialsProvider = herdAWSCredentialsProvider;
-        }
-
-        @Override
-        public void refresh()
-        {
-            // No need to implement this. AWS doesn't use this.
-        }
-
-        @Override
-        public AWSCredentials getCredentials()
-        {
-            AwsCredential herdAwsCredential = herdAWSCredentialsProvider.getAwsCredential();
-            return new BasicSessionCredentials(herdAwsCredential.getAwsAccessKey(), herdAwsCredential.getAwsSecretKey(),
-                herdAwsCredential.getAwsSessionToken());
-        }
-    }
-
     @Autowired
     private AwsHelper awsHelper;
 
     @Autowired
     private S3Operations s3Operations;
 
+    @Autowired
+    private S3ClientRegistry s3ClientRegistry;
+
     private static final Logger LOGGER = Logger.getLogger(S3DaoImpl.class);
 
     private static final int MAX_KEYS_PER_DELETE_REQUEST = 1000;
 
-    private static final long SLEEP_INTERVAL_MILLIS = 100;
+    private static final long PROGRESS_LOG_INTERVAL_MILLIS = 30000;
 
     @Autowired
     private JavaPropertiesHelper javaPropertiesHelper;
@@ -141,7 +107,7 @@ public class S3DaoImpl implements S3Dao
 
         try
         {
-            s3Client = getAmazonS3(params);
+            s3Client = s3ClientRegistry.getAmazonS3Client(params);
 
             return s3Operations.getObjectMetadata(params.getS3BucketName(), params.getS3KeyPrefix(), s3Client);
         }
@@ -158,11 +124,8 @@ public class S3DaoImpl implements S3Dao
         }
         finally
         {
-            // Shutdown the AmazonS3Client instance to release resources.
-            if (s3Client != null)
-            {
-                s3Client.shutdown();
-            }
+            // Release the AmazonS3Client instance back to the registry for reuse.
+            s3ClientRegistry.releaseAmazonS3Client(s3Client);
         }
     }
 
@@ -201,7 +164,7 @@ public class S3DaoImpl implements S3Dao
 
         try
         {
-            s3Client = getAmazonS3(params);
+            s3Client = s3ClientRegistry.getAmazonS3Client(params);
             s3Operations.putObject(putObjectRequest, s3Client);
         }
         catch (AmazonServiceException e)
@@ -212,11 +175,8 @@ public class S3DaoImpl implements S3Dao
         }
         finally
         {
-            // Shutdown the AmazonS3Client instance to release resources.
-            if (s3Client != null)
-            {
-                s3Client.shutdown();
-            }
+            // Release the AmazonS3Client instance back to the registry for reuse.
+            s3ClientRegistry.releaseAmazonS3Client(s3Client);
         }
     }
 
@@ -388,9 +348,17 @@ public class S3DaoImpl implements S3Dao
     @Override
     public void deleteFile(final S3FileTransferRequestParamsDto params)
     {
-        AmazonS3Client s3Client = getAmazonS3(params);
+        AmazonS3Client s3Client = s3ClientRegistry.getAmazonS3Client(params);
 
-        s3Operations.deleteFile(params.getS3BucketName(), params.getS3KeyPrefix(), s3Client);
+        try
+        {
+            s3Operations.deleteFile(params.getS3BucketName(), params.getS3KeyPrefix(), s3Client);
+        }
+        finally
+        {
+            // Release the AmazonS3Client instance back to the registry for reuse.
+            s3ClientRegistry.releaseAmazonS3Client(s3Client);
+        }
     }
 
     @Override
@@ -413,7 +381,7 @@ public class S3DaoImpl implements S3Dao
                 }
 
                 DeleteObjectsRequest multiObjectDeleteRequest = new DeleteObjectsRequest(params.getS3BucketName());
-                s3Client = getAmazonS3(params);
+                s3Client = s3ClientRegistry.getAmazonS3Client(params);
 
                 // The Multi-Object Delete request can contain a list of up to 1000 keys.
                 for (int i = 0; i < keys.size() / MAX_KEYS_PER_DELETE_REQUEST + 1; i++)
@@ -440,11 +408,8 @@ public class S3DaoImpl implements S3Dao
         }
         finally
         {
-            // Shutdown the AmazonS3Client instance to release resources.
-            if (s3Client != null)
-            {
-                s3Client.shutdown();
-            }
+            // Release the AmazonS3Client instance back to the registry for reuse.
+            s3ClientRegistry.releaseAmazonS3Client(s3Client);
         }
     }
 
@@ -467,7 +432,7 @@ public class S3DaoImpl implements S3Dao
             if (!storageFiles.isEmpty())
             {
                 DeleteObjectsRequest multiObjectDeleteRequest = new DeleteObjectsRequest(params.getS3BucketName());
-                s3Client = getAmazonS3(params);
+                s3Client = s3ClientRegistry.getAmazonS3Client(params);
 
                 // The Multi-Object Delete request can contain a list of up to 1000 keys.
                 for (int i = 0; i < storageFiles.size() / MAX_KEYS_PER_DELETE_REQUEST + 1; i++)
@@ -502,11 +467,8 @@ public class S3DaoImpl implements S3Dao
         }
         finally
         {
-            // Shutdown the AmazonS3Client instance to release resources.
-            if (s3Client != null)
-            {
-                s3Client.shutdown();
-            }
+            // Release the AmazonS3Client instance back to the registry for reuse.
+            s3ClientRegistry.releaseAmazonS3Client(s3Client);
         }
     }
 
@@ -575,7 +537,7 @@ public class S3DaoImpl implements S3Dao
         try
         {
             // Create an Amazon S3 client.
-            s3Client = getAmazonS3(params);
+            s3Client = s3ClientRegistry.getAmazonS3Client(params);
 
             // List upload markers. Null implies initial list request.
             String uploadIdMarker = null;
@@ -623,11 +585,8 @@ public class S3DaoImpl implements S3Dao
         }
         finally
         {
-            // Shutdown the Amazon S3 client instance to release resources.
-            if (s3Client != null)
-            {
-                s3Client.shutdown();
-            }
+            // Release the Amazon S3 client instance back to the registry for reuse.
+            s3ClientRegistry.releaseAmazonS3Client(s3Client);
         }
 
         return abortedMultipartUploadsCount;
@@ -669,111 +628,6 @@ public class S3DaoImpl implements S3Dao
         }
     }
 
-    /**
-     * Gets a transfer manager with the specified parameters including proxy host, proxy port, S3 access key, S3 secret key, and max threads.
-     *
-     * @param params the parameters.
-     *
-     * @return a newly created transfer manager.
-     */
-    private TransferManager getTransferManager(final S3FileTransferRequestParamsDto params)
-    {
-        // We are returning a new transfer manager each time it is called. Although the Javadocs of TransferManager say to share a single instance
-        // if possible, this could potentially be a problem if TransferManager.shutdown(true) is called and underlying resources are not present when needed
-        // for subsequent transfers.
-        if (params.getMaxThreads() == null)
-        {
-            // Create a transfer manager that will internally use an appropriate number of threads.
-            return new TransferManager(getAmazonS3(params));
-        }
-        else
-        {
-            // Create a transfer manager with our own executor configured with the specified total threads.
-            LOGGER.info("Creating a transfer manager with max threads: " + params.getMaxThreads());
-            return new TransferManager(getAmazonS3(params), Executors.newFixedThreadPool(params.getMaxThreads()));
-        }
-    }
-
-    /**
-     * Gets a new S3 client based on the specified parameters. The HTTP proxy information will be added if the host and port are specified in the parameters.
-     *
-     * @param params the parameters.
-     *
-     * @return the Amazon S3 client.
-     */
-    private AmazonS3Client getAmazonS3(S3FileTransferRequestParamsDto params)
-    {
-        AmazonS3Client amazonS3Client;
-
-        ClientConfiguration clientConfiguration = null;
-
-        // Creates and sets proxy configuration if proxy is specified
-        if (StringUtils.isNotBlank(params.getHttpProxyHost()) && StringUtils.isNotBlank(params.getHttpProxyPort().toString()))
-        {
-            clientConfiguration = new ClientConfiguration();
-            clientConfiguration.setProxyHost(params.getHttpProxyHost());
-            clientConfiguration.setProxyPort(params.getHttpProxyPort());
-        }
-
-        // Creates and sets signer override if signer override is specified
-        if (StringUtils.isNotBlank(params.getSignerOverride()))
-        {
-            if (clientConfiguration == null)
-            {
-                clientConfiguration = new ClientConfiguration();
-            }
-
-            clientConfiguration.setSignerOverride(params.getSignerOverride());
-        }
-
-        AWSCredentialsProvider awsCredentialsProvider = getAWSCredentialsProvider(params);
-        if (clientConfiguration != null)
-        {
-            // Create an S3 client with HTTP proxy information.
-            amazonS3Client = new AmazonS3Client(awsCredentialsProvider, clientConfiguration);
-        }
-        else
-        {
-            // Create an S3 client with no proxy information.
-            amazonS3Client = new AmazonS3Client(awsCredentialsProvider);
-        }
-
-        // Set the optional endpoint if configured.
-        if (StringUtils.isNotBlank(params.getS3Endpoint()))
-        {
-            LOGGER.info("Configured S3 Endpoint: " + params.getS3Endpoint());
-            amazonS3Client.setEndpoint(params.getS3Endpoint());
-        }
-
-        // Return the newly created client.
-        return amazonS3Client;
-    }
-
-    /**
-     * <p> Gets the {@link AWSCredentialsProvider} based on the credentials in the given parameters. </p> <p> Returns {@link DefaultAWSCredentialsProviderChain}
-     * if either access or secret key is {@code null}. Otherwise returns a {@link StaticCredentialsProvider} with the credentials. </p>
-     *
-     * @param params - Access parameters
-     *
-     * @return AWS credentials provider implementation
-     */
-    private AWSCredentialsProvider getAWSCredentialsProvider(S3FileTransferRequestParamsDto params)
-    {
-        List<AWSCredentialsProvider> providers = new ArrayList<>();
-        String accessKey = params.getS3AccessKey();
-        String secretKey = params.getS3SecretKey();
-        if (accessKey != null && secretKey != null)
-        {
-            providers.add(new StaticCredentialsProvider(new BasicAWSCredentials(accessKey, secretKey)));
-        }
-        for (HerdAWSCredentialsProvider herdAWSCredentialsProvider : params.getAdditionalAwsCredentialsProviders())
-        {
-            providers.add(new HerdAwsCredentialsProviderWrapper(herdAWSCredentialsProvider));
-        }
-        providers.add(new DefaultAWSCredentialsProviderChain());
-        return new AWSCredentialsProviderChain(providers.toArray(new AWSCredentialsProvider[providers.size()]));
-    }
-
     /**
      * Performs a file/directory transfer.
      *
@@ -785,43 +639,44 @@ public class S3DaoImpl implements S3Dao
      */
     private S3FileTransferResultsDto performTransfer(final S3FileTransferRequestParamsDto params, Transferer transferer) throws InterruptedException
     {
-        // Create a transfer manager.
+        AmazonS3Client s3Client = null;
         TransferManager transferManager = null;
 
         try
         {
-            // Create a transfer manager.
-            transferManager = getTransferManager(params);
+            // Get a transfer manager for this transfer. It runs its tasks on its own view of the shared S3 transfer executor, so the maximum number of threads
+            // of this transfer is not shared with other transfers.
+            s3Client = s3ClientRegistry.getAmazonS3Client(params);
+            transferManager = s3ClientRegistry.getTransferManager(s3Client, params.getMaxThreads());
 
             // Start a stop watch to keep track of how long the transfer takes.
             StopWatch stopWatch = new StopWatch();
             stopWatch.start();
 
-            // Perform the transfer.
+            // Perform the transfer and get a handle that completes as soon as the transfer completes, fails or gets canceled.
             Transfer transfer = transferer.performTransfer(transferManager);
+            S3TransferHandle transferHandle = S3TransferHandle.watch(transfer);
             TransferProgress transferProgress = transfer.getProgress();
 
-            LOGGER.info(String
-                .format("%d bytes transferred out of %d (%.1f%%)", transferProgress.getBytesTransferred(), transferProgress.getTotalBytesToTransfer(),
-                    transferProgress.getPercentTransferred()));
+            LOGGER.info(transferHandle.getProgressMessage());
 
-            long stepCount = 0;
-
-            // Loop until the transfer is complete.
-            do
+            // Wait until the transfer is complete.
+            while (!transfer.isDone())
             {
-                Thread.sleep(SLEEP_INTERVAL_MILLIS);
-                stepCount++;
-
-                // Log progress status every 30 seconds and when transfer is complete.
-                if (transfer.isDone() || stepCount % 300 == 0)
+                if (transferHandle.awaitCompletion(PROGRESS_LOG_INTERVAL_MILLIS))
                 {
-                    LOGGER.info(String
-                        .format("%d bytes transferred out of %d (%.1f%%)", transferProgress.getBytesTransferred(), transferProgress.getTotalBytesToTransfer(),
-                            transferProgress.getPercentTransferred()));
+                    // The transfer has ended, so this returns as soon as the transfer state is updated.
+                    transfer.waitForException();
+                }
+                else
+                {
+                    // Log progress status every 30 seconds while the transfer is in progress.
+                    LOGGER.info(transferHandle.getProgressMessage());
                 }
             }
-            while (!transfer.isDone());
+
+            // Log progress status when transfer is complete.
+            LOGGER.info(transferHandle.getProgressMessage() + " in " + transferHandle.getElapsedMillis() + " ms");
 
             // Stop the stop watch and create a results object.
             stopWatch.stop();
@@ -883,11 +738,14 @@ public class S3DaoImpl implements S3Dao
         }
         finally
         {
-            // Shutdown the transfer manager to release resources. If this isn't done, the JVM may delay upon exiting.
+            // Shut down the transfer manager. This only shuts down its view of the shared S3 transfer executor and leaves the S3 client open.
             if (transferManager != null)
             {
-                transferManager.shutdownNow();
+                transferManager.shutdownNow(false);
             }
+
+            // Release the AmazonS3Client instance back to the registry for reuse.
+            s3ClientRegistry.releaseAmazonS3Client(s3Client);
         }
     }
 
@@ -922,7 +780,7 @@ public class S3DaoImpl implements S3Dao
 
         try
         {
-            s3Client = getAmazonS3(params);
+            s3Client = s3ClientRegistry.getAmazonS3Client(params);
             ListObjectsRequest listObjectsRequest = new ListObjectsRequest().withBucketName(params.getS3BucketName()).withPrefix(params.getS3KeyPrefix());
             ObjectListing objectListing;
 
@@ -959,11 +817,8 @@ public class S3DaoImpl implements S3Dao
         }
         finally
         {
-            // Shutdown the AmazonS3Client instance to release resources.
-            if (s3Client != null)
-            {
-                s3Client.shutdown();
-            }
+            // Release the AmazonS3Client instance back to the registry for reuse.
+            s3ClientRegistry.releaseAmazonS3Client(s3Client);
         }
 
         return storageFiles;
@@ -972,7 +827,7 @@ public class S3DaoImpl implements S3Dao
     @Override
     public S3Object getS3Object(GetObjectRequest getObjectRequest, S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto)
     {
-        AmazonS3Client s3 = getAmazonS3(s3FileTransferRequestParamsDto);
+        AmazonS3Client s3 = s3ClientRegistry.getAmazonS3Client(s3FileTransferRequestParamsDto);
         try
         {
             return s3Operations.getS3Object(getObjectRequest, s3);
@@ -995,6 +850,11 @@ public class S3DaoImpl implements S3Dao
                     throw amazonServiceException;
             }
         }
+        finally
+        {
+            // Release the AmazonS3Client instance back to the registry for reuse.
+            s3ClientRegistry.releaseAmazonS3Client(s3);
+        }
     }
 
     @Override
@@ -1023,7 +883,15 @@ public class S3DaoImpl implements S3Dao
     {
         GeneratePresignedUrlRequest generatePresignedUrlRequest = new GeneratePresignedUrlRequest(bucketName, key, HttpMethod.GET);
         generatePresignedUrlRequest.setExpiration(expiration);
-        AmazonS3Client s3 = getAmazonS3(s3FileTransferRequestParamsDto);
-        return s3Operations.generatePresignedUrl(generatePresignedUrlRequest, s3).toString();
+        AmazonS3Client s3 = s3ClientRegistry.getAmazonS3Client(s3FileTransferRequestParamsDto);
+        try
+        {
+            return s3Operations.generatePresignedUrl(generatePresignedUrlRequest, s3).toString();
+        }
+        finally
+        {
+            // Release the AmazonS3Client instance back to the registry for reuse.
+            s3ClientRegistry.releaseAmazonS3Client(s3);
+        }
     }
 }
@@ -15,13 +15,17 @@
 */
 package org.finra.herd.dao.impl;
 
-import com.amazonaws.ClientConfiguration;
-import org.apache.commons.lang3.StringUtils;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.amazonaws.services.sqs.AmazonSQSClient;
+import org.apache.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 
 import org.finra.herd.dao.SqsDao;
 import org.finra.herd.dao.SqsOperations;
+import org.finra.herd.dao.helper.SqsClientRegistry;
 import org.finra.herd.model.dto.AwsParamsDto;
 
 /**
@@ -30,29 +34,88 @@ import org.finra.herd.model.dto.AwsParamsDto;
 @Repository
 public class SqsDaoImpl implements SqsDao
 {
+    private static final Logger LOGGER = Logger.getLogger(SqsDaoImpl.class);
+
+    /**
+     * The maximum number of messages allowed in a single SQS send message batch request.
+     */
+    public static final int MAX_BATCH_SIZE = 10;
+
     @Autowired
     private SqsOperations sqsOperations;
 
+    @Autowired
+    private SqsClientRegistry sqsClientRegistry;
+
     /**
      * Sends a text message to the specified AWS SQS queue.
      */
     @Override
     public void sendSqsTextMessage(AwsParamsDto awsParamsDto, String queueName, String messageText)
     {
-        // Create the connection factory based on the specified proxy configuration.
-        ClientConfiguration clientConfiguration = new ClientConfiguration();
+        AmazonSQSClient amazonSqsClient = sqsClientRegistry.getAmazonSqsClient(awsParamsDto);
+        String queueUrl = sqsClientRegistry.getQueueUrl(queueName, amazonSqsClient);
 
-        // Only set the proxy hostname and/or port if they're configured.
-        if (StringUtils.isNotBlank(awsParamsDto.getHttpProxyHost()))
+        // Send the message.
+        long startTime = System.currentTimeMillis();
+        try
         {
-            clientConfiguration.setProxyHost(awsParamsDto.getHttpProxyHost());
+            sqsOperations.sendSqsTextMessage(queueUrl, messageText, amazonSqsClient);
         }
-        if (awsParamsDto.getHttpProxyPort() != null)
+        catch (IllegalStateException e)
         {
-            clientConfiguration.setProxyPort(awsParamsDto.getHttpProxyPort());
+            // The queue does not exist under the cached URL anymore, so resolve it again next time.
+            sqsClientRegistry.evictQueueUrl(queueName);
+            throw e;
         }
+        sqsClientRegistry.recordSendLatency(queueName, SqsClientRegistry.SendRequestType.SINGLE, System.currentTimeMillis() - startTime);
+    }
 
-        // Send the message.
-        sqsOperations.sendSqsTextMessage(clientConfiguration, queueName, messageText);
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Integer> sendSqsTextMessages(AwsParamsDto awsParamsDto, String queueName, List<String> messageTexts)
+    {
+        AmazonSQSClient amazonSqsClient = sqsClientRegistry.getAmazonSqsClient(awsParamsDto);
+
+        // Send the messages in batches, translating the failed batch entry indexes into indexes of the specified message list. A batch request that fails
+        // altogether only fails the entries of that batch, since the batches sent before it were already accepted by SQS.
+        List<Integer> failedIndexes = new ArrayList<>();
+        for (int fromIndex = 0; fromIndex < messageTexts.size(); fromIndex += MAX_BATCH_SIZE)
+        {
+            int toIndex = Math.min(fromIndex + MAX_BATCH_SIZE, messageTexts.size());
+
+            long startTime = System.currentTimeMillis();
+            List<Integer> failedBatchIndexes;
+            try
+            {
+                String queueUrl = sqsClientRegistry.getQueueUrl(queueName, amazonSqsClient);
+                failedBatchIndexes = sqsOperations.sendSqsTextMessageBatch(queueUrl, messageTexts.subList(fromIndex, toIndex), amazonSqsClient);
+            }
+            catch (RuntimeException e)
+            {
+                if (e instanceof IllegalStateException)
+                {
+                    // The queue does not exist under the cached URL anymore, so resolve it again next time.
+                    sqsClientRegistry.evictQueueUrl(queueName);
+                }
+
+                LOGGER.warn(String.format("Failed to post a batch of %d messages on \"%s\" SQS queue.", toIndex - fromIndex, queueName), e);
+                for (int i = fromIndex; i < toIndex; i++)
+                {
+                    failedIndexes.add(i);
+                }
+                continue;
+            }
+            sqsClientRegistry.recordSendLatency(queueName, SqsClientRegistry.SendRequestType.BATCH, System.currentTimeMillis() - startTime);
+
+            for (Integer failedBatchIndex : failedBatchIndexes)
+            {
+                failedIndexes.add(fromIndex + failedBatchIndex);
+            }
+        }
+
+        return failedIndexes;
     }
 }
@@ -15,27 +15,71 @@
 */
 package org.finra.herd.dao.impl;
 
-import com.amazonaws.ClientConfiguration;
+import java.util.ArrayList;
+import java.util.List;
+
 import com.amazonaws.services.sqs.AmazonSQSClient;
-import com.amazonaws.services.sqs.model.GetQueueUrlResult;
+import com.amazonaws.services.sqs.model.BatchResultErrorEntry;
 import com.amazonaws.services.sqs.model.QueueDoesNotExistException;
+import com.amazonaws.services.sqs.model.SendMessageBatchRequestEntry;
+import com.amazonaws.services.sqs.model.SendMessageBatchResult;
 
 import org.finra.herd.dao.SqsOperations;
 
 public class SqsOperationsImpl implements SqsOperations
 {
     @Override
-    public void sendSqsTextMessage(ClientConfiguration clientConfiguration, String queueName, String messageText)
+    public String getQueueUrl(String queueName, AmazonSQSClient sqsClient)
     {
         try
         {
-            AmazonSQSClient amazonSQSClient = new AmazonSQSClient(clientConfiguration);
-            GetQueueUrlResult queueUrlResult = amazonSQSClient.getQueueUrl(queueName);
-            amazonSQSClient.sendMessage(queueUrlResult.getQueueUrl(), messageText);
+            return sqsClient.getQueueUrl(queueName).getQueueUrl();
         }
         catch (QueueDoesNotExistException ex)
         {
             throw new IllegalStateException(String.format("AWS SQS queue with \"%s\" name not found.", queueName), ex);
         }
     }
+
+    @Override
+    public void sendSqsTextMessage(String queueUrl, String messageText, AmazonSQSClient sqsClient)
+    {
+        try
+        {
+            sqsClient.sendMessage(queueUrl, messageText);
+        }
+        catch (QueueDoesNotExistException ex)
+        {
+            throw new IllegalStateException(String.format("AWS SQS queue with \"%s\" URL not found.", queueUrl), ex);
+        }
+    }
+
+    @Override
+    public List<Integer> sendSqsTextMessageBatch(String queueUrl, List<String> messageTexts, AmazonSQSClient sqsClient)
+    {
+        // Use the message index as the batch entry id, so the failed entries can be mapped back to the messages.
+        List<SendMessageBatchRequestEntry> entries = new ArrayList<>();
+        for (int i = 0; i < messageTexts.size(); i++)
+        {
+            entries.add(new SendMessageBatchRequestEntry(String.valueOf(i), messageTexts.get(i)));
+        }
+
+        SendMessageBatchResult sendMessageBatchResult;
+        try
+        {
+            sendMessageBatchResult = sqsClient.sendMessageBatch(queueUrl, entries);
+        }
+        catch (QueueDoesNotExistException ex)
+        {
+            throw new IllegalStateException(String.format("AWS SQS queue with \"%s\" URL not found.", queueUrl), ex);
+        }
+
+        List<Integer> failedIndexes = new ArrayList<>();
+        for (BatchResultErrorEntry errorEntry : sendMessageBatchResult.getFailed())
+        {
+            failedIndexes.add(Integer.valueOf(errorEntry.getId()));
+        }
+
+        return failedIndexes;
+    }
 }
@@ -21,7 +21,6 @@ import java.util.HashMap;
 import java.util.Map;
 
 import com.amazonaws.AmazonServiceException;
-import com.amazonaws.ClientConfiguration;
 import com.amazonaws.services.ec2.model.ModifyInstanceAttributeRequest;
 import com.amazonaws.services.elasticmapreduce.model.RunJobFlowRequest;
 import com.amazonaws.services.securitytoken.model.AssumeRoleRequest;
@@ -181,7 +180,7 @@ public class AwsOperationsAdviceTest extends AbstractDaoTest
         try
         {
             // Call the s3Operations to throw a throttling exception.
-            sqsOperations.sendSqsTextMessage(new ClientConfiguration(), MockAwsOperationsHelper.AMAZON_THROTTLING_EXCEPTION, null);
+            sqsOperations.sendSqsTextMessage(MockAwsOperationsHelper.AMAZON_THROTTLING_EXCEPTION, null, null);
         }
         catch (AmazonServiceException ase)
         {
@@ -235,4 +235,76 @@ public class BusinessObjectDataNotificationRegistrationDaoTest extends AbstractD
             new BusinessObjectDataKey(BOD_NAMESPACE, BOD_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE, SUBPARTITION_VALUES,
                 DATA_VERSION), BDATA_STATUS, "I_DO_NOT_EXIST")));
     }
+
+    /**
+     * Tests the getBusinessObjectDataNotificationRegistrations() method when registrations with and without business object format usage are matched. The
+     * results are expected to be ordered by namespace and notification name.
+     */
+    @Test
+    public void testGetBusinessObjectDataNotificationRegistrationsUsageWildcard()
+    {
+        // Create and persist a business object data notification registration entity for a specific business object format usage.
+        BusinessObjectDataNotificationRegistrationEntity businessObjectDataNotificationRegistrationEntity =
+            createBusinessObjectDataNotificationRegistrationEntity(new NotificationRegistrationKey(NAMESPACE_CD, NOTIFICATION_NAME_2),
+                NOTIFICATION_EVENT_TYPE, BOD_NAMESPACE, BOD_NAME, FORMAT_USAGE_CODE, null, null, null, null, null, getTestJobActions());
+
+        // Create and persist a business object data notification registration entity that matches any business object format usage.
+        BusinessObjectDataNotificationRegistrationEntity businessObjectDataNotificationRegistrationEntity2 =
+            createBusinessObjectDataNotificationRegistrationEntity(new NotificationRegistrationKey(NAMESPACE_CD, NOTIFICATION_NAME),
+                NOTIFICATION_EVENT_TYPE, BOD_NAMESPACE, BOD_NAME, null, null, null, null, null, null, getTestJobActions());
+
+        // Retrieve the business object notifications using lower case input parameters.
+        List<BusinessObjectDataNotificationRegistrationEntity> businessObjectDataNotificationEntities = businessObjectDataNotificationRegistrationDao
+            .getBusinessObjectDataNotificationRegistrations(NOTIFICATION_EVENT_TYPE.toLowerCase(), new BusinessObjectDataKey(BOD_NAMESPACE.toLowerCase(),
+                BOD_NAME.toLowerCase(), FORMAT_USAGE_CODE.toLowerCase(), FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE, SUBPARTITION_VALUES,
+                DATA_VERSION), BDATA_STATUS, null);
+
+        // Validate the returned objects.
+        assertEquals(2, businessObjectDataNotificationEntities.size());
+        assertEquals(businessObjectDataNotificationRegistrationEntity2.getId(), businessObjectDataNotificationEntities.get(0).getId());
+        assertEquals(businessObjectDataNotificationRegistrationEntity.getId(), businessObjectDataNotificationEntities.get(1).getId());
+
+        // Retrieve the business object notifications for another business object format usage.
+        businessObjectDataNotificationEntities = businessObjectDataNotificationRegistrationDao.getBusinessObjectDataNotificationRegistrations(
+            NOTIFICATION_EVENT_TYPE, new BusinessObjectDataKey(BOD_NAMESPACE, BOD_NAME, FORMAT_USAGE_CODE_2, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION,
+                PARTITION_VALUE, SUBPARTITION_VALUES, DATA_VERSION), BDATA_STATUS, null);
+
+        // Validate that only the registration without business object format usage is returned.
+        assertEquals(1, businessObjectDataNotificationEntities.size());
+        assertEquals(businessObjectDataNotificationRegistrationEntity2.getId(), businessObjectDataNotificationEntities.get(0).getId());
+    }
+
+    /**
+     * Tests the getBusinessObjectDataNotificationRegistrations() method when registrations are created and deleted after the registrations were looked up.
+     */
+    @Test
+    public void testGetBusinessObjectDataNotificationRegistrationsAfterRegistrationChanges()
+    {
+        // Create a business object data key.
+        BusinessObjectDataKey businessObjectDataKey = new BusinessObjectDataKey(BOD_NAMESPACE, BOD_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE,
+            FORMAT_VERSION, PARTITION_VALUE, SUBPARTITION_VALUES, DATA_VERSION);
+
+        // Look up the business object notifications before any registration exists.
+        assertTrue(CollectionUtils.isEmpty(businessObjectDataNotificationRegistrationDao
+            .getBusinessObjectDataNotificationRegistrations(NOTIFICATION_EVENT_TYPE, businessObjectDataKey, BDATA_STATUS, BDATA_STATUS_2)));
+
+        // Create and persist a business object data notification registration entity.
+        BusinessObjectDataNotificationRegistrationEntity businessObjectDataNotificationRegistrationEntity =
+            createBusinessObjectDataNotificationRegistrationEntity(new NotificationRegistrationKey(NAMESPACE_CD, NOTIFICATION_NAME),
+                NOTIFICATION_EVENT_TYPE, BOD_NAMESPACE, BOD_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, STORAGE_NAME, BDATA_STATUS,
+                BDATA_STATUS_2, getTestJobActions());
+
+        // Validate that the new registration is found.
+        List<BusinessObjectDataNotificationRegistrationEntity> businessObjectDataNotificationEntities = businessObjectDataNotificationRegistrationDao
+            .getBusinessObjectDataNotificationRegistrations(NOTIFICATION_EVENT_TYPE, businessObjectDataKey, BDATA_STATUS, BDATA_STATUS_2);
+        assertEquals(1, businessObjectDataNotificationEntities.size());
+        assertEquals(businessObjectDataNotificationRegistrationEntity.getId(), businessObjectDataNotificationEntities.get(0).getId());
+
+        // Delete the registration.
+        herdDao.delete(businessObjectDataNotificationRegistrationEntity);
+
+        // Validate that the deleted registration is no longer found.
+        assertTrue(CollectionUtils.isEmpty(businessObjectDataNotificationRegistrationDao
+            .getBusinessObjectDataNotificationRegistrations(NOTIFICATION_EVENT_TYPE, businessObjectDataKey, BDATA_STATUS, BDATA_STATUS_2)));
+    }
 }
@@ -29,18 +29,24 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.GregorianCalendar;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.apache.commons.collections4.MultiValuedMap;
 import org.apache.commons.io.IOUtils;
+import org.hibernate.Session;
+import org.hibernate.stat.Statistics;
 import org.junit.Before;
 import org.junit.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.CacheManager;
 
 import org.finra.herd.dao.config.DaoSpringModuleConfig;
+import org.finra.herd.dao.helper.CacheStatisticsHelper;
 import org.finra.herd.dao.impl.HerdDaoImpl;
 import org.finra.herd.model.api.xml.BusinessObjectDataKey;
 import org.finra.herd.model.api.xml.BusinessObjectDefinitionKey;
@@ -55,9 +61,11 @@ import org.finra.herd.model.api.xml.PartitionKeyGroupKey;
 import org.finra.herd.model.api.xml.PartitionValueRange;
 import org.finra.herd.model.api.xml.StorageKey;
 import org.finra.herd.model.api.xml.StoragePolicyKey;
+import org.finra.herd.model.dto.CacheStatisticsDto;
 import org.finra.herd.model.dto.ConfigurationValue;
 import org.finra.herd.model.dto.StoragePolicyPriorityLevel;
 import org.finra.herd.model.jpa.BusinessObjectDataEntity;
+import org.finra.herd.model.jpa.BusinessObjectDataLatestVersionEntity;
 import org.finra.herd.model.jpa.BusinessObjectDataStatusEntity;
 import org.finra.herd.model.jpa.BusinessObjectDefinitionEntity;
 import org.finra.herd.model.jpa.BusinessObjectFormatEntity;
@@ -94,6 +102,9 @@ public class HerdDaoTest extends AbstractDaoTest
     @Autowired
     private CacheManager cacheManager;
 
+    @Autowired
+    private CacheStatisticsHelper cacheStatisticsHelper;
+
     @Before
     @Override
     public void setup() throws Exception
@@ -303,6 +314,92 @@ public class HerdDaoTest extends AbstractDaoTest
         assertNull(herdDao.getFileTypeByCode("I_DO_NOT_EXIST"));
     }
 
+    @Test
+    public void testGetFileTypeByCodeReferenceDataCache() throws Exception
+    {
+        // Enable the reference data cache.
+        Map<String, Object> overrideMap = new HashMap<>();
+        overrideMap.put(ConfigurationValue.REFERENCE_DATA_CACHE_TIME_TO_LIVE_SECONDS.getKey(), 300L);
+        modifyPropertySourceInEnvironment(overrideMap);
+
+        try
+        {
+            // Create relative database entities.
+            FileTypeEntity fileTypeEntity = createFileTypeEntity(FORMAT_FILE_TYPE_CODE, "Description of " + FORMAT_FILE_TYPE_CODE);
+
+            // Retrieve the file type entity twice using different case, so the second lookup is served from the reference data cache.
+            long hitCount = getReferenceDataCacheHitCount();
+            assertEquals(fileTypeEntity, herdDao.getFileTypeByCode(FORMAT_FILE_TYPE_CODE.toLowerCase()));
+            assertEquals(fileTypeEntity, herdDao.getFileTypeByCode(FORMAT_FILE_TYPE_CODE.toUpperCase()));
+            assertEquals(hitCount + 1, getReferenceDataCacheHitCount());
+
+            // Delete the file type entity and validate that the stale cache entry is not used.
+            herdDao.delete(fileTypeEntity);
+            assertNull(herdDao.getFileTypeByCode(FORMAT_FILE_TYPE_CODE));
+        }
+        finally
+        {
+            // Restore the property sources so we don't affect other tests.
+            restorePropertySourceInEnvironment();
+        }
+    }
+
+    @Test
+    public void testGetFileTypeByCodeReferenceDataCacheHitNoDatabaseQuery() throws Exception
+    {
+        // Enable the reference data cache and the Hibernate statistics, so the statements sent to the database can be counted.
+        Map<String, Object> overrideMap = new HashMap<>();
+        overrideMap.put(ConfigurationValue.REFERENCE_DATA_CACHE_TIME_TO_LIVE_SECONDS.getKey(), 300L);
+        modifyPropertySourceInEnvironment(overrideMap);
+        Statistics statistics = entityManager.unwrap(Session.class).getSessionFactory().getStatistics();
+        boolean statisticsEnabled = statistics.isStatisticsEnabled();
+        statistics.setStatisticsEnabled(true);
+
+        try
+        {
+            // Create relative database entities.
+            createFileTypeEntity(FORMAT_FILE_TYPE_CODE, "Description of " + FORMAT_FILE_TYPE_CODE);
+
+            // Retrieve the file type entity, so its primary key gets cached. Then retrieve it again with an empty persistence context, so the entity gets
+            // loaded into the second level cache.
+            herdDao.getFileTypeByCode(FORMAT_FILE_TYPE_CODE.toLowerCase());
+            entityManager.clear();
+            herdDao.getFileTypeByCode(FORMAT_FILE_TYPE_CODE.toLowerCase());
+            entityManager.clear();
+
+            // Retrieve the file type entity using different case and validate that no statement is sent to the database.
+            long prepareStatementCount = statistics.getPrepareStatementCount();
+            FileTypeEntity resultFileTypeEntity = herdDao.getFileTypeByCode(FORMAT_FILE_TYPE_CODE.toUpperCase());
+            assertNotNull(resultFileTypeEntity);
+            assertEquals(FORMAT_FILE_TYPE_CODE, resultFileTypeEntity.getCode());
+            assertEquals(prepareStatementCount, statistics.getPrepareStatementCount());
+        }
+        finally
+        {
+            // Restore the statistics, the second level cache and the property sources so we don't affect other tests.
+            statistics.setStatisticsEnabled(statisticsEnabled);
+            entityManager.getEntityManagerFactory().getCache().evict(FileTypeEntity.class);
+            restorePropertySourceInEnvironment();
+        }
+    }
+
+    /**
+     * Gets the current hit count of the reference data cache region.
+     *
+     * @return the hit count
+     */
+    private long getReferenceDataCacheHitCount()
+    {
+        for (CacheStatisticsDto cacheStatistics : cacheStatisticsHelper.getCacheStatistics())
+        {
+            if (cacheStatistics.getCacheName().equals(DaoSpringModuleConfig.REFERENCE_DATA_CACHE_NAME))
+            {
+                return cacheStatistics.getHitCount();
+            }
+        }
+        return 0;
+    }
+
     @Test
     public void testGetFileTypeByCodeMultipleRecordsFound()
     {
@@ -1098,6 +1195,49 @@ public class HerdDaoTest extends AbstractDaoTest
         }
     }
 
+    @Test
+    public void testGetBusinessObjectDataEntitiesByAltKeys()
+    {
+        // Create three business object data entities that differ on partition value and data version.
+        List<BusinessObjectDataEntity> businessObjectDataEntities = Arrays.asList(
+            createBusinessObjectDataEntity(NAMESPACE_CD, BOD_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE,
+                SUBPARTITION_VALUES, INITIAL_DATA_VERSION, false, BDATA_STATUS),
+            createBusinessObjectDataEntity(NAMESPACE_CD, BOD_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE,
+                SUBPARTITION_VALUES, SECOND_DATA_VERSION, true, BDATA_STATUS),
+            createBusinessObjectDataEntity(NAMESPACE_CD, BOD_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE_2,
+                NO_SUBPARTITION_VALUES, INITIAL_DATA_VERSION, true, BDATA_STATUS));
+
+        // Retrieve the last two business object data entities using upper case keys along with a key that does not match anything.
+        List<BusinessObjectDataEntity> resultBusinessObjectDataEntities = herdDao.getBusinessObjectDataEntitiesByAltKeys(Arrays.asList(
+            new BusinessObjectDataKey(NAMESPACE_CD.toUpperCase(), BOD_NAME.toUpperCase(), FORMAT_USAGE_CODE.toUpperCase(), FORMAT_FILE_TYPE_CODE.toUpperCase(),
+                FORMAT_VERSION, PARTITION_VALUE, SUBPARTITION_VALUES, SECOND_DATA_VERSION),
+            new BusinessObjectDataKey(NAMESPACE_CD, BOD_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE_2,
+                NO_SUBPARTITION_VALUES, INITIAL_DATA_VERSION),
+            new BusinessObjectDataKey(NAMESPACE_CD, BOD_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE_2,
+                NO_SUBPARTITION_VALUES, SECOND_DATA_VERSION)));
+
+        // Validate the results.
+        assertNotNull(resultBusinessObjectDataEntities);
+        assertEquals(2, resultBusinessObjectDataEntities.size());
+        assertTrue(resultBusinessObjectDataEntities.containsAll(businessObjectDataEntities.subList(1, 3)));
+
+        // An empty list of keys returns no business object data.
+        assertTrue(herdDao.getBusinessObjectDataEntitiesByAltKeys(new ArrayList<BusinessObjectDataKey>()).isEmpty());
+
+        // A key without a data version is not allowed.
+        try
+        {
+            herdDao.getBusinessObjectDataEntitiesByAltKeys(Arrays.asList(
+                new BusinessObjectDataKey(NAMESPACE_CD, BOD_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE,
+                    SUBPARTITION_VALUES, null)));
+            fail("Should throw an IllegalArgumentException when a business object data version is not specified.");
+        }
+        catch (IllegalArgumentException e)
+        {
+            assertEquals("A business object format version and a business object data version must be specified.", e.getMessage());
+        }
+    }
+
     @Test
     public void testGetBusinessObjectDataEntitiesByPartitionFiltersAndStorage()
     {
@@ -1491,6 +1631,101 @@ public class HerdDaoTest extends AbstractDaoTest
         assertEquals(0, result.size());
     }
 
+    // BusinessObjectDataLatestVersion
+
+    @Test
+    public void testRefreshBusinessObjectDataLatestVersions()
+    {
+        // Create database entities required for testing.
+        BusinessObjectFormatEntity businessObjectFormatEntity =
+            createBusinessObjectFormatEntity(NAMESPACE_CD, BOD_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, INITIAL_FORMAT_VERSION, FORMAT_DESCRIPTION, true,
+                PARTITION_KEY);
+        StorageEntity storageEntity = createStorageEntity(STORAGE_NAME);
+        StorageEntity storageEntity2 = createStorageEntity(STORAGE_NAME_2);
+        BusinessObjectDataEntity initialVersionBusinessObjectDataEntity =
+            createBusinessObjectDataEntity(businessObjectFormatEntity, PARTITION_VALUE, SUBPARTITION_VALUES, INITIAL_DATA_VERSION, false, BDATA_STATUS);
+        createStorageUnitEntity(storageEntity, initialVersionBusinessObjectDataEntity, STORAGE_UNIT_STATUS, NO_STORAGE_DIRECTORY_PATH);
+        createStorageUnitEntity(storageEntity2, initialVersionBusinessObjectDataEntity, STORAGE_UNIT_STATUS, NO_STORAGE_DIRECTORY_PATH);
+        BusinessObjectDataEntity secondVersionBusinessObjectDataEntity =
+            createBusinessObjectDataEntity(businessObjectFormatEntity, PARTITION_VALUE, SUBPARTITION_VALUES, SECOND_DATA_VERSION, true, BDATA_STATUS);
+        StorageUnitEntity secondVersionStorageUnitEntity =
+            createStorageUnitEntity(storageEntity, secondVersionBusinessObjectDataEntity, STORAGE_UNIT_STATUS, NO_STORAGE_DIRECTORY_PATH);
+
+        // Build the expected latest versions.
+        String storageInitialVersion = STORAGE_NAME + ":" + BDATA_STATUS + ":" + INITIAL_DATA_VERSION;
+        String storageSecondVersion = STORAGE_NAME + ":" + BDATA_STATUS + ":" + SECOND_DATA_VERSION;
+        String storageSecondVersionWithStatus2 = STORAGE_NAME + ":" + BDATA_STATUS_2 + ":" + SECOND_DATA_VERSION;
+        String storage2InitialVersion = STORAGE_NAME_2 + ":" + BDATA_STATUS + ":" + INITIAL_DATA_VERSION;
+
+        // Validate that the latest versions got registered per storage.
+        assertEquals(new HashSet<>(Arrays.asList(storageSecondVersion, storage2InitialVersion)),
+            getBusinessObjectDataLatestVersions(businessObjectFormatEntity));
+
+        // Change the status of the second business object data version.
+        secondVersionBusinessObjectDataEntity.setStatus(createBusinessObjectDataStatusEntity(BDATA_STATUS_2));
+        herdDao.saveAndRefresh(secondVersionBusinessObjectDataEntity);
+
+        // Validate that the latest versions got recomputed per storage and business object data status.
+        assertEquals(new HashSet<>(Arrays.asList(storageInitialVersion, storageSecondVersionWithStatus2, storage2InitialVersion)),
+            getBusinessObjectDataLatestVersions(businessObjectFormatEntity));
+
+        // Delete the storage unit of the second business object data version.
+        herdDao.delete(secondVersionStorageUnitEntity);
+
+        // Validate that the latest version for the second business object data status got removed.
+        assertEquals(new HashSet<>(Arrays.asList(storageInitialVersion, storage2InitialVersion)),
+            getBusinessObjectDataLatestVersions(businessObjectFormatEntity));
+    }
+
+    @Test
+    public void testRefreshBusinessObjectDataLatestVersionsCascadeDelete()
+    {
+        // Create database entities required for testing.
+        BusinessObjectFormatEntity businessObjectFormatEntity =
+            createBusinessObjectFormatEntity(NAMESPACE_CD, BOD_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, INITIAL_FORMAT_VERSION, FORMAT_DESCRIPTION, true,
+                PARTITION_KEY);
+        StorageEntity storageEntity = createStorageEntity(STORAGE_NAME);
+        StorageEntity storageEntity2 = createStorageEntity(STORAGE_NAME_2);
+        BusinessObjectDataEntity initialVersionBusinessObjectDataEntity =
+            createBusinessObjectDataEntity(businessObjectFormatEntity, PARTITION_VALUE, SUBPARTITION_VALUES, INITIAL_DATA_VERSION, false, BDATA_STATUS);
+        createStorageUnitEntity(storageEntity, initialVersionBusinessObjectDataEntity, STORAGE_UNIT_STATUS, NO_STORAGE_DIRECTORY_PATH);
+        BusinessObjectDataEntity secondVersionBusinessObjectDataEntity =
+            createBusinessObjectDataEntity(businessObjectFormatEntity, PARTITION_VALUE, SUBPARTITION_VALUES, SECOND_DATA_VERSION, true, BDATA_STATUS);
+        createStorageUnitEntity(storageEntity, secondVersionBusinessObjectDataEntity, STORAGE_UNIT_STATUS, NO_STORAGE_DIRECTORY_PATH);
+        createStorageUnitEntity(storageEntity2, secondVersionBusinessObjectDataEntity, STORAGE_UNIT_STATUS, NO_STORAGE_DIRECTORY_PATH);
+
+        // Build the expected latest versions.
+        String storageInitialVersion = STORAGE_NAME + ":" + BDATA_STATUS + ":" + INITIAL_DATA_VERSION;
+        String storageSecondVersion = STORAGE_NAME + ":" + BDATA_STATUS + ":" + SECOND_DATA_VERSION;
+        String storage2SecondVersion = STORAGE_NAME_2 + ":" + BDATA_STATUS + ":" + SECOND_DATA_VERSION;
+
+        // Validate the latest versions.
+        assertEquals(new HashSet<>(Arrays.asList(storageSecondVersion, storage2SecondVersion)),
+            getBusinessObjectDataLatestVersions(businessObjectFormatEntity));
+
+        // Load the storage units of the second business object data version and remove the one in the second storage through orphan removal, saving the
+        // business object data without a refresh.
+        herdDao.getEntityManager().refresh(secondVersionBusinessObjectDataEntity);
+        Iterator<StorageUnitEntity> storageUnitEntityIterator = secondVersionBusinessObjectDataEntity.getStorageUnits().iterator();
+        while (storageUnitEntityIterator.hasNext())
+        {
+            if (storageUnitEntityIterator.next().getStorage().getName().equals(STORAGE_NAME_2))
+            {
+                storageUnitEntityIterator.remove();
+            }
+        }
+        herdDao.save(secondVersionBusinessObjectDataEntity);
+
+        // Validate that the latest version in the second storage got removed.
+        assertEquals(new HashSet<>(Arrays.asList(storageSecondVersion)), getBusinessObjectDataLatestVersions(businessObjectFormatEntity));
+
+        // Delete the second business object data version directly through the entity manager, so its remaining storage unit gets deleted by the cascade.
+        herdDao.getEntityManager().remove(secondVersionBusinessObjectDataEntity);
+
+        // Validate that the latest version fell back to the initial business object data version.
+        assertEquals(new HashSet<>(Arrays.asList(storageInitialVersion)), getBusinessObjectDataLatestVersions(businessObjectFormatEntity));
+    }
+
     // Storage
 
     @Test
@@ -1510,6 +1745,25 @@ public class HerdDaoTest extends AbstractDaoTest
         assertTrue(resultStorageKeys.containsAll(getTestStorageKeys()));
     }
 
+    @Test
+    public void testGetCacheStatisticsSecondLevelCacheRegions()
+    {
+        // Get the names of the cache regions.
+        List<String> cacheNames = new ArrayList<>();
+        for (CacheStatisticsDto cacheStatistics : cacheStatisticsHelper.getCacheStatistics())
+        {
+            cacheNames.add(cacheStatistics.getCacheName());
+        }
+
+        // Validate that the Hibernate second level cache regions are configured along with the herd cache regions.
+        assertTrue(cacheNames.containsAll(Arrays.asList(DaoSpringModuleConfig.HERD_CACHE_NAME, DaoSpringModuleConfig.REFERENCE_DATA_CACHE_NAME,
+            DaoSpringModuleConfig.EMR_PRICING_CACHE_NAME, DaoSpringModuleConfig.DDL_FRAGMENTS_CACHE_NAME, BusinessObjectFormatEntity.class.getName(),
+            BusinessObjectFormatEntity.class.getName() + ".schemaColumns", StorageEntity.class.getName(), StorageEntity.class.getName() + ".attributes",
+            PartitionKeyGroupEntity.class.getName(), JobDefinitionEntity.class.getName(), EmrClusterDefinitionEntity.class.getName(),
+            NamespaceEntity.class.getName(), FileTypeEntity.class.getName(), BusinessObjectDataStatusEntity.class.getName(),
+            StorageUnitStatusEntity.class.getName(), StoragePlatformEntity.class.getName())));
+    }
+
     // StorageUnitStatus
 
     @Test
@@ -1531,6 +1785,53 @@ public class HerdDaoTest extends AbstractDaoTest
         assertNull(herdDao.getStorageUnitStatusByCode("I_DO_NOT_EXIST"));
     }
 
+    @Test
+    public void testGetStorageUnitStatusByCodeQueryCache()
+    {
+        // Enable the Hibernate statistics, so the query cache hits can be counted.
+        Statistics statistics = entityManager.unwrap(Session.class).getSessionFactory().getStatistics();
+        boolean statisticsEnabled = statistics.isStatisticsEnabled();
+        statistics.setStatisticsEnabled(true);
+
+        try
+        {
+            // Retrieve a storage unit status that is part of the reference data twice using different case and validate that the second lookup is served
+            // from the query cache.
+            assertEquals(StorageUnitStatusEntity.ENABLED, herdDao.getStorageUnitStatusByCode(StorageUnitStatusEntity.ENABLED.toLowerCase()).getCode());
+            long queryCacheHitCount = statistics.getQueryCacheHitCount();
+            assertEquals(StorageUnitStatusEntity.ENABLED, herdDao.getStorageUnitStatusByCode(StorageUnitStatusEntity.ENABLED.toUpperCase()).getCode());
+            assertEquals(queryCacheHitCount + 1, statistics.getQueryCacheHitCount());
+        }
+        finally
+        {
+            // Restore the statistics so we don't affect other tests.
+            statistics.setStatisticsEnabled(statisticsEnabled);
+        }
+    }
+
+    @Test
+    public void testGetStorageUnitStatusByCodeQueryCacheNoEmptyResult()
+    {
+        // Enable the Hibernate statistics, so the query cache hits can be counted.
+        Statistics statistics = entityManager.unwrap(Session.class).getSessionFactory().getStatistics();
+        boolean statisticsEnabled = statistics.isStatisticsEnabled();
+        statistics.setStatisticsEnabled(true);
+
+        try
+        {
+            // Retrieve a non-existing storage unit status twice and validate that the empty result is not served from the query cache.
+            assertNull(herdDao.getStorageUnitStatusByCode("I_DO_NOT_EXIST"));
+            long queryCacheHitCount = statistics.getQueryCacheHitCount();
+            assertNull(herdDao.getStorageUnitStatusByCode("I_DO_NOT_EXIST"));
+            assertEquals(queryCacheHitCount, statistics.getQueryCacheHitCount());
+        }
+        finally
+        {
+            // Restore the statistics so we don't affect other tests.
+            statistics.setStatisticsEnabled(statisticsEnabled);
+        }
+    }
+
     // StorageUnit
 
     @Test
@@ -1693,6 +1994,31 @@ public class HerdDaoTest extends AbstractDaoTest
         assertTrue(resultStorageUnitEntities8.isEmpty());
     }
 
+    @Test
+    public void testGetStorageUnitsByPartitionFiltersAndStoragesLowerCaseParameters()
+    {
+        // Create database entities required for testing.
+        List<StorageUnitEntity> expectedStorageUnitEntities =
+            createDatabaseEntitiesForBusinessObjectDataAvailabilityTesting(null, new ArrayList<>(), new ArrayList<>(),
+                BusinessObjectDataEntity.FIRST_PARTITION_COLUMN_POSITION, SUBPARTITION_VALUES, ALLOW_DUPLICATE_BUSINESS_OBJECT_DATA, STORAGE_NAMES);
+
+        // Build a list of partition filters to select the "available" business object data.
+        List<List<String>> partitionFilters = new ArrayList<>();
+        for (String partitionValue : UNSORTED_PARTITION_VALUES)
+        {
+            partitionFilters.add(Arrays.asList(partitionValue, SUBPARTITION_VALUES.get(0), null, null, null));
+        }
+
+        // Retrieve "available" storage units using lower case alternate key values and storage names.
+        List<StorageUnitEntity> resultStorageUnitEntities = herdDao.getStorageUnitsByPartitionFiltersAndStorages(
+            new BusinessObjectFormatKey(NAMESPACE_CD.toLowerCase(), BOD_NAME.toLowerCase(), FORMAT_USAGE_CODE.toLowerCase(),
+                FORMAT_FILE_TYPE_CODE.toLowerCase(), FORMAT_VERSION), partitionFilters, DATA_VERSION, null,
+            Arrays.asList(STORAGE_NAME.toLowerCase(), STORAGE_NAME_2.toLowerCase()), null, null, SELECT_ONLY_AVAILABLE_STORAGE_UNITS);
+
+        // Validate the results.
+        assertEquals(expectedStorageUnitEntities, resultStorageUnitEntities);
+    }
+
     @Test
     public void testGetStorageUnitsByPartitionFiltersAndStoragesNotEnabledStorageUnitStatus()
     {
@@ -1746,6 +2072,70 @@ public class HerdDaoTest extends AbstractDaoTest
         assertEquals(Arrays.asList(enabledStorageUnitEntity, disabledStorageUnitEntity), resultStorageUnitEntities);
     }
 
+    @Test
+    public void testGetAllStorageUnitsByPartitionFilters()
+    {
+        // Create an S3 and a Glacier storage.
+        StorageEntity s3StorageEntity = createStorageEntity(STORAGE_NAME, StoragePlatformEntity.S3);
+        StorageEntity glacierStorageEntity = createStorageEntity(STORAGE_NAME_2, StoragePlatformEntity.GLACIER);
+
+        // Create two business object data versions with different statuses and register them in the S3 storage.
+        BusinessObjectDataEntity businessObjectDataEntity1 =
+            createBusinessObjectDataEntity(NAMESPACE_CD, BOD_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE,
+                NO_SUBPARTITION_VALUES, INITIAL_DATA_VERSION, false, BusinessObjectDataStatusEntity.VALID);
+        BusinessObjectDataEntity businessObjectDataEntity2 =
+            createBusinessObjectDataEntity(NAMESPACE_CD, BOD_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE,
+                NO_SUBPARTITION_VALUES, SECOND_DATA_VERSION, true, BDATA_STATUS);
+        StorageUnitEntity storageUnitEntity1 =
+            createStorageUnitEntity(s3StorageEntity, businessObjectDataEntity1, StorageUnitStatusEntity.ENABLED, NO_STORAGE_DIRECTORY_PATH);
+        StorageUnitEntity storageUnitEntity2 =
+            createStorageUnitEntity(s3StorageEntity, businessObjectDataEntity2, StorageUnitStatusEntity.DISABLED, NO_STORAGE_DIRECTORY_PATH);
+
+        // Register the first business object data version in the Glacier storage.
+        StorageUnitEntity storageUnitEntity3 =
+            createStorageUnitEntity(glacierStorageEntity, businessObjectDataEntity1, StorageUnitStatusEntity.ENABLED, NO_STORAGE_DIRECTORY_PATH);
+
+        // Build a list of partition filters to select business object data.
+        List<List<String>> partitionFilters = new ArrayList<>();
+        partitionFilters.add(Arrays.asList(PARTITION_VALUE, null, null, null, null));
+        partitionFilters.add(Arrays.asList(PARTITION_VALUE_2, null, null, null, null));
+
+        // Retrieve storage units from all storages regardless of business object data version.
+        List<StorageUnitEntity> resultStorageUnitEntities = herdDao
+            .getAllStorageUnitsByPartitionFilters(new BusinessObjectFormatKey(NAMESPACE_CD, BOD_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, null),
+                partitionFilters, null, null, null);
+
+        // Validate the results.
+        assertEquals(3, resultStorageUnitEntities.size());
+        assertTrue(resultStorageUnitEntities.containsAll(Arrays.asList(storageUnitEntity1, storageUnitEntity2, storageUnitEntity3)));
+
+        // Retrieve storage units from the S3 storage only.
+        resultStorageUnitEntities = herdDao
+            .getAllStorageUnitsByPartitionFilters(new BusinessObjectFormatKey(NAMESPACE_CD, BOD_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION),
+                partitionFilters, null, Arrays.asList(STORAGE_NAME), null);
+
+        // Validate the results.
+        assertEquals(2, resultStorageUnitEntities.size());
+        assertTrue(resultStorageUnitEntities.containsAll(Arrays.asList(storageUnitEntity1, storageUnitEntity2)));
+
+        // Retrieve storage units from the S3 storage and all Glacier storages.
+        resultStorageUnitEntities = herdDao
+            .getAllStorageUnitsByPartitionFilters(new BusinessObjectFormatKey(NAMESPACE_CD, BOD_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION),
+                partitionFilters, null, Arrays.asList(STORAGE_NAME.toLowerCase()), StoragePlatformEntity.GLACIER);
+
+        // Validate the results.
+        assertEquals(3, resultStorageUnitEntities.size());
+
+        // Retrieve storage units for the initial business object data version only.
+        resultStorageUnitEntities = herdDao
+            .getAllStorageUnitsByPartitionFilters(new BusinessObjectFormatKey(NAMESPACE_CD, BOD_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION),
+                partitionFilters, INITIAL_DATA_VERSION, Arrays.asList(STORAGE_NAME), StoragePlatformEntity.GLACIER);
+
+        // Validate the results.
+        assertEquals(2, resultStorageUnitEntities.size());
+        assertTrue(resultStorageUnitEntities.containsAll(Arrays.asList(storageUnitEntity1, storageUnitEntity3)));
+    }
+
     // StorageFile
 
     @Test
@@ -1872,6 +2262,88 @@ public class HerdDaoTest extends AbstractDaoTest
         }
     }
 
+    @Test
+    public void testGetStorageFilesByStorageNameAndFilePaths() throws Exception
+    {
+        // Override configuration, so the file paths get checked using more than one query.
+        Map<String, Object> overrideMap = new HashMap<>();
+        overrideMap.put(ConfigurationValue.DB_IN_CLAUSE_CHUNK_SIZE.getKey(), 2);
+        modifyPropertySourceInEnvironment(overrideMap);
+
+        try
+        {
+            // Create database entities required for testing.
+            createDatabaseEntitiesForStorageFilesTesting();
+
+            // Retrieve storage files by a list of file paths that also includes a non-existing file path.
+            List<String> filePaths = new ArrayList<>(LOCAL_FILES_SUBSET);
+            filePaths.add("I_DO_NOT_EXIST");
+            List<StorageFileEntity> storageFileEntities = herdDao.getStorageFilesByStorageNameAndFilePaths(StorageEntity.MANAGED_STORAGE, filePaths);
+
+            // Validate the results.
+            List<String> expectedFiles = Arrays.asList("FOO3.DAT", "Foo2.dat", "folder/foo2.dat");
+            assertEquals(expectedFiles.size(), storageFileEntities.size());
+            for (int i = 0; i < expectedFiles.size(); i++)
+            {
+                assertEquals(expectedFiles.get(i), storageFileEntities.get(i).getPath());
+            }
+
+            // Try to get storage files by specifying a non-existing storage.
+            assertEquals(0, herdDao.getStorageFilesByStorageNameAndFilePaths("I_DO_NOT_EXIST", LOCAL_FILES).size());
+        }
+        finally
+        {
+            // Restore the property sources so we don't affect other tests.
+            restorePropertySourceInEnvironment();
+        }
+    }
+
+    @Test
+    public void testSaveStorageFiles() throws Exception
+    {
+        // Override configuration, so the storage files get flushed in more than one batch.
+        Map<String, Object> overrideMap = new HashMap<>();
+        overrideMap.put(ConfigurationValue.HIBERNATE_JDBC_BATCH_SIZE.getKey(), LOCAL_FILES.size() / 2 + 1);
+        modifyPropertySourceInEnvironment(overrideMap);
+
+        try
+        {
+            // Create database entities required for testing.
+            StorageUnitEntity storageUnitEntity =
+                createStorageUnitEntity(STORAGE_NAME, NAMESPACE_CD, BOD_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, INITIAL_FORMAT_VERSION, PARTITION_VALUE,
+                    SUBPARTITION_VALUES, INITIAL_DATA_VERSION, true, BDATA_STATUS, STORAGE_UNIT_STATUS, NO_STORAGE_DIRECTORY_PATH);
+
+            // Build a list of storage file entities.
+            List<StorageFileEntity> storageFileEntities = new ArrayList<>();
+            for (String file : LOCAL_FILES)
+            {
+                StorageFileEntity storageFileEntity = new StorageFileEntity();
+                storageFileEntity.setStorageUnit(storageUnitEntity);
+                storageFileEntity.setPath(file);
+                storageFileEntity.setFileSizeBytes(FILE_SIZE_1_KB);
+                storageFileEntity.setRowCount(ROW_COUNT_1000);
+                storageFileEntities.add(storageFileEntity);
+            }
+
+            // Save the storage files.
+            herdDao.saveStorageFiles(storageFileEntities);
+
+            // Validate that all storage files got persisted along with their audit fields.
+            for (StorageFileEntity storageFileEntity : storageFileEntities)
+            {
+                assertNotNull(storageFileEntity.getId());
+                assertNotNull(storageFileEntity.getCreatedBy());
+                assertNotNull(storageFileEntity.getCreatedOn());
+                assertEquals(storageFileEntity, herdDao.getStorageFileByStorageNameAndFilePath(STORAGE_NAME, storageFileEntity.getPath()));
+            }
+        }
+        finally
+        {
+            // Restore the property sources so we don't affect other tests.
+            restorePropertySourceInEnvironment();
+        }
+    }
+
     @Test
     public void testGetStoragePathsByStorageUnits() throws Exception
     {
@@ -1904,6 +2376,47 @@ public class HerdDaoTest extends AbstractDaoTest
         }
     }
 
+    @Test
+    public void testProcessStoragePathsByStorageUnits() throws Exception
+    {
+        // Override configuration.
+        Map<String, Object> overrideMap = new HashMap<>();
+        overrideMap.put(ConfigurationValue.STORAGE_FILE_PATHS_QUERY_PAGINATION_SIZE.getKey(), LOCAL_FILES.size() / 2);
+        modifyPropertySourceInEnvironment(overrideMap);
+
+        try
+        {
+            // Create database entities required for testing.
+            final StorageUnitEntity storageUnitEntity =
+                createStorageUnitEntity(STORAGE_NAME, NAMESPACE_CD, BOD_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, INITIAL_FORMAT_VERSION, PARTITION_VALUE,
+                    SUBPARTITION_VALUES, INITIAL_DATA_VERSION, true, BDATA_STATUS, STORAGE_UNIT_STATUS, NO_STORAGE_DIRECTORY_PATH);
+            for (String file : LOCAL_FILES)
+            {
+                createStorageFileEntity(storageUnitEntity, file, FILE_SIZE_1_KB, ROW_COUNT_1000);
+            }
+
+            // Stream storage file paths by storage units.
+            final List<String> storageFilePaths = new ArrayList<>();
+            herdDao.processStorageFilePathsByStorageUnits(Arrays.asList(storageUnitEntity), new StorageFilePathCallbackHandler()
+            {
+                @Override
+                public void processStorageFilePath(Integer storageUnitId, String storageFilePath)
+                {
+                    assertEquals(storageUnitEntity.getId(), storageUnitId);
+                    storageFilePaths.add(storageFilePath);
+                }
+            });
+
+            // Validate the results. The storage file paths are expected to be streamed once each, in the order they were registered.
+            assertEquals(LOCAL_FILES, storageFilePaths);
+        }
+        finally
+        {
+            // Restore the property sources so we don't affect other tests.
+            restorePropertySourceInEnvironment();
+        }
+    }
+
     private void createDatabaseEntitiesForStorageFilesTesting()
     {
         // Create relative database entities.
@@ -2239,6 +2752,91 @@ public class HerdDaoTest extends AbstractDaoTest
         assertNull(oldestJmsMessageEntity);
     }
 
+    @Test
+    public void testDeleteJmsMessages() throws Exception
+    {
+        // Prepare database entries required for testing.
+        List<JmsMessageEntity> jmsMessageEntities = Arrays
+            .asList(createJmsMessageEntity(JMS_QUEUE_NAME, MESSAGE_TEXT), createJmsMessageEntity(JMS_QUEUE_NAME_2, MESSAGE_TEXT_2),
+                createJmsMessageEntity(JMS_QUEUE_NAME, MESSAGE_TEXT_2));
+
+        // Delete the first and the last JMS messages.
+        assertEquals(2, herdDao.deleteJmsMessages(Arrays.asList(jmsMessageEntities.get(0).getId(), jmsMessageEntities.get(2).getId())));
+
+        // Validate that only the second JMS message is left in the queue.
+        assertEquals(Arrays.asList(jmsMessageEntities.get(1)), herdDao.findAll(JmsMessageEntity.class));
+
+        // Deleting an empty list of JMS messages is a no-op.
+        assertEquals(0, herdDao.deleteJmsMessages(new ArrayList<Integer>()));
+    }
+
+    @Test
+    public void testClaimJmsMessages() throws Exception
+    {
+        // Prepare database entries required for testing.
+        List<JmsMessageEntity> jmsMessageEntities = Arrays
+            .asList(createJmsMessageEntity(JMS_QUEUE_NAME, MESSAGE_TEXT), createJmsMessageEntity(JMS_QUEUE_NAME_2, MESSAGE_TEXT_2),
+                createJmsMessageEntity(JMS_QUEUE_NAME, MESSAGE_TEXT_2));
+
+        // Claim the two oldest JMS messages.
+        assertEquals(jmsMessageEntities.subList(0, 2), herdDao.claimJmsMessages("UT_Claimant_1", 300, new ArrayList<String>(), 2));
+
+        // Validate that another claimant only gets the message that is not claimed yet.
+        assertEquals(jmsMessageEntities.subList(2, 3), herdDao.claimJmsMessages("UT_Claimant_2", 300, new ArrayList<String>(), 10));
+
+        // Validate that there is nothing left to claim.
+        assertTrue(herdDao.claimJmsMessages("UT_Claimant_3", 300, new ArrayList<String>(), 10).isEmpty());
+    }
+
+    @Test
+    public void testClaimJmsMessagesClaimExpired() throws Exception
+    {
+        // Prepare database entries required for testing.
+        List<JmsMessageEntity> jmsMessageEntities =
+            Arrays.asList(createJmsMessageEntity(JMS_QUEUE_NAME, MESSAGE_TEXT), createJmsMessageEntity(JMS_QUEUE_NAME_2, MESSAGE_TEXT_2));
+
+        // Claim the JMS messages using a claim that is already expired.
+        assertEquals(jmsMessageEntities, herdDao.claimJmsMessages("UT_Claimant_1", -1, new ArrayList<String>(), 10));
+
+        // Validate that the messages can be claimed again.
+        assertEquals(jmsMessageEntities, herdDao.claimJmsMessages("UT_Claimant_2", 300, new ArrayList<String>(), 10));
+    }
+
+    @Test
+    public void testClaimJmsMessagesOrderedQueue() throws Exception
+    {
+        // Prepare database entries required for testing.
+        List<JmsMessageEntity> jmsMessageEntities = Arrays
+            .asList(createJmsMessageEntity(JMS_QUEUE_NAME, MESSAGE_TEXT), createJmsMessageEntity(JMS_QUEUE_NAME, MESSAGE_TEXT_2),
+                createJmsMessageEntity(JMS_QUEUE_NAME_2, MESSAGE_TEXT));
+
+        // Claim the oldest message of the ordered queue.
+        List<String> orderedJmsQueueNames = Arrays.asList(JMS_QUEUE_NAME);
+        assertEquals(jmsMessageEntities.subList(0, 1), herdDao.claimJmsMessages("UT_Claimant_1", 300, orderedJmsQueueNames, 1));
+
+        // Validate that another claimant skips the rest of the ordered queue while it has an active claim.
+        assertEquals(jmsMessageEntities.subList(2, 3), herdDao.claimJmsMessages("UT_Claimant_2", 300, orderedJmsQueueNames, 10));
+
+        // Validate that the rest of the queue can be claimed when the queue does not require ordering.
+        assertEquals(jmsMessageEntities.subList(1, 2), herdDao.claimJmsMessages("UT_Claimant_3", 300, new ArrayList<String>(), 10));
+    }
+
+    @Test
+    public void testClaimJmsMessagesAllQueuesOrdered() throws Exception
+    {
+        // Prepare database entries required for testing.
+        List<JmsMessageEntity> jmsMessageEntities = Arrays
+            .asList(createJmsMessageEntity(JMS_QUEUE_NAME, MESSAGE_TEXT), createJmsMessageEntity(JMS_QUEUE_NAME, MESSAGE_TEXT_2),
+                createJmsMessageEntity(JMS_QUEUE_NAME_2, MESSAGE_TEXT), createJmsMessageEntity(JMS_QUEUE_NAME_2, MESSAGE_TEXT_2));
+
+        // Claim the oldest message of the first queue.
+        List<String> orderedJmsQueueNames = Arrays.asList(HerdDao.ALL_JMS_QUEUE_NAMES);
+        assertEquals(jmsMessageEntities.subList(0, 1), herdDao.claimJmsMessages("UT_Claimant_1", 300, orderedJmsQueueNames, 1));
+
+        // Validate that another claimant skips the rest of the first queue, since every queue is ordered.
+        assertEquals(jmsMessageEntities.subList(2, 4), herdDao.claimJmsMessages("UT_Claimant_2", 300, orderedJmsQueueNames, 10));
+    }
+
     // OnDemandPricing
 
     @Test
@@ -2263,6 +2861,30 @@ public class HerdDaoTest extends AbstractDaoTest
 
     // Helper methods.
 
+    /**
+     * Gets the latest business object data versions registered for the specified business object format. The latest versions are refreshed first.
+     *
+     * @param businessObjectFormatEntity the business object format entity
+     *
+     * @return the set of the latest versions, each formatted as "storage name:business object data status:business object data version"
+     */
+    private Set<String> getBusinessObjectDataLatestVersions(BusinessObjectFormatEntity businessObjectFormatEntity)
+    {
+        // Refresh the latest versions of the partitions written so far, like any query that reads them does.
+        herdDao.refreshPendingBusinessObjectDataLatestVersions();
+
+        Set<String> result = new HashSet<>();
+        for (BusinessObjectDataLatestVersionEntity businessObjectDataLatestVersionEntity : herdDao.findAll(BusinessObjectDataLatestVersionEntity.class))
+        {
+            if (businessObjectDataLatestVersionEntity.getBusinessObjectFormat().equals(businessObjectFormatEntity))
+            {
+                result.add(businessObjectDataLatestVersionEntity.getStorage().getName() + ":" +
+                    businessObjectDataLatestVersionEntity.getStatus().getCode() + ":" + businessObjectDataLatestVersionEntity.getVersion());
+            }
+        }
+        return result;
+    }
+
     /**
      * Gets a date as a string.
      *
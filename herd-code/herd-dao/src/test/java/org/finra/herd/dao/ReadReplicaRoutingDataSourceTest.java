@@ -0,0 +1,165 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.dao;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.junit.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import org.finra.herd.dao.config.DaoSpringModuleConfig;
+
+/**
+ * This class tests the read replica routing data source. The test herd data source is used as both the primary data source and the read replica.
+ */
+public class ReadReplicaRoutingDataSourceTest extends AbstractDaoTest
+{
+    private static final String REPLICA_NAME = "UT_Replica" + RANDOM_SUFFIX;
+
+    @Test
+    public void testRouting()
+    {
+        ReadReplicaRoutingDataSource routingDataSource = createReadReplicaRoutingDataSource("SELECT 0");
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+        long primaryConnectionCount = routingDataSource.getConnectionCount(ReadReplicaRoutingDataSource.PRIMARY_DATA_SOURCE_KEY);
+
+        // Validate that a read-only transaction is routed to the read replica.
+        executeQueryInTransaction(dataSource, true);
+        assertEquals(Long.valueOf(1), routingDataSource.getConnectionCount(REPLICA_NAME));
+        assertEquals(Long.valueOf(primaryConnectionCount), routingDataSource.getConnectionCount(ReadReplicaRoutingDataSource.PRIMARY_DATA_SOURCE_KEY));
+        assertEquals(Long.valueOf(0), routingDataSource.getReplicaLagMillis(REPLICA_NAME));
+
+        // Validate that a read-write transaction is routed to the primary data source.
+        executeQueryInTransaction(dataSource, false);
+        assertEquals(Long.valueOf(1), routingDataSource.getConnectionCount(REPLICA_NAME));
+        assertEquals(Long.valueOf(primaryConnectionCount + 1), routingDataSource.getConnectionCount(ReadReplicaRoutingDataSource.PRIMARY_DATA_SOURCE_KEY));
+        assertEquals(0, routingDataSource.getFallbackCount());
+
+        // Validate that an unknown target data source has no connection count.
+        assertNull(routingDataSource.getConnectionCount("I_DO_NOT_EXIST"));
+
+        // Validate the routing statistics exposed through the management interface.
+        assertEquals(Long.valueOf(1), routingDataSource.getConnectionCounts().get(REPLICA_NAME));
+        assertEquals(Collections.singletonMap(REPLICA_NAME, 0L), routingDataSource.getReplicaLagsMillis());
+        assertEquals(Arrays.asList(REPLICA_NAME), routingDataSource.getAvailableReplicaNames());
+    }
+
+    @Test
+    public void testRoutingReplicaLagExceeded()
+    {
+        ReadReplicaRoutingDataSource routingDataSource = createReadReplicaRoutingDataSource("SELECT 60");
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+        long primaryConnectionCount = routingDataSource.getConnectionCount(ReadReplicaRoutingDataSource.PRIMARY_DATA_SOURCE_KEY);
+
+        // Validate that a read-only transaction falls back to the primary data source.
+        executeQueryInTransaction(dataSource, true);
+        assertEquals(Long.valueOf(0), routingDataSource.getConnectionCount(REPLICA_NAME));
+        assertEquals(Long.valueOf(primaryConnectionCount + 1), routingDataSource.getConnectionCount(ReadReplicaRoutingDataSource.PRIMARY_DATA_SOURCE_KEY));
+        assertEquals(1, routingDataSource.getFallbackCount());
+        assertEquals(Long.valueOf(60000), routingDataSource.getReplicaLagMillis(REPLICA_NAME));
+        assertTrue(routingDataSource.getAvailableReplicaNames().isEmpty());
+    }
+
+    @Test
+    public void testRoutingReplicaLagQueryFails()
+    {
+        ReadReplicaRoutingDataSource routingDataSource = createReadReplicaRoutingDataSource("SELECT I_DO_NOT_EXIST");
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+
+        // Validate that a read-only transaction falls back to the primary data source.
+        executeQueryInTransaction(dataSource, true);
+        assertEquals(Long.valueOf(0), routingDataSource.getConnectionCount(REPLICA_NAME));
+        assertEquals(1, routingDataSource.getFallbackCount());
+        assertNull(routingDataSource.getReplicaLagMillis(REPLICA_NAME));
+        assertEquals(Collections.singletonMap(REPLICA_NAME, -1L), routingDataSource.getReplicaLagsMillis());
+    }
+
+    @Test
+    public void testRoutingReplicaLagNotMeasured()
+    {
+        Map<String, DataSource> replicaDataSources = new LinkedHashMap<>();
+        replicaDataSources.put(REPLICA_NAME, DaoSpringModuleConfig.getHerdDataSource());
+        ReadReplicaRoutingDataSource routingDataSource =
+            new ReadReplicaRoutingDataSource(DaoSpringModuleConfig.getHerdDataSource(), replicaDataSources, 30L, 600L, "SELECT 0");
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+
+        // Validate that a read-only transaction falls back to the primary data source until the replication lag has been measured.
+        executeQueryInTransaction(dataSource, true);
+        assertEquals(Long.valueOf(0), routingDataSource.getConnectionCount(REPLICA_NAME));
+        assertEquals(1, routingDataSource.getFallbackCount());
+
+        // Measure the replication lag and validate that a read-only transaction is routed to the read replica.
+        routingDataSource.checkReplicaLags();
+        executeQueryInTransaction(dataSource, true);
+        assertEquals(Long.valueOf(1), routingDataSource.getConnectionCount(REPLICA_NAME));
+        assertEquals(1, routingDataSource.getFallbackCount());
+    }
+
+    /**
+     * Creates a routing data source that uses the test herd data source as both the primary data source and the read replica. The replication lag is measured
+     * right away, and again in the background each time a read-only connection is requested.
+     *
+     * @param lagQuery the query that returns the replication lag in seconds
+     *
+     * @return the routing data source
+     */
+    private ReadReplicaRoutingDataSource createReadReplicaRoutingDataSource(String lagQuery)
+    {
+        Map<String, DataSource> replicaDataSources = new LinkedHashMap<>();
+        replicaDataSources.put(REPLICA_NAME, DaoSpringModuleConfig.getHerdDataSource());
+
+        ReadReplicaRoutingDataSource routingDataSource =
+            new ReadReplicaRoutingDataSource(DaoSpringModuleConfig.getHerdDataSource(), replicaDataSources, 30L, 0L, lagQuery);
+        routingDataSource.afterPropertiesSet();
+        routingDataSource.checkReplicaLags();
+
+        return routingDataSource;
+    }
+
+    /**
+     * Executes a simple query in a new transaction against the specified data source.
+     *
+     * @param dataSource the data source
+     * @param readOnly specifies whether the transaction is read-only
+     */
+    private void executeQueryInTransaction(final DataSource dataSource, boolean readOnly)
+    {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transactionTemplate.setReadOnly(readOnly);
+        transactionTemplate.execute(new TransactionCallback<Integer>()
+        {
+            @Override
+            public Integer doInTransaction(TransactionStatus status)
+            {
+                return new JdbcTemplate(dataSource).queryForObject("SELECT 1", Integer.class);
+            }
+        });
+    }
+}
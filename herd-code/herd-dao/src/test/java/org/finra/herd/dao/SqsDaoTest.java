@@ -15,8 +15,16 @@
 */
 package org.finra.herd.dao;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 import org.junit.Test;
 
+import org.finra.herd.dao.impl.MockSqsOperationsImpl;
 import org.finra.herd.model.dto.AwsParamsDto;
 
 /**
@@ -34,4 +42,48 @@ public class SqsDaoTest extends AbstractDaoTest
         testAwsParamsDto.setHttpProxyPort(HTTP_PROXY_PORT);
         sqsDao.sendSqsTextMessage(testAwsParamsDto, JMS_QUEUE_NAME, MESSAGE_TEXT);
     }
+
+    @Test
+    public void testSendSqsTextMessages() throws Exception
+    {
+        // Create more messages than fit in a single batch, with a message that fails as part of a batch in the second batch.
+        List<String> messageTexts = new ArrayList<>();
+        for (int i = 0; i < 25; i++)
+        {
+            messageTexts.add(i == 13 ? MockSqsOperationsImpl.MOCK_SQS_BATCH_ENTRY_FAILURE_MESSAGE_TEXT : MESSAGE_TEXT + i);
+        }
+
+        // Send the messages and validate that the failed message index is relative to the specified message list.
+        List<Integer> failedIndexes = sqsDao.sendSqsTextMessages(new AwsParamsDto(), JMS_QUEUE_NAME, messageTexts);
+        assertEquals(Arrays.asList(13), failedIndexes);
+
+        // Send an empty list of messages.
+        assertTrue(sqsDao.sendSqsTextMessages(new AwsParamsDto(), JMS_QUEUE_NAME, new ArrayList<String>()).isEmpty());
+    }
+
+    @Test
+    public void testSendSqsTextMessagesBatchRequestFailure() throws Exception
+    {
+        // Create three batches of messages, where the second batch request fails altogether and the third batch has a message that fails as part of a batch.
+        List<String> messageTexts = new ArrayList<>();
+        for (int i = 0; i < 25; i++)
+        {
+            if (i == 12)
+            {
+                messageTexts.add(MockSqsOperationsImpl.MOCK_SQS_BATCH_REQUEST_FAILURE_MESSAGE_TEXT);
+            }
+            else if (i == 23)
+            {
+                messageTexts.add(MockSqsOperationsImpl.MOCK_SQS_BATCH_ENTRY_FAILURE_MESSAGE_TEXT);
+            }
+            else
+            {
+                messageTexts.add(MESSAGE_TEXT + i);
+            }
+        }
+
+        // Send the messages and validate that only the messages of the failed batch and the failed entry are reported as failed.
+        List<Integer> failedIndexes = sqsDao.sendSqsTextMessages(new AwsParamsDto(), JMS_QUEUE_NAME, messageTexts);
+        assertEquals(Arrays.asList(10, 11, 12, 13, 14, 15, 16, 17, 18, 19, 23), failedIndexes);
+    }
 }
@@ -0,0 +1,162 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.dao.helper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import com.amazonaws.services.s3.AmazonS3Client;
+import com.amazonaws.services.s3.transfer.TransferManager;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import org.finra.herd.dao.AbstractDaoTest;
+import org.finra.herd.model.dto.ConfigurationValue;
+import org.finra.herd.model.dto.S3FileTransferRequestParamsDto;
+
+/**
+ * This class tests functionality within the S3 client registry.
+ */
+public class S3ClientRegistryTest extends AbstractDaoTest
+{
+    private static final String S3_ACCESS_KEY = "UT_S3AccessKey" + RANDOM_SUFFIX;
+
+    private static final String S3_SECRET_KEY = "UT_S3SecretKey" + RANDOM_SUFFIX;
+
+    @Autowired
+    private S3ClientRegistry s3ClientRegistry;
+
+    @Test
+    public void testGetAmazonS3ClientReusesClient()
+    {
+        long createCount = s3ClientRegistry.getCreateCount();
+        long leaseCount = s3ClientRegistry.getLeaseCount();
+
+        // Lease a client twice using the same settings.
+        AmazonS3Client amazonS3Client = s3ClientRegistry.getAmazonS3Client(getS3FileTransferRequestParamsDto(S3_ACCESS_KEY));
+        s3ClientRegistry.releaseAmazonS3Client(amazonS3Client);
+        AmazonS3Client amazonS3Client2 = s3ClientRegistry.getAmazonS3Client(getS3FileTransferRequestParamsDto(S3_ACCESS_KEY));
+        s3ClientRegistry.releaseAmazonS3Client(amazonS3Client2);
+
+        // Validate that the client got reused.
+        assertSame(amazonS3Client, amazonS3Client2);
+        assertEquals(createCount + 1, s3ClientRegistry.getCreateCount());
+        assertEquals(leaseCount + 2, s3ClientRegistry.getLeaseCount());
+
+        // Validate that different credentials get a different client.
+        AmazonS3Client amazonS3Client3 = s3ClientRegistry.getAmazonS3Client(getS3FileTransferRequestParamsDto(S3_ACCESS_KEY + "_2"));
+        s3ClientRegistry.releaseAmazonS3Client(amazonS3Client3);
+        assertNotSame(amazonS3Client, amazonS3Client3);
+        assertEquals(createCount + 2, s3ClientRegistry.getCreateCount());
+    }
+
+    @Test
+    public void testGetTransferManager()
+    {
+        AmazonS3Client amazonS3Client = s3ClientRegistry.getAmazonS3Client(getS3FileTransferRequestParamsDto(S3_ACCESS_KEY));
+
+        try
+        {
+            // Validate that each transfer gets its own transfer manager built on the shared client, even for the same maximum number of threads.
+            TransferManager transferManager = s3ClientRegistry.getTransferManager(amazonS3Client, 1);
+            TransferManager transferManager2 = s3ClientRegistry.getTransferManager(amazonS3Client, 1);
+            assertNotSame(transferManager, transferManager2);
+            assertSame(amazonS3Client, transferManager.getAmazonS3Client());
+            assertSame(amazonS3Client, transferManager2.getAmazonS3Client());
+
+            // Validate that shutting down the transfer managers leaves the shared client registered.
+            int clientCount = s3ClientRegistry.getClientCount();
+            transferManager.shutdownNow(false);
+            transferManager2.shutdownNow(false);
+            assertEquals(clientCount, s3ClientRegistry.getClientCount());
+        }
+        finally
+        {
+            s3ClientRegistry.releaseAmazonS3Client(amazonS3Client);
+        }
+    }
+
+    @Test
+    public void testGetTransferManagerClientNotRegistered()
+    {
+        try
+        {
+            s3ClientRegistry.getTransferManager(new AmazonS3Client(), null);
+            fail("Should throw an IllegalArgumentException when the S3 client is not registered.");
+        }
+        catch (IllegalArgumentException e)
+        {
+            assertEquals("The S3 client is not registered.", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testEvictIdleClients() throws Exception
+    {
+        // Lease a client and keep it leased.
+        AmazonS3Client leasedAmazonS3Client = s3ClientRegistry.getAmazonS3Client(getS3FileTransferRequestParamsDto(S3_ACCESS_KEY + "_leased"));
+
+        // Lease and release another client.
+        AmazonS3Client releasedAmazonS3Client = s3ClientRegistry.getAmazonS3Client(getS3FileTransferRequestParamsDto(S3_ACCESS_KEY + "_released"));
+        s3ClientRegistry.releaseAmazonS3Client(releasedAmazonS3Client);
+
+        // Override the idle timeout, so all clients that are not leased get evicted.
+        Map<String, Object> overrideMap = new HashMap<>();
+        overrideMap.put(ConfigurationValue.S3_CLIENT_IDLE_TIMEOUT_SECONDS.getKey(), 0);
+        modifyPropertySourceInEnvironment(overrideMap);
+
+        try
+        {
+            long evictionCount = s3ClientRegistry.getEvictionCount();
+            s3ClientRegistry.evictIdleClients();
+
+            // Validate that only the released client got evicted.
+            assertEquals(1, s3ClientRegistry.getActiveLeaseCount());
+            assertEquals(1, s3ClientRegistry.getClientCount());
+            assertEquals(evictionCount + 1, s3ClientRegistry.getEvictionCount());
+
+            // Validate that the leased client is still registered and gets reused.
+            AmazonS3Client amazonS3Client = s3ClientRegistry.getAmazonS3Client(getS3FileTransferRequestParamsDto(S3_ACCESS_KEY + "_leased"));
+            s3ClientRegistry.releaseAmazonS3Client(amazonS3Client);
+            assertSame(leasedAmazonS3Client, amazonS3Client);
+        }
+        finally
+        {
+            s3ClientRegistry.releaseAmazonS3Client(leasedAmazonS3Client);
+            restorePropertySourceInEnvironment();
+        }
+    }
+
+    /**
+     * Gets S3 file transfer request parameters with the specified access key.
+     *
+     * @param s3AccessKey the S3 access key
+     *
+     * @return the S3 file transfer request parameters
+     */
+    private S3FileTransferRequestParamsDto getS3FileTransferRequestParamsDto(String s3AccessKey)
+    {
+        S3FileTransferRequestParamsDto params = new S3FileTransferRequestParamsDto();
+        params.setS3AccessKey(s3AccessKey);
+        params.setS3SecretKey(S3_SECRET_KEY);
+        return params;
+    }
+}
@@ -0,0 +1,162 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.dao.helper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import org.finra.herd.dao.AbstractDaoTest;
+
+/**
+ * This class tests functionality within the S3 transfer executor.
+ */
+public class S3TransferExecutorTest extends AbstractDaoTest
+{
+    @Autowired
+    private S3TransferExecutor s3TransferExecutor;
+
+    @Test
+    public void testCreateExecutorServiceQuota() throws Exception
+    {
+        final int quota = 2;
+        final int taskCount = 5;
+
+        final CountDownLatch releaseLatch = new CountDownLatch(1);
+        final AtomicInteger runningTaskCount = new AtomicInteger();
+        final AtomicInteger maxRunningTaskCount = new AtomicInteger();
+
+        ExecutorService executorService = s3TransferExecutor.createExecutorService(quota);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < taskCount; i++)
+        {
+            futures.add(executorService.submit(new Runnable()
+            {
+                @Override
+                public void run()
+                {
+                    int running = runningTaskCount.incrementAndGet();
+                    synchronized (maxRunningTaskCount)
+                    {
+                        maxRunningTaskCount.set(Math.max(maxRunningTaskCount.get(), running));
+                    }
+
+                    try
+                    {
+                        releaseLatch.await();
+                    }
+                    catch (InterruptedException e)
+                    {
+                        Thread.currentThread().interrupt();
+                    }
+                    finally
+                    {
+                        runningTaskCount.decrementAndGet();
+                    }
+                }
+            }));
+        }
+
+        // Validate that the tasks over the quota are queued.
+        assertTrue(s3TransferExecutor.getQueueDepth() >= taskCount - quota);
+
+        // Let the tasks complete and wait for them.
+        releaseLatch.countDown();
+        for (Future<?> future : futures)
+        {
+            future.get(10, TimeUnit.SECONDS);
+        }
+
+        // Validate that the quota was never exceeded.
+        assertTrue(maxRunningTaskCount.get() <= quota);
+
+        // Validate that shutting down the view terminates it without affecting the shared thread pool.
+        executorService.shutdown();
+        assertTrue(executorService.awaitTermination(10, TimeUnit.SECONDS));
+        assertTrue(executorService.isTerminated());
+
+        ExecutorService otherExecutorService = s3TransferExecutor.createExecutorService(null);
+        assertEquals(Integer.valueOf(1), otherExecutorService.submit(new Callable<Integer>()
+        {
+            @Override
+            public Integer call()
+            {
+                return 1;
+            }
+        }).get(10, TimeUnit.SECONDS));
+        assertFalse(otherExecutorService.isShutdown());
+        otherExecutorService.shutdown();
+    }
+
+    @Test
+    public void testCreateExecutorServiceSeparateQuotas() throws Exception
+    {
+        final CountDownLatch startedLatch = new CountDownLatch(2);
+        final CountDownLatch releaseLatch = new CountDownLatch(1);
+
+        Runnable task = new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                startedLatch.countDown();
+                try
+                {
+                    releaseLatch.await();
+                }
+                catch (InterruptedException e)
+                {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+
+        // Create a view with a quota of one thread for each of two concurrent transfers.
+        ExecutorService executorService = s3TransferExecutor.createExecutorService(1);
+        ExecutorService executorService2 = s3TransferExecutor.createExecutorService(1);
+
+        try
+        {
+            Future<?> future = executorService.submit(task);
+            Future<?> future2 = executorService2.submit(task);
+
+            // Validate that both tasks run at the same time, so one transfer does not use up the quota of the other.
+            assertTrue(startedLatch.await(10, TimeUnit.SECONDS));
+
+            releaseLatch.countDown();
+            future.get(10, TimeUnit.SECONDS);
+            future2.get(10, TimeUnit.SECONDS);
+        }
+        finally
+        {
+            releaseLatch.countDown();
+            executorService.shutdownNow();
+            executorService2.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,130 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.dao.helper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.amazonaws.event.ProgressEvent;
+import com.amazonaws.event.ProgressEventType;
+import com.amazonaws.event.ProgressListenerChain;
+import com.amazonaws.services.s3.model.CopyObjectRequest;
+import com.amazonaws.services.s3.model.SSEAwsKeyManagementParams;
+import com.amazonaws.services.s3.transfer.Copy;
+import com.amazonaws.services.s3.transfer.Transfer.TransferState;
+import com.amazonaws.services.s3.transfer.TransferProgress;
+import com.amazonaws.services.s3.transfer.internal.CopyImpl;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import org.finra.herd.dao.AbstractDaoTest;
+import org.finra.herd.dao.S3Operations;
+import org.finra.herd.dao.impl.MockS3OperationsImpl;
+
+/**
+ * This class tests functionality within the S3 transfer handle.
+ */
+public class S3TransferHandleTest extends AbstractDaoTest
+{
+    @Autowired
+    private S3Operations s3Operations;
+
+    @Test
+    public void testWatchCompletedTransfer() throws Exception
+    {
+        Copy copy = copyFile(MockS3OperationsImpl.MOCK_KMS_ID);
+
+        // Validate that a transfer that already ended completes the handle right away.
+        S3TransferHandle transferHandle = S3TransferHandle.watch(copy);
+        assertTrue(transferHandle.isDone());
+        assertTrue(transferHandle.awaitCompletion(0));
+        assertEquals(TransferState.Completed, transferHandle.get());
+        assertSame(copy, transferHandle.getTransfer());
+
+        // Validate the progress metrics.
+        assertEquals(FILE_SIZE_1_KB, transferHandle.getBytesTransferred());
+        assertEquals(FILE_SIZE_1_KB, transferHandle.getTotalBytesToTransfer());
+        assertEquals(100.0, transferHandle.getPercentTransferred(), 0.0);
+        assertTrue(transferHandle.getElapsedMillis() >= 0);
+        assertEquals(String.format("%d bytes transferred out of %d (%.1f%%)", FILE_SIZE_1_KB, FILE_SIZE_1_KB, 100.0), transferHandle.getProgressMessage());
+    }
+
+    @Test
+    public void testWatchFailedTransfer() throws Exception
+    {
+        S3TransferHandle transferHandle = S3TransferHandle.watch(copyFile(MockS3OperationsImpl.MOCK_KMS_ID_FAILED_TRANSFER));
+        assertEquals(TransferState.Failed, transferHandle.get());
+    }
+
+    @Test
+    public void testWatchCanceledTransfer() throws Exception
+    {
+        S3TransferHandle transferHandle = S3TransferHandle.watch(copyFile(MockS3OperationsImpl.MOCK_KMS_ID_CANCELED_TRANSFER));
+        assertEquals(TransferState.Canceled, transferHandle.get());
+    }
+
+    @Test
+    public void testWatchTransferInProgress() throws Exception
+    {
+        // Create a transfer that is still in progress.
+        TransferProgress transferProgress = new TransferProgress();
+        transferProgress.setTotalBytesToTransfer(FILE_SIZE_1_KB);
+        ProgressListenerChain progressListenerChain = new ProgressListenerChain();
+        CopyImpl copy = new CopyImpl(MockS3OperationsImpl.MOCK_TRANSFER_DESCRIPTION, transferProgress, progressListenerChain, null);
+        copy.setState(TransferState.InProgress);
+
+        // Validate that the handle does not complete while the transfer is in progress.
+        S3TransferHandle transferHandle = S3TransferHandle.watch(copy);
+        assertFalse(transferHandle.isDone());
+        assertFalse(transferHandle.awaitCompletion(1));
+
+        // Report some progress and validate the progress metrics.
+        transferProgress.updateProgress(FILE_SIZE_1_KB / 2);
+        progressListenerChain.progressChanged(new ProgressEvent(ProgressEventType.REQUEST_BYTE_TRANSFER_EVENT, FILE_SIZE_1_KB / 2));
+        assertFalse(transferHandle.isDone());
+        assertEquals(FILE_SIZE_1_KB / 2, transferHandle.getBytesTransferred());
+        assertEquals(50.0, transferHandle.getPercentTransferred(), 0.0);
+
+        // Validate that the handle completes on the transfer completed event.
+        transferProgress.updateProgress(FILE_SIZE_1_KB / 2);
+        copy.setState(TransferState.Completed);
+        progressListenerChain.progressChanged(new ProgressEvent(ProgressEventType.TRANSFER_COMPLETED_EVENT));
+        assertTrue(transferHandle.awaitCompletion(0));
+        assertEquals(TransferState.Completed, transferHandle.get());
+        assertEquals(FILE_SIZE_1_KB, transferHandle.getBytesTransferred());
+
+        // Validate that the elapsed time stops at the end of the transfer.
+        long elapsedMillis = transferHandle.getElapsedMillis();
+        Thread.sleep(10);
+        assertEquals(elapsedMillis, transferHandle.getElapsedMillis());
+    }
+
+    /**
+     * Copies a file using the mock S3 operations.
+     *
+     * @param kmsId the KMS ID, which hints the mock S3 operations at the outcome of the transfer
+     *
+     * @return the copy transfer
+     */
+    private Copy copyFile(String kmsId)
+    {
+        CopyObjectRequest copyObjectRequest = new CopyObjectRequest(S3_BUCKET_NAME, TARGET_S3_KEY, S3_BUCKET_NAME_2, TARGET_S3_KEY);
+        copyObjectRequest.setSSEAwsKeyManagementParams(new SSEAwsKeyManagementParams(kmsId));
+        return s3Operations.copyFile(copyObjectRequest, null);
+    }
+}
@@ -0,0 +1,162 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.dao.helper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import com.amazonaws.services.sqs.AmazonSQSClient;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import org.finra.herd.dao.AbstractDaoTest;
+import org.finra.herd.dao.impl.MockSqsOperationsImpl;
+import org.finra.herd.model.dto.AwsParamsDto;
+import org.finra.herd.model.dto.ConfigurationValue;
+
+/**
+ * This class tests functionality within the SQS client registry.
+ */
+public class SqsClientRegistryTest extends AbstractDaoTest
+{
+    @Autowired
+    private SqsClientRegistry sqsClientRegistry;
+
+    @Test
+    public void testGetAmazonSqsClient()
+    {
+        // Get a client twice using the same proxy settings and validate that the client got reused.
+        AmazonSQSClient amazonSqsClient = sqsClientRegistry.getAmazonSqsClient(getAwsParamsDto(HTTP_PROXY_HOST));
+        assertSame(amazonSqsClient, sqsClientRegistry.getAmazonSqsClient(getAwsParamsDto(HTTP_PROXY_HOST)));
+
+        // Validate that a different proxy gets a different client.
+        assertNotSame(amazonSqsClient, sqsClientRegistry.getAmazonSqsClient(getAwsParamsDto(HTTP_PROXY_HOST + "_2")));
+    }
+
+    @Test
+    public void testGetQueueUrl()
+    {
+        AmazonSQSClient amazonSqsClient = sqsClientRegistry.getAmazonSqsClient(new AwsParamsDto());
+        long queueUrlLookupCount = sqsClientRegistry.getQueueUrlLookupCount();
+
+        // Resolve the queue URL twice and validate that only the first call got sent to SQS.
+        assertEquals(MockSqsOperationsImpl.MOCK_SQS_QUEUE_URL_PREFIX + JMS_QUEUE_NAME, sqsClientRegistry.getQueueUrl(JMS_QUEUE_NAME, amazonSqsClient));
+        assertEquals(MockSqsOperationsImpl.MOCK_SQS_QUEUE_URL_PREFIX + JMS_QUEUE_NAME, sqsClientRegistry.getQueueUrl(JMS_QUEUE_NAME, amazonSqsClient));
+        assertEquals(queueUrlLookupCount + 1, sqsClientRegistry.getQueueUrlLookupCount());
+
+        // Evict the queue URL and validate that it gets resolved again.
+        sqsClientRegistry.evictQueueUrl(JMS_QUEUE_NAME);
+        assertEquals(MockSqsOperationsImpl.MOCK_SQS_QUEUE_URL_PREFIX + JMS_QUEUE_NAME, sqsClientRegistry.getQueueUrl(JMS_QUEUE_NAME, amazonSqsClient));
+        assertEquals(queueUrlLookupCount + 2, sqsClientRegistry.getQueueUrlLookupCount());
+    }
+
+    @Test
+    public void testGetQueueUrlCacheExpired() throws Exception
+    {
+        AmazonSQSClient amazonSqsClient = sqsClientRegistry.getAmazonSqsClient(new AwsParamsDto());
+        sqsClientRegistry.evictQueueUrl(JMS_QUEUE_NAME_2);
+
+        // Override configuration to expire the cached queue URLs right away.
+        Map<String, Object> overrideMap = new HashMap<>();
+        overrideMap.put(ConfigurationValue.SQS_QUEUE_URL_CACHE_TTL_SECONDS.getKey(), 0L);
+        modifyPropertySourceInEnvironment(overrideMap);
+
+        try
+        {
+            long queueUrlLookupCount = sqsClientRegistry.getQueueUrlLookupCount();
+
+            // Resolve the queue URL twice and validate that both calls got sent to SQS.
+            sqsClientRegistry.getQueueUrl(JMS_QUEUE_NAME_2, amazonSqsClient);
+            sqsClientRegistry.getQueueUrl(JMS_QUEUE_NAME_2, amazonSqsClient);
+            assertEquals(queueUrlLookupCount + 2, sqsClientRegistry.getQueueUrlLookupCount());
+        }
+        finally
+        {
+            restorePropertySourceInEnvironment();
+        }
+    }
+
+    @Test
+    public void testGetQueueUrlQueueNotFound()
+    {
+        AmazonSQSClient amazonSqsClient = sqsClientRegistry.getAmazonSqsClient(new AwsParamsDto());
+        sqsClientRegistry.evictQueueUrl(MockSqsOperationsImpl.MOCK_SQS_QUEUE_NOT_FOUND_NAME);
+        long queueUrlLookupCount = sqsClientRegistry.getQueueUrlLookupCount();
+
+        // Try to resolve a queue that does not exist twice. Only the first lookup should get sent to SQS.
+        for (int i = 0; i < 2; i++)
+        {
+            try
+            {
+                sqsClientRegistry.getQueueUrl(MockSqsOperationsImpl.MOCK_SQS_QUEUE_NOT_FOUND_NAME, amazonSqsClient);
+                fail("Should throw an IllegalStateException when AWS SQS queue does not exist.");
+            }
+            catch (IllegalStateException e)
+            {
+                assertEquals(String.format("AWS SQS queue with \"%s\" name not found.", MockSqsOperationsImpl.MOCK_SQS_QUEUE_NOT_FOUND_NAME), e.getMessage());
+            }
+        }
+        assertEquals(queueUrlLookupCount + 1, sqsClientRegistry.getQueueUrlLookupCount());
+    }
+
+    @Test
+    public void testRecordSendLatency()
+    {
+        String queueName = JMS_QUEUE_NAME + "_latency";
+
+        // Record single message latencies that fall into the first bucket, a middle bucket and the overflow bucket.
+        sqsClientRegistry.recordSendLatency(queueName, SqsClientRegistry.SendRequestType.SINGLE, 5);
+        sqsClientRegistry.recordSendLatency(queueName, SqsClientRegistry.SendRequestType.SINGLE, 100);
+        sqsClientRegistry.recordSendLatency(queueName, SqsClientRegistry.SendRequestType.SINGLE, 101);
+        sqsClientRegistry.recordSendLatency(queueName, SqsClientRegistry.SendRequestType.SINGLE, 60000);
+
+        // Record a batch latency.
+        sqsClientRegistry.recordSendLatency(queueName, SqsClientRegistry.SendRequestType.BATCH, 20);
+
+        // Validate the single message histogram.
+        Map<String, Long> histogram = sqsClientRegistry.getSendLatencyHistogram(queueName, SqsClientRegistry.SendRequestType.SINGLE);
+        assertEquals(SqsClientRegistry.SEND_LATENCY_BUCKET_BOUNDS_MILLIS.length + 1, histogram.size());
+        assertEquals(Long.valueOf(1), histogram.get("<=10ms"));
+        assertEquals(Long.valueOf(1), histogram.get("<=100ms"));
+        assertEquals(Long.valueOf(1), histogram.get("<=250ms"));
+        assertEquals(Long.valueOf(1), histogram.get(">5000ms"));
+        assertEquals(Long.valueOf(0), histogram.get("<=1000ms"));
+        assertEquals(Long.valueOf(0), histogram.get("<=25ms"));
+        assertTrue(sqsClientRegistry.getSendLatencyQueueNames().contains(queueName));
+
+        // Validate that the batch latency is recorded in its own histogram.
+        histogram = sqsClientRegistry.getSendLatencyHistogram(queueName, SqsClientRegistry.SendRequestType.BATCH);
+        assertEquals(Long.valueOf(1), histogram.get("<=25ms"));
+        assertEquals(Long.valueOf(0), histogram.get("<=10ms"));
+
+        // Validate that a queue without recorded latencies has an empty histogram.
+        assertTrue(sqsClientRegistry.getSendLatencyHistogram(queueName + "_2", SqsClientRegistry.SendRequestType.SINGLE).isEmpty());
+    }
+
+    private AwsParamsDto getAwsParamsDto(String httpProxyHost)
+    {
+        AwsParamsDto awsParamsDto = new AwsParamsDto();
+        awsParamsDto.setHttpProxyHost(httpProxyHost);
+        awsParamsDto.setHttpProxyPort(HTTP_PROXY_PORT);
+        return awsParamsDto;
+    }
+}
@@ -33,6 +33,7 @@ import java.util.concurrent.Future;
 
 import com.amazonaws.AmazonClientException;
 import com.amazonaws.AmazonServiceException;
+import com.amazonaws.event.ProgressListenerChain;
 import com.amazonaws.services.config.model.NoSuchBucketException;
 import com.amazonaws.services.s3.AmazonS3;
 import com.amazonaws.services.s3.AmazonS3Client;
@@ -285,7 +286,7 @@ public class MockS3OperationsImpl implements S3Operations
         TransferProgress transferProgress = new TransferProgress();
         transferProgress.setTotalBytesToTransfer(AbstractCoreTest.FILE_SIZE_1_KB);
         transferProgress.updateProgress(AbstractCoreTest.FILE_SIZE_1_KB);
-        CopyImpl copy = new CopyImpl(MOCK_TRANSFER_DESCRIPTION, transferProgress, null, null);
+        CopyImpl copy = new CopyImpl(MOCK_TRANSFER_DESCRIPTION, transferProgress, new ProgressListenerChain(), null);
         copy.setState(TransferState.Completed);
 
         // If an invalid KMS Id was passed in, mark the transfer as failed and return an exception via the transfer monitor.
@@ -696,7 +697,8 @@ public class MockS3OperationsImpl implements S3Operations
         progress.setTotalBytesToTransfer(totalFileLength);
         progress.updateProgress(totalFileLength);
 
-        MultipleFileUploadImpl multipleFileUpload = new MultipleFileUploadImpl(null, progress, null, virtualDirectoryKeyPrefix, bucketName, subTransfers);
+        MultipleFileUploadImpl multipleFileUpload =
+            new MultipleFileUploadImpl(null, progress, new ProgressListenerChain(), virtualDirectoryKeyPrefix, bucketName, subTransfers);
         multipleFileUpload.setState(TransferState.Completed);
         return multipleFileUpload;
     }
@@ -769,7 +771,8 @@ public class MockS3OperationsImpl implements S3Operations
         progress.setTotalBytesToTransfer(totalBytes);
         progress.updateProgress(totalBytes);
 
-        MultipleFileDownloadImpl multipleFileDownload = new MultipleFileDownloadImpl(null, progress, null, keyPrefix, bucketName, downloads);
+        MultipleFileDownloadImpl multipleFileDownload =
+            new MultipleFileDownloadImpl(null, progress, new ProgressListenerChain(), keyPrefix, bucketName, downloads);
         multipleFileDownload.setState(TransferState.Completed);
         return multipleFileDownload;
     }
@@ -790,7 +793,7 @@ public class MockS3OperationsImpl implements S3Operations
         progress.setTotalBytesToTransfer(contentLength);
         progress.updateProgress(contentLength);
 
-        UploadImpl upload = new UploadImpl(null, progress, null, null);
+        UploadImpl upload = new UploadImpl(null, progress, new ProgressListenerChain(), null);
         upload.setState(TransferState.Completed);
 
         return upload;
@@ -817,7 +820,7 @@ public class MockS3OperationsImpl implements S3Operations
         progress.setTotalBytesToTransfer(mockS3Object.getData().length);
         progress.updateProgress(mockS3Object.getData().length);
 
-        DownloadImpl download = new DownloadImpl(null, progress, null, null, null, new GetObjectRequest(bucket, key), file);
+        DownloadImpl download = new DownloadImpl(null, progress, new ProgressListenerChain(), null, null, new GetObjectRequest(bucket, key), file);
         download.setState(TransferState.Completed);
 
         return download;
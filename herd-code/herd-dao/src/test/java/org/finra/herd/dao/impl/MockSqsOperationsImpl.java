@@ -15,8 +15,11 @@
 */
 package org.finra.herd.dao.impl;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import com.amazonaws.AmazonServiceException;
-import com.amazonaws.ClientConfiguration;
+import com.amazonaws.services.sqs.AmazonSQSClient;
 
 import org.finra.herd.dao.SqsOperations;
 
@@ -27,16 +30,26 @@ public class MockSqsOperationsImpl implements SqsOperations
 {
     public static final String MOCK_SQS_QUEUE_NOT_FOUND_NAME = "mock_sqs_queue_not_found_name";
 
+    /**
+     * The prefix of the queue URLs returned by the mock. The queue URL is the prefix followed by the queue name.
+     */
+    public static final String MOCK_SQS_QUEUE_URL_PREFIX = "https://sqs.mock/queue/";
+
+    /**
+     * A message text that causes the mock to report a failed entry when sent as part of a batch. The same message sent on its own succeeds.
+     */
+    public static final String MOCK_SQS_BATCH_ENTRY_FAILURE_MESSAGE_TEXT = "mock_sqs_batch_entry_failure_message_text";
+
+    /**
+     * A message text that causes the mock to fail the entire batch request it is sent in. The same message sent on its own succeeds.
+     */
+    public static final String MOCK_SQS_BATCH_REQUEST_FAILURE_MESSAGE_TEXT = "mock_sqs_batch_request_failure_message_text";
+
     @Override
-    public void sendSqsTextMessage(ClientConfiguration client, String queueName, String messageText)
+    public String getQueueUrl(String queueName, AmazonSQSClient sqsClient)
     {
         // Throw a throttling exception for a specific queue name for testing purposes.
-        if (queueName.equals(MockAwsOperationsHelper.AMAZON_THROTTLING_EXCEPTION))
-        {
-            AmazonServiceException throttlingException = new AmazonServiceException("test throttling exception");
-            throttlingException.setErrorCode("ThrottlingException");
-            throw throttlingException;
-        }
+        throwThrottlingException(queueName);
 
         // Throw an illegal state exception for a specific queue name for testing purposes.
         if (queueName.equals(MOCK_SQS_QUEUE_NOT_FOUND_NAME))
@@ -44,6 +57,57 @@ public class MockSqsOperationsImpl implements SqsOperations
             throw new IllegalStateException(String.format("AWS SQS queue with \"%s\" name not found.", queueName));
         }
 
+        return MOCK_SQS_QUEUE_URL_PREFIX + queueName;
+    }
+
+    @Override
+    public void sendSqsTextMessage(String queueUrl, String messageText, AmazonSQSClient sqsClient)
+    {
+        // Throw a throttling exception for a specific queue URL for testing purposes.
+        throwThrottlingException(queueUrl);
+
         // Nothing else to do in the normal case since our unit tests aren't reading messages once they have been published.
     }
+
+    @Override
+    public List<Integer> sendSqsTextMessageBatch(String queueUrl, List<String> messageTexts, AmazonSQSClient sqsClient)
+    {
+        // Throw a throttling exception for a specific queue URL for testing purposes.
+        throwThrottlingException(queueUrl);
+
+        // Fail the entire batch request when it contains a specific message text for testing purposes.
+        if (messageTexts.contains(MOCK_SQS_BATCH_REQUEST_FAILURE_MESSAGE_TEXT))
+        {
+            AmazonServiceException amazonServiceException = new AmazonServiceException("test batch request too long exception");
+            amazonServiceException.setErrorCode("AWS.SimpleQueueService.BatchRequestTooLong");
+            throw amazonServiceException;
+        }
+
+        // Report a failed entry for every message with a specific message text for testing purposes.
+        List<Integer> failedIndexes = new ArrayList<>();
+        for (int i = 0; i < messageTexts.size(); i++)
+        {
+            if (MOCK_SQS_BATCH_ENTRY_FAILURE_MESSAGE_TEXT.equals(messageTexts.get(i)))
+            {
+                failedIndexes.add(i);
+            }
+        }
+
+        return failedIndexes;
+    }
+
+    /**
+     * Throws a throttling exception when the specified queue name or URL is the one used to test throttling.
+     *
+     * @param queue the queue name or URL
+     */
+    private void throwThrottlingException(String queue)
+    {
+        if (queue.equals(MockAwsOperationsHelper.AMAZON_THROTTLING_EXCEPTION))
+        {
+            AmazonServiceException throttlingException = new AmazonServiceException("test throttling exception");
+            throttlingException.setErrorCode("ThrottlingException");
+            throw throttlingException;
+        }
+    }
 }
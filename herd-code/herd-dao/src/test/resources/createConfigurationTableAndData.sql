@@ -34,6 +34,9 @@ insert into CNFGN (CNFGN_KEY_NM, CNFGN_VALUE_DS) values ('herd.environment', 'TE
 insert into CNFGN (CNFGN_KEY_NM, CNFGN_VALUE_DS) values ('herd.notification.sqs.environment', 'Development');
 insert into CNFGN (CNFGN_KEY_NM, CNFGN_VALUE_DS) values ('herd.notification.sqs.enabled', 'true');
 
+-- Disable the reference data cache, since test transactions are rolled back and some tests create reference data that differs only by case.
+insert into CNFGN (CNFGN_KEY_NM, CNFGN_VALUE_DS) values ('reference.data.cache.time.to.live.seconds', '0');
+
 insert into CNFGN (CNFGN_KEY_NM, CNFGN_VALUE_DS) values ('herd.notification.sqs.sys.monitor.request.xpath.properties', 'incoming_message_correlation_id=/monitor/header/correlation-id
 incoming_message_context_message_type=/monitor/payload/contextMessageTypeToPublish
 ');
@@ -0,0 +1,110 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.model.dto;
+
+import org.finra.herd.model.api.xml.BusinessObjectDataKey;
+import org.finra.herd.model.jpa.NotificationEventTypeEntity;
+
+/**
+ * A DTO that holds a single business object data notification event.
+ */
+public class BusinessObjectDataNotificationEventDto
+{
+    /**
+     * The business object data event type.
+     */
+    private NotificationEventTypeEntity.EventTypesBdata eventType;
+
+    /**
+     * The business object data key.
+     */
+    private BusinessObjectDataKey businessObjectDataKey;
+
+    /**
+     * The new business object data status.
+     */
+    private String newBusinessObjectDataStatus;
+
+    /**
+     * The old business object data status.
+     */
+    private String oldBusinessObjectDataStatus;
+
+    /**
+     * Default no-arg constructor.
+     */
+    public BusinessObjectDataNotificationEventDto()
+    {
+        // This is intentionally empty, nothing needed here.
+    }
+
+    /**
+     * Fully-initialising value constructor.
+     *
+     * @param eventType the business object data event type
+     * @param businessObjectDataKey the business object data key
+     * @param newBusinessObjectDataStatus the new business object data status
+     * @param oldBusinessObjectDataStatus the old business object data status
+     */
+    public BusinessObjectDataNotificationEventDto(final NotificationEventTypeEntity.EventTypesBdata eventType,
+        final BusinessObjectDataKey businessObjectDataKey, final String newBusinessObjectDataStatus, final String oldBusinessObjectDataStatus)
+    {
+        this.eventType = eventType;
+        this.businessObjectDataKey = businessObjectDataKey;
+        this.newBusinessObjectDataStatus = newBusinessObjectDataStatus;
+        this.oldBusinessObjectDataStatus = oldBusinessObjectDataStatus;
+    }
+
+    public NotificationEventTypeEntity.EventTypesBdata getEventType()
+    {
+        return eventType;
+    }
+
+    public void setEventType(NotificationEventTypeEntity.EventTypesBdata eventType)
+    {
+        this.eventType = eventType;
+    }
+
+    public BusinessObjectDataKey getBusinessObjectDataKey()
+    {
+        return businessObjectDataKey;
+    }
+
+    public void setBusinessObjectDataKey(BusinessObjectDataKey businessObjectDataKey)
+    {
+        this.businessObjectDataKey = businessObjectDataKey;
+    }
+
+    public String getNewBusinessObjectDataStatus()
+    {
+        return newBusinessObjectDataStatus;
+    }
+
+    public void setNewBusinessObjectDataStatus(String newBusinessObjectDataStatus)
+    {
+        this.newBusinessObjectDataStatus = newBusinessObjectDataStatus;
+    }
+
+    public String getOldBusinessObjectDataStatus()
+    {
+        return oldBusinessObjectDataStatus;
+    }
+
+    public void setOldBusinessObjectDataStatus(String oldBusinessObjectDataStatus)
+    {
+        this.oldBusinessObjectDataStatus = oldBusinessObjectDataStatus;
+    }
+}
@@ -0,0 +1,117 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.model.dto;
+
+/**
+ * The runtime statistics of a cache region.
+ */
+public class CacheStatisticsDto
+{
+    /**
+     * The name of the cache region.
+     */
+    private String cacheName;
+
+    /**
+     * The number of entries currently held by the cache region.
+     */
+    private long size;
+
+    /**
+     * The number of lookups that were served from the cache region.
+     */
+    private long hitCount;
+
+    /**
+     * The number of lookups that were not served from the cache region.
+     */
+    private long missCount;
+
+    /**
+     * The number of entries that were removed from the cache region because they expired, were invalidated or exceeded the cache capacity.
+     */
+    private long evictionCount;
+
+    public CacheStatisticsDto()
+    {
+    }
+
+    public CacheStatisticsDto(String cacheName, long size, long hitCount, long missCount, long evictionCount)
+    {
+        this.cacheName = cacheName;
+        this.size = size;
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+    }
+
+    public String getCacheName()
+    {
+        return cacheName;
+    }
+
+    public void setCacheName(String cacheName)
+    {
+        this.cacheName = cacheName;
+    }
+
+    public long getSize()
+    {
+        return size;
+    }
+
+    public void setSize(long size)
+    {
+        this.size = size;
+    }
+
+    public long getHitCount()
+    {
+        return hitCount;
+    }
+
+    public void setHitCount(long hitCount)
+    {
+        this.hitCount = hitCount;
+    }
+
+    public long getMissCount()
+    {
+        return missCount;
+    }
+
+    public void setMissCount(long missCount)
+    {
+        this.missCount = missCount;
+    }
+
+    public long getEvictionCount()
+    {
+        return evictionCount;
+    }
+
+    public void setEvictionCount(long evictionCount)
+    {
+        this.evictionCount = evictionCount;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "[cacheName=" + cacheName + ", size=" + size + ", hitCount=" + hitCount + ", missCount=" + missCount + ", evictionCount=" + evictionCount +
+            "]";
+    }
+}
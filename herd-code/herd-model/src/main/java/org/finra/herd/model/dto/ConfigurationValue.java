@@ -40,11 +40,42 @@ public enum ConfigurationValue
      */
     SHOW_SQL("hibernate.show_sql", "false"),
 
+    /**
+     * The maximum number of statements that Hibernate groups into a single JDBC batch. This is also used as the number of entities persisted between flushes
+     * when bulk saving entities. The default is 100.
+     */
+    HIBERNATE_JDBC_BATCH_SIZE("hibernate.jdbc.batch_size", 100),
+
     /**
      * The optional herd data source JNDI name. The default is herdDB.
      */
     HERD_DATA_SOURCE_JNDI_NAME("herd.data.source.jndi.name", "java:comp/env/jdbc/herdDB"),
 
+    /**
+     * The optional comma separated list of JNDI names of the read replica data sources. Read-only transactions are routed to these replicas. This value must be
+     * configured in the environment since it is needed before the database properties are loaded. The default is no replicas.
+     */
+    HERD_DATA_SOURCE_REPLICA_JNDI_NAMES("herd.data.source.replica.jndi.names", null),
+
+    /**
+     * The maximum replication lag in seconds a read replica may have to still receive read-only transactions. The default is 30 seconds.
+     */
+    HERD_DATA_SOURCE_REPLICA_MAX_LAG_SECONDS("herd.data.source.replica.max.lag.seconds", 30L),
+
+    /**
+     * The interval in seconds between two replication lag checks of a read replica. The lag checks run in the background with a query timeout of the same
+     * interval, and a read replica whose last successful lag check is older than the interval plus twice the timeout is not used. The default is 10 seconds.
+     */
+    HERD_DATA_SOURCE_REPLICA_LAG_CHECK_INTERVAL_SECONDS("herd.data.source.replica.lag.check.interval.seconds", 10L),
+
+    /**
+     * The query that returns the replication lag of a read replica in seconds. The default query works for PostgreSQL streaming replicas. It reports no lag
+     * when the replica has replayed everything it received, so an idle primary doesn't make the replica look like it is falling behind.
+     */
+    HERD_DATA_SOURCE_REPLICA_LAG_QUERY("herd.data.source.replica.lag.query",
+        "SELECT CASE WHEN pg_last_xlog_receive_location() = pg_last_xlog_replay_location() THEN 0 " +
+            "ELSE COALESCE(EXTRACT(EPOCH FROM (now() - pg_last_xact_replay_timestamp())), 0) END"),
+
     /**
      * The S3 attribute name for bucket name. The default is "bucket.name".
      */
@@ -60,6 +91,12 @@ public enum ConfigurationValue
      */
     S3_ATTRIBUTE_NAME_VALIDATE_FILE_EXISTENCE("s3.attribute.name.validate.file.existence", "validate.file.existence"),
 
+    /**
+     * The S3 attribute name for validating the file size. When enabled along with the file existence validation, the registered file sizes are validated
+     * against the file sizes reported by S3. The default is "validate.file.size".
+     */
+    S3_ATTRIBUTE_NAME_VALIDATE_FILE_SIZE("s3.attribute.name.validate.file.size", "validate.file.size"),
+
     /**
      * The storage attribute name which specifies the upload role ARN.
      */
@@ -90,6 +127,22 @@ public enum ConfigurationValue
      */
     S3_ENDPOINT("s3.endpoint", null),
 
+    /**
+     * The number of seconds an unused S3 client is kept open for reuse before it gets shut down. The default is 300 seconds.
+     */
+    S3_CLIENT_IDLE_TIMEOUT_SECONDS("s3.client.idle.timeout.seconds", 300L),
+
+    /**
+     * The maximum number of threads shared by all S3 transfers (uploads, downloads and copies) of the process. The default is 100.
+     */
+    S3_TRANSFER_EXECUTOR_MAX_THREADS("s3.transfer.executor.max.threads", 100),
+
+    /**
+     * The maximum number of threads a single S3 transfer manager may use when the transfer request does not specify the maximum number of threads. The
+     * default is 10.
+     */
+    S3_TRANSFER_DEFAULT_MAX_THREADS("s3.transfer.default.max.threads", 10),
+
     /**
      * The Glacier attribute name for vault name. The default is "vault.name".
      */
@@ -172,6 +225,39 @@ public enum ConfigurationValue
      */
     JMS_PUBLISHING_JOB_CRON_EXPRESSION("jms.publishing.job.cron.expression", "0 0/5 * * * ?"),
 
+    /**
+     * The maximum number of JMS messages claimed from the database queue and published in a single transaction by the "jmsPublishing" system job. Messages are
+     * sent to AWS SQS in send message batch requests of up to 10 messages each. The default is 100.
+     */
+    JMS_PUBLISHING_JOB_BATCH_SIZE("jms.publishing.job.batch.size", 100),
+
+    /**
+     * The number of workers that publish JMS messages in parallel in a single run of the "jmsPublishing" system job. Each worker claims its own slice of the
+     * database queue, so workers never publish the same message. The clustered scheduler runs the job on one herd node at a time, so this is also the number
+     * of workers across the cluster, bounded by the JMS publishing thread pool size plus one. The default is 1.
+     */
+    JMS_PUBLISHING_JOB_WORKER_COUNT("jms.publishing.job.worker.count", 1),
+
+    /**
+     * The max pool size of the thread pool that runs the workers of the "jmsPublishing" system job. One worker always runs on the job thread itself, so the
+     * job runs at most this many workers plus one. The default is 4.
+     */
+    JMS_PUBLISHING_THREAD_POOL_MAX_POOL_SIZE("jms.publishing.thread.pool.max.pool.size", 4),
+
+    /**
+     * The number of seconds a worker of the "jmsPublishing" system job claims JMS messages for. Messages that could not be published stay claimed until the
+     * claim expires, after which any worker can claim them again. The default is 300 seconds.
+     */
+    JMS_PUBLISHING_JOB_CLAIM_DURATION_SECONDS("jms.publishing.job.claim.duration.seconds", 300),
+
+    /**
+     * A comma separated list of JMS queue names whose messages must be published in the order they were queued, or "*" for all queues. The messages of these
+     * queues are published one message at a time and, as long as a single worker runs, by one worker at a time. With several workers, the ordering is best
+     * effort, since two workers that claim messages of the same queue at the same moment may both keep their claims. The default is "*", which keeps the
+     * messages of every queue in the order they were queued. An empty string means that no queue requires ordering.
+     */
+    JMS_PUBLISHING_JOB_ORDERED_QUEUE_NAMES("jms.publishing.job.ordered.queue.names", "*"),
+
     /**
      * The cron expression to schedule "storagePolicySelector" system job.  Default is to run the system job every night at 2 AM.
      */
@@ -363,6 +449,17 @@ public enum ConfigurationValue
      */
     AWS_SQS_RETRY_ON_ERROR_CODES("aws.sqs.retry.on.error.codes", null),
 
+    /**
+     * The number of seconds a resolved AWS SQS queue URL is cached before it gets resolved again. The default is 3600 seconds.
+     */
+    SQS_QUEUE_URL_CACHE_TTL_SECONDS("sqs.queue.url.cache.ttl.seconds", 3600L),
+
+    /**
+     * The number of seconds an AWS SQS queue name that could not be resolved to a queue URL is remembered before the lookup is retried. The default is 60
+     * seconds.
+     */
+    SQS_QUEUE_URL_NEGATIVE_CACHE_TTL_SECONDS("sqs.queue.url.negative.cache.ttl.seconds", 60L),
+
     /**
      * The default S3 upload session duration in seconds.
      */
@@ -405,6 +502,105 @@ public enum ConfigurationValue
      */
     THREAD_POOL_QUEUE_CAPACITY("thread.pool.queue.capacity", Integer.MAX_VALUE),
 
+    /**
+     * The core pool size of the thread pool that processes business object data notification events asynchronously. The default is 10.
+     */
+    NOTIFICATION_EVENT_THREAD_POOL_CORE_POOL_SIZE("notification.event.thread.pool.core.pool.size", 10),
+
+    /**
+     * The max pool size of the thread pool that processes business object data notification events asynchronously. The default is 20.
+     */
+    NOTIFICATION_EVENT_THREAD_POOL_MAX_POOL_SIZE("notification.event.thread.pool.max.pool.size", 20),
+
+    /**
+     * The queue capacity of the thread pool that processes business object data notification events asynchronously. The default is 100000, which absorbs
+     * bursts of events without slowing down the requests that trigger them. The shared task executor that processed the events before had an unbounded queue,
+     * which can be restored with a value of 2147483647. A value of 0 or less disables queuing.
+     */
+    NOTIFICATION_EVENT_THREAD_POOL_QUEUE_CAPACITY("notification.event.thread.pool.queue.capacity", 100000),
+
+    /**
+     * The policy applied to notification events submitted when the notification event thread pool and its queue are full. Valid values are "CALLER_RUNS" and
+     * "ABORT". With "CALLER_RUNS", the request that triggered the event processes it and is blocked until it is done. With "ABORT", the event is not
+     * processed. Either way, the rejection is logged and counted by the RejectedTaskCount attribute of the "notification-event" thread pool MBean. The default
+     * is "CALLER_RUNS".
+     */
+    NOTIFICATION_EVENT_THREAD_POOL_REJECTION_POLICY("notification.event.thread.pool.rejection.policy", "CALLER_RUNS"),
+
+    /**
+     * The number of milliseconds asynchronous business object data notification events are collected before they are processed together. A value of zero
+     * processes each event as soon as a thread is available. The default is 100 milliseconds.
+     */
+    NOTIFICATION_EVENT_COALESCING_WINDOW_MILLIS("notification.event.coalescing.window.millis", 100L),
+
+    /**
+     * The maximum number of business object data notification events processed together. The default is 100.
+     */
+    NOTIFICATION_EVENT_COALESCING_MAX_BATCH_SIZE("notification.event.coalescing.max.batch.size", 100),
+
+    /**
+     * The core pool size of the thread pool that performs S3 file moves asynchronously. The default is 5.
+     */
+    FILE_MOVE_THREAD_POOL_CORE_POOL_SIZE("file.move.thread.pool.core.pool.size", 5),
+
+    /**
+     * The max pool size of the thread pool that performs S3 file moves asynchronously. The default is 10.
+     */
+    FILE_MOVE_THREAD_POOL_MAX_POOL_SIZE("file.move.thread.pool.max.pool.size", 10),
+
+    /**
+     * The queue capacity of the thread pool that performs S3 file moves asynchronously. The default is 100000, so a burst of file moves gets queued rather
+     * than run by the submitting request. Like for the notification events, a value of 2147483647 restores the unbounded queue of the shared task executor.
+     */
+    FILE_MOVE_THREAD_POOL_QUEUE_CAPACITY("file.move.thread.pool.queue.capacity", 100000),
+
+    /**
+     * The policy applied to file moves submitted when the file move thread pool and its queue are full. Valid values are "CALLER_RUNS" and "ABORT". With
+     * "CALLER_RUNS", the submitting request performs the file move itself, and with "ABORT" the file move fails. The rejections are counted by the
+     * "file-move" thread pool MBean. The default is "CALLER_RUNS".
+     */
+    FILE_MOVE_THREAD_POOL_REJECTION_POLICY("file.move.thread.pool.rejection.policy", "CALLER_RUNS"),
+
+    /**
+     * The core pool size of the thread pool that processes the records of a multi-record S3 event notification concurrently. The default is 4.
+     */
+    S3_EVENT_RECORD_THREAD_POOL_CORE_POOL_SIZE("s3.event.record.thread.pool.core.pool.size", 4),
+
+    /**
+     * The max pool size of the thread pool that processes the records of a multi-record S3 event notification concurrently. This bounds the number of
+     * records processed in parallel across all JMS listener threads. The default is 8.
+     */
+    S3_EVENT_RECORD_THREAD_POOL_MAX_POOL_SIZE("s3.event.record.thread.pool.max.pool.size", 8),
+
+    /**
+     * The queue capacity of the thread pool that processes the records of a multi-record S3 event notification concurrently. Records that do not fit are
+     * processed by the JMS listener thread itself. The default is 100.
+     */
+    S3_EVENT_RECORD_THREAD_POOL_QUEUE_CAPACITY("s3.event.record.thread.pool.queue.capacity", 100),
+
+    /**
+     * The maximum number of concurrent tasks a business object data availability collection request gets split into. Each task evaluates its requests in its
+     * own read-only transaction, while the calling thread holds no database connection, so a request uses at most this many pooled database connections at a
+     * time. A value of 1 evaluates all the requests one by one in a single read-only transaction. The default is 8.
+     */
+    AVAILABILITY_COLLECTION_MAX_PARALLELISM("availability.collection.max.parallelism", 8),
+
+    /**
+     * The core pool size of the thread pool that evaluates business object data availability collection requests concurrently. The default is 8.
+     */
+    AVAILABILITY_COLLECTION_THREAD_POOL_CORE_POOL_SIZE("availability.collection.thread.pool.core.pool.size", 8),
+
+    /**
+     * The max pool size of the thread pool that evaluates business object data availability collection requests concurrently. The default is 16.
+     */
+    AVAILABILITY_COLLECTION_THREAD_POOL_MAX_POOL_SIZE("availability.collection.thread.pool.max.pool.size", 16),
+
+    /**
+     * The queue capacity of the thread pool that evaluates business object data availability collection requests concurrently. Tasks that do not fit are
+     * evaluated by the calling thread. The default is 1000.
+     */
+    AVAILABILITY_COLLECTION_THREAD_POOL_QUEUE_CAPACITY("availability.collection.thread.pool.queue.capacity", 1000),
+
     /**
      * JMS listener concurrency limits via a "lower-upper" String, e.g. "5-10". Refer to DefaultMessageListenerContainer#setConcurrency for details.
      */
@@ -437,6 +633,19 @@ public enum ConfigurationValue
      */
     STORAGE_FILE_PATHS_QUERY_PAGINATION_SIZE("storage.file.paths.query.pagination.size", 100000),
 
+    /**
+     * The number of storage units whose Hive partitions get resolved at a time when generating business object data DDL. The "add partition" statements of
+     * each batch are written out before the next batch is resolved, so only one batch of partitions is kept in memory. The default is 1000.
+     */
+    BUSINESS_OBJECT_DATA_DDL_STORAGE_UNIT_BATCH_SIZE("business.object.data.ddl.storage.unit.batch.size", 1000),
+
+    /**
+     * The S3 key prefix within the S3 staging bucket under which generated business object data DDL files get uploaded. herd never deletes these files, since
+     * the workflows read them after they get uploaded, so the S3 staging bucket must have a lifecycle rule that expires the objects under this prefix. The
+     * default is "business-object-data-ddl".
+     */
+    BUSINESS_OBJECT_DATA_DDL_S3_KEY_PREFIX("business.object.data.ddl.s3.key.prefix", "business-object-data-ddl"),
+
     /**
      * The optional Log4J override configuration.
      */
@@ -526,6 +735,14 @@ public enum ConfigurationValue
      */
     HERD_NOTIFICATION_SQS_XSD_NAME("herd.notification.sqs.xsd.name", null),
 
+    /**
+     * The number of seconds the in-memory business object data notification registration index is used before it gets rebuilt from the database. Each node
+     * keeps its own index, and changing a registration only discards the index of the node the change is made on. A registration created, deleted or changed
+     * on another node can therefore be missed or still matched for up to this many seconds. Only disabling a registration is seen right away, since the
+     * registration status is checked against the database on every match. The default is 60 seconds.
+     */
+    NOTIFICATION_REGISTRATION_INDEX_TTL_SECONDS("notification.registration.index.ttl.seconds", 60L),
+
     /**
      * A list of properties where each key is used as a key for building the system monitor response and each value is an XPath expression that will be applied
      * to the system monitor request to store values which can be used when building the response. The default value is an empty string which will produce no
@@ -565,6 +782,100 @@ public enum ConfigurationValue
      */
     HERD_CACHE_MEMORY_STORE_EVICTION_POLICY("herd.cache.memory.store.eviction.policy", "LRU"),
 
+    /**
+     * The time to live in seconds for the reference data cache entries that map case-insensitive codes of namespaces, file types, statuses, storages and
+     * storage platforms to their primary keys. A value of 0 disables the reference data cache. The cache is local to each node, so a code that gets deleted or
+     * re-created with a new primary key on another node may still resolve to the old primary key for up to this time to live.
+     */
+    REFERENCE_DATA_CACHE_TIME_TO_LIVE_SECONDS("reference.data.cache.time.to.live.seconds", 300L),
+
+    /**
+     * The max elements in memory of the reference data cache region.
+     */
+    REFERENCE_DATA_CACHE_MAX_ELEMENTS("reference.data.cache.max.elements", 10000),
+
+    /**
+     * The max elements in memory of the EMR pricing cache region that holds the EC2 on-demand prices.
+     */
+    EMR_PRICING_CACHE_MAX_ELEMENTS_IN_MEMORY("emr.pricing.cache.max.elements.in.memory", 1000),
+
+    /**
+     * The time to live in seconds of the EMR pricing cache region that holds the EC2 on-demand prices.
+     */
+    EMR_PRICING_CACHE_TIME_TO_LIVE_SECONDS("emr.pricing.cache.time.to.live.seconds", 3600L),
+
+    /**
+     * The max elements in memory of the DDL fragments cache region that holds the generated Hive column definitions per business object format.
+     */
+    DDL_FRAGMENTS_CACHE_MAX_ELEMENTS_IN_MEMORY("ddl.fragments.cache.max.elements.in.memory", 1000),
+
+    /**
+     * The time to live in seconds of the DDL fragments cache region that holds the generated Hive column definitions per business object format.
+     */
+    DDL_FRAGMENTS_CACHE_TIME_TO_LIVE_SECONDS("ddl.fragments.cache.time.to.live.seconds", 3600L),
+
+    /**
+     * The max elements in memory of the Hibernate second level cache region for business object format entities along with their schema columns.
+     */
+    HIBERNATE_CACHE_BUSINESS_OBJECT_FORMAT_MAX_ELEMENTS_IN_MEMORY("hibernate.cache.business.object.format.max.elements.in.memory", 10000),
+
+    /**
+     * The time to live in seconds of the Hibernate second level cache region for business object format entities along with their schema columns.
+     */
+    HIBERNATE_CACHE_BUSINESS_OBJECT_FORMAT_TIME_TO_LIVE_SECONDS("hibernate.cache.business.object.format.time.to.live.seconds", 300L),
+
+    /**
+     * The max elements in memory of the Hibernate second level cache region for storage entities along with their attributes.
+     */
+    HIBERNATE_CACHE_STORAGE_MAX_ELEMENTS_IN_MEMORY("hibernate.cache.storage.max.elements.in.memory", 1000),
+
+    /**
+     * The time to live in seconds of the Hibernate second level cache region for storage entities along with their attributes.
+     */
+    HIBERNATE_CACHE_STORAGE_TIME_TO_LIVE_SECONDS("hibernate.cache.storage.time.to.live.seconds", 300L),
+
+    /**
+     * The max elements in memory of the Hibernate second level cache region for partition key group entities.
+     */
+    HIBERNATE_CACHE_PARTITION_KEY_GROUP_MAX_ELEMENTS_IN_MEMORY("hibernate.cache.partition.key.group.max.elements.in.memory", 1000),
+
+    /**
+     * The time to live in seconds of the Hibernate second level cache region for partition key group entities.
+     */
+    HIBERNATE_CACHE_PARTITION_KEY_GROUP_TIME_TO_LIVE_SECONDS("hibernate.cache.partition.key.group.time.to.live.seconds", 300L),
+
+    /**
+     * The max elements in memory of the Hibernate second level cache region for job definition entities.
+     */
+    HIBERNATE_CACHE_JOB_DEFINITION_MAX_ELEMENTS_IN_MEMORY("hibernate.cache.job.definition.max.elements.in.memory", 1000),
+
+    /**
+     * The time to live in seconds of the Hibernate second level cache region for job definition entities.
+     */
+    HIBERNATE_CACHE_JOB_DEFINITION_TIME_TO_LIVE_SECONDS("hibernate.cache.job.definition.time.to.live.seconds", 300L),
+
+    /**
+     * The max elements in memory of the Hibernate second level cache region for EMR cluster definition entities.
+     */
+    HIBERNATE_CACHE_EMR_CLUSTER_DEFINITION_MAX_ELEMENTS_IN_MEMORY("hibernate.cache.emr.cluster.definition.max.elements.in.memory", 1000),
+
+    /**
+     * The time to live in seconds of the Hibernate second level cache region for EMR cluster definition entities.
+     */
+    HIBERNATE_CACHE_EMR_CLUSTER_DEFINITION_TIME_TO_LIVE_SECONDS("hibernate.cache.emr.cluster.definition.time.to.live.seconds", 300L),
+
+    /**
+     * The max elements in memory of each Hibernate second level cache region for reference data entities, i.e. namespaces, file types, business object data
+     * statuses, storage unit statuses and storage platforms.
+     */
+    HIBERNATE_CACHE_REFERENCE_DATA_MAX_ELEMENTS_IN_MEMORY("hibernate.cache.reference.data.max.elements.in.memory", 10000),
+
+    /**
+     * The time to live in seconds of the Hibernate second level cache regions for reference data entities. The regions are local to each node and an update on
+     * one node doesn't invalidate them on the other nodes, so this time to live is the only bound on how long another node serves an outdated entity.
+     */
+    HIBERNATE_CACHE_REFERENCE_DATA_TIME_TO_LIVE_SECONDS("hibernate.cache.reference.data.time.to.live.seconds", 300L),
+
     /**
      * The default value for EC2 node IAM profile name when creating EMR cluster.
      */
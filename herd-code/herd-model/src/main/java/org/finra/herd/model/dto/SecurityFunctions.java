@@ -143,6 +143,9 @@ public class SecurityFunctions
 
     public static final String FN_SYSTEM_JOBS_POST = "FN_SYSTEM_JOBS_POST";
 
+    public static final String FN_CACHES_ALL_GET = "FN_CACHES_ALL_GET";
+    public static final String FN_CACHES_DELETE = "FN_CACHES_DELETE";
+
     public static final String FN_BUSINESS_OBJECT_DATA_UNREGISTERED_INVALIDATE = "FN_BUSINESS_OBJECT_DATA_UNREGISTERED_INVALIDATE";
 
     public static final String FN_DISPLAY_HERD_UI = "FN_DISPLAY_HERD_UI";
@@ -0,0 +1,180 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.model.jpa;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.Id;
+import javax.persistence.JoinColumn;
+import javax.persistence.ManyToOne;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+import javax.xml.bind.annotation.XmlRootElement;
+import javax.xml.bind.annotation.XmlType;
+
+/**
+ * The latest business object data version registered for a business object format and a set of partition values in a storage with a business object data
+ * status. This is a compact, materialized view over the business object data and storage unit tables that is maintained by the DAO whenever business object
+ * data or its storage units are saved or deleted.
+ */
+@XmlRootElement
+@XmlType
+@Table(name = BusinessObjectDataLatestVersionEntity.TABLE_NAME)
+@Entity
+public class BusinessObjectDataLatestVersionEntity extends AuditableEntity
+{
+    /**
+     * The table name.
+     */
+    public static final String TABLE_NAME = "bus_objct_data_ltst_vrsn";
+
+    @Id
+    @Column(name = TABLE_NAME + "_id")
+    @GeneratedValue(generator = TABLE_NAME + "_seq")
+    @SequenceGenerator(name = TABLE_NAME + "_seq", sequenceName = TABLE_NAME + "_seq")
+    private Integer id;
+
+    @ManyToOne
+    @JoinColumn(name = "bus_objct_frmt_id", referencedColumnName = "bus_objct_frmt_id", nullable = false)
+    private BusinessObjectFormatEntity businessObjectFormat;
+
+    @Column(name = "prtn_value_tx")
+    private String partitionValue;
+
+    @Column(name = "prtn_value_2_tx")
+    private String partitionValue2;
+
+    @Column(name = "prtn_value_3_tx")
+    private String partitionValue3;
+
+    @Column(name = "prtn_value_4_tx")
+    private String partitionValue4;
+
+    @Column(name = "prtn_value_5_tx")
+    private String partitionValue5;
+
+    @ManyToOne
+    @JoinColumn(name = "strge_cd", referencedColumnName = "strge_cd", nullable = false)
+    private StorageEntity storage;
+
+    @ManyToOne
+    @JoinColumn(name = "bus_objct_data_stts_cd", referencedColumnName = "bus_objct_data_stts_cd", nullable = false)
+    private BusinessObjectDataStatusEntity status;
+
+    @Column(name = "vrsn_nb", nullable = false)
+    private Integer version;
+
+    public Integer getId()
+    {
+        return id;
+    }
+
+    public void setId(Integer id)
+    {
+        this.id = id;
+    }
+
+    public BusinessObjectFormatEntity getBusinessObjectFormat()
+    {
+        return businessObjectFormat;
+    }
+
+    public void setBusinessObjectFormat(BusinessObjectFormatEntity businessObjectFormat)
+    {
+        this.businessObjectFormat = businessObjectFormat;
+    }
+
+    public String getPartitionValue()
+    {
+        return partitionValue;
+    }
+
+    public void setPartitionValue(String partitionValue)
+    {
+        this.partitionValue = partitionValue;
+    }
+
+    public String getPartitionValue2()
+    {
+        return partitionValue2;
+    }
+
+    public void setPartitionValue2(String partitionValue2)
+    {
+        this.partitionValue2 = partitionValue2;
+    }
+
+    public String getPartitionValue3()
+    {
+        return partitionValue3;
+    }
+
+    public void setPartitionValue3(String partitionValue3)
+    {
+        this.partitionValue3 = partitionValue3;
+    }
+
+    public String getPartitionValue4()
+    {
+        return partitionValue4;
+    }
+
+    public void setPartitionValue4(String partitionValue4)
+    {
+        this.partitionValue4 = partitionValue4;
+    }
+
+    public String getPartitionValue5()
+    {
+        return partitionValue5;
+    }
+
+    public void setPartitionValue5(String partitionValue5)
+    {
+        this.partitionValue5 = partitionValue5;
+    }
+
+    public StorageEntity getStorage()
+    {
+        return storage;
+    }
+
+    public void setStorage(StorageEntity storage)
+    {
+        this.storage = storage;
+    }
+
+    public BusinessObjectDataStatusEntity getStatus()
+    {
+        return status;
+    }
+
+    public void setStatus(BusinessObjectDataStatusEntity status)
+    {
+        this.status = status;
+    }
+
+    public Integer getVersion()
+    {
+        return version;
+    }
+
+    public void setVersion(Integer version)
+    {
+        this.version = version;
+    }
+}
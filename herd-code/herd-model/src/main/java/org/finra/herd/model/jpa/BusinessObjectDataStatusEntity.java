@@ -15,6 +15,7 @@
 */
 package org.finra.herd.model.jpa;
 
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.Id;
@@ -22,6 +23,9 @@ import javax.persistence.Table;
 import javax.xml.bind.annotation.XmlRootElement;
 import javax.xml.bind.annotation.XmlType;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 /**
  * A business object data status.
  */
@@ -29,6 +33,8 @@ import javax.xml.bind.annotation.XmlType;
 @XmlType
 @Table(name = "bus_objct_data_stts_cd_lk")
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class BusinessObjectDataStatusEntity extends AuditableEntity
 {
     // List of common statuses
@@ -17,6 +17,7 @@ package org.finra.herd.model.jpa;
 
 import java.util.Collection;
 
+import javax.persistence.Cacheable;
 import javax.persistence.CascadeType;
 import javax.persistence.Column;
 import javax.persistence.Entity;
@@ -31,6 +32,8 @@ import javax.persistence.Table;
 import javax.xml.bind.annotation.XmlRootElement;
 import javax.xml.bind.annotation.XmlType;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.Type;
 
 /**
@@ -40,6 +43,8 @@ import org.hibernate.annotations.Type;
 @XmlType
 @Table(name = BusinessObjectFormatEntity.TABLE_NAME)
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class BusinessObjectFormatEntity extends AuditableEntity
 {
     /**
@@ -106,6 +111,7 @@ public class BusinessObjectFormatEntity extends AuditableEntity
 
     @OneToMany(mappedBy = "businessObjectFormat", orphanRemoval = true, cascade = {CascadeType.ALL})
     @OrderBy("position")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     private Collection<SchemaColumnEntity> schemaColumns;
 
     public Integer getId()
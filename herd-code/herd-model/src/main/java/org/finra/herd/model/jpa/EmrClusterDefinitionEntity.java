@@ -15,6 +15,7 @@
 */
 package org.finra.herd.model.jpa;
 
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
@@ -26,6 +27,9 @@ import javax.persistence.Table;
 import javax.xml.bind.annotation.XmlRootElement;
 import javax.xml.bind.annotation.XmlType;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 /**
  * An instance of EMR cluster definition.
  */
@@ -33,6 +37,8 @@ import javax.xml.bind.annotation.XmlType;
 @XmlType
 @Table(name = EmrClusterDefinitionEntity.TABLE_NAME)
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class EmrClusterDefinitionEntity extends AuditableEntity
 {
     /**
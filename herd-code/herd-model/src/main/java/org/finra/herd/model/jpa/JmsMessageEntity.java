@@ -15,6 +15,8 @@
 */
 package org.finra.herd.model.jpa;
 
+import java.sql.Timestamp;
+
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
@@ -56,6 +58,18 @@ public class JmsMessageEntity extends AuditableEntity
     @Column(name = "msg_tx")
     private String messageText;
 
+    /**
+     * The claim column. It identifies the publisher that currently claims the message, or is null when the message is not claimed.
+     */
+    @Column(name = "clm_by_tx")
+    private String claimedBy;
+
+    /**
+     * The claim expiration timestamp column. Once the claim expires, the message can be claimed by another publisher.
+     */
+    @Column(name = "clm_exprn_ts")
+    private Timestamp claimExpiration;
+
     public Integer getId()
     {
         return id;
@@ -86,6 +100,26 @@ public class JmsMessageEntity extends AuditableEntity
         this.messageText = messageText;
     }
 
+    public String getClaimedBy()
+    {
+        return claimedBy;
+    }
+
+    public void setClaimedBy(String claimedBy)
+    {
+        this.claimedBy = claimedBy;
+    }
+
+    public Timestamp getClaimExpiration()
+    {
+        return claimExpiration;
+    }
+
+    public void setClaimExpiration(Timestamp claimExpiration)
+    {
+        this.claimExpiration = claimExpiration;
+    }
+
     @Override
     public boolean equals(Object other)
     {
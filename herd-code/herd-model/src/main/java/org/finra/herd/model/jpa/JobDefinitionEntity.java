@@ -18,6 +18,7 @@ package org.finra.herd.model.jpa;
 import java.util.ArrayList;
 import java.util.Collection;
 
+import javax.persistence.Cacheable;
 import javax.persistence.CascadeType;
 import javax.persistence.Column;
 import javax.persistence.Entity;
@@ -32,6 +33,9 @@ import javax.persistence.Table;
 import javax.xml.bind.annotation.XmlRootElement;
 import javax.xml.bind.annotation.XmlType;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 /**
  * An instance of job definition.
  */
@@ -39,6 +43,8 @@ import javax.xml.bind.annotation.XmlType;
 @XmlType
 @Table(name = JobDefinitionEntity.TABLE_NAME)
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class JobDefinitionEntity extends AuditableEntity
 {
     /**
@@ -17,6 +17,7 @@ package org.finra.herd.model.jpa;
 
 import java.util.Collection;
 
+import javax.persistence.Cacheable;
 import javax.persistence.CascadeType;
 import javax.persistence.Column;
 import javax.persistence.Entity;
@@ -27,6 +28,9 @@ import javax.persistence.Table;
 import javax.xml.bind.annotation.XmlRootElement;
 import javax.xml.bind.annotation.XmlType;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 /**
  * A partition key group.
  */
@@ -34,6 +38,8 @@ import javax.xml.bind.annotation.XmlType;
 @XmlType
 @Table(name = PartitionKeyGroupEntity.TABLE_NAME)
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class PartitionKeyGroupEntity extends AuditableEntity
 {
     /**
@@ -20,6 +20,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 
+import javax.persistence.Cacheable;
 import javax.persistence.CascadeType;
 import javax.persistence.Column;
 import javax.persistence.Entity;
@@ -32,6 +33,9 @@ import javax.persistence.Table;
 import javax.xml.bind.annotation.XmlRootElement;
 import javax.xml.bind.annotation.XmlType;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 /**
  * A storage.
  */
@@ -39,6 +43,8 @@ import javax.xml.bind.annotation.XmlType;
 @XmlType
 @Table(name = StorageEntity.TABLE_NAME)
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class StorageEntity extends AuditableEntity
 {
     /**
@@ -77,6 +83,7 @@ public class StorageEntity extends AuditableEntity
 
     @OneToMany(mappedBy = "storage", orphanRemoval = true, cascade = {CascadeType.ALL})
     @OrderBy("name")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     private Collection<StorageAttributeEntity> attributes;
 
     public String getName()
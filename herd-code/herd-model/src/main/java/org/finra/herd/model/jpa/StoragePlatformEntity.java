@@ -15,6 +15,7 @@
 */
 package org.finra.herd.model.jpa;
 
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.Id;
@@ -24,6 +25,9 @@ import javax.persistence.Table;
 import javax.xml.bind.annotation.XmlRootElement;
 import javax.xml.bind.annotation.XmlType;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 /**
  * A storage platform.
  */
@@ -31,6 +35,8 @@ import javax.xml.bind.annotation.XmlType;
 @XmlType
 @Table(name = StoragePlatformEntity.TABLE_NAME)
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @NamedQueries(
     {@NamedQuery(name = StoragePlatformEntity.QUERY_GET_STORAGE_PLATFORM_BY_NAME, query = StoragePlatformEntity.GET_STORAGE_PLATFORM_BY_NAME_QUERY_STRING),
         @NamedQuery(name = StoragePlatformEntity.QUERY_GET_S3_STORAGE_PLATFORM,
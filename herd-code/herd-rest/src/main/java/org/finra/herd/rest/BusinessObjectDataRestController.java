@@ -15,10 +15,16 @@
 */
 package org.finra.herd.rest;
 
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 
 import javax.servlet.ServletRequest;
+import javax.servlet.http.HttpServletResponse;
 
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
@@ -450,6 +456,46 @@ public class BusinessObjectDataRestController extends HerdBaseController
         return businessObjectDataService.generateBusinessObjectDataDdl(businessObjectDataDdlRequest);
     }
 
+    /**
+     * Retrieves the DDL to initialize the specified type of the database system to perform queries for a range of requested business object data in the
+     * specified storage. Unlike the generate DDL endpoint, the DDL is returned as plain text and it is never held in memory as a whole. The DDL is first
+     * generated into a local temporary file, so any error is reported through the response status and the database transaction is over before a slow client
+     * starts reading. The file is then copied to the response along with its content length, so a client can detect a truncated response.
+     *
+     * @param businessObjectDataDdlRequest the business object data DDL request
+     * @param servletResponse the servlet response to write the DDL to
+     *
+     * @throws IOException if an I/O error occurs while writing the DDL
+     */
+    @RequestMapping(value = "/businessObjectData/generateDdl/stream", method = RequestMethod.POST, consumes = {"application/xml", "application/json"},
+        produces = "text/plain")
+    @Secured(SecurityFunctions.FN_BUSINESS_OBJECT_DATA_GENERATE_DDL_POST)
+    public void generateBusinessObjectDataDdlStream(@RequestBody BusinessObjectDataDdlRequest businessObjectDataDdlRequest,
+        HttpServletResponse servletResponse) throws IOException
+    {
+        Path ddlFilePath = Files.createTempFile("businessObjectDataDdl-", ".hql");
+        try
+        {
+            // Generate DDL into the temporary file.
+            try (Writer writer = Files.newBufferedWriter(ddlFilePath, StandardCharsets.UTF_8))
+            {
+                businessObjectDataService.generateBusinessObjectDataDdl(businessObjectDataDdlRequest, writer);
+            }
+
+            // Copy the temporary file to the response.
+            servletResponse.setContentType("text/plain");
+            servletResponse.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            servletResponse.setHeader("Content-Length", String.valueOf(Files.size(ddlFilePath)));
+            Files.copy(ddlFilePath, servletResponse.getOutputStream());
+            servletResponse.flushBuffer();
+        }
+        finally
+        {
+            // Clean up the temporary file.
+            Files.deleteIfExists(ddlFilePath);
+        }
+    }
+
     /**
      * Retrieves the DDL to initialize the specified type of the database system to perform queries for a collection of business object data in the specified
      * storage.
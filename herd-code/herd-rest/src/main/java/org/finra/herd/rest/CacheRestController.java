@@ -0,0 +1,69 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.rest;
+
+import io.swagger.annotations.Api;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.access.annotation.Secured;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+
+import org.finra.herd.model.api.xml.CacheRegion;
+import org.finra.herd.model.api.xml.CacheRegions;
+import org.finra.herd.model.dto.SecurityFunctions;
+import org.finra.herd.service.CacheService;
+import org.finra.herd.ui.constants.UiConstants;
+
+/**
+ * The REST controller that handles cache REST requests.
+ */
+@RestController
+@RequestMapping(value = UiConstants.REST_URL_BASE, produces = {"application/xml", "application/json"})
+@Api(tags = "Cache")
+public class CacheRestController extends HerdBaseController
+{
+    @Autowired
+    private CacheService cacheService;
+
+    /**
+     * Gets the hit, miss and eviction counts of all cache regions.
+     *
+     * @return the cache regions.
+     */
+    @RequestMapping(value = "/caches", method = RequestMethod.GET)
+    @Secured(SecurityFunctions.FN_CACHES_ALL_GET)
+    public CacheRegions getCaches()
+    {
+        return cacheService.getCaches();
+    }
+
+    /**
+     * Removes all elements from an existing cache region. The cache name may contain dots (i.e. Hibernate second level cache region names), so the path
+     * variable pattern matches the whole remaining path segment.
+     *
+     * @param cacheName the cache region name.
+     *
+     * @return the cache region information after the region was cleared.
+     */
+    @RequestMapping(value = "/caches/cacheNames/{cacheName:.+}", method = RequestMethod.DELETE)
+    @Secured(SecurityFunctions.FN_CACHES_DELETE)
+    public CacheRegion clearCache(@PathVariable("cacheName") String cacheName)
+    {
+        return cacheService.clearCache(cacheName);
+    }
+}
@@ -31,6 +31,9 @@ import org.finra.herd.ui.AbstractUiTest;
 @WebAppConfiguration
 public abstract class AbstractRestTest extends AbstractUiTest
 {
+    @Autowired
+    protected CacheRestController cacheRestController;
+
     @Autowired
     protected HerdRestController herdRestController;
 
@@ -15,10 +15,18 @@
 */
 package org.finra.herd.rest;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 
 import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
 
+import org.finra.herd.model.ObjectNotFoundException;
 import org.finra.herd.model.api.xml.BusinessObjectDataDdl;
 import org.finra.herd.model.api.xml.BusinessObjectDataDdlRequest;
 import org.finra.herd.model.jpa.BusinessObjectDataEntity;
@@ -74,6 +82,46 @@ public class BusinessObjectDataRestControllerGenerateBusinessObjectDataDdlTest e
         validateBusinessObjectDataDdl(request, getExpectedDdl(), resultDdl);
     }
 
+    @Test
+    public void testGenerateBusinessObjectDataDdlStream() throws Exception
+    {
+        // Prepare test data.
+        createDatabaseEntitiesForBusinessObjectDataDdlTesting();
+
+        // Retrieve business object data ddl written to the servlet response.
+        MockHttpServletResponse servletResponse = new MockHttpServletResponse();
+        businessObjectDataRestController
+            .generateBusinessObjectDataDdlStream(getTestBusinessObjectDataDdlRequest(UNSORTED_PARTITION_VALUES, CUSTOM_DDL_NAME), servletResponse);
+
+        // Validate the results.
+        assertTrue(servletResponse.getContentType().startsWith("text/plain"));
+        assertEquals(getExpectedDdl(), servletResponse.getContentAsString());
+        assertEquals(getExpectedDdl().getBytes(StandardCharsets.UTF_8).length, servletResponse.getContentLength());
+    }
+
+    @Test
+    public void testGenerateBusinessObjectDataDdlStreamBusinessObjectFormatNoExists() throws Exception
+    {
+        // Prepare test data.
+        createDatabaseEntitiesForBusinessObjectDataDdlTesting();
+
+        // Try to retrieve business object data ddl written to the servlet response using non-existing format.
+        BusinessObjectDataDdlRequest request = getTestBusinessObjectDataDdlRequest(UNSORTED_PARTITION_VALUES, CUSTOM_DDL_NAME);
+        request.setBusinessObjectDefinitionName("I_DO_NOT_EXIST");
+        MockHttpServletResponse servletResponse = new MockHttpServletResponse();
+        try
+        {
+            businessObjectDataRestController.generateBusinessObjectDataDdlStream(request, servletResponse);
+            fail("Should throw an ObjectNotFoundException when non-existing business object format is used.");
+        }
+        catch (ObjectNotFoundException e)
+        {
+            // Validate that nothing was written to the response, so the error can still be reported through the response status.
+            assertFalse(servletResponse.isCommitted());
+            assertEquals("", servletResponse.getContentAsString());
+        }
+    }
+
     @Test
     public void testGenerateBusinessObjectDataDdlPartitionValueRange()
     {
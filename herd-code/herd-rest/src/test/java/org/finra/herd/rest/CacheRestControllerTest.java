@@ -0,0 +1,56 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.rest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import org.finra.herd.dao.config.DaoSpringModuleConfig;
+import org.finra.herd.model.ObjectNotFoundException;
+import org.finra.herd.model.api.xml.CacheRegion;
+import org.finra.herd.model.api.xml.CacheRegions;
+
+/**
+ * This class tests various functionality within the cache REST controller.
+ */
+public class CacheRestControllerTest extends AbstractRestTest
+{
+    @Test
+    public void testGetCaches()
+    {
+        CacheRegions cacheRegions = cacheRestController.getCaches();
+        assertNotNull(cacheRegions);
+        assertTrue(cacheRegions.getCacheRegions().size() >= 4); // We should have at least the herd cache regions present.
+    }
+
+    @Test
+    public void testClearCache()
+    {
+        CacheRegion cacheRegion = cacheRestController.clearCache(DaoSpringModuleConfig.EMR_PRICING_CACHE_NAME);
+        assertNotNull(cacheRegion);
+        assertEquals(DaoSpringModuleConfig.EMR_PRICING_CACHE_NAME, cacheRegion.getCacheName());
+        assertEquals(0, cacheRegion.getSize());
+    }
+
+    @Test(expected = ObjectNotFoundException.class)
+    public void testClearCacheInvalidName()
+    {
+        cacheRestController.clearCache("invalid" + getRandomSuffix());
+    }
+}
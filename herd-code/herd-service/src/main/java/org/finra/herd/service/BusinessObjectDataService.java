@@ -15,6 +15,9 @@
 */
 package org.finra.herd.service;
 
+import java.io.IOException;
+import java.io.Writer;
+
 import org.finra.herd.model.api.xml.BusinessObjectData;
 import org.finra.herd.model.api.xml.BusinessObjectDataAvailability;
 import org.finra.herd.model.api.xml.BusinessObjectDataAvailabilityCollectionRequest;
@@ -62,6 +65,18 @@ public interface BusinessObjectDataService
 
     public BusinessObjectDataDdl generateBusinessObjectDataDdl(BusinessObjectDataDdlRequest businessObjectDataDdlRequest);
 
+    /**
+     * Generates the DDL for a range of requested business object data and writes it to the specified writer while it is being generated, so the complete DDL
+     * does not have to be kept in memory. The writer is written to within the database transaction, so it should be backed by local storage, such as a
+     * temporary file, rather than by a client connection.
+     *
+     * @param businessObjectDataDdlRequest the business object data DDL request
+     * @param writer the writer to write the DDL to
+     *
+     * @throws IOException if an I/O error occurs while writing the DDL
+     */
+    public void generateBusinessObjectDataDdl(BusinessObjectDataDdlRequest businessObjectDataDdlRequest, Writer writer) throws IOException;
+
     public BusinessObjectDataDdlCollectionResponse generateBusinessObjectDataDdlCollection(
         BusinessObjectDataDdlCollectionRequest businessObjectDataDdlCollectionRequest);
 
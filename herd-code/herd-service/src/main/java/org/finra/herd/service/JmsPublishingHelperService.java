@@ -0,0 +1,47 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.service;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.finra.herd.model.jpa.JmsMessageEntity;
+
+/**
+ * The helper service class for the JMS publishing service.
+ */
+public interface JmsPublishingHelperService
+{
+    /**
+     * Claims the oldest JMS messages that are not claimed by another publisher. The claim is committed right away, so other publishers skip the claimed
+     * messages while they are being published.
+     *
+     * @param claimant the unique identifier of the claim
+     * @param claimDurationSeconds the number of seconds the claim lasts
+     * @param orderedJmsQueueNames the names of the queues that require the messages to be published in order
+     * @param maxMessages the maximum number of messages to claim
+     *
+     * @return the list of claimed JMS messages ordered by their ids
+     */
+    public List<JmsMessageEntity> claimJmsMessages(String claimant, int claimDurationSeconds, Collection<String> orderedJmsQueueNames, int maxMessages);
+
+    /**
+     * Deletes the specified JMS messages from the database queue.
+     *
+     * @param jmsMessageIds the list of JMS message ids
+     */
+    public void deleteJmsMessages(List<Integer> jmsMessageIds);
+}
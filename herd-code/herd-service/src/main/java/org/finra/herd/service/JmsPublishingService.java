@@ -21,9 +21,23 @@ package org.finra.herd.service;
 public interface JmsPublishingService
 {
     /**
-     * Publishes and removes from the database queue the oldest JMS message.
+     * Publishes and removes from the database queue the oldest JMS message that is not claimed by another publisher.
      *
-     * @return true if a message was sent or false if no message was sent (i.e. no message needed to be sent).
+     * @return true if a message was sent or false if no message was sent (i.e. no message needed to be sent)
+     * @deprecated use {@link #publishOldestJmsMessages(int)}, which claims and publishes messages in batches
      */
+    @Deprecated
     public boolean publishOldestJmsMessage();
+
+    /**
+     * Claims, publishes and removes from the database queue up to the specified number of the oldest JMS messages that are not claimed by another publisher.
+     * Messages are sent to AWS SQS in batches, and the messages that fail as part of a batch are retried one at a time. The messages of the ordered queues are
+     * sent one at a time in the order they were queued, stopping at the first failure. Messages that fail to be sent are left in the database queue, claimed
+     * until the claim expires.
+     *
+     * @param maxMessages the maximum number of messages to publish
+     *
+     * @return the number of messages sent and removed from the database queue
+     */
+    public int publishOldestJmsMessages(int maxMessages);
 }
@@ -16,15 +16,17 @@
 package org.finra.herd.service;
 
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.Future;
 
 import org.finra.herd.model.api.xml.BusinessObjectDataKey;
+import org.finra.herd.model.dto.BusinessObjectDataNotificationEventDto;
 import org.finra.herd.model.jpa.NotificationEventTypeEntity;
 
 public interface NotificationEventService
 {
     /**
-     * Asynchronously handles the notification for the business object data changes.
+     * Asynchronously handles the notification for the business object data changes. Events received within a short time window are processed together.
      *
      * @param eventType the event type
      * @param key the business object data key
@@ -48,4 +50,18 @@ public interface NotificationEventService
      */
     public List<Object> processBusinessObjectDataNotificationEventSync(NotificationEventTypeEntity.EventTypesBdata eventType, BusinessObjectDataKey key,
         String newBusinessObjectDataStatus, String oldBusinessObjectDataStatus);
+
+    /**
+     * Synchronously handles the notifications for a batch of business object data changes. Notification registrations and business object data are looked up
+     * once for all the events of the batch. The events are then processed one by one, and an event that fails, for example because its business object data
+     * no longer exists, is skipped without affecting the other events of the batch. An exception is only thrown when the lookups for the batch fail, in which
+     * case no event has been processed.
+     *
+     * @param notificationEvents the business object data notification events
+     * @param failedNotificationEvents the map that the events that failed get added to, along with their failures
+     *
+     * @return a list of actions that were performed for all the events. For example: Job for a jobAction
+     */
+    public List<Object> processBusinessObjectDataNotificationEventsSync(List<BusinessObjectDataNotificationEventDto> notificationEvents,
+        Map<BusinessObjectDataNotificationEventDto, RuntimeException> failedNotificationEvents);
 }
@@ -0,0 +1,123 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.service.activiti.task;
+
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+
+import org.activiti.engine.delegate.DelegateExecution;
+import org.activiti.engine.delegate.Expression;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import org.finra.herd.core.helper.ConfigurationHelper;
+import org.finra.herd.model.api.xml.BusinessObjectDataDdlRequest;
+import org.finra.herd.model.dto.ConfigurationValue;
+import org.finra.herd.model.dto.S3FileTransferRequestParamsDto;
+import org.finra.herd.service.BusinessObjectDataService;
+import org.finra.herd.service.S3Service;
+import org.finra.herd.service.helper.StorageDaoHelper;
+
+/**
+ * An Activiti task that generates the business object data DDL and uploads it to the S3 staging bucket. Unlike {@link GenerateBusinessObjectDataDdl}, the
+ * DDL is written to a local temporary file while it is being generated and it is not stored as a workflow variable, which makes this task suitable for tables
+ * with a large number of partitions. The temporary file is deleted once it is uploaded and the S3 location of the DDL is stored as a workflow variable
+ * instead, so it can be resolved from any node of the cluster.
+ * <p/>
+ * The uploaded DDL is read by the later steps of the workflow, so this task does not delete it. Each run adds a new object under the configured S3 key
+ * prefix, which therefore needs an expiration lifecycle rule on the S3 staging bucket.
+ * <p/>
+ * <p/>
+ * <pre>
+ * <extensionElements>
+ *   <activiti:field name="contentType" stringValue=""/>
+ *   <activiti:field name="businessObjectDataDdlRequest" stringValue=""/>
+ * </extensionElements>
+ * </pre>
+ */
+@Component
+public class GenerateBusinessObjectDataDdlToS3 extends BaseJavaDelegate
+{
+    public static final String VARIABLE_DDL_S3_LOCATION = "businessObjectDataDdlS3Location";
+
+    private Expression contentType;
+    private Expression businessObjectDataDdlRequest;
+
+    @Autowired
+    private BusinessObjectDataService businessObjectDataService;
+
+    @Autowired
+    private ConfigurationHelper configurationHelper;
+
+    @Autowired
+    private S3Service s3Service;
+
+    @Autowired
+    private StorageDaoHelper storageDaoHelper;
+
+    @Override
+    public void executeImpl(DelegateExecution execution) throws Exception
+    {
+        String contentTypeString = activitiHelper.getRequiredExpressionVariableAsString(contentType, execution, "ContentType").trim();
+        String requestString =
+            activitiHelper.getRequiredExpressionVariableAsString(businessObjectDataDdlRequest, execution, "businessObjectDataDdlRequest").trim();
+
+        BusinessObjectDataDdlRequest request = getRequestObject(contentTypeString, requestString, BusinessObjectDataDdlRequest.class);
+
+        // Get the S3 staging bucket the DDL gets uploaded to.
+        String s3BucketName = configurationHelper.getProperty(ConfigurationValue.S3_STAGING_BUCKET_NAME);
+        if (StringUtils.isBlank(s3BucketName))
+        {
+            throw new IllegalStateException(String.format("\"%s\" must be configured.", ConfigurationValue.S3_STAGING_BUCKET_NAME.getKey()));
+        }
+
+        // Build a unique S3 key for the DDL under the configured S3 key prefix.
+        String s3PathDelimiter = configurationHelper.getProperty(ConfigurationValue.S3_URL_PATH_DELIMITER);
+        String s3KeyPrefix = StringUtils.strip(configurationHelper.getProperty(ConfigurationValue.BUSINESS_OBJECT_DATA_DDL_S3_KEY_PREFIX), s3PathDelimiter);
+        String ddlName = UUID.randomUUID().toString();
+        String s3Key = (StringUtils.isBlank(s3KeyPrefix) ? "" : s3KeyPrefix + s3PathDelimiter) + ddlName + ".hql";
+
+        Path ddlFilePath = Files.createTempFile("businessObjectDataDdl-" + ddlName, ".hql");
+        try
+        {
+            // Generate DDL into the temporary file.
+            try (Writer writer = Files.newBufferedWriter(ddlFilePath, StandardCharsets.UTF_8))
+            {
+                businessObjectDataService.generateBusinessObjectDataDdl(request, writer);
+            }
+
+            // Upload the temporary file to S3.
+            S3FileTransferRequestParamsDto params = storageDaoHelper.getS3FileTransferRequestParamsDto();
+            params.setS3Endpoint(configurationHelper.getProperty(ConfigurationValue.S3_ENDPOINT));
+            params.setS3BucketName(s3BucketName);
+            params.setS3KeyPrefix(s3Key);
+            params.setLocalPath(ddlFilePath.toString());
+            s3Service.uploadFile(params);
+        }
+        finally
+        {
+            // Clean up the temporary file.
+            Files.deleteIfExists(ddlFilePath);
+        }
+
+        setTaskWorkflowVariable(execution, VARIABLE_DDL_S3_LOCATION,
+            configurationHelper.getProperty(ConfigurationValue.S3_URL_PROTOCOL) + s3BucketName + s3PathDelimiter + s3Key);
+    }
+}
@@ -74,6 +74,7 @@ import org.springframework.web.method.annotation.ExceptionHandlerMethodResolver;
 
 import org.finra.herd.core.ApplicationContextHolder;
 import org.finra.herd.core.AutowiringQuartzSpringBeanJobFactory;
+import org.finra.herd.core.MonitoredThreadPoolExecutor;
 import org.finra.herd.core.helper.ConfigurationHelper;
 import org.finra.herd.dao.helper.AwsHelper;
 import org.finra.herd.model.dto.AwsParamsDto;
@@ -106,6 +107,31 @@ public class ServiceSpringModuleConfig
      */
     public static final String CREATE_QUARTZ_TABLES_BEAN_NAME = "createQuartzTables";
 
+    /**
+     * The bean name of the executor that processes business object data notification events asynchronously.
+     */
+    public static final String NOTIFICATION_EVENT_EXECUTOR_BEAN_NAME = "notificationEventExecutor";
+
+    /**
+     * The bean name of the executor that performs S3 file moves asynchronously.
+     */
+    public static final String FILE_MOVE_EXECUTOR_BEAN_NAME = "fileMoveExecutor";
+
+    /**
+     * The bean name of the executor that processes the records of a multi-record S3 event notification concurrently.
+     */
+    public static final String S3_EVENT_RECORD_EXECUTOR_BEAN_NAME = "s3EventRecordExecutor";
+
+    /**
+     * The bean name of the executor that evaluates business object data availability collection requests concurrently.
+     */
+    public static final String AVAILABILITY_COLLECTION_EXECUTOR_BEAN_NAME = "availabilityCollectionExecutor";
+
+    /**
+     * The bean name of the executor that runs the workers of the JMS publishing system job.
+     */
+    public static final String JMS_PUBLISHING_EXECUTOR_BEAN_NAME = "jmsPublishingExecutor";
+
     @Autowired
     private DataSource herdDataSource;
 
@@ -156,6 +182,100 @@ public class ServiceSpringModuleConfig
         return new SpringCallerRunsRejectedJobsHandler();
     }
 
+    /**
+     * Returns the executor that processes business object data notification events asynchronously. Notification events get their own thread pool, so a burst
+     * of events can not starve the shared task executor that also runs the Activiti asynchronous jobs.
+     *
+     * @return the notification event executor.
+     */
+    @Bean(name = NOTIFICATION_EVENT_EXECUTOR_BEAN_NAME, destroyMethod = "shutdown")
+    public MonitoredThreadPoolExecutor notificationEventExecutor()
+    {
+        MonitoredThreadPoolExecutor executor = new MonitoredThreadPoolExecutor("notification-event",
+            configurationHelper.getProperty(ConfigurationValue.NOTIFICATION_EVENT_THREAD_POOL_CORE_POOL_SIZE, Integer.class),
+            configurationHelper.getProperty(ConfigurationValue.NOTIFICATION_EVENT_THREAD_POOL_MAX_POOL_SIZE, Integer.class),
+            configurationHelper.getProperty(ConfigurationValue.THREAD_POOL_KEEP_ALIVE_SECS, Integer.class),
+            configurationHelper.getProperty(ConfigurationValue.NOTIFICATION_EVENT_THREAD_POOL_QUEUE_CAPACITY, Integer.class),
+            MonitoredThreadPoolExecutor
+                .getRejectionPolicy(configurationHelper.getProperty(ConfigurationValue.NOTIFICATION_EVENT_THREAD_POOL_REJECTION_POLICY)));
+        executor.registerMBean();
+        return executor;
+    }
+
+    /**
+     * Returns the executor that performs S3 file moves asynchronously. File moves get their own thread pool, so long running moves can not delay the Activiti
+     * asynchronous jobs or the notification events.
+     *
+     * @return the file move executor.
+     */
+    @Bean(name = FILE_MOVE_EXECUTOR_BEAN_NAME, destroyMethod = "shutdown")
+    public MonitoredThreadPoolExecutor fileMoveExecutor()
+    {
+        MonitoredThreadPoolExecutor executor = new MonitoredThreadPoolExecutor("file-move",
+            configurationHelper.getProperty(ConfigurationValue.FILE_MOVE_THREAD_POOL_CORE_POOL_SIZE, Integer.class),
+            configurationHelper.getProperty(ConfigurationValue.FILE_MOVE_THREAD_POOL_MAX_POOL_SIZE, Integer.class),
+            configurationHelper.getProperty(ConfigurationValue.THREAD_POOL_KEEP_ALIVE_SECS, Integer.class),
+            configurationHelper.getProperty(ConfigurationValue.FILE_MOVE_THREAD_POOL_QUEUE_CAPACITY, Integer.class),
+            MonitoredThreadPoolExecutor.getRejectionPolicy(configurationHelper.getProperty(ConfigurationValue.FILE_MOVE_THREAD_POOL_REJECTION_POLICY)));
+        executor.registerMBean();
+        return executor;
+    }
+
+    /**
+     * Returns the executor that processes the records of a multi-record S3 event notification concurrently. Rejected records are processed by the submitting
+     * JMS listener thread, which needs to see the rejection to do so, hence the abort policy.
+     *
+     * @return the S3 event record executor.
+     */
+    @Bean(name = S3_EVENT_RECORD_EXECUTOR_BEAN_NAME, destroyMethod = "shutdown")
+    public MonitoredThreadPoolExecutor s3EventRecordExecutor()
+    {
+        MonitoredThreadPoolExecutor executor = new MonitoredThreadPoolExecutor("s3-event-record",
+            configurationHelper.getProperty(ConfigurationValue.S3_EVENT_RECORD_THREAD_POOL_CORE_POOL_SIZE, Integer.class),
+            configurationHelper.getProperty(ConfigurationValue.S3_EVENT_RECORD_THREAD_POOL_MAX_POOL_SIZE, Integer.class),
+            configurationHelper.getProperty(ConfigurationValue.THREAD_POOL_KEEP_ALIVE_SECS, Integer.class),
+            configurationHelper.getProperty(ConfigurationValue.S3_EVENT_RECORD_THREAD_POOL_QUEUE_CAPACITY, Integer.class),
+            MonitoredThreadPoolExecutor.RejectionPolicy.ABORT);
+        executor.registerMBean();
+        return executor;
+    }
+
+    /**
+     * Returns the executor that evaluates business object data availability collection requests concurrently. Like {@link #s3EventRecordExecutor()}, it uses
+     * the abort policy and leaves rejected tasks to the caller.
+     *
+     * @return the availability collection executor.
+     */
+    @Bean(name = AVAILABILITY_COLLECTION_EXECUTOR_BEAN_NAME, destroyMethod = "shutdown")
+    public MonitoredThreadPoolExecutor availabilityCollectionExecutor()
+    {
+        MonitoredThreadPoolExecutor executor = new MonitoredThreadPoolExecutor("availability-collection",
+            configurationHelper.getProperty(ConfigurationValue.AVAILABILITY_COLLECTION_THREAD_POOL_CORE_POOL_SIZE, Integer.class),
+            configurationHelper.getProperty(ConfigurationValue.AVAILABILITY_COLLECTION_THREAD_POOL_MAX_POOL_SIZE, Integer.class),
+            configurationHelper.getProperty(ConfigurationValue.THREAD_POOL_KEEP_ALIVE_SECS, Integer.class),
+            configurationHelper.getProperty(ConfigurationValue.AVAILABILITY_COLLECTION_THREAD_POOL_QUEUE_CAPACITY, Integer.class),
+            MonitoredThreadPoolExecutor.RejectionPolicy.ABORT);
+        executor.registerMBean();
+        return executor;
+    }
+
+    /**
+     * Returns the executor that runs the workers of the JMS publishing system job. Threads are only kept while the job runs and workers are never queued, so
+     * workers that do not fit are rejected and skipped by the job.
+     *
+     * @return the JMS publishing executor.
+     */
+    @Bean(name = JMS_PUBLISHING_EXECUTOR_BEAN_NAME, destroyMethod = "shutdown")
+    public MonitoredThreadPoolExecutor jmsPublishingExecutor()
+    {
+        MonitoredThreadPoolExecutor executor = new MonitoredThreadPoolExecutor("jms-publishing", 0,
+            configurationHelper.getProperty(ConfigurationValue.JMS_PUBLISHING_THREAD_POOL_MAX_POOL_SIZE, Integer.class),
+            configurationHelper.getProperty(ConfigurationValue.THREAD_POOL_KEEP_ALIVE_SECS, Integer.class), 0,
+            MonitoredThreadPoolExecutor.RejectionPolicy.ABORT);
+        executor.registerMBean();
+        return executor;
+    }
+
     /**
      * Returns an Activiti Async executor that uses our configured task executor.
      *
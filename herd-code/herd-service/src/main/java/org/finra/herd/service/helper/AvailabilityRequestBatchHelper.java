@@ -0,0 +1,123 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.service.helper;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.stereotype.Component;
+
+import org.finra.herd.model.api.xml.BusinessObjectDataAvailabilityRequest;
+
+/**
+ * A helper class that splits the individual requests of a business object data availability collection request into batches that can be evaluated
+ * concurrently. The requests are grouped by business object format, so the requests of a batch share the business object format and storage lookups. Groups
+ * larger than the number of requests divided by the maximum parallelism are cut, and the resulting chunks are merged into at most the maximum parallelism
+ * number of batches.
+ */
+@Component
+public class AvailabilityRequestBatchHelper
+{
+    /**
+     * Splits the specified business object data availability requests into batches. Each request index appears in exactly one batch.
+     *
+     * @param requests the business object data availability requests
+     * @param maxParallelism the maximum number of batches
+     *
+     * @return the batches as lists of request indexes
+     */
+    public List<List<Integer>> getBatches(List<BusinessObjectDataAvailabilityRequest> requests, int maxParallelism)
+    {
+        List<List<Integer>> batches = new ArrayList<>();
+
+        if (maxParallelism <= 1 || requests.size() <= 1)
+        {
+            List<Integer> batch = new ArrayList<>();
+            for (int i = 0; i < requests.size(); i++)
+            {
+                batch.add(i);
+            }
+            batches.add(batch);
+            return batches;
+        }
+
+        // Group the requests by business object format, keeping the order in which the formats first appear.
+        Map<List<Object>, List<Integer>> requestGroups = new LinkedHashMap<>();
+        for (int i = 0; i < requests.size(); i++)
+        {
+            BusinessObjectDataAvailabilityRequest request = requests.get(i);
+            List<Object> businessObjectFormatLookupKey = Arrays.<Object>asList(StringUtils.upperCase(request.getNamespace()),
+                StringUtils.upperCase(request.getBusinessObjectDefinitionName()), StringUtils.upperCase(request.getBusinessObjectFormatUsage()),
+                StringUtils.upperCase(request.getBusinessObjectFormatFileType()), request.getBusinessObjectFormatVersion());
+            List<Integer> requestGroup = requestGroups.get(businessObjectFormatLookupKey);
+            if (requestGroup == null)
+            {
+                requestGroup = new ArrayList<>();
+                requestGroups.put(businessObjectFormatLookupKey, requestGroup);
+            }
+            requestGroup.add(i);
+        }
+
+        // Cut large groups, so a collection of requests against a single format still gets evaluated concurrently.
+        int maxChunkSize = (requests.size() + maxParallelism - 1) / maxParallelism;
+        List<List<Integer>> chunks = new ArrayList<>();
+        for (List<Integer> requestGroup : requestGroups.values())
+        {
+            for (int fromIndex = 0; fromIndex < requestGroup.size(); fromIndex += maxChunkSize)
+            {
+                chunks.add(requestGroup.subList(fromIndex, Math.min(fromIndex + maxChunkSize, requestGroup.size())));
+            }
+        }
+
+        // Merge the chunks into at most the maximum parallelism number of batches. The largest chunks are placed first and each chunk goes to the smallest
+        // batch, which keeps the batches balanced. The sort is stable, so chunks of the same size keep their order.
+        Collections.sort(chunks, new Comparator<List<Integer>>()
+        {
+            @Override
+            public int compare(List<Integer> chunk1, List<Integer> chunk2)
+            {
+                return Integer.compare(chunk2.size(), chunk1.size());
+            }
+        });
+
+        int batchCount = Math.min(maxParallelism, chunks.size());
+        for (int i = 0; i < batchCount; i++)
+        {
+            batches.add(new ArrayList<Integer>());
+        }
+
+        for (List<Integer> chunk : chunks)
+        {
+            List<Integer> smallestBatch = batches.get(0);
+            for (List<Integer> batch : batches)
+            {
+                if (batch.size() < smallestBatch.size())
+                {
+                    smallestBatch = batch;
+                }
+            }
+            smallestBatch.addAll(chunk);
+        }
+
+        return batches;
+    }
+}
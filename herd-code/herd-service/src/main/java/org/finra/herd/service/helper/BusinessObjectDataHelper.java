@@ -1256,6 +1256,9 @@ public class BusinessObjectDataHelper
             boolean validateFileExistence = storageDaoHelper
                 .getBooleanStorageAttributeValueByName(configurationHelper.getProperty(ConfigurationValue.S3_ATTRIBUTE_NAME_VALIDATE_FILE_EXISTENCE),
                     storageEntity, false, true);
+            boolean validateFileSize = storageDaoHelper
+                .getBooleanStorageAttributeValueByName(configurationHelper.getProperty(ConfigurationValue.S3_ATTRIBUTE_NAME_VALIDATE_FILE_SIZE),
+                    storageEntity, false, true);
 
             // If the storage has any validation configured, get the expected S3 key prefix.
             String expectedS3KeyPrefix = null;
@@ -1308,7 +1311,7 @@ public class BusinessObjectDataHelper
 
             // Create the storage file entities.
             createStorageFileEntitiesFromStorageFiles(storageFiles, storageEntity, BooleanUtils.isTrue(storageUnit.isDiscoverStorageFiles()),
-                expectedS3KeyPrefix, storageUnitEntity, directoryPath, validatePathPrefix, validateFileExistence, isS3StoragePlatform);
+                expectedS3KeyPrefix, storageUnitEntity, directoryPath, validatePathPrefix, validateFileExistence, validateFileSize, isS3StoragePlatform);
         }
 
         return storageUnitEntities;
@@ -1339,7 +1342,7 @@ public class BusinessObjectDataHelper
 
     private List<StorageFileEntity> createStorageFileEntitiesFromStorageFiles(List<StorageFile> storageFiles, StorageEntity storageEntity,
         boolean storageFilesDiscovered, String expectedS3KeyPrefix, StorageUnitEntity storageUnitEntity, String directoryPath, boolean validatePathPrefix,
-        boolean validateFileExistence, boolean isS3StoragePlatform)
+        boolean validateFileExistence, boolean validateFileSize, boolean isS3StoragePlatform)
     {
         List<StorageFileEntity> storageFileEntities = null;
 
@@ -1351,14 +1354,14 @@ public class BusinessObjectDataHelper
 
             // If the validate file existence flag is configured for this storage and storage files were not discovered, prepare for S3 file validation.
             S3FileTransferRequestParamsDto params = null;
-            List<String> actualKeys = null;
+            Map<String, StorageFile> actualKeys = null;
             if (validateFileExistence && isS3StoragePlatform && !storageFilesDiscovered)
             {
                 // Get the validate file parameters.
                 params = getFileValidationParams(storageEntity, expectedS3KeyPrefix, storageUnitEntity, validatePathPrefix);
 
                 // When listing S3 files, we ignore 0 byte objects that represent S3 directories.
-                actualKeys = storageFileHelper.getFilePaths(s3Service.listDirectory(params, true));
+                actualKeys = storageFileHelper.getStorageFilesMapFromStorageFiles(s3Service.listDirectory(params, true));
             }
 
             // If the validate path prefix flag is configured, ensure that there are no storage files already registered in this
@@ -1405,10 +1408,9 @@ public class BusinessObjectDataHelper
                     }
 
                     // Ensure the file exists in S3 if the validate file existence flag is configured for this storage.
-                    if (validateFileExistence && isS3StoragePlatform && !actualKeys.contains(storageFileEntity.getPath()))
+                    if (validateFileExistence && isS3StoragePlatform)
                     {
-                        throw new ObjectNotFoundException(
-                            String.format("File not found at s3://%s/%s location.", params.getS3BucketName(), storageFileEntity.getPath()));
+                        storageFileHelper.validateStorageFile(storageFile, actualKeys, params.getS3BucketName(), validateFileSize);
                     }
                 }
             }
@@ -0,0 +1,338 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.service.helper;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.log4j.Logger;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import org.springframework.util.concurrent.SettableListenableFuture;
+
+import org.finra.herd.core.helper.ConfigurationHelper;
+import org.finra.herd.model.dto.BusinessObjectDataNotificationEventDto;
+import org.finra.herd.model.dto.ConfigurationValue;
+import org.finra.herd.service.NotificationEventService;
+import org.finra.herd.service.config.ServiceSpringModuleConfig;
+
+/**
+ * Collects asynchronous business object data notification events over a short time window and processes them in batches on the notification event executor.
+ * A batch looks up notification registrations and business object data once for all its events, which keeps the database load low when many business object
+ * data statuses change at once. The events of a batch are isolated from each other, so an event that fails is reported through its own future and neither
+ * affects the other events nor causes their notification actions to be performed again.
+ */
+@Component
+public class BusinessObjectDataNotificationEventCoalescer implements InitializingBean, DisposableBean
+{
+    private static final Logger LOGGER = Logger.getLogger(BusinessObjectDataNotificationEventCoalescer.class);
+
+    @Autowired
+    private ConfigurationHelper configurationHelper;
+
+    // This is a regular dependency, so the notification event service is only destroyed after the pending events got processed upon shutdown. The
+    // notification event service in turn resolves this class lazily to break the circular dependency.
+    @Autowired
+    private NotificationEventService notificationEventService;
+
+    @Autowired
+    @Qualifier(ServiceSpringModuleConfig.NOTIFICATION_EVENT_EXECUTOR_BEAN_NAME)
+    private Executor notificationEventExecutor;
+
+    // The timer that hands collected events over to the notification event executor once the time window elapses.
+    private ScheduledThreadPoolExecutor flushScheduler;
+
+    // The events waiting to be processed. Guarded by the lock of this queue.
+    private final Queue<PendingEvent> pendingEvents = new LinkedList<>();
+
+    // Whether a flush of the pending events is already scheduled. Guarded by the lock of the pending events queue.
+    private boolean flushScheduled;
+
+    @Override
+    public void afterPropertiesSet()
+    {
+        flushScheduler = new ScheduledThreadPoolExecutor(1, new ThreadFactory()
+        {
+            @Override
+            public Thread newThread(Runnable runnable)
+            {
+                // Use a daemon thread, so the timer does not delay the JVM upon exiting.
+                Thread thread = new Thread(runnable, "herd-notification-event-coalescer");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
+    @Override
+    public void destroy()
+    {
+        flushScheduler.shutdownNow();
+
+        // Process the events that are still pending on the calling thread, so they are not lost.
+        List<PendingEvent> batch;
+        while (!(batch = pollBatch()).isEmpty())
+        {
+            processBatch(batch);
+        }
+    }
+
+    /**
+     * Adds a business object data notification event to be processed asynchronously.
+     *
+     * @param notificationEvent the notification event
+     *
+     * @return a future that is done once the event has been processed
+     */
+    public Future<Void> addEvent(BusinessObjectDataNotificationEventDto notificationEvent)
+    {
+        PendingEvent pendingEvent = new PendingEvent(notificationEvent);
+
+        long windowMillis = configurationHelper.getProperty(ConfigurationValue.NOTIFICATION_EVENT_COALESCING_WINDOW_MILLIS, Long.class);
+        int maxBatchSize = getMaxBatchSize();
+
+        boolean flushNow = false;
+        boolean scheduleFlush = false;
+        synchronized (pendingEvents)
+        {
+            pendingEvents.add(pendingEvent);
+
+            if (windowMillis <= 0 || pendingEvents.size() >= maxBatchSize)
+            {
+                // There is no reason to wait for more events.
+                flushScheduled = true;
+                flushNow = true;
+            }
+            else if (!flushScheduled)
+            {
+                flushScheduled = true;
+                scheduleFlush = true;
+            }
+        }
+
+        if (flushNow)
+        {
+            submitFlush();
+        }
+        else if (scheduleFlush)
+        {
+            try
+            {
+                flushScheduler.schedule(new Runnable()
+                {
+                    @Override
+                    public void run()
+                    {
+                        submitFlush();
+                    }
+                }, windowMillis, TimeUnit.MILLISECONDS);
+            }
+            catch (RejectedExecutionException e)
+            {
+                // The coalescer is shutting down and processes the pending events itself.
+                resetFlushScheduled();
+            }
+        }
+
+        return pendingEvent.future;
+    }
+
+    /**
+     * Gets the number of events waiting to be processed.
+     *
+     * @return the number of pending events
+     */
+    public int getPendingEventCount()
+    {
+        synchronized (pendingEvents)
+        {
+            return pendingEvents.size();
+        }
+    }
+
+    /**
+     * Submits a flush of the pending events to the notification event executor. When the executor rejects the flush, the pending events are processed on the
+     * coalescer thread instead, so they are not left behind. When the coalescer is shutting down, the flag of the scheduled flush gets reset, so a later event
+     * schedules a flush again.
+     */
+    private void submitFlush()
+    {
+        Runnable flushTask = new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                flush();
+            }
+        };
+
+        try
+        {
+            notificationEventExecutor.execute(flushTask);
+        }
+        catch (RejectedExecutionException e)
+        {
+            LOGGER.warn("The notification event executor rejected the processing of the pending notification events. Processing them on the coalescer " +
+                "thread.", e);
+            try
+            {
+                flushScheduler.execute(flushTask);
+            }
+            catch (RejectedExecutionException schedulerException)
+            {
+                resetFlushScheduled();
+            }
+        }
+    }
+
+    /**
+     * Resets the flag of the scheduled flush.
+     */
+    private void resetFlushScheduled()
+    {
+        synchronized (pendingEvents)
+        {
+            flushScheduled = false;
+        }
+    }
+
+    /**
+     * Processes one batch of the pending events. When more events remain than fit in the batch, another flush is submitted for them right away.
+     */
+    private void flush()
+    {
+        List<PendingEvent> batch = pollBatch();
+
+        boolean eventsRemaining;
+        synchronized (pendingEvents)
+        {
+            eventsRemaining = !pendingEvents.isEmpty();
+            flushScheduled = eventsRemaining;
+        }
+
+        if (eventsRemaining)
+        {
+            submitFlush();
+        }
+
+        if (!batch.isEmpty())
+        {
+            processBatch(batch);
+        }
+    }
+
+    /**
+     * Removes up to the maximum batch size of events from the pending events.
+     *
+     * @return the batch of events, possibly empty
+     */
+    private List<PendingEvent> pollBatch()
+    {
+        int maxBatchSize = getMaxBatchSize();
+
+        List<PendingEvent> batch = new ArrayList<>();
+        synchronized (pendingEvents)
+        {
+            while (!pendingEvents.isEmpty() && batch.size() < maxBatchSize)
+            {
+                batch.add(pendingEvents.poll());
+            }
+        }
+        return batch;
+    }
+
+    /**
+     * Processes a batch of events. The future of every event that failed is completed with its failure. When the batch fails as a whole, which only happens
+     * before any of its events got processed, the futures of all its events are completed with that failure. The events are not processed again in either
+     * case, so the notification actions of the events that succeeded are never repeated.
+     *
+     * @param batch the batch of events
+     */
+    private void processBatch(List<PendingEvent> batch)
+    {
+        List<BusinessObjectDataNotificationEventDto> notificationEvents = new ArrayList<>();
+        for (PendingEvent pendingEvent : batch)
+        {
+            notificationEvents.add(pendingEvent.notificationEvent);
+        }
+
+        Map<BusinessObjectDataNotificationEventDto, RuntimeException> failedNotificationEvents = new IdentityHashMap<>();
+        try
+        {
+            notificationEventService.processBusinessObjectDataNotificationEventsSync(notificationEvents, failedNotificationEvents);
+        }
+        catch (RuntimeException e)
+        {
+            LOGGER.error(String.format("Failed to process a batch of %d business object data notification events.", batch.size()), e);
+            for (PendingEvent pendingEvent : batch)
+            {
+                pendingEvent.future.setException(e);
+            }
+            return;
+        }
+
+        for (PendingEvent pendingEvent : batch)
+        {
+            RuntimeException eventException = failedNotificationEvents.get(pendingEvent.notificationEvent);
+            if (eventException == null)
+            {
+                pendingEvent.future.set(null);
+            }
+            else
+            {
+                pendingEvent.future.setException(eventException);
+            }
+        }
+    }
+
+    /**
+     * Gets the configured maximum batch size.
+     *
+     * @return the maximum number of events processed together
+     */
+    private int getMaxBatchSize()
+    {
+        return Math.max(1, configurationHelper.getProperty(ConfigurationValue.NOTIFICATION_EVENT_COALESCING_MAX_BATCH_SIZE, Integer.class));
+    }
+
+    /**
+     * An event waiting to be processed along with the future of its caller.
+     */
+    private static class PendingEvent
+    {
+        private final BusinessObjectDataNotificationEventDto notificationEvent;
+
+        private final SettableListenableFuture<Void> future = new SettableListenableFuture<>();
+
+        private PendingEvent(BusinessObjectDataNotificationEventDto notificationEvent)
+        {
+            this.notificationEvent = notificationEvent;
+        }
+    }
+}
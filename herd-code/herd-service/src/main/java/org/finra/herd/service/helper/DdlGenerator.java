@@ -15,6 +15,8 @@
 */
 package org.finra.herd.service.helper;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.util.List;
 import java.util.Map;
 
@@ -68,5 +70,23 @@ public abstract class DdlGenerator
     public abstract String generateCreateTableDdl(BusinessObjectDataDdlRequest request, BusinessObjectFormatEntity businessObjectFormatEntity,
         CustomDdlEntity customDdlEntity, List<String> storageNames, List<StorageEntity> storageEntities, Map<StorageEntity, String> s3BucketNames);
 
+    /**
+     * This method generates the create table DDL as per specified business object data DDL request and writes it to the specified writer while it is being
+     * generated, so the complete DDL does not have to be kept in memory.
+     *
+     * @param request the business object data DDL request
+     * @param businessObjectFormatEntity the business object format entity
+     * @param customDdlEntity the optional custom DDL entity
+     * @param storageNames the list of storage names
+     * @param storageEntities the list of storage entities
+     * @param s3BucketNames the map of storage entities to the relative S3 bucket names
+     * @param writer the writer to write the generated DDL to
+     *
+     * @throws IOException if an I/O error occurs while writing the DDL
+     */
+    public abstract void generateCreateTableDdl(BusinessObjectDataDdlRequest request, BusinessObjectFormatEntity businessObjectFormatEntity,
+        CustomDdlEntity customDdlEntity, List<String> storageNames, List<StorageEntity> storageEntities, Map<StorageEntity, String> s3BucketNames,
+        Writer writer) throws IOException;
+
     public abstract String generateReplaceColumnsStatement(BusinessObjectFormatDdlRequest request, BusinessObjectFormatEntity businessObjectFormatEntity);
 }
@@ -16,20 +16,31 @@
 package org.finra.herd.service.helper;
 
 import java.net.URLDecoder;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
 
 import com.amazonaws.services.s3.event.S3EventNotification;
+import com.amazonaws.services.s3.event.S3EventNotification.S3EventNotificationRecord;
 import org.apache.commons.lang3.CharEncoding;
 import org.apache.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.jms.annotation.JmsListener;
 import org.springframework.messaging.handler.annotation.Headers;
 import org.springframework.stereotype.Component;
+import org.springframework.util.CollectionUtils;
 
 import org.finra.herd.model.jpa.NotificationEventTypeEntity;
 import org.finra.herd.service.NotificationEventService;
 import org.finra.herd.service.SqsNotificationEventService;
 import org.finra.herd.service.UploadDownloadService;
+import org.finra.herd.service.config.ServiceSpringModuleConfig;
 import org.finra.herd.service.impl.UploadDownloadServiceImpl.CompleteUploadSingleMessageResult;
 
 /*
@@ -52,6 +63,10 @@ public class HerdJmsMessageListener
     @Autowired
     private NotificationEventService notificationEventService;
 
+    @Autowired
+    @Qualifier(ServiceSpringModuleConfig.S3_EVENT_RECORD_EXECUTOR_BEAN_NAME)
+    private Executor s3EventRecordExecutor;
+
     /**
      * Processes a JMS message.
      *
@@ -65,11 +80,13 @@ public class HerdJmsMessageListener
             .format("JMS message received from \"%s\" queue. Headers: \"%s\" Payload: \"%s\"", HerdJmsDestinationResolver.SQS_DESTINATION_HERD_INCOMING,
                 allHeaders, payload));
 
-        // Process the message as S3 notification.
-        boolean messageProcessed = processS3Notification(payload);
-
-        // If message is not processed as S3 notification, then process it as ESB system monitor message.
-        if (!messageProcessed)
+        // S3 event notifications are JSON documents, while ESB system monitor messages are XML documents.
+        boolean messageProcessed;
+        if (isJsonDocument(payload))
+        {
+            messageProcessed = processS3Notification(payload);
+        }
+        else
         {
             messageProcessed = processEsbSystemMonitorMessage(payload);
         }
@@ -83,21 +100,126 @@ public class HerdJmsMessageListener
     }
 
     /**
-     * Process the message as S3 notification.
+     * Determines whether the payload is a JSON document by looking at its first non-whitespace character.
      *
      * @param payload the JMS message payload.
      *
-     * @return boolean whether message was processed.
+     * @return true if the payload is a JSON document, false otherwise.
+     */
+    private boolean isJsonDocument(String payload)
+    {
+        if (payload != null)
+        {
+            for (int i = 0; i < payload.length(); i++)
+            {
+                char character = payload.charAt(i);
+                if (!Character.isWhitespace(character))
+                {
+                    return character == '{';
+                }
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Process the message as S3 notification. All the records of the notification get processed. When there is more than one record, the records are
+     * processed concurrently on the S3 event record executor.
+     *
+     * @param payload the JMS message payload.
+     *
+     * @return boolean whether all the records of the message were processed.
      */
     private boolean processS3Notification(String payload)
     {
-        boolean messageProcessed = false;
+        S3EventNotification s3EventNotification;
+        try
+        {
+            s3EventNotification = S3EventNotification.parseJson(payload);
+        }
+        catch (Exception e)
+        {
+            LOGGER.debug(String.format("Failed to parse JMS message from \"%s\" queue. Payload: \"%s\" as an S3 notification.",
+                HerdJmsDestinationResolver.SQS_DESTINATION_HERD_INCOMING, payload), e);
+            return false;
+        }
+
+        List<S3EventNotificationRecord> records = s3EventNotification.getRecords();
+        if (CollectionUtils.isEmpty(records))
+        {
+            return false;
+        }
+
+        // A single record is processed on the listener thread, which saves the hand-off to the executor for the most common case.
+        if (records.size() == 1)
+        {
+            return processS3NotificationRecord(records.get(0));
+        }
+
+        List<FutureTask<Boolean>> tasks = new ArrayList<>();
+        for (final S3EventNotificationRecord record : records)
+        {
+            FutureTask<Boolean> task = new FutureTask<>(new Callable<Boolean>()
+            {
+                @Override
+                public Boolean call()
+                {
+                    return processS3NotificationRecord(record);
+                }
+            });
+            tasks.add(task);
+
+            try
+            {
+                s3EventRecordExecutor.execute(task);
+            }
+            catch (RejectedExecutionException e)
+            {
+                // The executor is saturated or shutting down, so process the record on the listener thread.
+                task.run();
+            }
+        }
+
+        // Wait for all the records, so the message only gets acknowledged once every record is done.
+        boolean messageProcessed = true;
+        for (FutureTask<Boolean> task : tasks)
+        {
+            try
+            {
+                messageProcessed &= task.get();
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+                LOGGER.warn("Interrupted while waiting for the records of an S3 notification to be processed.", e);
+                return false;
+            }
+            catch (ExecutionException e)
+            {
+                LOGGER.warn("Failed to process a record of an S3 notification.", e.getCause());
+                messageProcessed = false;
+            }
+        }
+
+        return messageProcessed;
+    }
+
+    /**
+     * Processes a single record of an S3 notification.
+     *
+     * @param record the S3 event notification record.
+     *
+     * @return boolean whether the record was processed.
+     */
+    private boolean processS3NotificationRecord(S3EventNotificationRecord record)
+    {
+        boolean recordProcessed = false;
+        String objectKey = null;
 
         try
         {
-            // Process messages coming from S3 bucket.
-            S3EventNotification s3EventNotification = S3EventNotification.parseJson(payload);
-            String objectKey = URLDecoder.decode(s3EventNotification.getRecords().get(0).getS3().getObject().getKey(), CharEncoding.UTF_8);
+            objectKey = URLDecoder.decode(record.getS3().getObject().getKey(), CharEncoding.UTF_8);
 
             // Perform the complete upload single file.
             CompleteUploadSingleMessageResult returnValues = uploadDownloadService.performCompleteUploadSingleMessage(objectKey);
@@ -108,7 +230,7 @@ public class HerdJmsMessageListener
                 returnValues.getSourceNewStatus(), herdHelper.businessObjectDataKeyToString(returnValues.getTargetBusinessObjectDataKey()),
                 returnValues.getTargetOldStatus(), returnValues.getTargetNewStatus()));
 
-            messageProcessed = true;
+            recordProcessed = true;
 
             // Create business object data notification for the source business object data.
             notificationEventService.processBusinessObjectDataNotificationEventAsync(NotificationEventTypeEntity.EventTypesBdata.BUS_OBJCT_DATA_STTS_CHG,
@@ -120,11 +242,11 @@ public class HerdJmsMessageListener
         }
         catch (Exception e)
         {
-            LOGGER.debug(String.format("Failed to process JMS message from \"%s\" queue. Payload: \"%s\" for an S3 notification.",
-                HerdJmsDestinationResolver.SQS_DESTINATION_HERD_INCOMING, payload), e);
+            LOGGER.warn(String.format("Failed to process the S3 notification record for object key \"%s\" from \"%s\" queue.", objectKey,
+                HerdJmsDestinationResolver.SQS_DESTINATION_HERD_INCOMING), e);
         }
 
-        return messageProcessed;
+        return recordProcessed;
     }
 
     /**
@@ -15,7 +15,11 @@
 */
 package org.finra.herd.service.helper;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
@@ -25,18 +29,21 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
-import org.apache.commons.collections4.MultiValuedMap;
 import org.apache.commons.io.Charsets;
 import org.apache.commons.lang3.BooleanUtils;
 import org.apache.commons.lang3.CharUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Component;
 import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
 
 import org.finra.herd.core.helper.ConfigurationHelper;
 import org.finra.herd.dao.HerdDao;
+import org.finra.herd.dao.StorageFilePathCallbackHandler;
+import org.finra.herd.dao.config.DaoSpringModuleConfig;
 import org.finra.herd.model.ObjectNotFoundException;
 import org.finra.herd.model.api.xml.BusinessObjectDataDdlOutputFormatEnum;
 import org.finra.herd.model.api.xml.BusinessObjectDataDdlRequest;
@@ -82,6 +89,23 @@ public class Hive13DdlGenerator extends DdlGenerator
         private List<String> storageNames;
         private List<StorageEntity> storageEntities;
         private Map<StorageEntity, String> s3BucketNames;
+        private Writer writer;
+        private boolean ddlWritten;
+        private HiveAddPartitionDdlTemplate hiveAddPartitionDdlTemplate;
+        private Map<Integer, HivePathSplitter> hivePathSplitters = new HashMap<>();
+    }
+
+    /**
+     * The per storage unit state accumulated while storage file paths are being streamed for DDL generation.
+     */
+    private static class StorageUnitDdlContext
+    {
+        private StorageUnitEntity storageUnitEntity;
+        private BusinessObjectDataKey businessObjectDataKey;
+        private String s3KeyPrefix;
+        private HivePathSplitter hivePathSplitter;
+        private Map<List<String>, HivePartitionDto> hivePartitions = new LinkedHashMap<>();
+        private int storageFileCount;
     }
 
     @Autowired
@@ -105,6 +129,9 @@ public class Hive13DdlGenerator extends DdlGenerator
     @Autowired
     private StorageDaoHelper storageDaoHelper;
 
+    @Autowired
+    private CacheManager cacheManager;
+
     /**
      * Hive file format for text files.
      */
@@ -178,6 +205,48 @@ public class Hive13DdlGenerator extends DdlGenerator
     @Override
     public String generateCreateTableDdl(BusinessObjectDataDdlRequest request, BusinessObjectFormatEntity businessObjectFormatEntity,
         CustomDdlEntity customDdlEntity, List<String> storageNames, List<StorageEntity> storageEntities, Map<StorageEntity, String> s3BucketNames)
+    {
+        return generateCreateTableDdlHelper(
+            createGenerateDdlRequest(request, businessObjectFormatEntity, customDdlEntity, storageNames, storageEntities, s3BucketNames));
+    }
+
+    /**
+     * Generates the create table Hive 13 DDL as per specified business object data DDL request and writes it to the specified writer. The "add partition"
+     * statements are written out one batch of storage units at a time, as soon as the relative Hive partitions are resolved.
+     *
+     * @param request the business object data DDL request
+     * @param businessObjectFormatEntity the business object format entity
+     * @param customDdlEntity the optional custom DDL entity
+     * @param storageNames the list of storage names
+     * @param storageEntities the list of storage entities
+     * @param s3BucketNames the map of storage entities to the relative S3 bucket names
+     * @param writer the writer to write the create table Hive DDL to
+     *
+     * @throws IOException if an I/O error occurs while writing the DDL
+     */
+    @Override
+    public void generateCreateTableDdl(BusinessObjectDataDdlRequest request, BusinessObjectFormatEntity businessObjectFormatEntity,
+        CustomDdlEntity customDdlEntity, List<String> storageNames, List<StorageEntity> storageEntities, Map<StorageEntity, String> s3BucketNames,
+        Writer writer) throws IOException
+    {
+        generateCreateTableDdlHelper(
+            createGenerateDdlRequest(request, businessObjectFormatEntity, customDdlEntity, storageNames, storageEntities, s3BucketNames), writer);
+    }
+
+    /**
+     * Creates the DDL generation parameters as per specified business object data DDL request.
+     *
+     * @param request the business object data DDL request
+     * @param businessObjectFormatEntity the business object format entity
+     * @param customDdlEntity the optional custom DDL entity
+     * @param storageNames the list of storage names
+     * @param storageEntities the list of storage entities
+     * @param s3BucketNames the map of storage entities to the relative S3 bucket names
+     *
+     * @return the DDL generation parameters
+     */
+    private GenerateDdlRequest createGenerateDdlRequest(BusinessObjectDataDdlRequest request, BusinessObjectFormatEntity businessObjectFormatEntity,
+        CustomDdlEntity customDdlEntity, List<String> storageNames, List<StorageEntity> storageEntities, Map<StorageEntity, String> s3BucketNames)
     {
         // Get business object format key from the request.
         BusinessObjectFormatKey businessObjectFormatKey =
@@ -211,14 +280,34 @@ public class Hive13DdlGenerator extends DdlGenerator
         generateDdlRequest.storageNames = storageNames;
         generateDdlRequest.storageEntities = storageEntities;
         generateDdlRequest.s3BucketNames = s3BucketNames;
-        return generateCreateTableDdlHelper(generateDdlRequest);
+        return generateDdlRequest;
     }
 
     /**
-     * Generates and append to the string builder the create table Hive 13 DDL as per specified parameters.
+     * Generates the create table Hive 13 DDL as per specified parameters.
      */
     private String generateCreateTableDdlHelper(GenerateDdlRequest generateDdlRequest)
     {
+        StringWriter stringWriter = new StringWriter();
+        try
+        {
+            generateCreateTableDdlHelper(generateDdlRequest, stringWriter);
+        }
+        catch (IOException e)
+        {
+            // This should never happen, since a string writer does not throw I/O exceptions.
+            throw new IllegalStateException(e);
+        }
+        return stringWriter.toString();
+    }
+
+    /**
+     * Generates the create table Hive 13 DDL as per specified parameters and writes it to the specified writer.
+     */
+    private void generateCreateTableDdlHelper(GenerateDdlRequest generateDdlRequest, Writer writer) throws IOException
+    {
+        generateDdlRequest.writer = writer;
+
         // TODO: We might want to consider using a template engine such as Velocity to generate this DDL so we don't wind up just doing string manipulation.
 
         StringBuilder sb = new StringBuilder();
@@ -297,21 +386,58 @@ public class Hive13DdlGenerator extends DdlGenerator
             sb.append(String.format("LOCATION '%s';", NON_PARTITIONED_TABLE_LOCATION_CUSTOM_DDL_TOKEN));
         }
 
-        // Trim to remove unnecessary end-of-line characters, if any, from the end of the generated DDL.
-        String resultDdl = sb.toString().trim();
+        // Write out the rest of the generated DDL.
+        writeDdl(generateDdlRequest, sb, replacements, true);
+    }
 
-        // For custom DDL, substitute the relative custom DDL tokens with their values.
-        if (generateDdlRequest.customDdlEntity != null)
+    /**
+     * Writes the DDL accumulated in the string builder to the writer and clears the string builder. The generated DDL gets trimmed as a whole, so the leading
+     * whitespace is skipped until some DDL is written, and the trailing whitespace is kept in the string builder until more DDL follows it.
+     *
+     * @param generateDdlRequest the DDL generation parameters
+     * @param sb the string builder with the DDL generated since the last write
+     * @param replacements the hash map of string values to be used to substitute the custom DDL tokens with their actual values
+     * @param complete specifies whether this is the end of the DDL, in which case the trailing whitespace gets discarded
+     *
+     * @throws IOException if an I/O error occurs while writing the DDL
+     */
+    private void writeDdl(GenerateDdlRequest generateDdlRequest, StringBuilder sb, Map<String, String> replacements, boolean complete) throws IOException
+    {
+        // Trim to remove unnecessary end-of-line characters, if any, from the beginning and the end of the generated DDL.
+        int start = 0;
+        int end = sb.length();
+        if (!generateDdlRequest.ddlWritten)
         {
-            for (Map.Entry<String, String> entry : replacements.entrySet())
+            while (start < end && sb.charAt(start) <= ' ')
             {
-                String token = entry.getKey();
-                String value = entry.getValue();
-                resultDdl = resultDdl.replaceAll(Pattern.quote(token), value);
+                start++;
             }
         }
+        while (end > start && sb.charAt(end - 1) <= ' ')
+        {
+            end--;
+        }
+        String resultDdl = sb.substring(start, end);
+        String trailingWhitespace = complete ? "" : sb.substring(end);
+        sb.setLength(0);
+        sb.append(trailingWhitespace);
+
+        if (!resultDdl.isEmpty())
+        {
+            // For custom DDL, substitute the relative custom DDL tokens with their values.
+            if (generateDdlRequest.customDdlEntity != null)
+            {
+                for (Map.Entry<String, String> entry : replacements.entrySet())
+                {
+                    String token = entry.getKey();
+                    String value = entry.getValue();
+                    resultDdl = resultDdl.replaceAll(Pattern.quote(token), value);
+                }
+            }
 
-        return resultDdl;
+            generateDdlRequest.writer.write(resultDdl);
+            generateDdlRequest.ddlWritten = true;
+        }
     }
 
     /**
@@ -388,6 +514,21 @@ public class Hive13DdlGenerator extends DdlGenerator
      */
     private String generateDdlColumns(BusinessObjectFormatEntity businessObjectFormatEntity, BusinessObjectFormat businessObjectFormat)
     {
+        // The column definitions only depend on the business object format, so they are served from the DDL fragments cache region when possible.
+        // The last update timestamp and the number of schema columns are a part of the key, so an updated business object format never reuses a stale fragment.
+        Cache cache = cacheManager.getCache(DaoSpringModuleConfig.DDL_FRAGMENTS_CACHE_NAME);
+        List<Object> cacheKey = null;
+        if (cache != null && businessObjectFormatEntity.getId() != null)
+        {
+            cacheKey = Arrays.<Object>asList(businessObjectFormatEntity.getId(), businessObjectFormatEntity.getUpdatedOn(),
+                businessObjectFormat.getSchema().getColumns().size());
+            String ddlColumns = cache.get(cacheKey, String.class);
+            if (ddlColumns != null)
+            {
+                return ddlColumns;
+            }
+        }
+
         StringBuilder sb = new StringBuilder();
         // Add schema columns.
         Boolean firstRow = true;
@@ -410,11 +551,18 @@ public class Hive13DdlGenerator extends DdlGenerator
                     ""));
         }
         sb.append(")\n");
-        return sb.toString();
+        String ddlColumns = sb.toString();
+
+        if (cacheKey != null)
+        {
+            cache.put(cacheKey, ddlColumns);
+        }
+
+        return ddlColumns;
     }
 
     private void processPartitionFiltersForGenerateDdl(GenerateDdlRequest generateDdlRequest, StringBuilder sb, HashMap<String, String> replacements,
-        BusinessObjectFormatEntity businessObjectFormatEntity, BusinessObjectFormat businessObjectFormat, String ifNotExistsOption)
+        BusinessObjectFormatEntity businessObjectFormatEntity, BusinessObjectFormat businessObjectFormat, String ifNotExistsOption) throws IOException
     {
         // Get the business object format key from the entity.
         BusinessObjectFormatKey businessObjectFormatKey = herdDaoHelper.getBusinessObjectFormatKey(generateDdlRequest.businessObjectFormatEntity);
@@ -468,26 +616,22 @@ public class Hive13DdlGenerator extends DdlGenerator
         }
         storageUnitEntities = new ArrayList<>(businessObjectDataToStorageUnitMap.values());
 
-        // Build a list of matched partition filters. Please note that each request partition
-        // filter might result in multiple available business object data entities.
-        List<List<String>> matchedAvailablePartitionFilters = new ArrayList<>();
-        for (StorageUnitEntity storageUnitEntity : storageUnitEntities)
-        {
-            matchedAvailablePartitionFilters
-                .add(herdDaoHelper.getPartitionFilter(storageUnitEntity.getBusinessObjectData(), generateDdlRequest.partitionFilters.get(0)));
-        }
-
         // Fail on any missing business object data unless the flag is set.
         if (generateDdlRequest.allowMissingData == null || !generateDdlRequest.allowMissingData)
         {
-            // Get a list of unmatched partition filters.
-            List<List<String>> unmatchedPartitionFilters = new ArrayList<>(generateDdlRequest.partitionFilters);
-            unmatchedPartitionFilters.removeAll(matchedAvailablePartitionFilters);
+            // Get a set of unmatched partition filters. Please note that each request partition
+            // filter might result in multiple available business object data entities.
+            PartitionFilterSet unmatchedPartitionFilters = new PartitionFilterSet(generateDdlRequest.partitionFilters);
+            for (StorageUnitEntity storageUnitEntity : storageUnitEntities)
+            {
+                unmatchedPartitionFilters.remove(herdDaoHelper.getPartitionFilter(storageUnitEntity.getBusinessObjectData(),
+                    generateDdlRequest.partitionFilters.get(0)));
+            }
 
             // Throw an exception if we have any unmatched partition filters.
             if (!unmatchedPartitionFilters.isEmpty())
             {
-                List<String> unmatchedPartitionFilter = unmatchedPartitionFilters.get(0);
+                List<String> unmatchedPartitionFilter = new ArrayList<>(unmatchedPartitionFilters.iterator().next());
                 // Replace all null partition values with an empty string.
                 for (int i = 0; i < unmatchedPartitionFilter.size(); i++)
                 {
@@ -541,6 +685,9 @@ public class Hive13DdlGenerator extends DdlGenerator
                     sb.append(");\n");
                 }
                 sb.append('\n');
+
+                // Write out the drop partition statements before resolving the partitions to add.
+                writeDdl(generateDdlRequest, sb, replacements, false);
             }
 
             // Process storage unit entities.
@@ -551,7 +698,8 @@ public class Hive13DdlGenerator extends DdlGenerator
 
     /**
      * Adds the relative "alter table add partition" statements for each storage unit entity. Please note that each request partition value might result in
-     * multiple available storage unit entities (subpartitions).
+     * multiple available storage unit entities (subpartitions). For a partitioned table, the storage units are processed in batches and the statements of
+     * each batch are written out before the next batch is processed, so only the Hive partitions of a single batch are kept in memory.
      *
      * @param sb the string builder to be updated with the "alter table add partition" statements
      * @param replacements the hash map of string values to be used to substitute the custom DDL tokens with their actual values
@@ -559,35 +707,115 @@ public class Hive13DdlGenerator extends DdlGenerator
      * @param businessObjectFormat the business object format
      * @param ifNotExistsOption specifies if generated DDL contains "if not exists" option
      * @param storageUnitEntities the list of storage unit entities
+     *
+     * @throws IOException if an I/O error occurs while writing the DDL
      */
     private void processStorageUnitsForGenerateDdl(GenerateDdlRequest generateDdlRequest, StringBuilder sb, HashMap<String, String> replacements,
+        BusinessObjectFormatEntity businessObjectFormatEntity, BusinessObjectFormat businessObjectFormat, String ifNotExistsOption,
+        List<StorageUnitEntity> storageUnitEntities) throws IOException
+    {
+        // The "add partition" statements only differ by the partition values and locations, so the rest of the statement is rendered once per table.
+        if (generateDdlRequest.isPartitioned)
+        {
+            generateDdlRequest.hiveAddPartitionDdlTemplate =
+                new HiveAddPartitionDdlTemplate(generateDdlRequest.tableName, ifNotExistsOption, businessObjectFormat.getSchema().getPartitions());
+        }
+
+        int batchSize = configurationHelper.getProperty(ConfigurationValue.BUSINESS_OBJECT_DATA_DDL_STORAGE_UNIT_BATCH_SIZE, Integer.class);
+        for (int i = 0; i < storageUnitEntities.size(); i += batchSize)
+        {
+            processStorageUnitBatchForGenerateDdl(generateDdlRequest, sb, replacements, businessObjectFormatEntity, businessObjectFormat, ifNotExistsOption,
+                storageUnitEntities.subList(i, Math.min(i + batchSize, storageUnitEntities.size())));
+
+            // Write out the statements generated for this batch. The DDL for a non-partitioned table is only written out once it is complete,
+            // since the table location still needs to be substituted in the custom DDL.
+            if (generateDdlRequest.isPartitioned)
+            {
+                writeDdl(generateDdlRequest, sb, replacements, false);
+            }
+        }
+    }
+
+    /**
+     * Adds the relative "alter table add partition" statements for a batch of storage unit entities.
+     *
+     * @param sb the string builder to be updated with the "alter table add partition" statements
+     * @param replacements the hash map of string values to be used to substitute the custom DDL tokens with their actual values
+     * @param businessObjectFormatEntity the business object format entity
+     * @param businessObjectFormat the business object format
+     * @param ifNotExistsOption specifies if generated DDL contains "if not exists" option
+     * @param storageUnitEntities the list of storage unit entities
+     */
+    private void processStorageUnitBatchForGenerateDdl(GenerateDdlRequest generateDdlRequest, StringBuilder sb, HashMap<String, String> replacements,
         BusinessObjectFormatEntity businessObjectFormatEntity, BusinessObjectFormat businessObjectFormat, String ifNotExistsOption,
         List<StorageUnitEntity> storageUnitEntities)
     {
         if (!CollectionUtils.isEmpty(storageUnitEntities))
         {
-            // Retrieve all storage file paths for the relative storage units loaded in a multi-valued map for easy access.
-            MultiValuedMap<Integer, String> storageUnitIdToStorageFilePathsMap = herdDao.getStorageFilePathsByStorageUnits(storageUnitEntities);
-
-            // Process all available business object data instances.
+            // Build the storage unit contexts, one per storage unit, keyed by storage unit id. We are using linked hash map to preserve the order of storage units.
+            final Map<Integer, StorageUnitDdlContext> storageUnitDdlContexts = new LinkedHashMap<>();
             for (StorageUnitEntity storageUnitEntity : storageUnitEntities)
             {
+                StorageUnitDdlContext storageUnitDdlContext = new StorageUnitDdlContext();
+                storageUnitDdlContext.storageUnitEntity = storageUnitEntity;
+
                 // Get business object data key and S3 key prefix for this business object data.
-                BusinessObjectDataKey businessObjectDataKey = herdDaoHelper.getBusinessObjectDataKey(storageUnitEntity.getBusinessObjectData());
-                String s3KeyPrefix =
-                    businessObjectDataHelper.buildS3KeyPrefix(storageUnitEntity.getBusinessObjectData().getBusinessObjectFormat(), businessObjectDataKey);
+                storageUnitDdlContext.businessObjectDataKey = herdDaoHelper.getBusinessObjectDataKey(storageUnitEntity.getBusinessObjectData());
+                storageUnitDdlContext.s3KeyPrefix = businessObjectDataHelper
+                    .buildS3KeyPrefix(storageUnitEntity.getBusinessObjectData().getBusinessObjectFormat(), storageUnitDdlContext.businessObjectDataKey);
 
-                // Retrieve storage file paths registered with this business object data in the specified storage.
-                Collection<String> storageFilePaths = storageUnitIdToStorageFilePathsMap.containsKey(storageUnitEntity.getId()) ?
-                    storageUnitIdToStorageFilePathsMap.get(storageUnitEntity.getId()) : new ArrayList<>();
+                if (generateDdlRequest.isPartitioned)
+                {
+                    // If the format version selected for DDL generation does not match the relative business object format version
+                    // that business object data is registered against, validate that the number of sub-partition values specified
+                    // for the business object data is less than the number of partition columns defined in schema for the format
+                    // selected for DDL generation.
+                    Assert.isTrue(
+                        businessObjectFormat.getSchema().getPartitions().size() > storageUnitDdlContext.businessObjectDataKey.getSubPartitionValues().size(),
+                        String.format("Number of subpartition values specified for the business object data is greater than or equal to " +
+                            "the number of partition columns defined in the schema of the business object format selected for DDL generation. " +
+                            "Business object data: {%s},  business object format: {%s}",
+                            herdHelper.businessObjectDataKeyToString(storageUnitDdlContext.businessObjectDataKey),
+                            herdDaoHelper.businessObjectFormatEntityAltKeyToString(businessObjectFormatEntity)));
 
-                // Validate storage file paths registered with this business object data in the specified storage.
-                // The validation check below is required even if we have no storage files registered.
-                storageDaoHelper
-                    .validateStorageFiles(storageFilePaths, s3KeyPrefix, storageUnitEntity.getBusinessObjectData(), storageUnitEntity.getStorage().getName());
+                    // Get partition information. For multiple level partitioning, auto-discover subpartitions (subdirectories)
+                    // not already included into the S3 key prefix. Each discovered partition requires a standalone "add partition" clause.
+                    // Get a list of subpartitions not already included into the S3 key prefix.
+                    int subPartitionValuesCount = herdHelper.getCollectionSize(storageUnitDdlContext.businessObjectDataKey.getSubPartitionValues());
+                    List<SchemaColumn> autoDiscoverableSubPartitionColumns = businessObjectFormat.getSchema().getPartitions()
+                        .subList(1 + subPartitionValuesCount, businessObjectFormat.getSchema().getPartitions().size());
+                    // The auto-discoverable sub-partition columns only depend on the number of sub-partition values, so the path splitters are reused.
+                    HivePathSplitter hivePathSplitter = generateDdlRequest.hivePathSplitters.get(subPartitionValuesCount);
+                    if (hivePathSplitter == null)
+                    {
+                        hivePathSplitter = new HivePathSplitter(autoDiscoverableSubPartitionColumns, getHivePathPattern(autoDiscoverableSubPartitionColumns));
+                        generateDdlRequest.hivePathSplitters.put(subPartitionValuesCount, hivePathSplitter);
+                    }
+                    storageUnitDdlContext.hivePathSplitter = hivePathSplitter;
+                }
+
+                storageUnitDdlContexts.put(storageUnitEntity.getId(), storageUnitDdlContext);
+            }
+
+            // Stream all storage file paths for the relative storage units and feed them to their storage unit contexts one at a time, so we never have to
+            // keep all of the storage file paths in memory. Only the discovered Hive partitions are retained for each storage unit.
+            herdDao.processStorageFilePathsByStorageUnits(storageUnitEntities, new StorageFilePathCallbackHandler()
+            {
+                @Override
+                public void processStorageFilePath(Integer storageUnitId, String storageFilePath)
+                {
+                    processStorageFilePathForGenerateDdl(storageUnitDdlContexts.get(storageUnitId), storageFilePath);
+                }
+            });
+
+            // Process all available business object data instances.
+            for (StorageUnitDdlContext storageUnitDdlContext : storageUnitDdlContexts.values())
+            {
+                StorageUnitEntity storageUnitEntity = storageUnitDdlContext.storageUnitEntity;
+                String s3KeyPrefix = storageUnitDdlContext.s3KeyPrefix;
 
                 // If there are no storage files registered for this storage unit, we should use the storage directory path value.
-                if (storageFilePaths.isEmpty())
+                if (storageUnitDdlContext.storageFileCount == 0)
                 {
                     // Validate that directory path value is present and it matches the S3 key prefix.
                     Assert.isTrue(storageUnitEntity.getDirectoryPath() != null && storageUnitEntity.getDirectoryPath().startsWith(s3KeyPrefix), String.format(
@@ -595,9 +823,9 @@ public class Hive13DdlGenerator extends DdlGenerator
                             "in \"%s\" storage does not match the expected S3 key prefix \"%s\".", storageUnitEntity.getDirectoryPath(),
                         herdDaoHelper.businessObjectDataEntityAltKeyToString(storageUnitEntity.getBusinessObjectData()),
                         storageUnitEntity.getStorage().getName(), s3KeyPrefix));
-                    // Add storage directory path the empty storage files list.
+                    // Use storage directory path in place of the storage files.
                     // We add a trailing '/' character to the path, since it represents a directory.
-                    storageFilePaths.add(storageUnitEntity.getDirectoryPath() + "/");
+                    processStorageFilePathForGenerateDdl(storageUnitDdlContext, storageUnitEntity.getDirectoryPath() + "/");
                 }
 
                 // Retrieve the s3 bucket name.
@@ -619,38 +847,10 @@ public class Hive13DdlGenerator extends DdlGenerator
 
                 if (generateDdlRequest.isPartitioned)
                 {
-                    // If the format version selected for DDL generation does not match the relative business object format version
-                    // that business object data is registered against, validate that the number of sub-partition values specified
-                    // for the business object data is less than the number of partition columns defined in schema for the format
-                    // selected for DDL generation.
-                    Assert.isTrue(businessObjectFormat.getSchema().getPartitions().size() > businessObjectDataKey.getSubPartitionValues().size(),
-                        String.format("Number of subpartition values specified for the business object data is greater than or equal to " +
-                            "the number of partition columns defined in the schema of the business object format selected for DDL generation. " +
-                            "Business object data: {%s},  business object format: {%s}", herdHelper.businessObjectDataKeyToString(businessObjectDataKey),
-                            herdDaoHelper.businessObjectFormatEntityAltKeyToString(businessObjectFormatEntity)));
-
-                    // Get partition information. For multiple level partitioning, auto-discover subpartitions (subdirectories)
-                    // not already included into the S3 key prefix. Each discovered partition requires a standalone "add partition" clause.
-                    // Get a list of subpartitions not already included into the S3 key prefix.
-                    int subPartitionValuesCount = herdHelper.getCollectionSize(businessObjectDataKey.getSubPartitionValues());
-                    List<SchemaColumn> autoDiscoverableSubPartitionColumns = businessObjectFormat.getSchema().getPartitions()
-                        .subList(1 + subPartitionValuesCount, businessObjectFormat.getSchema().getPartitions().size());
-
-                    for (HivePartitionDto hivePartition : getHivePartitions(businessObjectDataKey, autoDiscoverableSubPartitionColumns, s3KeyPrefix,
-                        storageFilePaths, storageUnitEntity.getBusinessObjectData(), storageUnitEntity.getStorage().getName()))
+                    for (HivePartitionDto hivePartition : storageUnitDdlContext.hivePartitions.values())
                     {
-                        sb.append(String.format("ALTER TABLE `%s` ADD %sPARTITION (", generateDdlRequest.tableName, ifNotExistsOption));
-                        // Specify all partition column values.
-                        List<String> partitionKeyValuePairs = new ArrayList<>();
-                        for (int i = 0; i < businessObjectFormat.getSchema().getPartitions().size(); i++)
-                        {
-                            String partitionColumnName = businessObjectFormat.getSchema().getPartitions().get(i).getName();
-                            String partitionValue = hivePartition.getPartitionValues().get(i);
-                            partitionKeyValuePairs.add(String.format("`%s`='%s'", partitionColumnName, partitionValue));
-                        }
-                        sb.append(StringUtils.join(partitionKeyValuePairs, ", "));
-                        sb.append(String.format(") LOCATION 's3n://%s/%s%s';\n", s3BucketName, s3KeyPrefix,
-                            StringUtils.isNotBlank(hivePartition.getPath()) ? hivePartition.getPath() : ""));
+                        generateDdlRequest.hiveAddPartitionDdlTemplate
+                            .appendAddPartitionStatement(sb, hivePartition.getPartitionValues(), s3BucketName, s3KeyPrefix, hivePartition.getPath());
                     }
                 }
                 else // This is a non-partitioned table.
@@ -674,6 +874,31 @@ public class Hive13DdlGenerator extends DdlGenerator
         }
     }
 
+    /**
+     * Processes a single storage file path registered with a storage unit. The storage file path gets validated against the S3 key prefix and, for a
+     * partitioned table, it is used to discover the relative Hive partition.
+     *
+     * @param storageUnitDdlContext the context of the storage unit that the storage file is registered with
+     * @param storageFilePath the storage file path
+     */
+    private void processStorageFilePathForGenerateDdl(StorageUnitDdlContext storageUnitDdlContext, String storageFilePath)
+    {
+        StorageUnitEntity storageUnitEntity = storageUnitDdlContext.storageUnitEntity;
+
+        // Validate storage file path registered with this business object data in the specified storage.
+        storageDaoHelper.validateStorageFiles(Arrays.asList(storageFilePath), storageUnitDdlContext.s3KeyPrefix, storageUnitEntity.getBusinessObjectData(),
+            storageUnitEntity.getStorage().getName());
+
+        // Discover the Hive partition for this storage file path, if the table is partitioned.
+        if (storageUnitDdlContext.hivePathSplitter != null)
+        {
+            addHivePartition(storageUnitDdlContext.hivePartitions, storageUnitDdlContext.businessObjectDataKey, storageUnitDdlContext.hivePathSplitter,
+                storageUnitDdlContext.s3KeyPrefix, storageFilePath, storageUnitEntity.getBusinessObjectData(), storageUnitEntity.getStorage().getName());
+        }
+
+        storageUnitDdlContext.storageFileCount++;
+    }
+
     /**
      * Gets a list of Hive partitions. For single level partitioning, no auto-discovery of sub-partitions (sub-directories) is needed - the business object data
      * will be represented by a single Hive partition instance. For multiple level partitioning, this method performs an auto-discovery of all sub-partitions
@@ -694,54 +919,71 @@ public class Hive13DdlGenerator extends DdlGenerator
         // We are using linked hash map to preserve the order of the discovered partitions.
         LinkedHashMap<List<String>, HivePartitionDto> linkedHashMap = new LinkedHashMap<>();
 
-        Pattern pattern = getHivePathPattern(autoDiscoverableSubPartitionColumns);
+        HivePathSplitter hivePathSplitter = new HivePathSplitter(autoDiscoverableSubPartitionColumns, getHivePathPattern(autoDiscoverableSubPartitionColumns));
         for (String storageFile : storageFiles)
         {
-            // Remove S3 key prefix from the file path. Please note that the storage files are already validated to start with S3 key prefix.
-            String relativeFilePath = storageFile.substring(s3KeyPrefix.length());
+            addHivePartition(linkedHashMap, businessObjectDataKey, hivePathSplitter, s3KeyPrefix, storageFile, businessObjectDataEntity, storageName);
+        }
 
-            // Try to match the relative file path to the expected subpartition folders.
-            Matcher matcher = pattern.matcher(relativeFilePath);
-            Assert.isTrue(matcher.matches(), String.format("Registered storage file or directory does not match the expected Hive sub-directory pattern. " +
-                "Storage: {%s}, file/directory: {%s}, business object data: {%s}, S3 key prefix: {%s}, pattern: {^%s$}", storageName, storageFile,
-                herdDaoHelper.businessObjectDataEntityAltKeyToString(businessObjectDataEntity), s3KeyPrefix, pattern.pattern()));
-
-            // Add the top level partition value.
-            HivePartitionDto newHivePartition = new HivePartitionDto();
-            newHivePartition.getPartitionValues().add(businessObjectDataKey.getPartitionValue());
-            newHivePartition.getPartitionValues().addAll(businessObjectDataKey.getSubPartitionValues());
-            // Extract relative partition values.
-            for (int i = 1; i <= matcher.groupCount(); i++)
-            {
-                newHivePartition.getPartitionValues().add(matcher.group(i));
-            }
+        List<HivePartitionDto> hivePartitions = new ArrayList<>();
+        hivePartitions.addAll(linkedHashMap.values());
 
-            // Remove the trailing "/" plus an optional file name from the file path and store the result string as this partition relative path.
-            newHivePartition.setPath(relativeFilePath.replaceAll("/[^/]*$", ""));
+        return hivePartitions;
+    }
 
-            // Check if we already have that partition discovered - that would happen if partition contains multiple data files.
-            HivePartitionDto hivePartition = linkedHashMap.get(newHivePartition.getPartitionValues());
+    /**
+     * Discovers a Hive partition for the specified storage file and adds it to the map of already discovered partitions, unless it is already there.
+     *
+     * @param hivePartitions the map of partition values to the already discovered Hive partitions
+     * @param businessObjectDataKey the business object data key
+     * @param hivePathSplitter the splitter of the relative file paths into the Hive partition sub-directory values
+     * @param s3KeyPrefix the S3 key prefix
+     * @param storageFile the storage file
+     * @param businessObjectDataEntity the business object data entity
+     * @param storageName the storage name
+     */
+    private void addHivePartition(Map<List<String>, HivePartitionDto> hivePartitions, BusinessObjectDataKey businessObjectDataKey,
+        HivePathSplitter hivePathSplitter, String s3KeyPrefix, String storageFile, BusinessObjectDataEntity businessObjectDataEntity, String storageName)
+    {
+        // Remove S3 key prefix from the file path. Please note that the storage files are already validated to start with S3 key prefix.
+        String relativeFilePath = storageFile.substring(s3KeyPrefix.length());
 
-            if (hivePartition != null)
-            {
-                // Partition is already discovered, so just validate that the relative file paths match.
-                Assert.isTrue(hivePartition.getPath().equals(newHivePartition.getPath()), String.format(
-                    "Found two different locations for the same Hive partition. Storage: {%s}, business object data: {%s}, " +
-                        "S3 key prefix: {%s}, path[1]: {%s}, path[2]: {%s}", storageName,
-                    herdDaoHelper.businessObjectDataEntityAltKeyToString(businessObjectDataEntity), s3KeyPrefix, hivePartition.getPath(),
-                    newHivePartition.getPath()));
-            }
-            else
-            {
-                // Add this partition to the hash map of discovered partitions.
-                linkedHashMap.put(newHivePartition.getPartitionValues(), newHivePartition);
-            }
+        // Try to match the relative file path to the expected subpartition folders.
+        List<String> subPartitionValues = hivePathSplitter.split(relativeFilePath);
+        if (subPartitionValues == null)
+        {
+            throw new IllegalArgumentException(String.format("Registered storage file or directory does not match the expected Hive sub-directory pattern. " +
+                "Storage: {%s}, file/directory: {%s}, business object data: {%s}, S3 key prefix: {%s}, pattern: {^%s$}", storageName, storageFile,
+                herdDaoHelper.businessObjectDataEntityAltKeyToString(businessObjectDataEntity), s3KeyPrefix, hivePathSplitter.getHivePathPattern().pattern()));
         }
 
-        List<HivePartitionDto> hivePartitions = new ArrayList<>();
-        hivePartitions.addAll(linkedHashMap.values());
+        // Add the top level partition value.
+        HivePartitionDto newHivePartition = new HivePartitionDto();
+        newHivePartition.getPartitionValues().add(businessObjectDataKey.getPartitionValue());
+        newHivePartition.getPartitionValues().addAll(businessObjectDataKey.getSubPartitionValues());
+        // Extract relative partition values.
+        newHivePartition.getPartitionValues().addAll(subPartitionValues);
 
-        return hivePartitions;
+        // Remove the trailing "/" plus an optional file name from the file path and store the result string as this partition relative path.
+        newHivePartition.setPath(relativeFilePath.substring(0, relativeFilePath.lastIndexOf('/')));
+
+        // Check if we already have that partition discovered - that would happen if partition contains multiple data files.
+        HivePartitionDto hivePartition = hivePartitions.get(newHivePartition.getPartitionValues());
+
+        if (hivePartition != null)
+        {
+            // Partition is already discovered, so just validate that the relative file paths match.
+            Assert.isTrue(hivePartition.getPath().equals(newHivePartition.getPath()), String.format(
+                "Found two different locations for the same Hive partition. Storage: {%s}, business object data: {%s}, " +
+                    "S3 key prefix: {%s}, path[1]: {%s}, path[2]: {%s}", storageName,
+                herdDaoHelper.businessObjectDataEntityAltKeyToString(businessObjectDataEntity), s3KeyPrefix, hivePartition.getPath(),
+                newHivePartition.getPath()));
+        }
+        else
+        {
+            // Add this partition to the hash map of discovered partitions.
+            hivePartitions.put(newHivePartition.getPartitionValues(), newHivePartition);
+        }
     }
 
     /**
@@ -0,0 +1,85 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.service.helper;
+
+import java.util.List;
+
+import org.apache.commons.lang3.StringUtils;
+
+import org.finra.herd.model.api.xml.SchemaColumn;
+
+/**
+ * A pre-compiled template of the Hive "alter table add partition" statement for a table. All of the statement parts that do not depend on a partition, such as
+ * the table name and the back-quoted partition column names along with the surrounding quotes and separators, are rendered once when the template is created.
+ * Appending a statement for a partition then only requires concatenating the pre-rendered fragments with the partition values and the partition location.
+ * <p/>
+ * The generated statements look like:
+ * <pre>
+ *     ALTER TABLE `TABLE_NAME` ADD IF NOT EXISTS PARTITION (`COLUMN1`='value1', `COLUMN2`='value2') LOCATION 's3n://bucket/s3KeyPrefix/path';
+ * </pre>
+ * This class is immutable and thread safe.
+ */
+public class HiveAddPartitionDdlTemplate
+{
+    // The pre-rendered fragments that precede each partition value.
+    private final String[] partitionValuePrefixes;
+
+    // The pre-rendered fragment that follows the last partition value and precedes the S3 bucket name.
+    private final String locationPrefix;
+
+    /**
+     * Creates a template of the "alter table add partition" statement.
+     *
+     * @param tableName the table name
+     * @param ifNotExistsOption the "if not exists" option text, or an empty string if the option is not used
+     * @param partitionColumns the partition columns
+     */
+    public HiveAddPartitionDdlTemplate(String tableName, String ifNotExistsOption, List<SchemaColumn> partitionColumns)
+    {
+        partitionValuePrefixes = new String[partitionColumns.size()];
+        for (int i = 0; i < partitionColumns.size(); i++)
+        {
+            partitionValuePrefixes[i] =
+                String.format("%s`%s`='", i == 0 ? String.format("ALTER TABLE `%s` ADD %sPARTITION (", tableName, ifNotExistsOption) : "', ",
+                    partitionColumns.get(i).getName());
+        }
+        locationPrefix = partitionColumns.isEmpty() ? String.format("ALTER TABLE `%s` ADD %sPARTITION () LOCATION 's3n://", tableName, ifNotExistsOption) :
+            "') LOCATION 's3n://";
+    }
+
+    /**
+     * Appends the "alter table add partition" statement for a partition to the string builder.
+     *
+     * @param sb the string builder to append the statement to
+     * @param partitionValues the partition values, one per partition column
+     * @param s3BucketName the S3 bucket name
+     * @param s3KeyPrefix the S3 key prefix of the business object data
+     * @param path the optional path of the partition relative to the S3 key prefix
+     */
+    public void appendAddPartitionStatement(StringBuilder sb, List<String> partitionValues, String s3BucketName, String s3KeyPrefix, String path)
+    {
+        for (int i = 0; i < partitionValuePrefixes.length; i++)
+        {
+            sb.append(partitionValuePrefixes[i]).append(partitionValues.get(i));
+        }
+        sb.append(locationPrefix).append(s3BucketName).append('/').append(s3KeyPrefix);
+        if (StringUtils.isNotBlank(path))
+        {
+            sb.append(path);
+        }
+        sb.append("';\n");
+    }
+}
@@ -0,0 +1,219 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.service.helper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.commons.lang3.CharUtils;
+
+import org.finra.herd.model.api.xml.SchemaColumn;
+
+/**
+ * Splits the storage file paths relative to the S3 key prefix of business object data into the values of the auto-discoverable Hive sub-partitions. A
+ * relative path is expected to consist of one "/<COLUMN_NAME|COLUMN-NAME>=<VALUE>" sub-directory per sub-partition column, in order, followed by a trailing
+ * "/" and an optional file name. The partition column names are matched case-insensitively.
+ * <p/>
+ * For the standard layout, where the partition column names consist of ASCII letters, digits, underscores and hyphens only, the path is split by scanning
+ * for "/" characters, which avoids running a regular expression against every storage file path. For any other partition column names, the Hive path
+ * pattern is used. Both ways accept exactly the same paths.
+ * <p/>
+ * This class is immutable and thread safe.
+ */
+public class HivePathSplitter
+{
+    // The partition column names along with their variants that have all underscores replaced with hyphens. Null when the Hive path pattern is to be used.
+    private final String[] partitionColumnNames;
+
+    private final String[] hyphenatedPartitionColumnNames;
+
+    private final Pattern hivePathPattern;
+
+    /**
+     * Creates a splitter for the specified sub-partition columns.
+     *
+     * @param partitionColumns the auto-discoverable sub-partition columns
+     * @param hivePathPattern the pattern to match Hive partition sub-directories built for the same sub-partition columns
+     */
+    public HivePathSplitter(List<SchemaColumn> partitionColumns, Pattern hivePathPattern)
+    {
+        this.hivePathPattern = hivePathPattern;
+
+        String[] names = new String[partitionColumns.size()];
+        String[] hyphenatedNames = new String[partitionColumns.size()];
+        boolean standardLayout = true;
+        for (int i = 0; i < partitionColumns.size() && standardLayout; i++)
+        {
+            names[i] = partitionColumns.get(i).getName();
+            hyphenatedNames[i] = names[i].replace('_', '-');
+            standardLayout = isStandardPartitionColumnName(names[i]);
+        }
+
+        this.partitionColumnNames = standardLayout ? names : null;
+        this.hyphenatedPartitionColumnNames = standardLayout ? hyphenatedNames : null;
+    }
+
+    /**
+     * Gets the pattern to match Hive partition sub-directories this splitter is equivalent to.
+     *
+     * @return the Hive path pattern
+     */
+    public Pattern getHivePathPattern()
+    {
+        return hivePathPattern;
+    }
+
+    /**
+     * Returns whether the relative paths are split without using the Hive path pattern.
+     *
+     * @return true if the standard layout is used, false otherwise
+     */
+    public boolean isStandardLayout()
+    {
+        return partitionColumnNames != null;
+    }
+
+    /**
+     * Splits a storage file path relative to the S3 key prefix into the sub-partition values.
+     *
+     * @param relativeFilePath the relative storage file path, starting with a "/" character
+     *
+     * @return the list of sub-partition values in the order of the sub-partition columns, or null if the path does not match the expected layout
+     */
+    public List<String> split(String relativeFilePath)
+    {
+        if (partitionColumnNames == null)
+        {
+            return splitUsingPattern(relativeFilePath);
+        }
+
+        List<String> partitionValues = new ArrayList<>(partitionColumnNames.length);
+        int position = 0;
+        for (int i = 0; i < partitionColumnNames.length; i++)
+        {
+            // Each sub-partition sub-directory must be followed by another "/" character, since the path ends with a trailing "/" and an optional file name.
+            if (position >= relativeFilePath.length() || relativeFilePath.charAt(position) != '/')
+            {
+                return null;
+            }
+            int end = relativeFilePath.indexOf('/', position + 1);
+            if (end < 0)
+            {
+                return null;
+            }
+
+            // Match the "<COLUMN_NAME|COLUMN-NAME>=" part and make sure that the value is not empty.
+            int nameStart = position + 1;
+            int valueStart = nameStart + partitionColumnNames[i].length() + 1;
+            if (valueStart >= end || relativeFilePath.charAt(valueStart - 1) != '=' ||
+                !(regionMatchesIgnoreCase(relativeFilePath, nameStart, partitionColumnNames[i]) ||
+                    regionMatchesIgnoreCase(relativeFilePath, nameStart, hyphenatedPartitionColumnNames[i])))
+            {
+                return null;
+            }
+
+            partitionValues.add(relativeFilePath.substring(valueStart, end));
+            position = end;
+        }
+
+        // What remains must be the trailing "/" character followed by an optional file name.
+        if (position >= relativeFilePath.length() || relativeFilePath.charAt(position) != '/' || relativeFilePath.indexOf('/', position + 1) >= 0)
+        {
+            return null;
+        }
+
+        return partitionValues;
+    }
+
+    /**
+     * Splits a relative storage file path into the sub-partition values using the Hive path pattern.
+     *
+     * @param relativeFilePath the relative storage file path
+     *
+     * @return the list of sub-partition values, or null if the path does not match the pattern
+     */
+    private List<String> splitUsingPattern(String relativeFilePath)
+    {
+        Matcher matcher = hivePathPattern.matcher(relativeFilePath);
+        if (!matcher.matches())
+        {
+            return null;
+        }
+
+        List<String> partitionValues = new ArrayList<>(matcher.groupCount());
+        for (int i = 1; i <= matcher.groupCount(); i++)
+        {
+            partitionValues.add(matcher.group(i));
+        }
+
+        return partitionValues;
+    }
+
+    /**
+     * Returns whether the partition column name can be matched without a regular expression.
+     *
+     * @param partitionColumnName the partition column name
+     *
+     * @return true if the name consists of ASCII letters, digits, underscores and hyphens only, false otherwise
+     */
+    private static boolean isStandardPartitionColumnName(String partitionColumnName)
+    {
+        for (int i = 0; i < partitionColumnName.length(); i++)
+        {
+            char character = partitionColumnName.charAt(i);
+            if (!CharUtils.isAsciiAlphanumeric(character) && character != '_' && character != '-')
+            {
+                return false;
+            }
+        }
+        return !partitionColumnName.isEmpty();
+    }
+
+    /**
+     * Checks whether the string contains the specified name at the specified offset, ignoring the case of ASCII letters the same way the case-insensitive Hive
+     * path pattern does.
+     *
+     * @param string the string to check
+     * @param offset the offset within the string
+     * @param name the name to look for
+     *
+     * @return true if the name is found at the offset, false otherwise
+     */
+    private static boolean regionMatchesIgnoreCase(String string, int offset, String name)
+    {
+        if (offset + name.length() > string.length())
+        {
+            return false;
+        }
+        for (int i = 0; i < name.length(); i++)
+        {
+            char character1 = string.charAt(offset + i);
+            char character2 = name.charAt(i);
+            if (character1 != character2 && toLowerCaseAscii(character1) != toLowerCaseAscii(character2))
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static char toLowerCaseAscii(char character)
+    {
+        return character >= 'A' && character <= 'Z' ? (char) (character + ('a' - 'A')) : character;
+    }
+}
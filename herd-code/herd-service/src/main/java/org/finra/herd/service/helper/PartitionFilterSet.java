@@ -0,0 +1,208 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.service.helper;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An insertion ordered set of partition filters backed by a hash map, so adding, looking up and removing a partition filter takes constant time instead of the
+ * linear time of the equivalent list operations. A partition filter is a list of partition values, where a null value matches any partition value at its
+ * position. The set can optionally match the partition values case-insensitively, in which case it keeps the first added spelling of each partition filter.
+ * <p/>
+ * Unlike a list, the set never holds the same partition filter twice, so duplicate partition filters are collapsed into the first one added. Removing the
+ * matched partition filters from a list left every duplicate of an unmatched partition filter in place, whereas the set leaves it only once.
+ * <p/>
+ * This class is not thread safe.
+ */
+public class PartitionFilterSet implements Iterable<List<String>>
+{
+    // The partition filters keyed by their matching key, in the order they were added.
+    private final Map<List<String>, List<String>> partitionFilters = new LinkedHashMap<>();
+
+    private final boolean caseInsensitive;
+
+    /**
+     * Creates an empty set that matches partition values case-sensitively.
+     */
+    public PartitionFilterSet()
+    {
+        this(false);
+    }
+
+    /**
+     * Creates an empty set.
+     *
+     * @param caseInsensitive specifies whether to match partition values case-insensitively
+     */
+    public PartitionFilterSet(boolean caseInsensitive)
+    {
+        this.caseInsensitive = caseInsensitive;
+    }
+
+    /**
+     * Creates a set that matches partition values case-sensitively and contains the specified partition filters.
+     *
+     * @param partitionFilters the partition filters
+     */
+    public PartitionFilterSet(Collection<List<String>> partitionFilters)
+    {
+        this(partitionFilters, false);
+    }
+
+    /**
+     * Creates a set that contains the specified partition filters.
+     *
+     * @param partitionFilters the partition filters
+     * @param caseInsensitive specifies whether to match partition values case-insensitively
+     */
+    public PartitionFilterSet(Collection<List<String>> partitionFilters, boolean caseInsensitive)
+    {
+        this(caseInsensitive);
+        addAll(partitionFilters);
+    }
+
+    /**
+     * Adds a partition filter, unless the set already contains a matching one.
+     *
+     * @param partitionFilter the partition filter
+     *
+     * @return true if the partition filter got added, false otherwise
+     */
+    public boolean add(List<String> partitionFilter)
+    {
+        List<String> key = getKey(partitionFilter);
+        if (partitionFilters.containsKey(key))
+        {
+            return false;
+        }
+        partitionFilters.put(key, partitionFilter);
+        return true;
+    }
+
+    /**
+     * Adds the partition filters that the set does not contain yet.
+     *
+     * @param partitionFilters the partition filters
+     */
+    public void addAll(Collection<List<String>> partitionFilters)
+    {
+        for (List<String> partitionFilter : partitionFilters)
+        {
+            add(partitionFilter);
+        }
+    }
+
+    /**
+     * Determines whether the set contains a matching partition filter.
+     *
+     * @param partitionFilter the partition filter
+     *
+     * @return true if the set contains a matching partition filter, false otherwise
+     */
+    public boolean contains(List<String> partitionFilter)
+    {
+        return partitionFilters.containsKey(getKey(partitionFilter));
+    }
+
+    /**
+     * Removes the matching partition filter.
+     *
+     * @param partitionFilter the partition filter
+     *
+     * @return true if a matching partition filter got removed, false otherwise
+     */
+    public boolean remove(List<String> partitionFilter)
+    {
+        return partitionFilters.remove(getKey(partitionFilter)) != null;
+    }
+
+    /**
+     * Removes the partition filters matching any of the specified ones.
+     *
+     * @param partitionFilters the partition filters to remove
+     */
+    public void removeAll(Collection<List<String>> partitionFilters)
+    {
+        for (List<String> partitionFilter : partitionFilters)
+        {
+            remove(partitionFilter);
+        }
+    }
+
+    /**
+     * Gets the number of partition filters in the set.
+     *
+     * @return the number of partition filters
+     */
+    public int size()
+    {
+        return partitionFilters.size();
+    }
+
+    /**
+     * Determines whether the set is empty.
+     *
+     * @return true if the set contains no partition filters, false otherwise
+     */
+    public boolean isEmpty()
+    {
+        return partitionFilters.isEmpty();
+    }
+
+    /**
+     * Gets the partition filters in the order they were added. The returned list is a copy, so changing it does not affect the set.
+     *
+     * @return the list of partition filters
+     */
+    public List<List<String>> toList()
+    {
+        return new ArrayList<>(partitionFilters.values());
+    }
+
+    @Override
+    public Iterator<List<String>> iterator()
+    {
+        return partitionFilters.values().iterator();
+    }
+
+    @Override
+    public String toString()
+    {
+        return partitionFilters.values().toString();
+    }
+
+    /**
+     * Gets the matching key of a partition filter. The key is a copy, so later changes to the partition filter can not corrupt the set.
+     *
+     * @param partitionFilter the partition filter
+     *
+     * @return the matching key
+     */
+    private List<String> getKey(List<String> partitionFilter)
+    {
+        List<String> key = new ArrayList<>(partitionFilter.size());
+        for (String partitionValue : partitionFilter)
+        {
+            key.add(caseInsensitive && partitionValue != null ? partitionValue.toUpperCase() : partitionValue);
+        }
+        return key;
+    }
+}
@@ -16,10 +16,17 @@
 package org.finra.herd.service.helper;
 
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+import org.springframework.util.CollectionUtils;
 
+import org.finra.herd.model.ObjectNotFoundException;
 import org.finra.herd.model.api.xml.StorageFile;
 import org.finra.herd.model.jpa.StorageFileEntity;
 
@@ -48,6 +55,124 @@ public class StorageFileHelper
         return filePaths;
     }
 
+    /**
+     * Returns a map of file paths to the storage files build from the specified list of storage files. The map preserves the order of the storage files and
+     * allows a constant time lookup of a storage file by its file path.
+     *
+     * @param storageFiles the list of storage files
+     *
+     * @return the map of file paths to the storage files
+     */
+    public Map<String, StorageFile> getStorageFilesMapFromStorageFiles(List<StorageFile> storageFiles)
+    {
+        Map<String, StorageFile> storageFilesMap = new LinkedHashMap<>();
+
+        for (StorageFile storageFile : storageFiles)
+        {
+            storageFilesMap.put(storageFile.getFilePath(), storageFile);
+        }
+
+        return storageFilesMap;
+    }
+
+    /**
+     * Validates a list of storage files against the actual S3 files. Each storage file is looked up by its file path, so the validation cost is linear in the
+     * number of storage files.
+     *
+     * @param storageFiles the list of storage files to be validated
+     * @param actualS3Files the map of file paths to the actual S3 files as returned by {@link #getStorageFilesMapFromStorageFiles(List)}
+     * @param s3BucketName the S3 bucket name
+     * @param validateFileSize specifies whether to validate storage file sizes against the actual S3 file sizes
+     *
+     * @throws ObjectNotFoundException if a storage file does not exist in S3
+     * @throws IllegalArgumentException if a storage file size does not match the actual S3 file size
+     */
+    public void validateStorageFiles(List<StorageFile> storageFiles, Map<String, StorageFile> actualS3Files, String s3BucketName, boolean validateFileSize)
+        throws ObjectNotFoundException, IllegalArgumentException
+    {
+        for (StorageFile storageFile : storageFiles)
+        {
+            validateStorageFile(storageFile, actualS3Files, s3BucketName, validateFileSize);
+        }
+    }
+
+    /**
+     * Validates a storage file against the actual S3 files.
+     *
+     * @param storageFile the storage file to be validated
+     * @param actualS3Files the map of file paths to the actual S3 files as returned by {@link #getStorageFilesMapFromStorageFiles(List)}
+     * @param s3BucketName the S3 bucket name
+     * @param validateFileSize specifies whether to validate the storage file size against the actual S3 file size
+     *
+     * @throws ObjectNotFoundException if the storage file does not exist in S3
+     * @throws IllegalArgumentException if the storage file size does not match the actual S3 file size
+     */
+    public void validateStorageFile(StorageFile storageFile, Map<String, StorageFile> actualS3Files, String s3BucketName, boolean validateFileSize)
+        throws ObjectNotFoundException, IllegalArgumentException
+    {
+        StorageFile actualS3File = actualS3Files.get(storageFile.getFilePath());
+
+        // Ensure the file exists in S3.
+        if (actualS3File == null)
+        {
+            throw new ObjectNotFoundException(String.format("File not found at s3://%s/%s location.", s3BucketName, storageFile.getFilePath()));
+        }
+
+        // Ensure the file size matches the size reported by S3, if requested.
+        if (validateFileSize && storageFile.getFileSizeBytes() != null && !storageFile.getFileSizeBytes().equals(actualS3File.getFileSizeBytes()))
+        {
+            throw new IllegalArgumentException(String
+                .format("Specified file size of %d bytes for \"%s\" storage file does not match file size of %d bytes reported by S3 at s3://%s/%s location.",
+                    storageFile.getFileSizeBytes(), storageFile.getFilePath(), actualS3File.getFileSizeBytes(), s3BucketName, storageFile.getFilePath()));
+        }
+    }
+
+    /**
+     * Validates the registered storage files against the actual S3 files. All registered storage files must exist in S3 and no other S3 files may exist under
+     * the same S3 key prefix. Both checks are done through hashed lookups, so the validation cost is linear in the number of files.
+     *
+     * @param storageName the storage name
+     * @param storageFiles the list of registered storage files
+     * @param actualS3Files the list of the actual S3 files
+     * @param s3KeyPrefix the S3 key prefix that was prepended to the S3 file paths, when they were uploaded to S3
+     *
+     * @throws IllegalArgumentException if a storage file does not match the S3 key prefix
+     * @throws IllegalStateException if the registered storage files do not match the actual S3 files
+     */
+    public void validateRegisteredS3Files(String storageName, List<StorageFile> storageFiles, List<String> actualS3Files, String s3KeyPrefix)
+        throws IllegalArgumentException, IllegalStateException
+    {
+        // Validate that all files match the expected S3 key prefix.
+        List<StorageFile> registeredStorageFiles = CollectionUtils.isEmpty(storageFiles) ? new ArrayList<StorageFile>() : storageFiles;
+        for (StorageFile storageFile : registeredStorageFiles)
+        {
+            Assert.isTrue(storageFile.getFilePath().startsWith(s3KeyPrefix),
+                String.format("Storage file S3 key prefix \"%s\" does not match the expected S3 key prefix \"%s\".", storageFile.getFilePath(), s3KeyPrefix));
+        }
+
+        Map<String, StorageFile> registeredS3Files = getStorageFilesMapFromStorageFiles(registeredStorageFiles);
+        Set<String> actualS3FilesSet = new HashSet<>(actualS3Files);
+
+        // Validate that all files exist in S3 managed bucket.
+        for (String registeredS3File : registeredS3Files.keySet())
+        {
+            if (!actualS3FilesSet.contains(registeredS3File))
+            {
+                throw new IllegalStateException(String.format("Registered file \"%s\" does not exist in \"%s\" storage.", registeredS3File, storageName));
+            }
+        }
+
+        // Validate that no other files in S3 managed bucket have the same S3 key prefix.
+        for (String actualS3File : actualS3Files)
+        {
+            if (!registeredS3Files.containsKey(actualS3File))
+            {
+                throw new IllegalStateException(
+                    String.format("Found S3 file \"%s\" in \"%s\" storage not registered with this business object data.", actualS3File, storageName));
+            }
+        }
+    }
+
     /**
      * Creates a storage file entity from the storage unit entity.
      *
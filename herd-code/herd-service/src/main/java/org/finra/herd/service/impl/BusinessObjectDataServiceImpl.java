@@ -16,6 +16,9 @@
 package org.finra.herd.service.impl;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -24,15 +27,27 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
 
 import com.amazonaws.auth.policy.actions.S3Actions;
 import com.amazonaws.services.securitytoken.model.Credentials;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
 
@@ -84,6 +99,8 @@ import org.finra.herd.model.jpa.StoragePlatformEntity;
 import org.finra.herd.model.jpa.StorageUnitEntity;
 import org.finra.herd.service.BusinessObjectDataService;
 import org.finra.herd.service.S3Service;
+import org.finra.herd.service.config.ServiceSpringModuleConfig;
+import org.finra.herd.service.helper.AvailabilityRequestBatchHelper;
 import org.finra.herd.service.helper.AwsPolicyBuilder;
 import org.finra.herd.service.helper.BusinessObjectDataHelper;
 import org.finra.herd.service.helper.BusinessObjectDataInvalidateUnregisteredHelper;
@@ -91,6 +108,7 @@ import org.finra.herd.service.helper.DdlGeneratorFactory;
 import org.finra.herd.service.helper.HerdDaoHelper;
 import org.finra.herd.service.helper.HerdHelper;
 import org.finra.herd.service.helper.KmsActions;
+import org.finra.herd.service.helper.PartitionFilterSet;
 import org.finra.herd.service.helper.StorageDaoHelper;
 
 /**
@@ -150,6 +168,16 @@ public class BusinessObjectDataServiceImpl implements BusinessObjectDataService
     @Autowired
     private StorageDaoHelper storageDaoHelper;
 
+    @Autowired
+    private PlatformTransactionManager herdTransactionManager;
+
+    @Autowired
+    private AvailabilityRequestBatchHelper availabilityRequestBatchHelper;
+
+    @Autowired
+    @Qualifier(ServiceSpringModuleConfig.AVAILABILITY_COLLECTION_EXECUTOR_BEAN_NAME)
+    private Executor availabilityCollectionExecutor;
+
     /**
      * Gets the S3 key prefix. This method starts a new transaction.
      *
@@ -476,25 +504,27 @@ public class BusinessObjectDataServiceImpl implements BusinessObjectDataService
      * @return the business object data availability information
      */
     @Override
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
     public BusinessObjectDataAvailability checkBusinessObjectDataAvailability(BusinessObjectDataAvailabilityRequest request)
     {
         return checkBusinessObjectDataAvailabilityImpl(request);
     }
 
     /**
-     * Performs an availability check for a collection of business object data.
+     * Performs an availability check for a collection of business object data. This method does not run in a transaction of its own and suspends the
+     * transaction of the caller, so no database connection is held while the individual requests are evaluated in their own read-only transactions.
      *
      * @param request the business object data availability collection request
      *
      * @return the business object data availability information
      */
     @Override
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public BusinessObjectDataAvailabilityCollectionResponse checkBusinessObjectDataAvailabilityCollection(
         BusinessObjectDataAvailabilityCollectionRequest request)
     {
-        return checkBusinessObjectDataAvailabilityCollectionImpl(request);
+        return checkBusinessObjectDataAvailabilityCollectionImpl(request,
+            configurationHelper.getProperty(ConfigurationValue.AVAILABILITY_COLLECTION_MAX_PARALLELISM, Integer.class));
     }
 
     /**
@@ -520,6 +550,21 @@ public class BusinessObjectDataServiceImpl implements BusinessObjectDataService
      */
     protected BusinessObjectDataAvailability checkBusinessObjectDataAvailabilityImpl(BusinessObjectDataAvailabilityRequest request,
         boolean skipRequestValidation)
+    {
+        return checkBusinessObjectDataAvailabilityImpl(request, skipRequestValidation, new AvailabilityLookupCache());
+    }
+
+    /**
+     * Performs a search and returns a list of business object data key values and relative statuses for a range of requested business object data.
+     *
+     * @param request the business object data availability request
+     * @param skipRequestValidation specifies whether to skip the request validation and trimming
+     * @param lookupCache the cache of business object format and storage lookups shared by the requests evaluated in the same transaction
+     *
+     * @return the business object data availability information
+     */
+    private BusinessObjectDataAvailability checkBusinessObjectDataAvailabilityImpl(BusinessObjectDataAvailabilityRequest request,
+        boolean skipRequestValidation, AvailabilityLookupCache lookupCache)
     {
         // Perform the validation.
         if (!skipRequestValidation)
@@ -533,7 +578,7 @@ public class BusinessObjectDataServiceImpl implements BusinessObjectDataService
                 request.getBusinessObjectFormatFileType(), request.getBusinessObjectFormatVersion());
 
         // Make sure that specified business object format exists.
-        BusinessObjectFormatEntity businessObjectFormatEntity = herdDaoHelper.getBusinessObjectFormatEntity(businessObjectFormatKey);
+        BusinessObjectFormatEntity businessObjectFormatEntity = lookupCache.getBusinessObjectFormatEntity(businessObjectFormatKey);
 
         // Validate that specified storages exist.
         List<String> storageNames = new ArrayList<>();
@@ -547,7 +592,7 @@ public class BusinessObjectDataServiceImpl implements BusinessObjectDataService
         }
         for (String storageName : storageNames)
         {
-            storageDaoHelper.getStorageEntity(storageName);
+            lookupCache.validateStorageExists(storageName);
         }
 
         // Build partition filters based on the specified partition value filters.
@@ -555,14 +600,22 @@ public class BusinessObjectDataServiceImpl implements BusinessObjectDataService
             .buildPartitionFilters(request.getPartitionValueFilters(), request.getPartitionValueFilter(), businessObjectFormatKey,
                 request.getBusinessObjectDataVersion(), storageNames, businessObjectFormatEntity);
 
-        // Retrieve a list of storage unit entities for the specified partition values
-        // The entities will be sorted by partition value that is identified by partition column position.
-        // If a business object data version isn't specified, the latest VALID business object data version is returned.
-        // Business object data availability works across all storage platform types, so the storage platform type is not specified in the herdDao call.
+        // Retrieve all the storage units registered for the specified partition values in a single query. This includes the storage units of all business
+        // object format and data versions regardless of their statuses, unless the versions are specified. The storage units are selected from the specified
+        // storages along with any storages of the GLACIER storage platform type, which are needed to tell whether the business object data is archived.
+        // The entities will be sorted by partition value that is identified by partition column position. The storage units to report on are then selected
+        // from this list in memory, as per the same rules the individual queries used to apply.
+        List<StorageUnitEntity> storageUnitEntities = herdDao
+            .getAllStorageUnitsByPartitionFilters(businessObjectFormatKey, partitionFilters, request.getBusinessObjectDataVersion(), storageNames,
+                StoragePlatformEntity.GLACIER);
+
+        // Select the available storage units for the specified partition values.
+        // If a business object data version isn't specified, the latest VALID business object data version is selected.
+        // Business object data availability works across all storage platform types, so the storage platform type is not specified.
         // We want to select only "available" storage units, so we pass "true" for selectOnlyAvailableStorageUnits parameter.
-        List<StorageUnitEntity> availableStorageUnitEntities = herdDao
-            .getStorageUnitsByPartitionFiltersAndStorages(businessObjectFormatKey, partitionFilters, request.getBusinessObjectDataVersion(),
-                BusinessObjectDataStatusEntity.VALID, storageNames, null, StoragePlatformEntity.GLACIER, true);
+        List<StorageUnitEntity> availableStorageUnitEntities =
+            selectLatestStorageUnits(storageUnitEntities, null, partitionFilters.get(0), request.getBusinessObjectFormatVersion(),
+                request.getBusinessObjectDataVersion(), BusinessObjectDataStatusEntity.VALID, storageNames, null, StoragePlatformEntity.GLACIER, true);
 
         // Create business object data availability object instance and initialise it with request field values.
         BusinessObjectDataAvailability businessObjectDataAvailability = createBusinessObjectDataAvailability(request);
@@ -573,11 +626,11 @@ public class BusinessObjectDataServiceImpl implements BusinessObjectDataService
         List<BusinessObjectDataStatus> notAvailableStatuses = new ArrayList<>();
         businessObjectDataAvailability.setNotAvailableStatuses(notAvailableStatuses);
 
-        // Build a list of matched available partition filters and populate the available statuses list.
+        // Remove the matched available partition filters from the set of unmatched partition filters and populate the available statuses list.
         // Please note that each request partition filter might result in multiple available business object data entities.
         // If storage names are not specified, fail on "duplicate" business object data (same business object data
         // instance registered with multiple storages). Otherwise, remove possible "duplicates".
-        List<List<String>> matchedAvailablePartitionFilters = new ArrayList<>();
+        PartitionFilterSet unmatchedPartitionFilters = new PartitionFilterSet(partitionFilters);
         Map<BusinessObjectDataEntity, StorageUnitEntity> businessObjectDataToStorageUnitMap = new HashMap<>();
         for (StorageUnitEntity storageUnitEntity : availableStorageUnitEntities)
         {
@@ -596,7 +649,7 @@ public class BusinessObjectDataServiceImpl implements BusinessObjectDataService
             }
             else
             {
-                matchedAvailablePartitionFilters.add(herdDaoHelper.getPartitionFilter(storageUnitEntity.getBusinessObjectData(), partitionFilters.get(0)));
+                unmatchedPartitionFilters.remove(herdDaoHelper.getPartitionFilter(storageUnitEntity.getBusinessObjectData(), partitionFilters.get(0)));
 
                 if (StoragePlatformEntity.GLACIER.equals(storageUnitEntity.getStorage().getStoragePlatform().getName()))
                 {
@@ -615,24 +668,20 @@ public class BusinessObjectDataServiceImpl implements BusinessObjectDataService
             }
         }
 
-        // Get a list of unmatched partition filters.
-        List<List<String>> unmatchedPartitionFilters = new ArrayList<>(partitionFilters);
-        unmatchedPartitionFilters.removeAll(matchedAvailablePartitionFilters);
-
-        // We still need to try to retrieve business object data per list of unmatched filters regardless of business object data and/or storage unit statuses.
+        // We still need to try to select business object data per list of unmatched filters regardless of business object data and/or storage unit statuses.
         // This is done to populate not-available statuses with legitimate reasons.
-        // Business object data availability works across all storage platform types, so the storage platform type is not specified in the herdDao call.
+        // Business object data availability works across all storage platform types, so the storage platform type is not specified.
         // We want to select any existing storage units regardless of their status, so we pass "false" for selectOnlyAvailableStorageUnits parameter.
-        List<StorageUnitEntity> notAvailableStorageUnitEntities = herdDao
-            .getStorageUnitsByPartitionFiltersAndStorages(businessObjectFormatKey, unmatchedPartitionFilters, request.getBusinessObjectDataVersion(), null,
-                storageNames, null, StoragePlatformEntity.GLACIER, false);
+        List<StorageUnitEntity> notAvailableStorageUnitEntities =
+            selectLatestStorageUnits(storageUnitEntities, unmatchedPartitionFilters, partitionFilters.get(0), request.getBusinessObjectFormatVersion(),
+                request.getBusinessObjectDataVersion(), null, storageNames, null, StoragePlatformEntity.GLACIER, false);
 
         // For all unmatched filters, select "available" storage units in any storages of the GLACIER storage platform type.
         // This is done to be able to check if business object data with a "non-available" storage unit is actually archived.
         // We want to select only "available" storage units, so we pass "true" for selectOnlyAvailableStorageUnits parameter.
-        List<StorageUnitEntity> archivedStorageUnitEntities = herdDao
-            .getStorageUnitsByPartitionFiltersAndStorages(businessObjectFormatKey, unmatchedPartitionFilters, request.getBusinessObjectDataVersion(), null,
-                null, StoragePlatformEntity.GLACIER, null, true);
+        List<StorageUnitEntity> archivedStorageUnitEntities =
+            selectLatestStorageUnits(storageUnitEntities, unmatchedPartitionFilters, partitionFilters.get(0), request.getBusinessObjectFormatVersion(),
+                request.getBusinessObjectDataVersion(), null, null, StoragePlatformEntity.GLACIER, null, true);
 
         // Populate a set of archived business object data entities for easy access. Please note that business object data might be archived in more than
         // one Glacier storage.
@@ -645,19 +694,16 @@ public class BusinessObjectDataServiceImpl implements BusinessObjectDataService
             }
         }
 
-        // Build a list of matched "not-available" partition filters and populate the not-available statuses list.
+        // Remove the matched "not-available" partition filters from the set of unmatched partition filters and populate the not-available statuses list.
         // Please note that each request partition filter might result in multiple available business object data entities.
-        List<List<String>> matchedNotAvailablePartitionFilters = new ArrayList<>();
         for (StorageUnitEntity storageUnitEntity : notAvailableStorageUnitEntities)
         {
-            matchedNotAvailablePartitionFilters.add(herdDaoHelper.getPartitionFilter(storageUnitEntity.getBusinessObjectData(), partitionFilters.get(0)));
+            unmatchedPartitionFilters.remove(herdDaoHelper.getPartitionFilter(storageUnitEntity.getBusinessObjectData(), partitionFilters.get(0)));
             notAvailableStatuses.add(createNotAvailableBusinessObjectDataStatus(storageUnitEntity, archivedBusinessObjectDataEntities));
         }
 
-        // Update the list of unmatched partition filters.
-        unmatchedPartitionFilters.removeAll(matchedNotAvailablePartitionFilters);
-
-        // Populate the "not available" statuses per remaining unmatched filters.
+        // Populate the "not available" statuses per remaining unmatched filters. Please note that the set collapses duplicate request partition filters, so
+        // each unmatched partition filter is reported once.
         for (List<String> unmatchedPartitionFilter : unmatchedPartitionFilters)
         {
             notAvailableStatuses.add(createNotAvailableBusinessObjectDataStatus(request, unmatchedPartitionFilter, REASON_NOT_REGISTERED));
@@ -667,7 +713,158 @@ public class BusinessObjectDataServiceImpl implements BusinessObjectDataService
     }
 
     /**
-     * Performs an availability check for a collection of business object data.
+     * Selects storage units from the list of all storage units registered for a set of partition values. The selection follows the same rules as {@link
+     * HerdDao#getStorageUnitsByPartitionFiltersAndStorages}, so that a single list of storage units can be used for the several selections done by the
+     * business object data availability check. Please note that the business object format and data versions are expected to be already applied to the list
+     * when they are specified.
+     *
+     * @param storageUnitEntities the list of all storage units registered for the partition values, sorted by partition values and storage names
+     * @param partitionFilters the optional set of partition filters the business object data must match. When not specified, the business object data is not
+     * filtered by partition values
+     * @param samplePartitionFilter the sample partition filter used to build the partition filter of a business object data
+     * @param businessObjectFormatVersion the business object format version. If a business object format version isn't specified, the latest available format
+     * version for each set of partition values is selected
+     * @param businessObjectDataVersion the business object data version. If a business object data version isn't specified, the latest data version based on
+     * the specified business object data status is selected
+     * @param businessObjectDataStatus the business object data status. This parameter is ignored when the business object data version is specified. When
+     * business object data version and business object data status both are not specified, the latest data version for each set of partition values will be
+     * selected regardless of the status
+     * @param storageNames the optional list of storage names where the business object data storage units should be looked for (case-insensitive)
+     * @param storagePlatformType the optional storage platform type. It is ignored when the list of storages is not empty
+     * @param excludedStoragePlatformType the optional storage platform type to be excluded. It is ignored when the list of storages is not empty or the storage
+     * platform type is specified
+     * @param selectOnlyAvailableStorageUnits specifies if only available storage units will be selected or any storage units regardless of their status
+     *
+     * @return the list of selected storage unit entities, in the order of the specified list
+     */
+    private List<StorageUnitEntity> selectLatestStorageUnits(List<StorageUnitEntity> storageUnitEntities, PartitionFilterSet partitionFilters,
+        List<String> samplePartitionFilter, Integer businessObjectFormatVersion, Integer businessObjectDataVersion, String businessObjectDataStatus,
+        List<String> storageNames, String storagePlatformType, String excludedStoragePlatformType, boolean selectOnlyAvailableStorageUnits)
+    {
+        Set<String> uppercaseStorageNames = new HashSet<>();
+        if (!CollectionUtils.isEmpty(storageNames))
+        {
+            for (String storageName : storageNames)
+            {
+                uppercaseStorageNames.add(storageName.toUpperCase());
+            }
+        }
+
+        // Find the latest business object format and data versions per set of partition values and storage. The latest business object format version only
+        // counts the business object data and storage units that match the selection, while the latest business object data version counts the business
+        // object data with any storage unit in the storage.
+        List<StorageUnitEntity> candidateStorageUnitEntities = new ArrayList<>();
+        Map<List<Object>, Integer> latestBusinessObjectFormatVersions = new HashMap<>();
+        Map<List<Object>, Integer> latestBusinessObjectDataVersions = new HashMap<>();
+        for (StorageUnitEntity storageUnitEntity : storageUnitEntities)
+        {
+            if (!isStorageSelected(storageUnitEntity.getStorage(), uppercaseStorageNames, storagePlatformType, excludedStoragePlatformType))
+            {
+                continue;
+            }
+            candidateStorageUnitEntities.add(storageUnitEntity);
+
+            BusinessObjectDataEntity businessObjectDataEntity = storageUnitEntity.getBusinessObjectData();
+            boolean businessObjectDataStatusMatches = businessObjectDataStatus == null ||
+                businessObjectDataStatus.equalsIgnoreCase(businessObjectDataEntity.getStatus().getCode());
+
+            if (businessObjectDataVersion == null && businessObjectDataStatusMatches)
+            {
+                updateLatestVersion(latestBusinessObjectDataVersions, getLatestVersionKey(storageUnitEntity, true), businessObjectDataEntity.getVersion());
+            }
+
+            if (businessObjectFormatVersion == null && (!selectOnlyAvailableStorageUnits || storageUnitEntity.getStatus().getAvailable()) &&
+                (businessObjectDataVersion != null || businessObjectDataStatusMatches))
+            {
+                updateLatestVersion(latestBusinessObjectFormatVersions, getLatestVersionKey(storageUnitEntity, false),
+                    businessObjectDataEntity.getBusinessObjectFormat().getBusinessObjectFormatVersion());
+            }
+        }
+
+        // Select the storage units of the latest versions.
+        List<StorageUnitEntity> selectedStorageUnitEntities = new ArrayList<>();
+        for (StorageUnitEntity storageUnitEntity : candidateStorageUnitEntities)
+        {
+            BusinessObjectDataEntity businessObjectDataEntity = storageUnitEntity.getBusinessObjectData();
+
+            if ((!selectOnlyAvailableStorageUnits || storageUnitEntity.getStatus().getAvailable()) &&
+                (partitionFilters == null || partitionFilters.contains(herdDaoHelper.getPartitionFilter(businessObjectDataEntity, samplePartitionFilter))) &&
+                (businessObjectFormatVersion != null || businessObjectDataEntity.getBusinessObjectFormat().getBusinessObjectFormatVersion()
+                    .equals(latestBusinessObjectFormatVersions.get(getLatestVersionKey(storageUnitEntity, false)))) &&
+                (businessObjectDataVersion != null ||
+                    businessObjectDataEntity.getVersion().equals(latestBusinessObjectDataVersions.get(getLatestVersionKey(storageUnitEntity, true)))))
+            {
+                selectedStorageUnitEntities.add(storageUnitEntity);
+            }
+        }
+
+        return selectedStorageUnitEntities;
+    }
+
+    /**
+     * Determines whether a storage is selected as per the specified storage names and storage platform types.
+     *
+     * @param storageEntity the storage entity
+     * @param uppercaseStorageNames the set of upper case storage names, possibly empty
+     * @param storagePlatformType the optional storage platform type. It is ignored when the list of storages is not empty
+     * @param excludedStoragePlatformType the optional storage platform type to be excluded. It is ignored when the list of storages is not empty or the storage
+     * platform type is specified
+     *
+     * @return true if the storage is selected, false otherwise
+     */
+    private boolean isStorageSelected(StorageEntity storageEntity, Set<String> uppercaseStorageNames, String storagePlatformType,
+        String excludedStoragePlatformType)
+    {
+        if (!uppercaseStorageNames.isEmpty())
+        {
+            return uppercaseStorageNames.contains(storageEntity.getName().toUpperCase());
+        }
+        else if (StringUtils.isNotBlank(storagePlatformType))
+        {
+            return storagePlatformType.equals(storageEntity.getStoragePlatform().getName());
+        }
+        else if (StringUtils.isNotBlank(excludedStoragePlatformType))
+        {
+            return !excludedStoragePlatformType.equals(storageEntity.getStoragePlatform().getName());
+        }
+        return true;
+    }
+
+    /**
+     * Gets the key to track the latest version of a storage unit by. The key consists of the partition values of the business object data and the storage.
+     *
+     * @param storageUnitEntity the storage unit entity
+     * @param includeBusinessObjectFormat specifies whether the business object format is part of the key, which is the case when tracking the latest business
+     * object data version
+     *
+     * @return the key
+     */
+    private List<Object> getLatestVersionKey(StorageUnitEntity storageUnitEntity, boolean includeBusinessObjectFormat)
+    {
+        BusinessObjectDataEntity businessObjectDataEntity = storageUnitEntity.getBusinessObjectData();
+        return Arrays.<Object>asList(includeBusinessObjectFormat ? businessObjectDataEntity.getBusinessObjectFormat().getId() : null,
+            businessObjectDataEntity.getPartitionValue(), businessObjectDataEntity.getPartitionValue2(), businessObjectDataEntity.getPartitionValue3(),
+            businessObjectDataEntity.getPartitionValue4(), businessObjectDataEntity.getPartitionValue5(), storageUnitEntity.getStorage().getName());
+    }
+
+    /**
+     * Records a version as the latest version for the key, unless a later version is already recorded.
+     *
+     * @param latestVersions the map of latest versions
+     * @param key the key
+     * @param version the version
+     */
+    private void updateLatestVersion(Map<List<Object>, Integer> latestVersions, List<Object> key, Integer version)
+    {
+        Integer latestVersion = latestVersions.get(key);
+        if (latestVersion == null || version > latestVersion)
+        {
+            latestVersions.put(key, version);
+        }
+    }
+
+    /**
+     * Performs an availability check for a collection of business object data. The individual requests are evaluated one by one in the current transaction.
      *
      * @param businessObjectDataAvailabilityCollectionRequest the business object data availability collection requests
      *
@@ -675,21 +872,50 @@ public class BusinessObjectDataServiceImpl implements BusinessObjectDataService
      */
     protected BusinessObjectDataAvailabilityCollectionResponse checkBusinessObjectDataAvailabilityCollectionImpl(
         BusinessObjectDataAvailabilityCollectionRequest businessObjectDataAvailabilityCollectionRequest)
+    {
+        return checkBusinessObjectDataAvailabilityCollectionImpl(businessObjectDataAvailabilityCollectionRequest, 1);
+    }
+
+    /**
+     * Performs an availability check for a collection of business object data. When the maximum parallelism is greater than one and there is no current
+     * transaction, the individual requests are split into at most that many batches by {@link AvailabilityRequestBatchHelper}, which get evaluated
+     * concurrently, each in its own read-only transaction. Otherwise, the requests are evaluated one by one in the current transaction, or in a new read-only
+     * transaction when there is none. The responses are always returned in the order of the requests.
+     *
+     * @param businessObjectDataAvailabilityCollectionRequest the business object data availability collection requests
+     * @param maxParallelism the maximum number of tasks to split the individual requests into
+     *
+     * @return the business object data availability information
+     */
+    protected BusinessObjectDataAvailabilityCollectionResponse checkBusinessObjectDataAvailabilityCollectionImpl(
+        BusinessObjectDataAvailabilityCollectionRequest businessObjectDataAvailabilityCollectionRequest, int maxParallelism)
     {
         // Perform the validation of the entire request, before we start processing the individual requests that requires the database access.
         validateBusinessObjectDataAvailabilityCollectionRequest(businessObjectDataAvailabilityCollectionRequest);
 
-        // Process the individual requests and build the response.
+        // Process the individual requests. Please note that when calling to process individual availability requests, we ask to skip the request validation
+        // and trimming step.
+        List<BusinessObjectDataAvailabilityRequest> requests = businessObjectDataAvailabilityCollectionRequest.getBusinessObjectDataAvailabilityRequests();
+        List<List<Integer>> batches = availabilityRequestBatchHelper.getBatches(requests, isConcurrentEvaluationAllowed() ? maxParallelism : 1);
+        BusinessObjectDataAvailability[] businessObjectDataAvailabilities = new BusinessObjectDataAvailability[requests.size()];
+        if (batches.size() > 1)
+        {
+            checkBusinessObjectDataAvailabilityBatchesConcurrently(requests, batches, businessObjectDataAvailabilities);
+        }
+        else
+        {
+            checkBusinessObjectDataAvailabilityBatch(requests, batches.get(0), businessObjectDataAvailabilities);
+        }
+
+        // Build the response.
         BusinessObjectDataAvailabilityCollectionResponse businessObjectDataAvailabilityCollectionResponse =
             new BusinessObjectDataAvailabilityCollectionResponse();
         List<BusinessObjectDataAvailability> businessObjectDataAvailabilityResponses = new ArrayList<>();
         businessObjectDataAvailabilityCollectionResponse.setBusinessObjectDataAvailabilityResponses(businessObjectDataAvailabilityResponses);
         boolean isAllDataAvailable = true;
         boolean isAllDataNotAvailable = true;
-        for (BusinessObjectDataAvailabilityRequest request : businessObjectDataAvailabilityCollectionRequest.getBusinessObjectDataAvailabilityRequests())
+        for (BusinessObjectDataAvailability businessObjectDataAvailability : businessObjectDataAvailabilities)
         {
-            // Please note that when calling to process individual availability requests, we ask to skip the request validation and trimming step.
-            BusinessObjectDataAvailability businessObjectDataAvailability = checkBusinessObjectDataAvailabilityImpl(request, true);
             businessObjectDataAvailabilityResponses.add(businessObjectDataAvailability);
             isAllDataAvailable = isAllDataAvailable && businessObjectDataAvailability.getNotAvailableStatuses().isEmpty();
             isAllDataNotAvailable = isAllDataNotAvailable && businessObjectDataAvailability.getAvailableStatuses().isEmpty();
@@ -700,6 +926,149 @@ public class BusinessObjectDataServiceImpl implements BusinessObjectDataService
         return businessObjectDataAvailabilityCollectionResponse;
     }
 
+    /**
+     * Checks whether the individual availability requests may be evaluated concurrently. Concurrent batches run in their own transactions, so they can not see
+     * any changes made but not yet committed by a current transaction. Moreover, a current transaction holds on to its database connection while the calling
+     * thread waits for the batches, which could exhaust the connection pool under load. The requests are therefore only evaluated concurrently when there is
+     * no current transaction, as it is for the availability collection service method.
+     *
+     * @return true if the requests may be evaluated concurrently, false otherwise
+     */
+    private boolean isConcurrentEvaluationAllowed()
+    {
+        return !TransactionSynchronizationManager.isActualTransactionActive();
+    }
+
+    /**
+     * Evaluates a batch of business object data availability requests in the current transaction, or in a new read-only transaction when there is none.
+     *
+     * @param requests the business object data availability requests
+     * @param batch the batch as a list of request indexes
+     * @param businessObjectDataAvailabilities the array to populate with the responses, in the order of the requests
+     */
+    private void checkBusinessObjectDataAvailabilityBatch(final List<BusinessObjectDataAvailabilityRequest> requests, final List<Integer> batch,
+        final BusinessObjectDataAvailability[] businessObjectDataAvailabilities)
+    {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(herdTransactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRED);
+        transactionTemplate.setReadOnly(true);
+
+        transactionTemplate.execute(new TransactionCallback<Void>()
+        {
+            @Override
+            public Void doInTransaction(TransactionStatus status)
+            {
+                AvailabilityLookupCache lookupCache = new AvailabilityLookupCache();
+                for (Integer index : batch)
+                {
+                    businessObjectDataAvailabilities[index] = checkBusinessObjectDataAvailabilityImpl(requests.get(index), true, lookupCache);
+                }
+                return null;
+            }
+        });
+    }
+
+    /**
+     * Evaluates the batches of business object data availability requests concurrently on the availability collection executor. Each batch is evaluated in
+     * its own read-only transaction. The calling thread evaluates every batch that no executor thread has started yet, including the batches the executor
+     * rejected, and then waits for the remaining batches. Since the calling thread holds no database connection while it waits, an availability collection
+     * request holds at most as many database connections as it has batches and the executor threads never wait on a thread that holds a connection. The
+     * failure of the first failed batch is rethrown.
+     *
+     * @param requests the business object data availability requests
+     * @param batches the batches as lists of request indexes
+     * @param businessObjectDataAvailabilities the array to populate with the responses, in the order of the requests
+     */
+    private void checkBusinessObjectDataAvailabilityBatchesConcurrently(final List<BusinessObjectDataAvailabilityRequest> requests,
+        List<List<Integer>> batches, final BusinessObjectDataAvailability[] businessObjectDataAvailabilities)
+    {
+        List<FutureTask<Void>> tasks = new ArrayList<>();
+        for (final List<Integer> batch : batches)
+        {
+            tasks.add(new FutureTask<>(new Callable<Void>()
+            {
+                @Override
+                public Void call()
+                {
+                    checkBusinessObjectDataAvailabilityBatch(requests, batch, businessObjectDataAvailabilities);
+                    return null;
+                }
+            }));
+        }
+
+        // Hand all but the first batch to the executor. The batches the executor rejects, because it is saturated or shutting down, are left to the calling
+        // thread.
+        for (FutureTask<Void> task : tasks.subList(1, tasks.size()))
+        {
+            try
+            {
+                availabilityCollectionExecutor.execute(task);
+            }
+            catch (RejectedExecutionException e)
+            {
+                LOGGER.debug("The availability collection executor rejected a batch, so it gets evaluated by the calling thread.");
+            }
+        }
+
+        // Evaluate the batches that were not started by the executor threads yet on the calling thread. Running a task that was already started or completed
+        // does nothing.
+        for (FutureTask<Void> task : tasks)
+        {
+            task.run();
+        }
+
+        for (FutureTask<Void> task : tasks)
+        {
+            try
+            {
+                task.get();
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+                cancelTasks(tasks);
+                throw new IllegalStateException("Interrupted while checking the business object data availability.", e);
+            }
+            catch (ExecutionException e)
+            {
+                cancelTasks(tasks);
+                if (e.getCause() instanceof RuntimeException)
+                {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw new IllegalStateException("Failed to check the business object data availability.", e.getCause());
+            }
+        }
+    }
+
+    /**
+     * Cancels the tasks that have not started yet.
+     *
+     * @param tasks the tasks
+     */
+    private void cancelTasks(List<FutureTask<Void>> tasks)
+    {
+        for (FutureTask<Void> task : tasks)
+        {
+            task.cancel(false);
+        }
+    }
+
+    /**
+     * Gets a case-insensitive lookup key for the specified business object format key.
+     *
+     * @param businessObjectFormatKey the business object format key
+     *
+     * @return the lookup key
+     */
+    private List<Object> getBusinessObjectFormatLookupKey(BusinessObjectFormatKey businessObjectFormatKey)
+    {
+        return Arrays.<Object>asList(StringUtils.upperCase(businessObjectFormatKey.getNamespace()),
+            StringUtils.upperCase(businessObjectFormatKey.getBusinessObjectDefinitionName()),
+            StringUtils.upperCase(businessObjectFormatKey.getBusinessObjectFormatUsage()),
+            StringUtils.upperCase(businessObjectFormatKey.getBusinessObjectFormatFileType()), businessObjectFormatKey.getBusinessObjectFormatVersion());
+    }
+
     /**
      * Retrieves the DDL to initialize the specified type of the database system to perform queries for a range of requested business object data in the
      * specified storage. This method starts a new transaction.
@@ -709,12 +1078,28 @@ public class BusinessObjectDataServiceImpl implements BusinessObjectDataService
      * @return the business object data DDL information
      */
     @Override
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
     public BusinessObjectDataDdl generateBusinessObjectDataDdl(BusinessObjectDataDdlRequest request)
     {
         return generateBusinessObjectDataDdlImpl(request, false);
     }
 
+    /**
+     * Generates the DDL to initialize the specified type of the database system to perform queries for a range of requested business object data in the
+     * specified storage and writes it to the specified writer while it is being generated. This method starts a new transaction.
+     *
+     * @param request the business object data DDL request
+     * @param writer the writer to write the DDL to
+     *
+     * @throws IOException if an I/O error occurs while writing the DDL
+     */
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void generateBusinessObjectDataDdl(BusinessObjectDataDdlRequest request, Writer writer) throws IOException
+    {
+        generateBusinessObjectDataDdlImpl(request, false, writer);
+    }
+
     /**
      * Retrieves the DDL to initialize the specified type of the database system to perform queries for a collection of business object data in the specified
      * storages. This method starts a new transaction.
@@ -724,7 +1109,7 @@ public class BusinessObjectDataServiceImpl implements BusinessObjectDataService
      * @return the business object data DDL information
      */
     @Override
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
     public BusinessObjectDataDdlCollectionResponse generateBusinessObjectDataDdlCollection(BusinessObjectDataDdlCollectionRequest request)
     {
         return generateBusinessObjectDataDdlCollectionImpl(request);
@@ -740,6 +1125,36 @@ public class BusinessObjectDataServiceImpl implements BusinessObjectDataService
      * @return the business object data DDL information
      */
     protected BusinessObjectDataDdl generateBusinessObjectDataDdlImpl(BusinessObjectDataDdlRequest request, boolean skipRequestValidation)
+    {
+        StringWriter stringWriter = new StringWriter();
+        try
+        {
+            generateBusinessObjectDataDdlImpl(request, skipRequestValidation, stringWriter);
+        }
+        catch (IOException e)
+        {
+            // This should never happen, since a string writer does not throw I/O exceptions.
+            throw new IllegalStateException(e);
+        }
+
+        // Create and initialize a business object data DDL object instance.
+        BusinessObjectDataDdl businessObjectDataDdl = createBusinessObjectDataDdl(request);
+        businessObjectDataDdl.setDdl(stringWriter.toString());
+
+        return businessObjectDataDdl;
+    }
+
+    /**
+     * Generates the DDL to initialize the specified type of the database system to perform queries for a range of requested business object data in the
+     * specified storage and writes it to the specified writer.
+     *
+     * @param request the business object data DDL request
+     * @param skipRequestValidation specifies whether to skip the request validation and trimming
+     * @param writer the writer to write the DDL to
+     *
+     * @throws IOException if an I/O error occurs while writing the DDL
+     */
+    protected void generateBusinessObjectDataDdlImpl(BusinessObjectDataDdlRequest request, boolean skipRequestValidation, Writer writer) throws IOException
     {
         // Perform the validation.
         if (!skipRequestValidation)
@@ -803,12 +1218,9 @@ public class BusinessObjectDataServiceImpl implements BusinessObjectDataService
             s3BucketNames.put(storageEntity, s3BucketName);
         }
 
-        // Create and initialize a business object data DDL object instance.
-        BusinessObjectDataDdl businessObjectDataDdl = createBusinessObjectDataDdl(request);
-        businessObjectDataDdl.setDdl(ddlGeneratorFactory.getDdlGenerator(request.getOutputFormat())
-            .generateCreateTableDdl(request, businessObjectFormatEntity, customDdlEntity, storageNames, storageEntities, s3BucketNames));
-
-        return businessObjectDataDdl;
+        // Generate the DDL and write it out.
+        ddlGeneratorFactory.getDdlGenerator(request.getOutputFormat())
+            .generateCreateTableDdl(request, businessObjectFormatEntity, customDdlEntity, storageNames, storageEntities, s3BucketNames, writer);
     }
 
     /**
@@ -1482,4 +1894,48 @@ public class BusinessObjectDataServiceImpl implements BusinessObjectDataService
         return storageDaoHelper
             .getStorageAttributeValueByName(configurationHelper.getProperty(ConfigurationValue.S3_ATTRIBUTE_NAME_KMS_KEY_ID), storageEntity, false, true);
     }
+
+    /**
+     * Caches the business object format and storage lookups of the business object data availability requests evaluated in the same transaction.
+     */
+    private class AvailabilityLookupCache
+    {
+        private final Map<List<Object>, BusinessObjectFormatEntity> businessObjectFormatEntities = new HashMap<>();
+
+        private final Set<String> existingStorageNames = new HashSet<>();
+
+        /**
+         * Gets a business object format entity based on the key and makes sure that it exists.
+         *
+         * @param businessObjectFormatKey the business object format key
+         *
+         * @return the business object format entity
+         */
+        private BusinessObjectFormatEntity getBusinessObjectFormatEntity(BusinessObjectFormatKey businessObjectFormatKey)
+        {
+            List<Object> businessObjectFormatLookupKey = getBusinessObjectFormatLookupKey(businessObjectFormatKey);
+            BusinessObjectFormatEntity businessObjectFormatEntity = businessObjectFormatEntities.get(businessObjectFormatLookupKey);
+            if (businessObjectFormatEntity == null)
+            {
+                businessObjectFormatEntity = herdDaoHelper.getBusinessObjectFormatEntity(businessObjectFormatKey);
+                businessObjectFormatEntities.put(businessObjectFormatLookupKey, businessObjectFormatEntity);
+            }
+            return businessObjectFormatEntity;
+        }
+
+        /**
+         * Makes sure that the storage exists.
+         *
+         * @param storageName the storage name (case-insensitive)
+         */
+        private void validateStorageExists(String storageName)
+        {
+            String storageLookupKey = storageName.toUpperCase();
+            if (!existingStorageNames.contains(storageLookupKey))
+            {
+                storageDaoHelper.getStorageEntity(storageName);
+                existingStorageNames.add(storageLookupKey);
+            }
+        }
+    }
 }
@@ -15,10 +15,13 @@
 */
 package org.finra.herd.service.impl;
 
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
+import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
@@ -135,18 +138,35 @@ public class BusinessObjectDataStorageFileServiceImpl implements BusinessObjectD
         }
 
         // validate that files in the request does not already exist in the DB
+        List<String> storageFilePaths = new ArrayList<>();
         for (StorageFile storageFile : businessObjectDataStorageFilesCreateRequest.getStorageFiles())
         {
-            // Ensure that the file is not already registered in this storage by some other business object data.
-            StorageFileEntity storageFileEntity =
-                herdDao.getStorageFileByStorageNameAndFilePath(storageUnitEntity.getStorage().getName(), storageFile.getFilePath());
-            if (storageFileEntity != null)
+            storageFilePaths.add(storageFile.getFilePath());
+        }
+
+        // Ensure that none of the files are already registered in this storage by some other business object data. All of the files are checked using a set
+        // of chunked queries and all of the conflicting files are reported at once.
+        List<StorageFileEntity> registeredStorageFileEntities =
+            herdDao.getStorageFilesByStorageNameAndFilePaths(storageUnitEntity.getStorage().getName(), storageFilePaths);
+        if (registeredStorageFileEntities.size() == 1)
+        {
+            StorageFileEntity storageFileEntity = registeredStorageFileEntities.get(0);
+            throw new AlreadyExistsException(String
+                .format("S3 file \"%s\" in \"%s\" storage is already registered by the business object data {%s}.", storageFileEntity.getPath(),
+                    storageUnitEntity.getStorage().getName(),
+                    herdDaoHelper.businessObjectDataEntityAltKeyToString(storageFileEntity.getStorageUnit().getBusinessObjectData())));
+        }
+        else if (registeredStorageFileEntities.size() > 1)
+        {
+            List<String> registeredStorageFiles = new ArrayList<>();
+            for (StorageFileEntity storageFileEntity : registeredStorageFileEntities)
             {
-                throw new AlreadyExistsException(String
-                    .format("S3 file \"%s\" in \"%s\" storage is already registered by the business object data {%s}.", storageFile.getFilePath(),
-                        storageUnitEntity.getStorage().getName(),
-                        herdDaoHelper.businessObjectDataEntityAltKeyToString(storageFileEntity.getStorageUnit().getBusinessObjectData())));
+                registeredStorageFiles.add(String.format("\"%s\" by the business object data {%s}", storageFileEntity.getPath(),
+                    herdDaoHelper.businessObjectDataEntityAltKeyToString(storageFileEntity.getStorageUnit().getBusinessObjectData())));
             }
+            throw new AlreadyExistsException(String
+                .format("%d S3 files in \"%s\" storage are already registered: %s.", registeredStorageFileEntities.size(),
+                    storageUnitEntity.getStorage().getName(), StringUtils.join(registeredStorageFiles, ", ")));
         }
 
         StorageEntity storageEntity = storageUnitEntity.getStorage();
@@ -191,17 +211,17 @@ public class BusinessObjectDataStorageFileServiceImpl implements BusinessObjectD
                 S3FileTransferRequestParamsDto params =
                     businessObjectDataHelper.getFileValidationParams(storageEntity, expectedS3KeyPrefix, storageUnitEntity, validatePathPrefix);
 
+                // Get the S3 file size validation flag.
+                boolean validateFileSize = storageDaoHelper
+                    .getBooleanStorageAttributeValueByName(configurationHelper.getProperty(ConfigurationValue.S3_ATTRIBUTE_NAME_VALIDATE_FILE_SIZE),
+                        storageEntity, false, true);
+
                 // When listing S3 files, we ignore 0 byte objects that represent S3 directories.
-                List<String> actualS3Keys = storageFileHelper.getFilePaths(s3Service.listDirectory(params, true));
+                Map<String, StorageFile> actualS3Keys = storageFileHelper.getStorageFilesMapFromStorageFiles(s3Service.listDirectory(params, true));
 
-                for (StorageFile requestStorageFile : businessObjectDataStorageFilesCreateRequest.getStorageFiles())
-                {
-                    if (!actualS3Keys.contains(requestStorageFile.getFilePath()))
-                    {
-                        throw new ObjectNotFoundException(
-                            String.format("File not found at s3://%s/%s location.", params.getS3BucketName(), requestStorageFile.getFilePath()));
-                    }
-                }
+                // Validate that all files exist in S3 and, if requested, that their sizes match.
+                storageFileHelper
+                    .validateStorageFiles(businessObjectDataStorageFilesCreateRequest.getStorageFiles(), actualS3Keys, params.getS3BucketName(), validateFileSize);
             }
         }
         else if (storageUnitEntity.getDirectoryPath() != null)
@@ -217,6 +237,7 @@ public class BusinessObjectDataStorageFileServiceImpl implements BusinessObjectD
         // If the validation flags don't exist and no directory is specified, then no storage validations occur.
 
         // Add new files to existing storage
+        List<StorageFileEntity> storageFileEntities = new ArrayList<>();
         for (StorageFile storageFile : businessObjectDataStorageFilesCreateRequest.getStorageFiles())
         {
             StorageFileEntity storageFileEntity = new StorageFileEntity();
@@ -224,9 +245,12 @@ public class BusinessObjectDataStorageFileServiceImpl implements BusinessObjectD
             storageFileEntity.setPath(storageFile.getFilePath());
             storageFileEntity.setRowCount(storageFile.getRowCount());
             storageFileEntity.setStorageUnit(storageUnitEntity);
-            herdDao.saveAndRefresh(storageFileEntity);
+            storageFileEntities.add(storageFileEntity);
         }
 
+        // Save all new storage files using batched inserts.
+        herdDao.saveStorageFiles(storageFileEntities);
+
         // Construct and return response
         BusinessObjectDataStorageFilesCreateResponse businessObjectDataStorageFilesCreateResponse = new BusinessObjectDataStorageFilesCreateResponse();
         businessObjectDataStorageFilesCreateResponse
@@ -357,6 +357,7 @@ public class BusinessObjectFormatServiceImpl implements BusinessObjectFormatServ
      * @return the list of business object formats.
      */
     @Override
+    @Transactional(readOnly = true)
     public BusinessObjectFormatKeys getBusinessObjectFormats(BusinessObjectDefinitionKey businessObjectDefinitionKey, boolean latestBusinessObjectFormatVersion)
     {
         // Perform validation and trim.
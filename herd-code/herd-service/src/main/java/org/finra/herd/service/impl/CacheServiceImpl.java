@@ -0,0 +1,92 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.service.impl;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.Assert;
+
+import org.finra.herd.dao.config.DaoSpringModuleConfig;
+import org.finra.herd.dao.helper.CacheStatisticsHelper;
+import org.finra.herd.model.api.xml.CacheRegion;
+import org.finra.herd.model.api.xml.CacheRegions;
+import org.finra.herd.model.dto.CacheStatisticsDto;
+import org.finra.herd.service.CacheService;
+
+/**
+ * The cache service implementation.
+ */
+@Service
+@Transactional(value = DaoSpringModuleConfig.HERD_TRANSACTION_MANAGER_BEAN_NAME)
+public class CacheServiceImpl implements CacheService
+{
+    @Autowired
+    private CacheStatisticsHelper cacheStatisticsHelper;
+
+    /**
+     * Gets the statistics of all cache regions.
+     *
+     * @return the list of cache regions.
+     */
+    @Override
+    public CacheRegions getCaches()
+    {
+        CacheRegions cacheRegions = new CacheRegions();
+        for (CacheStatisticsDto cacheStatisticsDto : cacheStatisticsHelper.getCacheStatistics())
+        {
+            cacheRegions.getCacheRegions().add(createCacheRegionFromDto(cacheStatisticsDto));
+        }
+        return cacheRegions;
+    }
+
+    /**
+     * Removes all elements from a cache region.
+     *
+     * @param cacheName the cache region name.
+     *
+     * @return the cache region statistics after the region was cleared.
+     */
+    @Override
+    public CacheRegion clearCache(String cacheName)
+    {
+        String cacheNameLocal = cacheName;
+
+        // Perform validation and trim.
+        Assert.hasText(cacheNameLocal, "A cache name must be specified.");
+        cacheNameLocal = cacheNameLocal.trim();
+
+        return createCacheRegionFromDto(cacheStatisticsHelper.clearCache(cacheNameLocal));
+    }
+
+    /**
+     * Creates a cache region object from the cache statistics DTO.
+     *
+     * @param cacheStatisticsDto the cache statistics DTO.
+     *
+     * @return the cache region.
+     */
+    private CacheRegion createCacheRegionFromDto(CacheStatisticsDto cacheStatisticsDto)
+    {
+        CacheRegion cacheRegion = new CacheRegion();
+        cacheRegion.setCacheName(cacheStatisticsDto.getCacheName());
+        cacheRegion.setSize(cacheStatisticsDto.getSize());
+        cacheRegion.setHitCount(cacheStatisticsDto.getHitCount());
+        cacheRegion.setMissCount(cacheStatisticsDto.getMissCount());
+        cacheRegion.setEvictionCount(cacheStatisticsDto.getEvictionCount());
+        return cacheRegion;
+    }
+}
@@ -0,0 +1,86 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.service.impl;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import org.finra.herd.dao.HerdDao;
+import org.finra.herd.dao.config.DaoSpringModuleConfig;
+import org.finra.herd.model.jpa.JmsMessageEntity;
+import org.finra.herd.service.JmsPublishingHelperService;
+
+/**
+ * An implementation of the helper service class for the JMS publishing service.
+ */
+@Service
+@Transactional(value = DaoSpringModuleConfig.HERD_TRANSACTION_MANAGER_BEAN_NAME)
+public class JmsPublishingHelperServiceImpl implements JmsPublishingHelperService
+{
+    @Autowired
+    protected HerdDao herdDao;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public List<JmsMessageEntity> claimJmsMessages(String claimant, int claimDurationSeconds, Collection<String> orderedJmsQueueNames, int maxMessages)
+    {
+        return claimJmsMessagesImpl(claimant, claimDurationSeconds, orderedJmsQueueNames, maxMessages);
+    }
+
+    /**
+     * Claims the oldest JMS messages that are not claimed by another publisher.
+     *
+     * @param claimant the unique identifier of the claim
+     * @param claimDurationSeconds the number of seconds the claim lasts
+     * @param orderedJmsQueueNames the names of the queues that require the messages to be published in order
+     * @param maxMessages the maximum number of messages to claim
+     *
+     * @return the list of claimed JMS messages ordered by their ids
+     */
+    protected List<JmsMessageEntity> claimJmsMessagesImpl(String claimant, int claimDurationSeconds, Collection<String> orderedJmsQueueNames,
+        int maxMessages)
+    {
+        return herdDao.claimJmsMessages(claimant, claimDurationSeconds, orderedJmsQueueNames, maxMessages);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void deleteJmsMessages(List<Integer> jmsMessageIds)
+    {
+        deleteJmsMessagesImpl(jmsMessageIds);
+    }
+
+    /**
+     * Deletes the specified JMS messages from the database queue.
+     *
+     * @param jmsMessageIds the list of JMS message ids
+     */
+    protected void deleteJmsMessagesImpl(List<Integer> jmsMessageIds)
+    {
+        herdDao.deleteJmsMessages(jmsMessageIds);
+    }
+}
@@ -15,16 +15,27 @@
 */
 package org.finra.herd.service.impl;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
 import org.apache.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import org.finra.herd.core.helper.ConfigurationHelper;
 import org.finra.herd.dao.HerdDao;
 import org.finra.herd.dao.SqsDao;
-import org.finra.herd.dao.config.DaoSpringModuleConfig;
 import org.finra.herd.dao.helper.AwsHelper;
+import org.finra.herd.dao.helper.HerdStringHelper;
+import org.finra.herd.model.dto.AwsParamsDto;
+import org.finra.herd.model.dto.ConfigurationValue;
 import org.finra.herd.model.jpa.JmsMessageEntity;
+import org.finra.herd.service.JmsPublishingHelperService;
 import org.finra.herd.service.JmsPublishingService;
 
 /**
@@ -35,48 +46,210 @@ public class JmsPublishingServiceImpl implements JmsPublishingService
 {
     private static final Logger LOGGER = Logger.getLogger(JmsPublishingServiceImpl.class);
 
-    @Autowired
-    private HerdDao herdDao;
-
     @Autowired
     private SqsDao sqsDao;
 
     @Autowired
     private AwsHelper awsHelper;
 
+    @Autowired
+    private ConfigurationHelper configurationHelper;
+
+    @Autowired
+    private HerdStringHelper herdStringHelper;
+
+    @Autowired
+    private JmsPublishingHelperService jmsPublishingHelperService;
+
     /**
      * {@inheritDoc}
+     * <p/>
+     * This implementation claims the message like {@link #publishOldestJmsMessages(int)} does, so a message that fails to be sent is left in the database
+     * queue, claimed until the claim expires.
      */
     @Override
-    @Transactional(value = DaoSpringModuleConfig.HERD_TRANSACTION_MANAGER_BEAN_NAME)
+    @Deprecated
     public boolean publishOldestJmsMessage()
     {
-        boolean messageSent = false;
+        int claimDurationSeconds = configurationHelper.getProperty(ConfigurationValue.JMS_PUBLISHING_JOB_CLAIM_DURATION_SECONDS, Integer.class);
+
+        // Claim the oldest JMS message, unless the queue is empty.
+        List<JmsMessageEntity> jmsMessageEntities =
+            jmsPublishingHelperService.claimJmsMessages(UUID.randomUUID().toString(), claimDurationSeconds, getOrderedJmsQueueNames(), 1);
+
+        if (jmsMessageEntities.isEmpty())
+        {
+            return false;
+        }
+
+        JmsMessageEntity jmsMessageEntity = jmsMessageEntities.get(0);
+        try
+        {
+            // Send a text message to the specified AWS SQS queue.
+            sqsDao.sendSqsTextMessage(awsHelper.getAwsParamsDto(), jmsMessageEntity.getJmsQueueName(), jmsMessageEntity.getMessageText());
+        }
+        catch (Exception e)
+        {
+            LOGGER.error(String
+                .format("Failed to post message on \"%s\" SQS queue. Message: %s", jmsMessageEntity.getJmsQueueName(), jmsMessageEntity.getMessageText()));
+
+            // Throw the exception up.
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+
+        // Delete this message from the queue.
+        jmsPublishingHelperService.deleteJmsMessages(Arrays.asList(jmsMessageEntity.getId()));
+
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int publishOldestJmsMessages(int maxMessages)
+    {
+        int claimDurationSeconds = configurationHelper.getProperty(ConfigurationValue.JMS_PUBLISHING_JOB_CLAIM_DURATION_SECONDS, Integer.class);
+        Set<String> orderedJmsQueueNames = getOrderedJmsQueueNames();
+
+        // Claim the oldest JMS messages that are not claimed by another publisher. The claim is committed in its own transaction, so other publishers skip
+        // these messages while they are being sent.
+        String claimant = UUID.randomUUID().toString();
+        List<JmsMessageEntity> jmsMessageEntities =
+            jmsPublishingHelperService.claimJmsMessages(claimant, claimDurationSeconds, orderedJmsQueueNames, maxMessages);
+
+        // Group the messages by queue name preserving their order, since a batch can only be sent to a single queue.
+        Map<String, List<JmsMessageEntity>> queueNameToJmsMessageEntitiesMap = new LinkedHashMap<>();
+        for (JmsMessageEntity jmsMessageEntity : jmsMessageEntities)
+        {
+            List<JmsMessageEntity> queueJmsMessageEntities = queueNameToJmsMessageEntitiesMap.get(jmsMessageEntity.getJmsQueueName());
+            if (queueJmsMessageEntities == null)
+            {
+                queueJmsMessageEntities = new ArrayList<>();
+                queueNameToJmsMessageEntitiesMap.put(jmsMessageEntity.getJmsQueueName(), queueJmsMessageEntities);
+            }
+            queueJmsMessageEntities.add(jmsMessageEntity);
+        }
+
+        // Send the messages and collect the ids of the messages that were sent.
+        AwsParamsDto awsParamsDto = awsHelper.getAwsParamsDto();
+        List<Integer> sentJmsMessageIds = new ArrayList<>();
+        for (Map.Entry<String, List<JmsMessageEntity>> entry : queueNameToJmsMessageEntitiesMap.entrySet())
+        {
+            if (orderedJmsQueueNames.contains(HerdDao.ALL_JMS_QUEUE_NAMES) || orderedJmsQueueNames.contains(entry.getKey()))
+            {
+                sentJmsMessageIds.addAll(sendOrderedJmsMessages(awsParamsDto, entry.getKey(), entry.getValue()));
+            }
+            else
+            {
+                sentJmsMessageIds.addAll(sendJmsMessages(awsParamsDto, entry.getKey(), entry.getValue()));
+            }
+        }
+
+        // Delete the sent messages from the queue.
+        jmsPublishingHelperService.deleteJmsMessages(sentJmsMessageIds);
+
+        return sentJmsMessageIds.size();
+    }
 
-        // Retrieve the oldest JMS message, unless the queue is empty.
-        JmsMessageEntity jmsMessageEntity = herdDao.getOldestJmsMessage();
+    /**
+     * Gets the names of the JMS queues that require the messages to be published in order.
+     *
+     * @return the set of JMS queue names, which may contain {@link HerdDao#ALL_JMS_QUEUE_NAMES}
+     */
+    private Set<String> getOrderedJmsQueueNames()
+    {
+        return herdStringHelper.splitAndTrim(configurationHelper.getProperty(ConfigurationValue.JMS_PUBLISHING_JOB_ORDERED_QUEUE_NAMES), ",");
+    }
 
-        if (jmsMessageEntity != null)
+    /**
+     * Sends the specified JMS messages to an AWS SQS queue one at a time in the order of the list. Sending stops at the first message that fails, so the
+     * remaining messages get sent after it.
+     *
+     * @param awsParamsDto the AWS related parameters
+     * @param jmsQueueName the JMS queue name
+     * @param jmsMessageEntities the list of JMS messages for the queue
+     *
+     * @return the list of ids of the messages that were sent
+     */
+    private List<Integer> sendOrderedJmsMessages(AwsParamsDto awsParamsDto, String jmsQueueName, List<JmsMessageEntity> jmsMessageEntities)
+    {
+        List<Integer> sentJmsMessageIds = new ArrayList<>();
+        for (JmsMessageEntity jmsMessageEntity : jmsMessageEntities)
         {
             try
             {
-                // Send a text message to the specified AWS SQS queue.
-                sqsDao.sendSqsTextMessage(awsHelper.getAwsParamsDto(), jmsMessageEntity.getJmsQueueName(), jmsMessageEntity.getMessageText());
-                messageSent = true;
+                sqsDao.sendSqsTextMessage(awsParamsDto, jmsQueueName, jmsMessageEntity.getMessageText());
             }
             catch (Exception e)
             {
-                LOGGER.error(String
-                    .format("Failed to post message on \"%s\" SQS queue. Message: %s", jmsMessageEntity.getJmsQueueName(), jmsMessageEntity.getMessageText()));
+                LOGGER.error(String.format("Failed to post message on \"%s\" SQS queue. Message: %s", jmsQueueName, jmsMessageEntity.getMessageText()), e);
+                break;
+            }
+            sentJmsMessageIds.add(jmsMessageEntity.getId());
+        }
+
+        return sentJmsMessageIds;
+    }
 
-                // Throw the exception up.
-                throw new IllegalStateException(e.getMessage(), e);
+    /**
+     * Sends the specified JMS messages to an AWS SQS queue in batches. The messages that fail as part of a batch are retried one at a time.
+     *
+     * @param awsParamsDto the AWS related parameters
+     * @param jmsQueueName the JMS queue name
+     * @param jmsMessageEntities the list of JMS messages for the queue
+     *
+     * @return the list of ids of the messages that were sent
+     */
+    private List<Integer> sendJmsMessages(AwsParamsDto awsParamsDto, String jmsQueueName, List<JmsMessageEntity> jmsMessageEntities)
+    {
+        List<String> messageTexts = new ArrayList<>();
+        for (JmsMessageEntity jmsMessageEntity : jmsMessageEntities)
+        {
+            messageTexts.add(jmsMessageEntity.getMessageText());
+        }
+
+        // Send the messages in batches. The failed messages include both the entries that failed as part of a batch and all entries of a batch request that
+        // failed altogether, while the messages of the batches that were accepted are not sent again. Only when no batch could be sent at all, for example
+        // because no SQS client could be created, are all messages retried.
+        List<JmsMessageEntity> failedJmsMessageEntities = new ArrayList<>();
+        try
+        {
+            for (Integer failedIndex : sqsDao.sendSqsTextMessages(awsParamsDto, jmsQueueName, messageTexts))
+            {
+                failedJmsMessageEntities.add(jmsMessageEntities.get(failedIndex));
             }
+        }
+        catch (Exception e)
+        {
+            LOGGER.warn(String.format("Failed to post messages on \"%s\" SQS queue in batches. Retrying the messages one at a time.", jmsQueueName), e);
+            failedJmsMessageEntities.addAll(jmsMessageEntities);
+        }
 
-            // Delete this message from the queue.
-            herdDao.delete(jmsMessageEntity);
+        // Retry the failed messages one at a time.
+        List<JmsMessageEntity> unsentJmsMessageEntities = new ArrayList<>();
+        for (JmsMessageEntity jmsMessageEntity : failedJmsMessageEntities)
+        {
+            try
+            {
+                sqsDao.sendSqsTextMessage(awsParamsDto, jmsQueueName, jmsMessageEntity.getMessageText());
+            }
+            catch (Exception e)
+            {
+                LOGGER.error(String.format("Failed to post message on \"%s\" SQS queue. Message: %s", jmsQueueName, jmsMessageEntity.getMessageText()), e);
+                unsentJmsMessageEntities.add(jmsMessageEntity);
+            }
+        }
+
+        List<Integer> sentJmsMessageIds = new ArrayList<>();
+        for (JmsMessageEntity jmsMessageEntity : jmsMessageEntities)
+        {
+            if (!unsentJmsMessageEntities.contains(jmsMessageEntity))
+            {
+                sentJmsMessageIds.add(jmsMessageEntity.getId());
+            }
         }
 
-        return messageSent;
+        return sentJmsMessageIds;
     }
 }
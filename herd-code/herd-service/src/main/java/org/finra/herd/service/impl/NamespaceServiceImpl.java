@@ -22,6 +22,7 @@ import org.springframework.util.Assert;
 
 import org.finra.herd.dao.HerdDao;
 import org.finra.herd.dao.config.DaoSpringModuleConfig;
+import org.finra.herd.dao.helper.ReferenceDataCacheHelper;
 import org.finra.herd.model.AlreadyExistsException;
 import org.finra.herd.model.jpa.NamespaceEntity;
 import org.finra.herd.model.api.xml.Namespace;
@@ -48,6 +49,9 @@ public class NamespaceServiceImpl implements NamespaceService
     @Autowired
     private HerdDaoHelper herdDaoHelper;
 
+    @Autowired
+    private ReferenceDataCacheHelper referenceDataCacheHelper;
+
     /**
      * {@inheritDoc}
      */
@@ -109,6 +113,9 @@ public class NamespaceServiceImpl implements NamespaceService
         // Delete the namespace.
         herdDao.delete(namespaceEntity);
 
+        // Evict the deleted namespace from the reference data cache.
+        referenceDataCacheHelper.evict(NamespaceEntity.class, namespaceEntity.getCode());
+
         // Create and return the namespace object from the deleted entity.
         return createNamespaceFromEntity(namespaceEntity);
     }
@@ -16,13 +16,18 @@
 package org.finra.herd.service.impl;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.Future;
 
+import org.apache.commons.lang3.StringUtils;
 import org.apache.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.scheduling.annotation.Async;
-import org.springframework.scheduling.annotation.AsyncResult;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.CollectionUtils;
@@ -30,11 +35,12 @@ import org.springframework.util.CollectionUtils;
 import org.finra.herd.dao.BusinessObjectDataNotificationRegistrationDao;
 import org.finra.herd.dao.HerdDao;
 import org.finra.herd.dao.config.DaoSpringModuleConfig;
+import org.finra.herd.model.ObjectNotFoundException;
 import org.finra.herd.model.api.xml.BusinessObjectData;
 import org.finra.herd.model.api.xml.BusinessObjectDataKey;
 import org.finra.herd.model.api.xml.BusinessObjectFormat;
-import org.finra.herd.model.api.xml.BusinessObjectFormatKey;
 import org.finra.herd.model.api.xml.SchemaColumn;
+import org.finra.herd.model.dto.BusinessObjectDataNotificationEventDto;
 import org.finra.herd.model.dto.BusinessObjectDataNotificationEventParamsDto;
 import org.finra.herd.model.dto.NotificationEventParamsDto;
 import org.finra.herd.model.jpa.BusinessObjectDataEntity;
@@ -48,7 +54,9 @@ import org.finra.herd.model.jpa.StorageUnitEntity;
 import org.finra.herd.service.NotificationActionService;
 import org.finra.herd.service.NotificationEventService;
 import org.finra.herd.service.helper.BusinessObjectDataHelper;
+import org.finra.herd.service.helper.BusinessObjectDataNotificationEventCoalescer;
 import org.finra.herd.service.helper.BusinessObjectFormatHelper;
+import org.finra.herd.service.helper.HerdDaoHelper;
 import org.finra.herd.service.helper.HerdHelper;
 import org.finra.herd.service.helper.NotificationActionFactory;
 
@@ -61,6 +69,11 @@ public class NotificationEventServiceImpl implements NotificationEventService
 {
     private static final Logger LOGGER = Logger.getLogger(NotificationEventServiceImpl.class);
 
+    /**
+     * The maximum number of business object data keys looked up by a single query.
+     */
+    private static final int MAX_BUSINESS_OBJECT_DATA_KEYS_PER_QUERY = 100;
+
     @Autowired
     private NotificationActionFactory notificationActionFactory;
 
@@ -79,18 +92,25 @@ public class NotificationEventServiceImpl implements NotificationEventService
     @Autowired
     private BusinessObjectDataNotificationRegistrationDao businessObjectDataNotificationRegistrationDao;
 
+    // The coalescer depends on this service, so it is resolved lazily to break the circular dependency. Its dependency on this service is the one Spring
+    // registers, which makes sure the coalescer processes its pending events before this service gets destroyed.
+    @Autowired
+    @Lazy
+    private BusinessObjectDataNotificationEventCoalescer businessObjectDataNotificationEventCoalescer;
+
+    @Autowired
+    private HerdDaoHelper herdDaoHelper;
+
     /**
      * {@inheritDoc}
+     * <p/>
+     * The event is handed over to the notification event coalescer, which processes it together with the other events received within a short time window.
      */
-    @Async
     public Future<Void> processBusinessObjectDataNotificationEventAsync(NotificationEventTypeEntity.EventTypesBdata eventType, BusinessObjectDataKey key,
         String newBusinessObjectDataStatus, String oldBusinessObjectDataStatus)
     {
-        processBusinessObjectDataNotificationEventSync(eventType, key, newBusinessObjectDataStatus, oldBusinessObjectDataStatus);
-
-        // Return an AsyncResult so callers will know the future is "done". They can call "isDone" to know when this method has completed and they
-        // can call "get" to see if any exceptions were thrown.
-        return new AsyncResult<>(null);
+        return businessObjectDataNotificationEventCoalescer
+            .addEvent(new BusinessObjectDataNotificationEventDto(eventType, key, newBusinessObjectDataStatus, oldBusinessObjectDataStatus));
     }
 
     /**
@@ -99,13 +119,200 @@ public class NotificationEventServiceImpl implements NotificationEventService
     public List<Object> processBusinessObjectDataNotificationEventSync(NotificationEventTypeEntity.EventTypesBdata eventType,
         BusinessObjectDataKey businessObjectDataKey, String newBusinessObjectDataStatus, String oldBusinessObjectDataStatus)
     {
-        // Retrieve the notifications matching the event type.
-        List<BusinessObjectDataNotificationRegistrationEntity> businessObjectDataNotificationRegistrationEntities =
-            businessObjectDataNotificationRegistrationDao.getBusinessObjectDataNotificationRegistrations(eventType.name(), businessObjectDataKey,
-                newBusinessObjectDataStatus, oldBusinessObjectDataStatus);
+        BusinessObjectDataNotificationEventDto notificationEvent =
+            new BusinessObjectDataNotificationEventDto(eventType, businessObjectDataKey, newBusinessObjectDataStatus, oldBusinessObjectDataStatus);
+
+        Map<BusinessObjectDataNotificationEventDto, RuntimeException> failedNotificationEvents = new IdentityHashMap<>();
+        List<Object> notificationActions = processBusinessObjectDataNotificationEventsSync(Arrays.asList(notificationEvent), failedNotificationEvents);
+
+        // A single event has no other events to protect from its failure, so the failure is thrown to the caller.
+        if (failedNotificationEvents.containsKey(notificationEvent))
+        {
+            throw failedNotificationEvents.get(notificationEvent);
+        }
+
+        return notificationActions;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public List<Object> processBusinessObjectDataNotificationEventsSync(List<BusinessObjectDataNotificationEventDto> notificationEvents,
+        Map<BusinessObjectDataNotificationEventDto, RuntimeException> failedNotificationEvents)
+    {
+        // Retrieve the notifications matching each event. Events that only differ by partition values or business object data version share the lookup.
+        Map<List<Object>, List<BusinessObjectDataNotificationRegistrationEntity>> registrationsByLookupKey = new HashMap<>();
+        List<BusinessObjectDataNotificationEventDto> matchedNotificationEvents = new ArrayList<>();
+        List<List<BusinessObjectDataNotificationRegistrationEntity>> matchedRegistrations = new ArrayList<>();
+        for (BusinessObjectDataNotificationEventDto notificationEvent : notificationEvents)
+        {
+            BusinessObjectDataKey businessObjectDataKey = notificationEvent.getBusinessObjectDataKey();
+            List<Object> lookupKey = Arrays.<Object>asList(notificationEvent.getEventType(), businessObjectDataKey.getNamespace().toUpperCase(),
+                businessObjectDataKey.getBusinessObjectDefinitionName().toUpperCase(), businessObjectDataKey.getBusinessObjectFormatUsage().toUpperCase(),
+                businessObjectDataKey.getBusinessObjectFormatFileType().toUpperCase(), businessObjectDataKey.getBusinessObjectFormatVersion(),
+                toUpperCase(notificationEvent.getNewBusinessObjectDataStatus()), toUpperCase(notificationEvent.getOldBusinessObjectDataStatus()));
+
+            List<BusinessObjectDataNotificationRegistrationEntity> registrations = registrationsByLookupKey.get(lookupKey);
+            if (registrations == null)
+            {
+                registrations = businessObjectDataNotificationRegistrationDao
+                    .getBusinessObjectDataNotificationRegistrations(notificationEvent.getEventType().name(), businessObjectDataKey,
+                        notificationEvent.getNewBusinessObjectDataStatus(), notificationEvent.getOldBusinessObjectDataStatus());
+                registrationsByLookupKey.put(lookupKey, registrations);
+            }
+
+            // Events without matching notifications need no further processing.
+            if (!registrations.isEmpty())
+            {
+                matchedNotificationEvents.add(notificationEvent);
+                matchedRegistrations.add(registrations);
+            }
+        }
+
+        List<Object> notificationActions = new ArrayList<>();
+        if (matchedNotificationEvents.isEmpty())
+        {
+            return notificationActions;
+        }
+
+        // Retrieve the business object data of all the remaining events.
+        Map<List<Object>, BusinessObjectDataEntity> businessObjectDataEntities = getBusinessObjectDataEntities(matchedNotificationEvents);
+
+        // Business object data and partition column names are shared by the events of the same business object data and format.
+        Map<Integer, BusinessObjectData> businessObjectDataById = new HashMap<>();
+        Map<Integer, List<String>> partitionColumnNamesByFormatId = new HashMap<>();
+
+        // Process the events one by one. An event that fails is skipped, so it neither affects the other events nor causes the actions of the other events to
+        // be performed again.
+        for (int i = 0; i < matchedNotificationEvents.size(); i++)
+        {
+            BusinessObjectDataNotificationEventDto notificationEvent = matchedNotificationEvents.get(i);
+            try
+            {
+                notificationActions.addAll(processBusinessObjectDataNotificationEvent(notificationEvent, matchedRegistrations.get(i),
+                    businessObjectDataEntities, businessObjectDataById, partitionColumnNamesByFormatId));
+            }
+            catch (RuntimeException e)
+            {
+                LOGGER.error(String.format("Failed to process the \"%s\" business object data notification event.", notificationEvent.getEventType()), e);
+                failedNotificationEvents.put(notificationEvent, e);
+            }
+        }
+
+        return notificationActions;
+    }
+
+    /**
+     * Processes a single business object data notification event using the registrations and business object data looked up for its batch.
+     *
+     * @param notificationEvent the notification event
+     * @param registrations the notification registrations matching the event
+     * @param businessObjectDataEntities the business object data entities of the batch keyed by the business object data lookup key
+     * @param businessObjectDataById the business object data already created for the batch keyed by the business object data id
+     * @param partitionColumnNamesByFormatId the partition column names already retrieved for the batch keyed by the business object format id
+     *
+     * @return the list of actions that were performed for the event
+     * @throws ObjectNotFoundException if the business object data of the event does not exist
+     */
+    private List<Object> processBusinessObjectDataNotificationEvent(BusinessObjectDataNotificationEventDto notificationEvent,
+        List<BusinessObjectDataNotificationRegistrationEntity> registrations, Map<List<Object>, BusinessObjectDataEntity> businessObjectDataEntities,
+        Map<Integer, BusinessObjectData> businessObjectDataById, Map<Integer, List<String>> partitionColumnNamesByFormatId)
+    {
+        BusinessObjectDataEntity businessObjectDataEntity =
+            businessObjectDataEntities.get(getBusinessObjectDataLookupKey(notificationEvent.getBusinessObjectDataKey()));
+        if (businessObjectDataEntity == null)
+        {
+            BusinessObjectDataKey businessObjectDataKey = notificationEvent.getBusinessObjectDataKey();
+            throw new ObjectNotFoundException(String.format("Business object data {namespace: \"%s\", businessObjectDefinitionName: \"%s\", " +
+                "businessObjectFormatUsage: \"%s\", businessObjectFormatFileType: \"%s\", businessObjectFormatVersion: %s, " +
+                "businessObjectDataPartitionValue: \"%s\", businessObjectDataSubPartitionValues: \"%s\", businessObjectDataVersion: %s} doesn't exist.",
+                businessObjectDataKey.getNamespace(), businessObjectDataKey.getBusinessObjectDefinitionName(),
+                businessObjectDataKey.getBusinessObjectFormatUsage(), businessObjectDataKey.getBusinessObjectFormatFileType(),
+                businessObjectDataKey.getBusinessObjectFormatVersion(), businessObjectDataKey.getPartitionValue(),
+                CollectionUtils.isEmpty(businessObjectDataKey.getSubPartitionValues()) ? "" :
+                    StringUtils.join(businessObjectDataKey.getSubPartitionValues(), ","), businessObjectDataKey.getBusinessObjectDataVersion()));
+        }
+
+        List<BusinessObjectDataNotificationRegistrationEntity> notificationRegistrationsToProcess =
+            getNotificationRegistrationsToProcess(registrations, businessObjectDataEntity);
+        if (notificationRegistrationsToProcess.isEmpty())
+        {
+            return new ArrayList<>();
+        }
+
+        BusinessObjectData businessObjectData = businessObjectDataById.get(businessObjectDataEntity.getId());
+        if (businessObjectData == null)
+        {
+            businessObjectData = businessObjectDataHelper.createBusinessObjectDataFromEntity(businessObjectDataEntity);
+            businessObjectDataById.put(businessObjectDataEntity.getId(), businessObjectData);
+        }
+
+        BusinessObjectFormatEntity businessObjectFormatEntity = businessObjectDataEntity.getBusinessObjectFormat();
+        if (!partitionColumnNamesByFormatId.containsKey(businessObjectFormatEntity.getId()))
+        {
+            partitionColumnNamesByFormatId.put(businessObjectFormatEntity.getId(), getPartitionColumnNames(businessObjectFormatEntity));
+        }
+
+        return processBusinessObjectDataNotifications(notificationEvent.getEventType().name(), notificationRegistrationsToProcess,
+            businessObjectData, partitionColumnNamesByFormatId.get(businessObjectFormatEntity.getId()), notificationEvent.getNewBusinessObjectDataStatus(),
+            notificationEvent.getOldBusinessObjectDataStatus());
+    }
+
+    /**
+     * Retrieves the business object data of the specified events. Business object data keys that specify both format and data versions are retrieved using a
+     * single query per chunk of keys.
+     *
+     * @param notificationEvents the notification events
+     *
+     * @return the business object data entities keyed by the business object data lookup key
+     */
+    private Map<List<Object>, BusinessObjectDataEntity> getBusinessObjectDataEntities(List<BusinessObjectDataNotificationEventDto> notificationEvents)
+    {
+        Map<List<Object>, BusinessObjectDataEntity> businessObjectDataEntities = new HashMap<>();
 
-        BusinessObjectDataEntity businessObjectDataEntity = herdDao.getBusinessObjectDataByAltKey(businessObjectDataKey);
+        Map<List<Object>, BusinessObjectDataKey> versionedBusinessObjectDataKeys = new LinkedHashMap<>();
+        for (BusinessObjectDataNotificationEventDto notificationEvent : notificationEvents)
+        {
+            BusinessObjectDataKey businessObjectDataKey = notificationEvent.getBusinessObjectDataKey();
+            List<Object> businessObjectDataLookupKey = getBusinessObjectDataLookupKey(businessObjectDataKey);
+
+            if (businessObjectDataKey.getBusinessObjectFormatVersion() != null && businessObjectDataKey.getBusinessObjectDataVersion() != null)
+            {
+                versionedBusinessObjectDataKeys.put(businessObjectDataLookupKey, businessObjectDataKey);
+            }
+            else if (!businessObjectDataEntities.containsKey(businessObjectDataLookupKey))
+            {
+                // Keys with missing versions resolve to the latest versions, so they are retrieved one at a time.
+                businessObjectDataEntities.put(businessObjectDataLookupKey, herdDao.getBusinessObjectDataByAltKey(businessObjectDataKey));
+            }
+        }
 
+        List<BusinessObjectDataKey> businessObjectDataKeys = new ArrayList<>(versionedBusinessObjectDataKeys.values());
+        for (int fromIndex = 0; fromIndex < businessObjectDataKeys.size(); fromIndex += MAX_BUSINESS_OBJECT_DATA_KEYS_PER_QUERY)
+        {
+            for (BusinessObjectDataEntity businessObjectDataEntity : herdDao.getBusinessObjectDataEntitiesByAltKeys(businessObjectDataKeys
+                .subList(fromIndex, Math.min(fromIndex + MAX_BUSINESS_OBJECT_DATA_KEYS_PER_QUERY, businessObjectDataKeys.size()))))
+            {
+                businessObjectDataEntities
+                    .put(getBusinessObjectDataLookupKey(herdDaoHelper.getBusinessObjectDataKey(businessObjectDataEntity)), businessObjectDataEntity);
+            }
+        }
+
+        return businessObjectDataEntities;
+    }
+
+    /**
+     * Returns the notification registrations whose storage filter matches the storage units of the specified business object data.
+     *
+     * @param businessObjectDataNotificationRegistrationEntities the notification registrations matching the event
+     * @param businessObjectDataEntity the business object data entity
+     *
+     * @return the notification registrations to process
+     */
+    private List<BusinessObjectDataNotificationRegistrationEntity> getNotificationRegistrationsToProcess(
+        List<BusinessObjectDataNotificationRegistrationEntity> businessObjectDataNotificationRegistrationEntities,
+        BusinessObjectDataEntity businessObjectDataEntity)
+    {
         List<BusinessObjectDataNotificationRegistrationEntity> notificationRegistrationsToProcess = new ArrayList<>();
 
         for (BusinessObjectDataNotificationRegistrationEntity notificationRegistration : businessObjectDataNotificationRegistrationEntities)
@@ -128,42 +335,79 @@ public class NotificationEventServiceImpl implements NotificationEventService
             }
         }
 
-        return processBusinessObjectDataNotifications(eventType.name(), notificationRegistrationsToProcess,
-            businessObjectDataHelper.createBusinessObjectDataFromEntity(businessObjectDataEntity), newBusinessObjectDataStatus, oldBusinessObjectDataStatus);
+        return notificationRegistrationsToProcess;
+    }
+
+    /**
+     * Returns the partition column names of the specified business object format.
+     *
+     * @param businessObjectFormatEntity the business object format entity
+     *
+     * @return the list of partition column names or null if the format has no schema with partition columns
+     */
+    private List<String> getPartitionColumnNames(BusinessObjectFormatEntity businessObjectFormatEntity)
+    {
+        // Get business object format model object to directly access schema columns and partitions.
+        BusinessObjectFormat businessObjectFormat = businessObjectFormatHelper.createBusinessObjectFormatFromEntity(businessObjectFormatEntity);
+
+        // Proceed only if this format has schema with partition columns specified.
+        if (businessObjectFormat.getSchema() == null || CollectionUtils.isEmpty(businessObjectFormat.getSchema().getPartitions()))
+        {
+            return null;
+        }
+
+        List<String> partitionColumnNames = new ArrayList<>();
+        for (SchemaColumn partitionColumn : businessObjectFormat.getSchema().getPartitions())
+        {
+            partitionColumnNames.add(partitionColumn.getName());
+        }
+
+        return partitionColumnNames;
+    }
+
+    /**
+     * Returns a value that identifies the specified business object data key and that can be used as a hash map key. The alternate key parts that are
+     * case-insensitive are upper-cased.
+     *
+     * @param businessObjectDataKey the business object data key
+     *
+     * @return the business object data lookup key
+     */
+    private List<Object> getBusinessObjectDataLookupKey(BusinessObjectDataKey businessObjectDataKey)
+    {
+        return Arrays.<Object>asList(businessObjectDataKey.getNamespace().toUpperCase(), businessObjectDataKey.getBusinessObjectDefinitionName().toUpperCase(),
+            businessObjectDataKey.getBusinessObjectFormatUsage().toUpperCase(), businessObjectDataKey.getBusinessObjectFormatFileType().toUpperCase(),
+            businessObjectDataKey.getBusinessObjectFormatVersion(), businessObjectDataKey.getPartitionValue(),
+            businessObjectDataKey.getSubPartitionValues() == null ? new ArrayList<String>() : businessObjectDataKey.getSubPartitionValues(),
+            businessObjectDataKey.getBusinessObjectDataVersion());
+    }
+
+    /**
+     * Converts the specified string to upper case.
+     *
+     * @param value the string to convert, may be null
+     *
+     * @return the upper case string or null if the string is null
+     */
+    private String toUpperCase(String value)
+    {
+        return value == null ? null : value.toUpperCase();
     }
 
     private List<Object> processBusinessObjectDataNotifications(String eventType,
         List<BusinessObjectDataNotificationRegistrationEntity> businessObjectDataNotifications, BusinessObjectData businessObjectData,
-        String newBusinessObjectDataStatus, String oldBusinessObjectDataStatus)
+        List<String> formatPartitionColumnNames, String newBusinessObjectDataStatus, String oldBusinessObjectDataStatus)
     {
         List<Object> notificationActions = new ArrayList<>();
 
         // Build a list of partition value that includes primary and sub-partition values, if any are specified in the business object data key.
         List<String> partitionValues = getPartitionValues(businessObjectData);
 
-        // Get a list of partition columns from the associated business object format.
+        // Do not provide more partition column names than there are primary and sub-partition values that this business object data is registered with.
         List<String> partitionColumnNames = null;
-        BusinessObjectFormatEntity businessObjectFormatEntity = herdDao.getBusinessObjectFormatByAltKey(
-            new BusinessObjectFormatKey(businessObjectData.getNamespace(), businessObjectData.getBusinessObjectDefinitionName(),
-                businessObjectData.getBusinessObjectFormatUsage(), businessObjectData.getBusinessObjectFormatFileType(),
-                businessObjectData.getBusinessObjectFormatVersion()));
-        if (businessObjectFormatEntity != null)
+        if (formatPartitionColumnNames != null)
         {
-            // Get business object format model object to directly access schema columns and partitions.
-            BusinessObjectFormat businessObjectFormat = businessObjectFormatHelper.createBusinessObjectFormatFromEntity(businessObjectFormatEntity);
-
-            // Proceed only if this format has schema with partition columns specified.
-            if (businessObjectFormat.getSchema() != null && !CollectionUtils.isEmpty(businessObjectFormat.getSchema().getPartitions()))
-            {
-                // Do not provide more partition column names than there are primary and
-                // sub-partition values that this business object data is registered with.
-                partitionColumnNames = new ArrayList<>();
-                List<SchemaColumn> partitionColumns = businessObjectFormat.getSchema().getPartitions();
-                for (int i = 0; i < Math.min(partitionValues.size(), partitionColumns.size()); i++)
-                {
-                    partitionColumnNames.add(partitionColumns.get(i).getName());
-                }
-            }
+            partitionColumnNames = new ArrayList<>(formatPartitionColumnNames.subList(0, Math.min(partitionValues.size(), formatPartitionColumnNames.size())));
         }
 
         for (BusinessObjectDataNotificationRegistrationEntity businessObjectDataNotification : businessObjectDataNotifications)
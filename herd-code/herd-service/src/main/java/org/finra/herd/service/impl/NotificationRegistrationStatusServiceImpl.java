@@ -20,6 +20,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.Assert;
 
+import org.finra.herd.dao.BusinessObjectDataNotificationRegistrationDao;
 import org.finra.herd.dao.config.DaoSpringModuleConfig;
 import org.finra.herd.model.api.xml.NotificationRegistrationKey;
 import org.finra.herd.model.api.xml.NotificationRegistrationStatusUpdateRequest;
@@ -34,6 +35,9 @@ import org.finra.herd.service.helper.NotificationRegistrationStatusDaoHelper;
 @Transactional(value = DaoSpringModuleConfig.HERD_TRANSACTION_MANAGER_BEAN_NAME)
 public class NotificationRegistrationStatusServiceImpl implements NotificationRegistrationStatusService
 {
+    @Autowired
+    private BusinessObjectDataNotificationRegistrationDao businessObjectDataNotificationRegistrationDao;
+
     @Autowired
     private NotificationRegistrationDaoHelper notificationRegistrationDaoHelper;
 
@@ -53,6 +57,7 @@ public class NotificationRegistrationStatusServiceImpl implements NotificationRe
         NotificationRegistrationStatusEntity notificationRegistrationStatusEntity = notificationRegistrationStatusDaoHelper.getNotificationRegistrationStatus(
             notificationRegistrationStatus.trim());
         notificationRegistration.setNotificationRegistrationStatus(notificationRegistrationStatusEntity);
+        businessObjectDataNotificationRegistrationDao.invalidateBusinessObjectDataNotificationRegistrationIndex();
 
         NotificationRegistrationStatusUpdateResponse notificationRegistrationStatusUpdateResponse = new NotificationRegistrationStatusUpdateResponse();
         notificationRegistrationStatusUpdateResponse.setNotificationRegistrationKey(new NotificationRegistrationKey(notificationRegistration
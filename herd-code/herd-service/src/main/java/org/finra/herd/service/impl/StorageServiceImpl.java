@@ -28,6 +28,7 @@ import org.springframework.util.CollectionUtils;
 import org.finra.herd.core.HerdDateUtils;
 import org.finra.herd.dao.HerdDao;
 import org.finra.herd.dao.config.DaoSpringModuleConfig;
+import org.finra.herd.dao.helper.ReferenceDataCacheHelper;
 import org.finra.herd.model.AlreadyExistsException;
 import org.finra.herd.model.ObjectNotFoundException;
 import org.finra.herd.model.api.xml.Attribute;
@@ -66,6 +67,9 @@ public class StorageServiceImpl implements StorageService
     @Autowired
     private StorageDaoHelper storageDaoHelper;
 
+    @Autowired
+    private ReferenceDataCacheHelper referenceDataCacheHelper;
+
     /**
      * Creates a new storage.
      *
@@ -177,6 +181,9 @@ public class StorageServiceImpl implements StorageService
         // Delete the storage.
         herdDao.delete(storageEntity);
 
+        // Evict the deleted storage from the reference data cache.
+        referenceDataCacheHelper.evict(StorageEntity.class, storageEntity.getName());
+
         // Return the storage that got deleted.
         return createStorageFromEntity(storageEntity);
     }
@@ -202,6 +209,7 @@ public class StorageServiceImpl implements StorageService
      * @return the upload statistics
      */
     @Override
+    @Transactional(readOnly = true)
     public StorageDailyUploadStats getStorageUploadStats(StorageAlternateKeyDto storageAlternateKey, Date uploadDate)
     {
         // Perform validation and trim.
@@ -224,6 +232,7 @@ public class StorageServiceImpl implements StorageService
      * @return the upload statistics
      */
     @Override
+    @Transactional(readOnly = true)
     public StorageBusinessObjectDefinitionDailyUploadStats getStorageUploadStatsByBusinessObjectDefinition(StorageAlternateKeyDto storageAlternateKey,
         Date uploadDate)
     {
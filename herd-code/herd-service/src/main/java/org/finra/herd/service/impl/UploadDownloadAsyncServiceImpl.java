@@ -28,6 +28,7 @@ import org.finra.herd.model.dto.AwsParamsDto;
 import org.finra.herd.model.api.xml.BusinessObjectDataKey;
 import org.finra.herd.service.UploadDownloadAsyncService;
 import org.finra.herd.service.UploadDownloadHelperService;
+import org.finra.herd.service.config.ServiceSpringModuleConfig;
 
 /**
  * A service class for UploadDownloadService asynchronous functions.
@@ -43,7 +44,7 @@ public class UploadDownloadAsyncServiceImpl implements UploadDownloadAsyncServic
      * {@inheritDoc}
      */
     @Override
-    @Async
+    @Async(ServiceSpringModuleConfig.FILE_MOVE_EXECUTOR_BEAN_NAME)
     public Future<Void> performFileMoveAsync(BusinessObjectDataKey sourceBusinessObjectDataKey, BusinessObjectDataKey targetBusinessObjectDataKey,
         String sourceBucketName, String destinationBucketName, String filePath, String kmsKeyId, AwsParamsDto awsParams)
     {
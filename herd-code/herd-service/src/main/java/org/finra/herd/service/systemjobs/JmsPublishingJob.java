@@ -15,7 +15,13 @@
 */
 package org.finra.herd.service.systemjobs;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
 
 import org.apache.log4j.Logger;
 import org.quartz.DisallowConcurrentExecution;
@@ -23,6 +29,7 @@ import org.quartz.JobDataMap;
 import org.quartz.JobExecutionContext;
 import org.quartz.JobExecutionException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
@@ -30,9 +37,11 @@ import org.springframework.util.CollectionUtils;
 import org.finra.herd.model.dto.ConfigurationValue;
 import org.finra.herd.model.api.xml.Parameter;
 import org.finra.herd.service.JmsPublishingService;
+import org.finra.herd.service.config.ServiceSpringModuleConfig;
 
 /**
- * The JMS publishing job.
+ * The JMS publishing job. The clustered scheduler fires the job on a single herd node at a time, so adding herd nodes does not speed up publishing, while
+ * adding workers does.
  */
 @Component(JmsPublishingJob.JOB_NAME)
 @DisallowConcurrentExecution
@@ -45,25 +54,62 @@ public class JmsPublishingJob extends AbstractSystemJob
     @Autowired
     private JmsPublishingService jmsPublishingService;
 
+    @Autowired
+    @Qualifier(ServiceSpringModuleConfig.JMS_PUBLISHING_EXECUTOR_BEAN_NAME)
+    private Executor jmsPublishingExecutor;
+
     @Override
     protected void executeInternal(JobExecutionContext context) throws JobExecutionException
     {
         // Log that the system job is started.
         LOGGER.info(String.format("Started \"%s\" system job.", JOB_NAME));
 
-        // Publish JMS messages stored in the database queue.
+        // Get the maximum number of JMS messages to publish per claim and the number of parallel workers.
+        final int batchSize = configurationHelper.getProperty(ConfigurationValue.JMS_PUBLISHING_JOB_BATCH_SIZE, Integer.class);
+        int workerCount = Math.max(1, configurationHelper.getProperty(ConfigurationValue.JMS_PUBLISHING_JOB_WORKER_COUNT, Integer.class));
+
+        // Publish JMS messages stored in the database queue. Every worker claims its own slice of the database queue, so the workers never publish the same
+        // message. All workers but one run on the shared JMS publishing executor, while the first one runs on the job thread. Workers that do not fit in the
+        // executor are skipped, since the job thread keeps publishing until the database queue is drained anyway.
+        List<FutureTask<Integer>> tasks = new ArrayList<>();
+        for (int i = 0; i < workerCount; i++)
+        {
+            tasks.add(new FutureTask<>(new Callable<Integer>()
+            {
+                @Override
+                public Integer call()
+                {
+                    return publishJmsMessages(batchSize);
+                }
+            }));
+        }
+        List<FutureTask<Integer>> startedTasks = new ArrayList<>();
+        for (FutureTask<Integer> task : tasks.subList(1, tasks.size()))
+        {
+            try
+            {
+                jmsPublishingExecutor.execute(task);
+                startedTasks.add(task);
+            }
+            catch (RejectedExecutionException e)
+            {
+                LOGGER.debug("The JMS publishing executor is full. Skipping a JMS publishing worker.", e);
+            }
+        }
+        tasks.get(0).run();
+        startedTasks.add(0, tasks.get(0));
+
         int publishedJmsMessagesCount = 0;
         try
         {
-            while (jmsPublishingService.publishOldestJmsMessage())
+            for (FutureTask<Integer> task : startedTasks)
             {
-                publishedJmsMessagesCount++;
+                publishedJmsMessagesCount += task.get();
             }
         }
-        catch (Exception e)
+        catch (InterruptedException | ExecutionException e)
         {
-            // Log the exception.
-            LOGGER.error("Failed to publish a JMS message.", e);
+            LOGGER.error("Failed to wait for the JMS publishing workers.", e);
         }
 
         // Log the number of JMS messages successfully published.
@@ -73,6 +119,35 @@ public class JmsPublishingJob extends AbstractSystemJob
         LOGGER.info(String.format("Completed \"%s\" system job.", JOB_NAME));
     }
 
+    /**
+     * Publishes JMS messages stored in the database queue in batches. Stops once a batch comes back short, since this means that the database queue has no
+     * more messages to claim or that some of the messages could not be sent. Those messages are left in the database queue for the next run of the job.
+     *
+     * @param batchSize the maximum number of JMS messages to claim and publish at a time
+     *
+     * @return the number of published JMS messages
+     */
+    private int publishJmsMessages(int batchSize)
+    {
+        int publishedJmsMessagesCount = 0;
+        try
+        {
+            int batchPublishedJmsMessagesCount;
+            do
+            {
+                batchPublishedJmsMessagesCount = jmsPublishingService.publishOldestJmsMessages(batchSize);
+                publishedJmsMessagesCount += batchPublishedJmsMessagesCount;
+            }
+            while (batchPublishedJmsMessagesCount == batchSize);
+        }
+        catch (Exception e)
+        {
+            // Log the exception.
+            LOGGER.error("Failed to publish a JMS message.", e);
+        }
+        return publishedJmsMessagesCount;
+    }
+
     @Override
     public void validateParameters(List<Parameter> parameters)
     {
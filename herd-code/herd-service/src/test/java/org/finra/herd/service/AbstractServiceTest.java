@@ -160,6 +160,7 @@ import org.finra.herd.service.activiti.ActivitiHelper;
 import org.finra.herd.service.activiti.CreateAndStartProcessInstanceCmd;
 import org.finra.herd.service.activiti.task.BaseJavaDelegate;
 import org.finra.herd.service.config.ServiceTestSpringModuleConfig;
+import org.finra.herd.service.helper.AvailabilityRequestBatchHelper;
 import org.finra.herd.service.helper.BusinessObjectDataHelper;
 import org.finra.herd.service.helper.BusinessObjectDataInvalidateUnregisteredHelper;
 import org.finra.herd.service.helper.EmrStepHelperFactory;
@@ -368,6 +369,9 @@ public abstract class AbstractServiceTest extends AbstractDaoTest
     @Autowired
     protected HerdDaoHelper herdDaoHelper;
 
+    @Autowired
+    protected AvailabilityRequestBatchHelper availabilityRequestBatchHelper;
+
     @Autowired
     protected NotificationEventService notificationEventService;
 
@@ -416,6 +420,9 @@ public abstract class AbstractServiceTest extends AbstractDaoTest
     @Autowired
     protected StoragePlatformService storagePlatformService;
 
+    @Autowired
+    protected CacheService cacheService;
+
     @Autowired
     protected NamespaceService namespaceService;
 
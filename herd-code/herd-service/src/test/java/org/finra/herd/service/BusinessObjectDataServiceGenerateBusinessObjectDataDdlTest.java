@@ -20,10 +20,12 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.log4j.Logger;
 import org.junit.Ignore;
@@ -141,6 +143,43 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
         validateBusinessObjectDataDdl(request, expectedDdl, resultDdl);
     }
 
+    @Test
+    public void testGenerateBusinessObjectDataDdlToWriter() throws Exception
+    {
+        // Prepare test data.
+        createDatabaseEntitiesForBusinessObjectDataDdlTesting();
+
+        // Override configuration, so each storage unit gets processed and written out in its own batch.
+        Map<String, Object> overrideMap = new HashMap<>();
+        overrideMap.put(ConfigurationValue.BUSINESS_OBJECT_DATA_DDL_STORAGE_UNIT_BATCH_SIZE.getKey(), 1);
+        modifyPropertySourceInEnvironment(overrideMap);
+
+        try
+        {
+            // Write out business object data ddl.
+            BusinessObjectDataDdlRequest request = getTestBusinessObjectDataDdlRequest(UNSORTED_PARTITION_VALUES, CUSTOM_DDL_NAME);
+            StringWriter writer = new StringWriter();
+            businessObjectDataService.generateBusinessObjectDataDdl(request, writer);
+
+            // Validate the results.
+            assertEquals(getExpectedDdl(), writer.toString());
+
+            // Write out business object data ddl without custom DDL and with drop partition statements.
+            request = getTestBusinessObjectDataDdlRequest(UNSORTED_PARTITION_VALUES, NO_CUSTOM_DDL_NAME);
+            request.setIncludeDropPartitions(true);
+            writer = new StringWriter();
+            businessObjectDataService.generateBusinessObjectDataDdl(request, writer);
+
+            // Validate that the written DDL matches the one returned in the business object data DDL.
+            assertEquals(businessObjectDataService.generateBusinessObjectDataDdl(request).getDdl(), writer.toString());
+        }
+        finally
+        {
+            // Restore the property sources so we don't affect other tests.
+            restorePropertySourceInEnvironment();
+        }
+    }
+
     @Test
     public void testGenerateBusinessObjectDataDdlLatestBeforePartitionValue()
     {
@@ -38,6 +38,7 @@ import org.finra.herd.model.api.xml.BusinessObjectDataStorageFilesCreateRequest;
 import org.finra.herd.model.api.xml.BusinessObjectDataStorageFilesCreateResponse;
 import org.finra.herd.model.api.xml.SchemaColumn;
 import org.finra.herd.model.api.xml.StorageFile;
+import org.finra.herd.model.dto.ConfigurationValue;
 import org.finra.herd.model.dto.S3FileTransferRequestParamsDto;
 import org.finra.herd.model.jpa.BusinessObjectDataEntity;
 import org.finra.herd.model.jpa.BusinessObjectDefinitionEntity;
@@ -467,6 +468,31 @@ public class BusinessObjectDataStorageFileServiceTest extends AbstractServiceTes
         }
     }
 
+    @Test
+    public void testCreateBusinessObjectDataStorageFilesMultipleStorageFilesAlreadyExist()
+    {
+        createData(null, false, Arrays.asList(FILE_PATH_1, FILE_PATH_2));
+
+        // Try to add multiple already registered storage files.
+        try
+        {
+            businessObjectDataStorageFileService.createBusinessObjectDataStorageFiles(
+                createBusinessObjectDataStorageFilesCreateRequest(NAMESPACE_CD, BOD_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION,
+                    PARTITION_VALUE, null, DATA_VERSION, STORAGE_NAME, Arrays
+                    .asList(createFile(FILE_PATH_2, FILE_SIZE_1_KB, ROW_COUNT_1000), createFile(FILE_PATH_1, FILE_SIZE_1_KB, ROW_COUNT_1000))));
+            fail("Should throw an AlreadyExistsException when request contains storage files that are already registered.");
+        }
+        catch (AlreadyExistsException e)
+        {
+            String expectedBusinessObjectDataKeyAsString =
+                getExpectedBusinessObjectDataKeyAsString(NAMESPACE_CD, BOD_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE,
+                    NO_SUBPARTITION_VALUES, DATA_VERSION);
+            assertEquals(String.format("2 S3 files in \"%s\" storage are already registered: \"%s\" by the business object data {%s}, " +
+                "\"%s\" by the business object data {%s}.", STORAGE_NAME, FILE_PATH_1, expectedBusinessObjectDataKeyAsString, FILE_PATH_2,
+                expectedBusinessObjectDataKeyAsString), e.getMessage());
+        }
+    }
+
     @Test
     public void testCreateBusinessObjectDataStorageFilesS3Managed() throws Exception
     {
@@ -528,6 +554,34 @@ public class BusinessObjectDataStorageFileServiceTest extends AbstractServiceTes
         }
     }
 
+    @Test
+    public void testCreateBusinessObjectDataStorageFilesS3ManagedFileSizeMismatch() throws Exception
+    {
+        createData(null, true);
+        prepareTestS3Files(testS3KeyPrefix, Arrays.asList(FILE_PATH_2));
+
+        // Enable the file size validation for the S3 managed storage.
+        StorageEntity storageEntity = herdDao.getStorageByName(StorageEntity.MANAGED_STORAGE);
+        storageEntity.getAttributes()
+            .add(createStorageAttributeEntity(storageEntity, configurationHelper.getProperty(ConfigurationValue.S3_ATTRIBUTE_NAME_VALIDATE_FILE_SIZE), "true"));
+
+        // Try to add a storage file with a file size that does not match the size of the actual S3 file.
+        try
+        {
+            businessObjectDataStorageFileService.createBusinessObjectDataStorageFiles(
+                createBusinessObjectDataStorageFilesCreateRequest(NAMESPACE_CD, BOD_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION,
+                    PARTITION_VALUE, null, DATA_VERSION, StorageEntity.MANAGED_STORAGE,
+                    Arrays.asList(createFile(testS3KeyPrefix + "/" + FILE_PATH_2, FILE_SIZE_2_KB, ROW_COUNT_1000))));
+            fail("Should throw an IllegalArgumentException when a storage file size does not match the actual S3 file size.");
+        }
+        catch (IllegalArgumentException e)
+        {
+            assertEquals(String.format(
+                "Specified file size of %d bytes for \"%s/%s\" storage file does not match file size of %d bytes reported by S3 at s3://%s/%s/%s location.",
+                FILE_SIZE_2_KB, testS3KeyPrefix, FILE_PATH_2, FILE_SIZE_1_KB, getS3ManagedBucketName(), testS3KeyPrefix, FILE_PATH_2), e.getMessage());
+        }
+    }
+
     /**
      * This method is to get the coverage for the business object data storage file service method that starts the new transaction.
      */
@@ -0,0 +1,107 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+
+import org.finra.herd.dao.config.DaoSpringModuleConfig;
+import org.finra.herd.model.ObjectNotFoundException;
+import org.finra.herd.model.api.xml.CacheRegion;
+import org.finra.herd.model.api.xml.CacheRegions;
+
+/**
+ * This class tests various functionality within the cache service.
+ */
+public class CacheServiceTest extends AbstractServiceTest
+{
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Test
+    public void testGetCaches()
+    {
+        // Get the cache regions.
+        CacheRegions cacheRegions = cacheService.getCaches();
+        assertNotNull(cacheRegions);
+
+        // Validate that all herd cache regions are returned.
+        List<String> cacheNames = new ArrayList<>();
+        for (CacheRegion cacheRegion : cacheRegions.getCacheRegions())
+        {
+            cacheNames.add(cacheRegion.getCacheName());
+        }
+        assertTrue(cacheNames.containsAll(Arrays.asList(DaoSpringModuleConfig.HERD_CACHE_NAME, DaoSpringModuleConfig.REFERENCE_DATA_CACHE_NAME,
+            DaoSpringModuleConfig.EMR_PRICING_CACHE_NAME, DaoSpringModuleConfig.DDL_FRAGMENTS_CACHE_NAME)));
+    }
+
+    @Test
+    public void testClearCache()
+    {
+        // Put an element into the DDL fragments cache region.
+        String cacheKey = "key" + getRandomSuffix();
+        cacheManager.getCache(DaoSpringModuleConfig.DDL_FRAGMENTS_CACHE_NAME).put(cacheKey, DESCRIPTION);
+
+        // Clear the cache region using an input parameter with leading and trailing empty spaces.
+        CacheRegion resultCacheRegion = cacheService.clearCache(addWhitespace(DaoSpringModuleConfig.DDL_FRAGMENTS_CACHE_NAME));
+
+        // Validate the returned object.
+        assertEquals(DaoSpringModuleConfig.DDL_FRAGMENTS_CACHE_NAME, resultCacheRegion.getCacheName());
+        assertEquals(0, resultCacheRegion.getSize());
+        assertNull(cacheManager.getCache(DaoSpringModuleConfig.DDL_FRAGMENTS_CACHE_NAME).get(cacheKey));
+    }
+
+    @Test
+    public void testClearCacheMissingRequiredParameters()
+    {
+        // Try to clear a cache region without specifying the cache name.
+        try
+        {
+            cacheService.clearCache(BLANK_TEXT);
+            fail("Should throw an IllegalArgumentException when cache name is not specified.");
+        }
+        catch (IllegalArgumentException e)
+        {
+            assertEquals("A cache name must be specified.", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testClearCacheCacheNoExists()
+    {
+        // Try to clear a non-existing cache region.
+        try
+        {
+            cacheService.clearCache("I_DO_NOT_EXIST");
+            fail("Should throw an ObjectNotFoundException when cache doesn't exist.");
+        }
+        catch (ObjectNotFoundException e)
+        {
+            assertEquals("Cache \"I_DO_NOT_EXIST\" doesn't exist.", e.getMessage());
+        }
+    }
+}
@@ -18,12 +18,20 @@ package org.finra.herd.service;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+
 import org.junit.Test;
 
 import org.finra.herd.dao.impl.MockSqsOperationsImpl;
+import org.finra.herd.model.dto.ConfigurationValue;
 import org.finra.herd.model.jpa.JmsMessageEntity;
 
 /**
@@ -66,4 +74,146 @@ public class JmsPublishingServiceTest extends AbstractServiceTest
         assertEquals(MockSqsOperationsImpl.MOCK_SQS_QUEUE_NOT_FOUND_NAME, jmsMessageEntity.getJmsQueueName());
         assertEquals(MESSAGE_TEXT, jmsMessageEntity.getMessageText());
     }
+
+    @Test
+    public void testPublishOldestJmsMessages() throws Exception
+    {
+        // Create more messages than fit in a single SQS batch across two queues.
+        for (int i = 0; i < 15; i++)
+        {
+            createJmsMessageEntity(i % 2 == 0 ? JMS_QUEUE_NAME : JMS_QUEUE_NAME_2, MESSAGE_TEXT + i);
+        }
+
+        // Publish the messages in two passes and validate that the queue gets drained.
+        assertEquals(10, jmsPublishingService.publishOldestJmsMessages(10));
+        assertEquals(5, jmsPublishingService.publishOldestJmsMessages(10));
+        assertEquals(0, jmsPublishingService.publishOldestJmsMessages(10));
+        assertNull(herdDao.getOldestJmsMessage());
+    }
+
+    @Test
+    public void testPublishOldestJmsMessagesBatchEntryFailure() throws Exception
+    {
+        // Create a message that fails when sent as part of a batch, but succeeds when retried on its own.
+        createJmsMessageEntity(JMS_QUEUE_NAME, MESSAGE_TEXT);
+        createJmsMessageEntity(JMS_QUEUE_NAME, MockSqsOperationsImpl.MOCK_SQS_BATCH_ENTRY_FAILURE_MESSAGE_TEXT);
+
+        // Override configuration to send the messages in batches.
+        overrideOrderedJmsQueueNames("");
+
+        try
+        {
+            // Validate that both messages get published.
+            assertEquals(2, jmsPublishingService.publishOldestJmsMessages(10));
+        }
+        finally
+        {
+            restorePropertySourceInEnvironment();
+        }
+        assertNull(herdDao.getOldestJmsMessage());
+    }
+
+    @Test
+    public void testPublishOldestJmsMessagesBatchRequestFailure() throws Exception
+    {
+        // Create two batches of messages, where the second batch request fails altogether, but its messages succeed when retried on their own.
+        for (int i = 0; i < 15; i++)
+        {
+            createJmsMessageEntity(JMS_QUEUE_NAME, i == 12 ? MockSqsOperationsImpl.MOCK_SQS_BATCH_REQUEST_FAILURE_MESSAGE_TEXT : MESSAGE_TEXT + i);
+        }
+
+        // Override configuration to send the messages in batches.
+        overrideOrderedJmsQueueNames("");
+
+        try
+        {
+            // Validate that all messages get published.
+            assertEquals(15, jmsPublishingService.publishOldestJmsMessages(15));
+        }
+        finally
+        {
+            restorePropertySourceInEnvironment();
+        }
+        assertNull(herdDao.getOldestJmsMessage());
+    }
+
+    @Test
+    public void testPublishOldestJmsMessagesQueueNotFound() throws Exception
+    {
+        // Create a message with an invalid queue name in between two valid messages.
+        createJmsMessageEntity(JMS_QUEUE_NAME, MESSAGE_TEXT);
+        JmsMessageEntity jmsMessageEntity = createJmsMessageEntity(MockSqsOperationsImpl.MOCK_SQS_QUEUE_NOT_FOUND_NAME, MESSAGE_TEXT);
+        createJmsMessageEntity(JMS_QUEUE_NAME_2, MESSAGE_TEXT_2);
+
+        // Publish the messages. Only the valid messages get published.
+        assertEquals(2, jmsPublishingService.publishOldestJmsMessages(10));
+
+        // Validate that the message that could not be sent is left in the database queue.
+        assertEquals(Arrays.asList(jmsMessageEntity), herdDao.findAll(JmsMessageEntity.class));
+    }
+
+    @Test
+    public void testPublishOldestJmsMessagesSkipsClaimedMessages() throws Exception
+    {
+        // Create two messages and claim the oldest one as if another publisher was sending it.
+        createJmsMessageEntity(JMS_QUEUE_NAME, MESSAGE_TEXT);
+        createJmsMessageEntity(JMS_QUEUE_NAME_2, MESSAGE_TEXT_2);
+        JmsMessageEntity claimedJmsMessageEntity = herdDao.claimJmsMessages("UT_Claimant_1", 300, new ArrayList<String>(), 1).get(0);
+
+        // Validate that only the message that is not claimed gets published.
+        assertEquals(1, jmsPublishingService.publishOldestJmsMessages(10));
+        assertEquals(Arrays.asList(claimedJmsMessageEntity), herdDao.findAll(JmsMessageEntity.class));
+    }
+
+    @Test
+    public void testPublishOldestJmsMessagesOrderedQueue() throws Exception
+    {
+        // Create two messages for an ordered queue that fails and a message for another queue.
+        JmsMessageEntity jmsMessageEntity1 = createJmsMessageEntity(MockSqsOperationsImpl.MOCK_SQS_QUEUE_NOT_FOUND_NAME, MESSAGE_TEXT);
+        JmsMessageEntity jmsMessageEntity2 = createJmsMessageEntity(MockSqsOperationsImpl.MOCK_SQS_QUEUE_NOT_FOUND_NAME, MESSAGE_TEXT_2);
+        createJmsMessageEntity(JMS_QUEUE_NAME, MESSAGE_TEXT);
+
+        // Override configuration to make the failing queue the only ordered queue.
+        overrideOrderedJmsQueueNames(MockSqsOperationsImpl.MOCK_SQS_QUEUE_NOT_FOUND_NAME);
+
+        try
+        {
+            // Publish the messages. Only the message of the other queue gets published.
+            assertEquals(1, jmsPublishingService.publishOldestJmsMessages(10));
+        }
+        finally
+        {
+            restorePropertySourceInEnvironment();
+        }
+
+        // Validate that both messages of the ordered queue are left in the database queue.
+        assertEquals(new HashSet<>(Arrays.asList(jmsMessageEntity1, jmsMessageEntity2)), new HashSet<>(herdDao.findAll(JmsMessageEntity.class)));
+    }
+
+    @Test
+    public void testPublishOldestJmsMessagesAllQueuesOrderedByDefault() throws Exception
+    {
+        // Create two messages for a queue that fails and a message for another queue.
+        JmsMessageEntity jmsMessageEntity1 = createJmsMessageEntity(MockSqsOperationsImpl.MOCK_SQS_QUEUE_NOT_FOUND_NAME, MESSAGE_TEXT);
+        JmsMessageEntity jmsMessageEntity2 = createJmsMessageEntity(MockSqsOperationsImpl.MOCK_SQS_QUEUE_NOT_FOUND_NAME, MESSAGE_TEXT_2);
+        createJmsMessageEntity(JMS_QUEUE_NAME, MESSAGE_TEXT);
+
+        // Publish the messages. Every queue is ordered by default, so the second message of the failing queue is not sent ahead of the first one.
+        assertEquals(1, jmsPublishingService.publishOldestJmsMessages(10));
+
+        // Validate that both messages of the failing queue are left in the database queue.
+        assertEquals(new HashSet<>(Arrays.asList(jmsMessageEntity1, jmsMessageEntity2)), new HashSet<>(herdDao.findAll(JmsMessageEntity.class)));
+    }
+
+    /**
+     * Overrides the names of the JMS queues that require the messages to be published in order. The caller restores the configuration.
+     *
+     * @param orderedJmsQueueNames the comma separated list of JMS queue names
+     */
+    private void overrideOrderedJmsQueueNames(String orderedJmsQueueNames) throws Exception
+    {
+        Map<String, Object> overrideMap = new HashMap<>();
+        overrideMap.put(ConfigurationValue.JMS_PUBLISHING_JOB_ORDERED_QUEUE_NAMES.getKey(), orderedJmsQueueNames);
+        modifyPropertySourceInEnvironment(overrideMap);
+    }
 }
@@ -21,18 +21,22 @@ import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.commons.lang3.StringUtils;
 import org.junit.Test;
 import org.springframework.util.CollectionUtils;
 
+import org.finra.herd.model.ObjectNotFoundException;
 import org.finra.herd.model.api.xml.BusinessObjectDataKey;
 import org.finra.herd.model.api.xml.Job;
 import org.finra.herd.model.api.xml.JobAction;
 import org.finra.herd.model.api.xml.JobDefinition;
 import org.finra.herd.model.api.xml.NotificationRegistrationKey;
 import org.finra.herd.model.api.xml.Parameter;
+import org.finra.herd.model.dto.BusinessObjectDataNotificationEventDto;
 import org.finra.herd.model.jpa.BusinessObjectDataEntity;
 import org.finra.herd.model.jpa.BusinessObjectDataStatusEntity;
 import org.finra.herd.model.jpa.BusinessObjectFormatEntity;
@@ -155,6 +159,87 @@ public class NotificationEventServiceTest extends AbstractServiceTest
                 new Parameter("notification_correlationData", CORRELATION_DATA)), null, null, null), job);
     }
 
+    @Test
+    public void testProcessBusinessObjectDataNotificationEventsSync() throws Exception
+    {
+        // Create job definition
+        JobDefinition jobDefinition = createJobDefinition(ACTIVITI_XML_LOG_VARIABLES_NO_REGEX_WITH_CLASSPATH);
+
+        List<JobAction> jobActions = new ArrayList<>();
+        jobActions.add(new JobAction(jobDefinition.getNamespace(), jobDefinition.getJobName(), CORRELATION_DATA));
+
+        // Create a business object format with a schema.
+        BusinessObjectFormatEntity businessObjectFormatEntity =
+            createBusinessObjectFormatEntity(BOD_NAMESPACE, BOD_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, FORMAT_DESCRIPTION,
+                LATEST_VERSION_FLAG_SET, FIRST_PARTITION_COLUMN_NAME, NO_PARTITION_KEY_GROUP, NO_ATTRIBUTES, SCHEMA_DELIMITER_PIPE,
+                SCHEMA_ESCAPE_CHARACTER_BACKSLASH, SCHEMA_NULL_VALUE_BACKSLASH_N, getTestSchemaColumns(), getTestPartitionColumns());
+
+        // Create two business object data versions with a storage unit each.
+        StorageEntity storageEntity = createStorageEntity(STORAGE_NAME, StoragePlatformEntity.S3);
+        List<BusinessObjectDataKey> businessObjectDataKeys = new ArrayList<>();
+        for (Integer dataVersion : Arrays.asList(INITIAL_DATA_VERSION, SECOND_DATA_VERSION))
+        {
+            BusinessObjectDataEntity businessObjectDataEntity =
+                createBusinessObjectDataEntity(businessObjectFormatEntity, PARTITION_VALUE, SUBPARTITION_VALUES, dataVersion, LATEST_VERSION_FLAG_SET,
+                    BusinessObjectDataStatusEntity.UPLOADING);
+            createStorageUnitEntity(storageEntity, businessObjectDataEntity, StorageUnitStatusEntity.ENABLED, NO_STORAGE_DIRECTORY_PATH);
+            businessObjectDataKeys.add(
+                new BusinessObjectDataKey(BOD_NAMESPACE, BOD_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE,
+                    SUBPARTITION_VALUES, dataVersion));
+        }
+
+        // Create and persist a business object data notification registration entity.
+        createBusinessObjectDataNotificationRegistrationEntity(new NotificationRegistrationKey(NAMESPACE_CD, NOTIFICATION_NAME),
+            NotificationEventTypeEntity.EventTypesBdata.BUS_OBJCT_DATA_STTS_CHG.name(), BOD_NAMESPACE, BOD_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE,
+            FORMAT_VERSION, STORAGE_NAME, BusinessObjectDataStatusEntity.VALID, BusinessObjectDataStatusEntity.UPLOADING, jobActions);
+
+        // Create a status change event for a business object data version that does not exist.
+        BusinessObjectDataNotificationEventDto missingBusinessObjectDataNotificationEvent =
+            new BusinessObjectDataNotificationEventDto(NotificationEventTypeEntity.EventTypesBdata.BUS_OBJCT_DATA_STTS_CHG,
+                new BusinessObjectDataKey(BOD_NAMESPACE, BOD_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE,
+                    SUBPARTITION_VALUES, THIRD_DATA_VERSION), BusinessObjectDataStatusEntity.VALID, BusinessObjectDataStatusEntity.UPLOADING);
+
+        // Trigger the notifications for both business object data versions along with a registration event that has no matching notification and the event
+        // for the business object data that does not exist.
+        Map<BusinessObjectDataNotificationEventDto, RuntimeException> failedNotificationEvents = new IdentityHashMap<>();
+        List<Object> notificationActions = notificationEventService.processBusinessObjectDataNotificationEventsSync(Arrays
+            .asList(new BusinessObjectDataNotificationEventDto(NotificationEventTypeEntity.EventTypesBdata.BUS_OBJCT_DATA_STTS_CHG,
+                    businessObjectDataKeys.get(0), BusinessObjectDataStatusEntity.VALID, BusinessObjectDataStatusEntity.UPLOADING),
+                new BusinessObjectDataNotificationEventDto(NotificationEventTypeEntity.EventTypesBdata.BUS_OBJCT_DATA_RGSTN, businessObjectDataKeys.get(0),
+                    BusinessObjectDataStatusEntity.UPLOADING, null), missingBusinessObjectDataNotificationEvent,
+                new BusinessObjectDataNotificationEventDto(NotificationEventTypeEntity.EventTypesBdata.BUS_OBJCT_DATA_STTS_CHG,
+                    businessObjectDataKeys.get(1), BusinessObjectDataStatusEntity.VALID, BusinessObjectDataStatusEntity.UPLOADING)),
+            failedNotificationEvents);
+
+        // Validate that only the event for the business object data that does not exist failed.
+        assertEquals(1, failedNotificationEvents.size());
+        assertTrue(failedNotificationEvents.get(missingBusinessObjectDataNotificationEvent) instanceof ObjectNotFoundException);
+
+        // Validate that a job got started for each of the status change events.
+        assertEquals(2, notificationActions.size());
+        for (int i = 0; i < notificationActions.size(); i++)
+        {
+            Job job = (Job) notificationActions.get(i);
+            assertNotNull(job.getId());
+            assertTrue(job.getParameters()
+                .contains(new Parameter("notification_businessObjectDataVersion", businessObjectDataKeys.get(i).getBusinessObjectDataVersion().toString())));
+        }
+    }
+
+    @Test
+    public void testProcessBusinessObjectDataNotificationEventsSyncNoNotification() throws Exception
+    {
+        // Trigger the notification for business object data that does not exist. Since there are no notifications registered, nothing gets looked up.
+        Map<BusinessObjectDataNotificationEventDto, RuntimeException> failedNotificationEvents = new IdentityHashMap<>();
+        List<Object> notificationActions = notificationEventService.processBusinessObjectDataNotificationEventsSync(Arrays.asList(
+            new BusinessObjectDataNotificationEventDto(NotificationEventTypeEntity.EventTypesBdata.BUS_OBJCT_DATA_RGSTN,
+                new BusinessObjectDataKey(NAMESPACE_CD, BOD_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE,
+                    SUBPARTITION_VALUES, DATA_VERSION), BDATA_STATUS, null)), failedNotificationEvents);
+
+        assertTrue(CollectionUtils.isEmpty(notificationActions));
+        assertTrue(failedNotificationEvents.isEmpty());
+    }
+
     @Test
     public void testProcessBusinessObjectDataRegistrationNotificationEventSyncMissingOptional() throws Exception
     {
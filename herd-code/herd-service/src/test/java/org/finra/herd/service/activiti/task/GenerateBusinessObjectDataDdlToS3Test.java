@@ -0,0 +1,187 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.service.activiti.task;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.amazonaws.services.s3.model.GetObjectRequest;
+import com.amazonaws.services.s3.model.S3Object;
+import org.activiti.bpmn.model.FieldExtension;
+import org.apache.commons.io.IOUtils;
+import org.junit.After;
+import org.junit.Test;
+
+import org.finra.herd.model.api.xml.BusinessObjectDataDdlRequest;
+import org.finra.herd.model.api.xml.Job;
+import org.finra.herd.model.api.xml.Parameter;
+import org.finra.herd.model.dto.ConfigurationValue;
+import org.finra.herd.service.activiti.ActivitiRuntimeHelper;
+
+/**
+ * Tests the GenerateBusinessObjectDataDdlToS3 Activiti task wrapper.
+ */
+public class GenerateBusinessObjectDataDdlToS3Test extends HerdActivitiServiceTaskTest
+{
+    @After
+    public void after()
+    {
+        s3Operations.rollback();
+    }
+
+    @Test
+    public void testGenerateBusinessObjectDataDdlToS3() throws Exception
+    {
+        // Prepare test data.
+        createDatabaseEntitiesForBusinessObjectDataDdlTesting();
+
+        BusinessObjectDataDdlRequest businessObjectDataDdlRequest = getTestBusinessObjectDataDdlRequest(UNSORTED_PARTITION_VALUES, CUSTOM_DDL_NAME);
+
+        List<FieldExtension> fieldExtensionList = new ArrayList<>();
+
+        fieldExtensionList.add(buildFieldExtension("contentType", "${contentType}"));
+        fieldExtensionList.add(buildFieldExtension("businessObjectDataDdlRequest", "${businessObjectDataDdlRequest}"));
+
+        List<Parameter> parameters = new ArrayList<>();
+
+        parameters.add(buildParameter("contentType", "xml"));
+        parameters.add(buildParameter("businessObjectDataDdlRequest", xmlHelper.objectToXml(businessObjectDataDdlRequest)));
+
+        Map<String, Object> variableValuesToValidate = new HashMap<>();
+        variableValuesToValidate.put(GenerateBusinessObjectDataDdlToS3.VARIABLE_DDL_S3_LOCATION, VARIABLE_VALUE_NOT_NULL);
+
+        Map<String, Object> overrideMap = new HashMap<>();
+        overrideMap.put(ConfigurationValue.S3_STAGING_BUCKET_NAME.getKey(), S3_BUCKET_NAME);
+        modifyPropertySourceInEnvironment(overrideMap);
+
+        try
+        {
+            Job job = testActivitiServiceTaskSuccess(GenerateBusinessObjectDataDdlToS3.class.getCanonicalName(), fieldExtensionList, parameters,
+                variableValuesToValidate);
+
+            // Get the S3 location the DDL was uploaded to.
+            String s3Location = (String) activitiHistoryService.createHistoricProcessInstanceQuery().processInstanceId(job.getId()).includeProcessVariables()
+                .singleResult().getProcessVariables().get(getServiceTaskVariableName(GenerateBusinessObjectDataDdlToS3.VARIABLE_DDL_S3_LOCATION));
+
+            String s3LocationPrefix = "s3://" + S3_BUCKET_NAME + "/business-object-data-ddl/";
+            assertTrue(s3Location.startsWith(s3LocationPrefix));
+            assertTrue(s3Location.endsWith(".hql"));
+            String s3Key = s3Location.substring(("s3://" + S3_BUCKET_NAME + "/").length());
+
+            // Validate the DDL uploaded to S3.
+            S3Object s3Object =
+                s3Dao.getS3Object(new GetObjectRequest(S3_BUCKET_NAME, s3Key), storageDaoHelper.getS3FileTransferRequestParamsDto());
+            assertEquals(getExpectedDdl(), IOUtils.toString(s3Object.getObjectContent(), StandardCharsets.UTF_8));
+
+            // Validate that the local temporary file got deleted.
+            String ddlName = s3Location.substring(s3LocationPrefix.length(), s3Location.length() - ".hql".length());
+            assertEquals(0, countTemporaryFiles("businessObjectDataDdl-" + ddlName + "*"));
+        }
+        finally
+        {
+            restorePropertySourceInEnvironment();
+        }
+    }
+
+    @Test
+    public void testGenerateBusinessObjectDataDdlToS3NoS3StagingBucket() throws Exception
+    {
+        // Prepare test data.
+        createDatabaseEntitiesForBusinessObjectDataDdlTesting();
+
+        BusinessObjectDataDdlRequest businessObjectDataDdlRequest = getTestBusinessObjectDataDdlRequest(UNSORTED_PARTITION_VALUES, CUSTOM_DDL_NAME);
+
+        List<FieldExtension> fieldExtensionList = new ArrayList<>();
+
+        fieldExtensionList.add(buildFieldExtension("contentType", "${contentType}"));
+        fieldExtensionList.add(buildFieldExtension("businessObjectDataDdlRequest", "${businessObjectDataDdlRequest}"));
+
+        List<Parameter> parameters = new ArrayList<>();
+
+        parameters.add(buildParameter("contentType", "json"));
+        parameters.add(buildParameter("businessObjectDataDdlRequest", jsonHelper.objectToJson(businessObjectDataDdlRequest)));
+
+        Map<String, Object> variableValuesToValidate = new HashMap<>();
+        variableValuesToValidate.put(ActivitiRuntimeHelper.VARIABLE_ERROR_MESSAGE,
+            String.format("\"%s\" must be configured.", ConfigurationValue.S3_STAGING_BUCKET_NAME.getKey()));
+
+        Map<String, Object> overrideMap = new HashMap<>();
+        overrideMap.put(ConfigurationValue.S3_STAGING_BUCKET_NAME.getKey(), BLANK_TEXT);
+        modifyPropertySourceInEnvironment(overrideMap);
+
+        try
+        {
+            testActivitiServiceTaskFailure(GenerateBusinessObjectDataDdlToS3.class.getCanonicalName(), fieldExtensionList, parameters,
+                variableValuesToValidate);
+        }
+        finally
+        {
+            restorePropertySourceInEnvironment();
+        }
+    }
+
+    @Test
+    public void testGenerateBusinessObjectDataDdlToS3NoRequest() throws Exception
+    {
+        List<FieldExtension> fieldExtensionList = new ArrayList<>();
+
+        fieldExtensionList.add(buildFieldExtension("contentType", "${contentType}"));
+        fieldExtensionList.add(buildFieldExtension("businessObjectDataDdlRequest", "${businessObjectDataDdlRequest}"));
+
+        List<Parameter> parameters = new ArrayList<>();
+
+        parameters.add(buildParameter("contentType", "xml"));
+        parameters.add(buildParameter("businessObjectDataDdlRequest", ""));
+
+        Map<String, Object> variableValuesToValidate = new HashMap<>();
+        variableValuesToValidate.put(ActivitiRuntimeHelper.VARIABLE_ERROR_MESSAGE, "\"businessObjectDataDdlRequest\" must be specified.");
+
+        testActivitiServiceTaskFailure(GenerateBusinessObjectDataDdlToS3.class.getCanonicalName(), fieldExtensionList, parameters,
+            variableValuesToValidate);
+    }
+
+    /**
+     * Counts the files in the default temporary directory that match the specified glob.
+     *
+     * @param glob the file name glob
+     *
+     * @return the number of matching files
+     * @throws IOException if the temporary directory couldn't be listed
+     */
+    private int countTemporaryFiles(String glob) throws IOException
+    {
+        int count = 0;
+        try (DirectoryStream<Path> directoryStream = Files.newDirectoryStream(Paths.get(System.getProperty("java.io.tmpdir")), glob))
+        {
+            for (Path path : directoryStream)
+            {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,161 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.service.helper;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+import org.finra.herd.model.api.xml.BusinessObjectDataAvailabilityRequest;
+import org.finra.herd.service.AbstractServiceTest;
+
+/**
+ * This class tests the functionality of the availability request batch helper.
+ */
+public class AvailabilityRequestBatchHelperTest extends AbstractServiceTest
+{
+    @Test
+    public void testGetBatchesNoParallelism()
+    {
+        List<BusinessObjectDataAvailabilityRequest> requests = Arrays.asList(createRequest("USAGE_A"), createRequest("USAGE_B"), createRequest("USAGE_A"));
+
+        // Validate that all requests end up in a single batch in the order of the requests.
+        assertEquals(Arrays.asList(Arrays.asList(0, 1, 2)), availabilityRequestBatchHelper.getBatches(requests, 1));
+    }
+
+    @Test
+    public void testGetBatchesSingleRequest()
+    {
+        assertEquals(Arrays.asList(Arrays.asList(0)), availabilityRequestBatchHelper.getBatches(Arrays.asList(createRequest("USAGE_A")), 8));
+    }
+
+    @Test
+    public void testGetBatchesSingleFormat()
+    {
+        List<BusinessObjectDataAvailabilityRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 8; i++)
+        {
+            requests.add(createRequest("USAGE_A"));
+        }
+
+        // Validate that the requests against a single format are cut into consecutive batches.
+        assertEquals(Arrays.asList(Arrays.asList(0, 1), Arrays.asList(2, 3), Arrays.asList(4, 5), Arrays.asList(6, 7)),
+            availabilityRequestBatchHelper.getBatches(requests, 4));
+    }
+
+    @Test
+    public void testGetBatchesGroupedByFormat()
+    {
+        // Interleave the requests of two formats that only differ in case from the format keys of the other requests.
+        List<BusinessObjectDataAvailabilityRequest> requests =
+            Arrays.asList(createRequest("USAGE_A"), createRequest("USAGE_B"), createRequest("usage_a"), createRequest("usage_b"));
+
+        // Validate that the requests get grouped by format case-insensitively.
+        assertEquals(Arrays.asList(Arrays.asList(0, 2), Arrays.asList(1, 3)), availabilityRequestBatchHelper.getBatches(requests, 2));
+    }
+
+    @Test
+    public void testGetBatchesCappedAtMaxParallelism()
+    {
+        // Create one request per format, so there are more format groups than the maximum parallelism.
+        List<BusinessObjectDataAvailabilityRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 10; i++)
+        {
+            requests.add(createRequest("USAGE_" + i));
+        }
+
+        List<List<Integer>> batches = availabilityRequestBatchHelper.getBatches(requests, 4);
+
+        // Validate that the format groups got merged into the maximum parallelism number of balanced batches.
+        assertEquals(4, batches.size());
+        List<Integer> batchSizes = new ArrayList<>();
+        for (List<Integer> batch : batches)
+        {
+            batchSizes.add(batch.size());
+        }
+        Collections.sort(batchSizes);
+        assertEquals(Arrays.asList(2, 2, 3, 3), batchSizes);
+
+        // Validate that every request is in exactly one batch.
+        assertEquals(Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7, 8, 9), getSortedRequestIndexes(batches));
+    }
+
+    @Test
+    public void testGetBatchesUnevenFormats()
+    {
+        // Create a large group for one format followed by small groups for other formats.
+        List<BusinessObjectDataAvailabilityRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 6; i++)
+        {
+            requests.add(createRequest("USAGE_A"));
+        }
+        for (int i = 0; i < 3; i++)
+        {
+            requests.add(createRequest("USAGE_" + i));
+        }
+
+        List<List<Integer>> batches = availabilityRequestBatchHelper.getBatches(requests, 3);
+
+        // Validate that the large group got cut, the batches are capped at the maximum parallelism and every request is in exactly one batch.
+        assertEquals(3, batches.size());
+        for (List<Integer> batch : batches)
+        {
+            assertEquals(3, batch.size());
+        }
+        assertEquals(Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7, 8), getSortedRequestIndexes(batches));
+    }
+
+    /**
+     * Creates a business object data availability request for the specified business object format usage.
+     *
+     * @param businessObjectFormatUsage the business object format usage
+     *
+     * @return the business object data availability request
+     */
+    private BusinessObjectDataAvailabilityRequest createRequest(String businessObjectFormatUsage)
+    {
+        BusinessObjectDataAvailabilityRequest request = new BusinessObjectDataAvailabilityRequest();
+        request.setNamespace(NAMESPACE_CD);
+        request.setBusinessObjectDefinitionName(BOD_NAME);
+        request.setBusinessObjectFormatUsage(businessObjectFormatUsage);
+        request.setBusinessObjectFormatFileType(FORMAT_FILE_TYPE_CODE);
+        request.setBusinessObjectFormatVersion(FORMAT_VERSION);
+        return request;
+    }
+
+    /**
+     * Gets the request indexes of all the batches in ascending order.
+     *
+     * @param batches the batches
+     *
+     * @return the sorted request indexes
+     */
+    private List<Integer> getSortedRequestIndexes(List<List<Integer>> batches)
+    {
+        List<Integer> requestIndexes = new ArrayList<>();
+        for (List<Integer> batch : batches)
+        {
+            requestIndexes.addAll(batch);
+        }
+        Collections.sort(requestIndexes);
+        return requestIndexes;
+    }
+}
@@ -15,8 +15,12 @@
 */
 package org.finra.herd.service.helper;
 
+import static org.junit.Assert.assertEquals;
+
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.Executor;
 
 import com.amazonaws.services.s3.event.S3EventNotification;
 import com.amazonaws.services.s3.event.S3EventNotification.S3Entity;
@@ -26,10 +30,13 @@ import org.apache.log4j.Level;
 import org.apache.log4j.Logger;
 import org.junit.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import org.finra.herd.dao.helper.JsonHelper;
 import org.finra.herd.dao.impl.MockS3OperationsImpl;
 import org.finra.herd.model.api.xml.UploadSingleInitiationResponse;
+import org.finra.herd.model.jpa.BusinessObjectDataEntity;
+import org.finra.herd.model.jpa.BusinessObjectDataStatusEntity;
 import org.finra.herd.service.AbstractServiceTest;
 import org.finra.herd.service.UploadDownloadService;
 import org.finra.herd.service.impl.UploadDownloadHelperServiceImpl;
@@ -123,6 +130,93 @@ public class HerdJmsMessageListenerTest extends AbstractServiceTest
         herdJmsMessageListener.processMessage(jsonHelper.objectToJson(s3EventNotification), null);
     }
 
+    @Test
+    public void testS3MessageMultipleRecords() throws Exception
+    {
+        List<S3EventNotificationRecord> records = new ArrayList<>();
+        for (String key : Arrays.asList("key_does_not_exist_1", "key_does_not_exist_2", "key_does_not_exist_3"))
+        {
+            S3Entity s3Entity = new S3Entity(null, null, new S3ObjectEntity(key, 0L, null, null), null);
+            records.add(new S3EventNotificationRecord(null, null, null, null, null, null, null, s3Entity, null));
+        }
+
+        S3EventNotification s3EventNotification = new S3EventNotification(records);
+
+        Logger.getLogger(UploadDownloadServiceImpl.class).setLevel(Level.OFF);
+        Logger.getLogger(HerdJmsMessageListener.class).setLevel(Level.OFF);
+
+        herdJmsMessageListener.processMessage(jsonHelper.objectToJson(s3EventNotification), null);
+    }
+
+    @Test
+    public void testS3MessageMultipleRecordsUploadsCompleted() throws Exception
+    {
+        Logger.getLogger(UploadDownloadHelperServiceImpl.class).setLevel(Level.OFF);
+
+        createDatabaseEntitiesForUploadDownloadTesting();
+
+        // Initiate two single file uploads.
+        List<UploadSingleInitiationResponse> uploadSingleInitiationResponses = new ArrayList<>();
+        for (String fileName : Arrays.asList(FILE_NAME, FILE_NAME_2))
+        {
+            uploadSingleInitiationResponses.add(uploadDownloadService.initiateUploadSingle(
+                createUploadSingleInitiationRequest(NAMESPACE_CD, BOD_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, NAMESPACE_CD_2,
+                    BOD_NAME_2, FORMAT_USAGE_CODE_2, FORMAT_FILE_TYPE_CODE_2, FORMAT_VERSION_2, fileName)));
+        }
+
+        // Create an S3 notification with a record for each uploaded file.
+        List<S3EventNotificationRecord> records = new ArrayList<>();
+        for (UploadSingleInitiationResponse uploadSingleInitiationResponse : uploadSingleInitiationResponses)
+        {
+            String filePath = uploadSingleInitiationResponse.getSourceBusinessObjectData().getStorageUnits().get(0).getStorageFiles().get(0).getFilePath();
+            S3Entity s3Entity = new S3Entity(null, null, new S3ObjectEntity(filePath, 0L, null, null), null);
+            records.add(new S3EventNotificationRecord(null, null, null, null, null, null, null, s3Entity, null));
+        }
+
+        S3EventNotification s3EventNotification = new S3EventNotification(records);
+
+        Logger.getLogger(UploadDownloadServiceImpl.class).setLevel(Level.OFF);
+        Logger.getLogger(HerdJmsMessageListener.class).setLevel(Level.OFF);
+
+        // Run the records on the calling thread, so they see the database entities created by this test, which are not committed.
+        Object s3EventRecordExecutor = ReflectionTestUtils.getField(herdJmsMessageListener, "s3EventRecordExecutor");
+        ReflectionTestUtils.setField(herdJmsMessageListener, "s3EventRecordExecutor", new Executor()
+        {
+            @Override
+            public void execute(Runnable command)
+            {
+                command.run();
+            }
+        });
+
+        try
+        {
+            herdJmsMessageListener.processMessage(jsonHelper.objectToJson(s3EventNotification), null);
+        }
+        finally
+        {
+            ReflectionTestUtils.setField(herdJmsMessageListener, "s3EventRecordExecutor", s3EventRecordExecutor);
+        }
+
+        // Validate that both uploads got completed.
+        for (UploadSingleInitiationResponse uploadSingleInitiationResponse : uploadSingleInitiationResponses)
+        {
+            assertEquals(BusinessObjectDataStatusEntity.DELETED,
+                herdDao.findById(BusinessObjectDataEntity.class, uploadSingleInitiationResponse.getSourceBusinessObjectData().getId()).getStatus().getCode());
+            assertEquals(BusinessObjectDataStatusEntity.VALID,
+                herdDao.findById(BusinessObjectDataEntity.class, uploadSingleInitiationResponse.getTargetBusinessObjectData().getId()).getStatus().getCode());
+        }
+    }
+
+    @Test
+    public void testS3MessageNoRecords() throws Exception
+    {
+        Logger.getLogger(HerdJmsMessageListener.class).setLevel(Level.OFF);
+
+        herdJmsMessageListener.processMessage(jsonHelper.objectToJson(new S3EventNotification(new ArrayList<S3EventNotificationRecord>())), null);
+        herdJmsMessageListener.processMessage("{\"Event\":\"s3:TestEvent\"}", null);
+    }
+
     @Test
     public void testS3MessageWrongMessage() throws Exception
     {
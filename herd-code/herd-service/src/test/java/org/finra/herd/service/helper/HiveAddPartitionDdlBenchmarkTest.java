@@ -0,0 +1,176 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.service.helper;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.log4j.Logger;
+import org.junit.Assume;
+import org.junit.Test;
+import org.springframework.util.Assert;
+
+import org.finra.herd.model.api.xml.SchemaColumn;
+
+/**
+ * Benchmarks the rendering of the Hive "alter table add partition" statements done by the DDL generation. The benchmark compares the way the statements were
+ * rendered before the pre-compiled templates got introduced with the Hive path splitter and the Hive "add partition" template. The former way matches every
+ * relative storage file path against the Hive path pattern, which gets compiled once as before, formats the pattern mismatch message up front and formats
+ * every statement using String.format. Both ways must render exactly the same statements.
+ * <p/>
+ * The benchmark is not part of the regular test run. It only runs when the "herd.benchmark" system property is set to "true", e.g. by running "mvn test
+ * -Dtest=HiveAddPartitionDdlBenchmarkTest -Dherd.benchmark=true". It warms both ways up and then logs the best per-partition time of several rounds.
+ */
+public class HiveAddPartitionDdlBenchmarkTest
+{
+    private static final Logger LOGGER = Logger.getLogger(HiveAddPartitionDdlBenchmarkTest.class);
+
+    private static final String BENCHMARK_SYSTEM_PROPERTY_NAME = "herd.benchmark";
+
+    private static final int PARTITION_COUNT = 20000;
+
+    private static final int WARM_UP_ROUND_COUNT = 5;
+
+    private static final int MEASURED_ROUND_COUNT = 10;
+
+    private static final List<String> PARTITION_COLUMN_NAMES = Arrays.asList("PRTN_CLMN001", "PRTN_CLMN002", "PRTN_CLMN003", "PRTN_CLMN004");
+
+    private static final String TABLE_NAME = "UT_Table";
+
+    private static final String PARTITION_VALUE = "2014-04-02";
+
+    private static final String IF_NOT_EXISTS_OPTION = "IF NOT EXISTS ";
+
+    private static final String S3_BUCKET_NAME = "bucket";
+
+    private static final String S3_KEY_PREFIX = "ut-namespace/ut-dataprovider/ut-usage/ut-fileformat/ut-businessobjectdefinition/schm-v0/data-v0";
+
+    @Test
+    public void testAppendAddPartitionStatementsBenchmark()
+    {
+        Assume.assumeTrue(Boolean.getBoolean(BENCHMARK_SYSTEM_PROPERTY_NAME));
+
+        List<SchemaColumn> partitionColumns = new ArrayList<>();
+        for (String partitionColumnName : PARTITION_COLUMN_NAMES)
+        {
+            SchemaColumn schemaColumn = new SchemaColumn();
+            schemaColumn.setName(partitionColumnName);
+            partitionColumns.add(schemaColumn);
+        }
+
+        // Build the relative storage file paths of the auto-discoverable sub-partitions, one per partition.
+        List<String> relativeFilePaths = new ArrayList<>();
+        for (int i = 0; i < PARTITION_COUNT; i++)
+        {
+            relativeFilePaths.add(String.format("/prtn-clmn002=%d/prtn_clmn003=%d/PRTN_CLMN004=%d/data.dat", i % 10, i % 100, i));
+        }
+
+        // Both ways must render exactly the same statements.
+        assertEquals(renderUsingStringFormat(partitionColumns, relativeFilePaths), renderUsingTemplate(partitionColumns, relativeFilePaths));
+
+        for (int round = 0; round < WARM_UP_ROUND_COUNT; round++)
+        {
+            renderUsingStringFormat(partitionColumns, relativeFilePaths);
+            renderUsingTemplate(partitionColumns, relativeFilePaths);
+        }
+
+        long minStringFormatElapsedTimeNanos = Long.MAX_VALUE;
+        long minTemplateElapsedTimeNanos = Long.MAX_VALUE;
+        for (int round = 0; round < MEASURED_ROUND_COUNT; round++)
+        {
+            long startTime = System.nanoTime();
+            renderUsingStringFormat(partitionColumns, relativeFilePaths);
+            minStringFormatElapsedTimeNanos = Math.min(minStringFormatElapsedTimeNanos, System.nanoTime() - startTime);
+
+            startTime = System.nanoTime();
+            renderUsingTemplate(partitionColumns, relativeFilePaths);
+            minTemplateElapsedTimeNanos = Math.min(minTemplateElapsedTimeNanos, System.nanoTime() - startTime);
+        }
+
+        LOGGER.info(String.format("Rendering %d \"add partition\" statements took at best %d nanoseconds per partition using String.format and %d " +
+            "nanoseconds per partition using a pre-compiled template.", PARTITION_COUNT, minStringFormatElapsedTimeNanos / PARTITION_COUNT,
+            minTemplateElapsedTimeNanos / PARTITION_COUNT));
+    }
+
+    /**
+     * Renders the "add partition" statements the way the DDL generation did before the pre-compiled templates got introduced.
+     *
+     * @param partitionColumns the partition columns
+     * @param relativeFilePaths the relative storage file paths, one per partition
+     *
+     * @return the rendered statements
+     */
+    private String renderUsingStringFormat(List<SchemaColumn> partitionColumns, List<String> relativeFilePaths)
+    {
+        StringBuilder sb = new StringBuilder();
+        Pattern pattern = new Hive13DdlGenerator().getHivePathPattern(partitionColumns.subList(1, partitionColumns.size()));
+        for (String relativeFilePath : relativeFilePaths)
+        {
+            Matcher matcher = pattern.matcher(relativeFilePath);
+            Assert.isTrue(matcher.matches(), String.format("Registered storage file or directory does not match the expected Hive sub-directory pattern. " +
+                "File/directory: {%s}, S3 key prefix: {%s}, pattern: {^%s$}", relativeFilePath, S3_KEY_PREFIX, pattern.pattern()));
+            List<String> partitionValues = new ArrayList<>();
+            partitionValues.add(PARTITION_VALUE);
+            for (int i = 1; i <= matcher.groupCount(); i++)
+            {
+                partitionValues.add(matcher.group(i));
+            }
+            String path = relativeFilePath.replaceAll("/[^/]*$", "");
+
+            sb.append(String.format("ALTER TABLE `%s` ADD %sPARTITION (", TABLE_NAME, IF_NOT_EXISTS_OPTION));
+            List<String> partitionKeyValuePairs = new ArrayList<>();
+            for (int i = 0; i < partitionColumns.size(); i++)
+            {
+                partitionKeyValuePairs.add(String.format("`%s`='%s'", partitionColumns.get(i).getName(), partitionValues.get(i)));
+            }
+            sb.append(StringUtils.join(partitionKeyValuePairs, ", "));
+            sb.append(String.format(") LOCATION 's3n://%s/%s%s';\n", S3_BUCKET_NAME, S3_KEY_PREFIX, StringUtils.isNotBlank(path) ? path : ""));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Renders the "add partition" statements using the Hive path splitter and the Hive "add partition" template.
+     *
+     * @param partitionColumns the partition columns
+     * @param relativeFilePaths the relative storage file paths, one per partition
+     *
+     * @return the rendered statements
+     */
+    private String renderUsingTemplate(List<SchemaColumn> partitionColumns, List<String> relativeFilePaths)
+    {
+        StringBuilder sb = new StringBuilder();
+        List<SchemaColumn> subPartitionColumns = partitionColumns.subList(1, partitionColumns.size());
+        HivePathSplitter hivePathSplitter = new HivePathSplitter(subPartitionColumns, new Hive13DdlGenerator().getHivePathPattern(subPartitionColumns));
+        HiveAddPartitionDdlTemplate template = new HiveAddPartitionDdlTemplate(TABLE_NAME, IF_NOT_EXISTS_OPTION, partitionColumns);
+        for (String relativeFilePath : relativeFilePaths)
+        {
+            List<String> partitionValues = new ArrayList<>();
+            partitionValues.add(PARTITION_VALUE);
+            partitionValues.addAll(hivePathSplitter.split(relativeFilePath));
+            String path = relativeFilePath.substring(0, relativeFilePath.lastIndexOf('/'));
+
+            template.appendAddPartitionStatement(sb, partitionValues, S3_BUCKET_NAME, S3_KEY_PREFIX, path);
+        }
+        return sb.toString();
+    }
+}
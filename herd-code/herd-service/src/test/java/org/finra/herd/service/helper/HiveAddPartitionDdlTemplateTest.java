@@ -0,0 +1,75 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.service.helper;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import org.finra.herd.model.api.xml.SchemaColumn;
+import org.finra.herd.service.AbstractServiceTest;
+
+/**
+ * This class tests the functionality of the Hive "alter table add partition" statement template.
+ */
+public class HiveAddPartitionDdlTemplateTest extends AbstractServiceTest
+{
+    @Test
+    public void testAppendAddPartitionStatement()
+    {
+        HiveAddPartitionDdlTemplate template =
+            new HiveAddPartitionDdlTemplate(TABLE_NAME, "IF NOT EXISTS ", getPartitionColumns(Arrays.asList("COL1", "COL2")));
+
+        StringBuilder sb = new StringBuilder();
+        template.appendAddPartitionStatement(sb, Arrays.asList("2015-01-01", "A"), "bucket", "key/prefix", "/col2=A");
+        template.appendAddPartitionStatement(sb, Arrays.asList("2015-01-02", "B"), "bucket", "key/prefix", null);
+
+        assertEquals(String.format(
+            "ALTER TABLE `%s` ADD IF NOT EXISTS PARTITION (`COL1`='2015-01-01', `COL2`='A') LOCATION 's3n://bucket/key/prefix/col2=A';\n" +
+            "ALTER TABLE `%s` ADD IF NOT EXISTS PARTITION (`COL1`='2015-01-02', `COL2`='B') LOCATION 's3n://bucket/key/prefix';\n", TABLE_NAME, TABLE_NAME),
+            sb.toString());
+    }
+
+    @Test
+    public void testAppendAddPartitionStatementNoIfNotExistsOption()
+    {
+        HiveAddPartitionDdlTemplate template = new HiveAddPartitionDdlTemplate(TABLE_NAME, "", getPartitionColumns(Arrays.asList("COL1")));
+
+        StringBuilder sb = new StringBuilder();
+        template.appendAddPartitionStatement(sb, Arrays.asList("2015-01-01"), "bucket", "key/prefix", " ");
+
+        assertEquals(String.format("ALTER TABLE `%s` ADD PARTITION (`COL1`='2015-01-01') LOCATION 's3n://bucket/key/prefix';\n", TABLE_NAME),
+            sb.toString());
+    }
+
+    private List<SchemaColumn> getPartitionColumns(List<String> partitionColumnNames)
+    {
+        List<SchemaColumn> schemaColumns = new ArrayList<>();
+
+        for (String partitionColumnName : partitionColumnNames)
+        {
+            SchemaColumn schemaColumn = new SchemaColumn();
+            schemaColumns.add(schemaColumn);
+            schemaColumn.setName(partitionColumnName);
+        }
+
+        return schemaColumns;
+    }
+}
@@ -0,0 +1,137 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.service.helper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import org.finra.herd.model.api.xml.SchemaColumn;
+import org.finra.herd.service.AbstractServiceTest;
+
+/**
+ * This class tests the functionality of the Hive path splitter.
+ */
+public class HivePathSplitterTest extends AbstractServiceTest
+{
+    private static final List<String> RELATIVE_FILE_PATHS = Arrays.asList("/COLUMN1=111/COLUMN2=222/file.dat", // upper case column names
+        "/column1=aa/column2=bb/",                      // no file name
+        "/column1=a=b/column2=c/file.dat",              // "=" character in a partition value
+        "/column1=a/column2=b/extra-folder/file.dat",   // extra folder
+        "/column2=a/column1=b/file.dat",                // partition columns out of order
+        "/column1=a/file.dat",                          // missing partition sub-directory
+        "/column1=a/column2=/file.dat",                 // missing partition value
+        "/column1=a/column2/file.dat",                  // missing partition value
+        "/column1=a/a/column2=2/file.dat",              // slash in a partition value
+        "/column1=a/column2=2",                         // missing trailing '/' character
+        "column1=a/column2=2/file.dat",                 // missing leading '/' character
+        "/column1a/column2=2/file.dat",                 // missing '=' character
+        "/column_1=a/column2=2/file.dat",               // wrong partition column name
+        ""                                              // empty path
+    );
+
+    @Autowired
+    private Hive13DdlGenerator hive13DdlGenerator;
+
+    @Test
+    public void testSplit()
+    {
+        List<SchemaColumn> partitionColumns = getPartitionColumns(Arrays.asList("Column1", "column2"));
+        HivePathSplitter hivePathSplitter = new HivePathSplitter(partitionColumns, hive13DdlGenerator.getHivePathPattern(partitionColumns));
+        assertTrue(hivePathSplitter.isStandardLayout());
+
+        assertEquals(Arrays.asList("111", "222"), hivePathSplitter.split("/COLUMN1=111/COLUMN2=222/file.dat"));
+        assertEquals(Arrays.asList("aa", "bb"), hivePathSplitter.split("/column1=aa/column2=bb/"));
+        assertNull(hivePathSplitter.split("/column1=a/file.dat"));
+
+        // Validate that the splitter accepts exactly the same paths as the Hive path pattern.
+        validateSplitterMatchesPattern(hivePathSplitter, RELATIVE_FILE_PATHS);
+    }
+
+    @Test
+    public void testSplitHyphenatedPartitionColumnNames()
+    {
+        List<SchemaColumn> partitionColumns = getPartitionColumns(Arrays.asList("COLUMN_1", "COLUMN_2"));
+        HivePathSplitter hivePathSplitter = new HivePathSplitter(partitionColumns, hive13DdlGenerator.getHivePathPattern(partitionColumns));
+        assertTrue(hivePathSplitter.isStandardLayout());
+
+        assertEquals(Arrays.asList("a", "b"), hivePathSplitter.split("/column-1=a/COLUMN_2=b/file.dat"));
+        validateSplitterMatchesPattern(hivePathSplitter, Arrays.asList("/column-1=a/column-2=b/file.dat", "/column_1=a/column-2=b/", "/column1=a/column2=b/",
+            "/column-1=a/column_2=/file.dat"));
+    }
+
+    @Test
+    public void testSplitNoPartitionColumns()
+    {
+        List<SchemaColumn> partitionColumns = new ArrayList<>();
+        HivePathSplitter hivePathSplitter = new HivePathSplitter(partitionColumns, hive13DdlGenerator.getHivePathPattern(partitionColumns));
+
+        assertEquals(new ArrayList<String>(), hivePathSplitter.split("/file.dat"));
+        validateSplitterMatchesPattern(hivePathSplitter, Arrays.asList("/file.dat", "/", "/folder/file.dat", "file.dat"));
+    }
+
+    @Test
+    public void testSplitNonStandardPartitionColumnNames()
+    {
+        List<SchemaColumn> partitionColumns = getPartitionColumns(Arrays.asList("Column.1", "column2"));
+        HivePathSplitter hivePathSplitter = new HivePathSplitter(partitionColumns, hive13DdlGenerator.getHivePathPattern(partitionColumns));
+        assertFalse(hivePathSplitter.isStandardLayout());
+
+        assertEquals(Arrays.asList("a", "b"), hivePathSplitter.split("/column.1=a/column2=b/file.dat"));
+        validateSplitterMatchesPattern(hivePathSplitter, Arrays.asList("/column.1=a/column2=b/", "/column.1=a/file.dat"));
+    }
+
+    private void validateSplitterMatchesPattern(HivePathSplitter hivePathSplitter, List<String> relativeFilePaths)
+    {
+        for (String relativeFilePath : relativeFilePaths)
+        {
+            Matcher matcher = hivePathSplitter.getHivePathPattern().matcher(relativeFilePath);
+            List<String> expectedPartitionValues = null;
+            if (matcher.matches())
+            {
+                expectedPartitionValues = new ArrayList<>();
+                for (int i = 1; i <= matcher.groupCount(); i++)
+                {
+                    expectedPartitionValues.add(matcher.group(i));
+                }
+            }
+            assertEquals(relativeFilePath, expectedPartitionValues, hivePathSplitter.split(relativeFilePath));
+        }
+    }
+
+    private List<SchemaColumn> getPartitionColumns(List<String> partitionColumnNames)
+    {
+        List<SchemaColumn> schemaColumns = new ArrayList<>();
+
+        for (String partitionColumnName : partitionColumnNames)
+        {
+            SchemaColumn schemaColumn = new SchemaColumn();
+            schemaColumns.add(schemaColumn);
+            schemaColumn.setName(partitionColumnName);
+        }
+
+        return schemaColumns;
+    }
+}
@@ -0,0 +1,135 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.service.helper;
+
+import static org.junit.Assert.assertEquals;
+
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.List;
+
+import org.apache.log4j.Logger;
+import org.junit.Assume;
+import org.junit.Test;
+
+import org.finra.herd.dao.HerdDao;
+
+/**
+ * Benchmarks the partition filter matching done by the business object data availability check and the DDL generation. The benchmark compares removing the
+ * matched partition filters from a list, as done before the partition filter set got introduced, with removing them from a partition filter set. Both must
+ * leave the same unmatched partition filters in the same order.
+ * <p/>
+ * The benchmark is not part of the regular test run. It only runs when the "herd.benchmark" system property is set to "true", e.g. by running "mvn test
+ * -Dtest=PartitionFilterSetBenchmarkTest -Dherd.benchmark=true". It warms both ways up and then logs the best time of several rounds.
+ */
+public class PartitionFilterSetBenchmarkTest
+{
+    private static final Logger LOGGER = Logger.getLogger(PartitionFilterSetBenchmarkTest.class);
+
+    private static final String BENCHMARK_SYSTEM_PROPERTY_NAME = "herd.benchmark";
+
+    private static final int DAY_COUNT = 3000;
+
+    private static final int WARM_UP_ROUND_COUNT = 5;
+
+    private static final int MEASURED_ROUND_COUNT = 10;
+
+    private static final List<String> SUBPARTITION_VALUES = Arrays.asList("A", "B");
+
+    @Test
+    public void testRemoveMatchedPartitionFiltersBenchmark()
+    {
+        Assume.assumeTrue(Boolean.getBoolean(BENCHMARK_SYSTEM_PROPERTY_NAME));
+
+        // Build the partition filters of a date range along with the ones matched by every other day, as they would be built from the registered data.
+        List<List<String>> partitionFilters = new ArrayList<>();
+        List<List<String>> matchedPartitionFilters = new ArrayList<>();
+        SimpleDateFormat simpleDateFormat = new SimpleDateFormat(HerdDao.DEFAULT_SINGLE_DAY_DATE_MASK);
+        Calendar calendar = new GregorianCalendar(2000, Calendar.JANUARY, 1);
+        for (int day = 0; day < DAY_COUNT; day++)
+        {
+            String partitionValue = simpleDateFormat.format(calendar.getTime());
+            for (String subPartitionValue : SUBPARTITION_VALUES)
+            {
+                partitionFilters.add(Arrays.asList(partitionValue, subPartitionValue, null, null, null));
+                if (day % 2 == 0)
+                {
+                    matchedPartitionFilters.add(Arrays.asList(partitionValue, subPartitionValue, null, null, null));
+                }
+            }
+            calendar.add(Calendar.DATE, 1);
+        }
+
+        // Both ways must leave the same unmatched partition filters in the same order.
+        assertEquals(removeUsingList(partitionFilters, matchedPartitionFilters), removeUsingSet(partitionFilters, matchedPartitionFilters));
+
+        for (int round = 0; round < WARM_UP_ROUND_COUNT; round++)
+        {
+            removeUsingList(partitionFilters, matchedPartitionFilters);
+            removeUsingSet(partitionFilters, matchedPartitionFilters);
+        }
+
+        long minListElapsedTimeNanos = Long.MAX_VALUE;
+        long minSetElapsedTimeNanos = Long.MAX_VALUE;
+        for (int round = 0; round < MEASURED_ROUND_COUNT; round++)
+        {
+            long startTime = System.nanoTime();
+            removeUsingList(partitionFilters, matchedPartitionFilters);
+            minListElapsedTimeNanos = Math.min(minListElapsedTimeNanos, System.nanoTime() - startTime);
+
+            startTime = System.nanoTime();
+            removeUsingSet(partitionFilters, matchedPartitionFilters);
+            minSetElapsedTimeNanos = Math.min(minSetElapsedTimeNanos, System.nanoTime() - startTime);
+        }
+
+        LOGGER.info(String.format("Removing %d matched partition filters from %d partition filters took at best %d microseconds using a list and %d " +
+            "microseconds using a partition filter set.", matchedPartitionFilters.size(), partitionFilters.size(), minListElapsedTimeNanos / 1000,
+            minSetElapsedTimeNanos / 1000));
+    }
+
+    /**
+     * Removes the matched partition filters from a list, as done before the partition filter set got introduced.
+     *
+     * @param partitionFilters the partition filters
+     * @param matchedPartitionFilters the matched partition filters
+     *
+     * @return the unmatched partition filters
+     */
+    private List<List<String>> removeUsingList(List<List<String>> partitionFilters, List<List<String>> matchedPartitionFilters)
+    {
+        List<List<String>> unmatchedPartitionFilters = new ArrayList<>(partitionFilters);
+        unmatchedPartitionFilters.removeAll(matchedPartitionFilters);
+        return unmatchedPartitionFilters;
+    }
+
+    /**
+     * Removes the matched partition filters from a partition filter set.
+     *
+     * @param partitionFilters the partition filters
+     * @param matchedPartitionFilters the matched partition filters
+     *
+     * @return the unmatched partition filters
+     */
+    private List<List<String>> removeUsingSet(List<List<String>> partitionFilters, List<List<String>> matchedPartitionFilters)
+    {
+        PartitionFilterSet unmatchedPartitionFilters = new PartitionFilterSet(partitionFilters);
+        unmatchedPartitionFilters.removeAll(matchedPartitionFilters);
+        return unmatchedPartitionFilters.toList();
+    }
+}
@@ -0,0 +1,74 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.service.helper;
+
+import static org.junit.Assert.assertEquals;
+
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.List;
+
+import org.junit.Test;
+
+import org.finra.herd.dao.HerdDao;
+
+/**
+ * Tests that removing matched partition filters from a partition filter set gives the same result as removing them from a list, which is how the business
+ * object data availability check and the DDL generation matched partition filters before the partition filter set got introduced. This only holds for
+ * partition filters without duplicates, since the set collapses them.
+ */
+public class PartitionFilterSetListEquivalenceTest
+{
+    private static final int DAY_COUNT = 100;
+
+    private static final List<String> SUBPARTITION_VALUES = Arrays.asList("A", "B");
+
+    @Test
+    public void testRemoveMatchedPartitionFilters()
+    {
+        // Build the partition filters of a date range along with the ones matched by every other day, as they would be built from the registered data.
+        List<List<String>> partitionFilters = new ArrayList<>();
+        List<List<String>> matchedPartitionFilters = new ArrayList<>();
+        SimpleDateFormat simpleDateFormat = new SimpleDateFormat(HerdDao.DEFAULT_SINGLE_DAY_DATE_MASK);
+        Calendar calendar = new GregorianCalendar(2000, Calendar.JANUARY, 1);
+        for (int day = 0; day < DAY_COUNT; day++)
+        {
+            String partitionValue = simpleDateFormat.format(calendar.getTime());
+            for (String subPartitionValue : SUBPARTITION_VALUES)
+            {
+                partitionFilters.add(Arrays.asList(partitionValue, subPartitionValue, null, null, null));
+                if (day % 2 == 0)
+                {
+                    matchedPartitionFilters.add(Arrays.asList(partitionValue, subPartitionValue, null, null, null));
+                }
+            }
+            calendar.add(Calendar.DATE, 1);
+        }
+
+        List<List<String>> unmatchedPartitionFilterList = new ArrayList<>(partitionFilters);
+        unmatchedPartitionFilterList.removeAll(matchedPartitionFilters);
+
+        PartitionFilterSet unmatchedPartitionFilterSet = new PartitionFilterSet(partitionFilters);
+        unmatchedPartitionFilterSet.removeAll(matchedPartitionFilters);
+
+        // Both approaches must produce the same unmatched partition filters in the same order.
+        assertEquals(DAY_COUNT / 2 * SUBPARTITION_VALUES.size(), unmatchedPartitionFilterList.size());
+        assertEquals(unmatchedPartitionFilterList, unmatchedPartitionFilterSet.toList());
+    }
+}
@@ -0,0 +1,135 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.service.helper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import org.finra.herd.service.AbstractServiceTest;
+
+/**
+ * This class tests the functionality of the partition filter set.
+ */
+public class PartitionFilterSetTest extends AbstractServiceTest
+{
+    @Test
+    public void testAddContainsRemove()
+    {
+        List<String> partitionFilter1 = Arrays.asList(PARTITION_VALUE, null, SUBPARTITION_VALUES.get(1));
+        List<String> partitionFilter2 = Arrays.asList(PARTITION_VALUE_2, null, SUBPARTITION_VALUES.get(1));
+
+        PartitionFilterSet partitionFilterSet = new PartitionFilterSet(Arrays.asList(partitionFilter1, partitionFilter2));
+        assertEquals(2, partitionFilterSet.size());
+
+        // A matching partition filter does not get added twice.
+        assertFalse(partitionFilterSet.add(new ArrayList<>(partitionFilter1)));
+        assertEquals(2, partitionFilterSet.size());
+
+        // Partition filters are matched by value and null partition values only match nulls.
+        assertTrue(partitionFilterSet.contains(new ArrayList<>(partitionFilter2)));
+        assertFalse(partitionFilterSet.contains(Arrays.asList(PARTITION_VALUE, SUBPARTITION_VALUES.get(0), SUBPARTITION_VALUES.get(1))));
+
+        // Partition values are matched case-sensitively by default.
+        assertFalse(partitionFilterSet.contains(Arrays.asList(PARTITION_VALUE.toLowerCase(), null, SUBPARTITION_VALUES.get(1).toLowerCase())));
+
+        assertTrue(partitionFilterSet.remove(new ArrayList<>(partitionFilter1)));
+        assertFalse(partitionFilterSet.remove(partitionFilter1));
+        assertEquals(Arrays.asList(partitionFilter2), partitionFilterSet.toList());
+
+        partitionFilterSet.removeAll(Arrays.asList(partitionFilter2));
+        assertTrue(partitionFilterSet.isEmpty());
+    }
+
+    @Test
+    public void testInsertionOrder()
+    {
+        List<List<String>> partitionFilters = new ArrayList<>();
+        for (String partitionValue : UNSORTED_PARTITION_VALUES)
+        {
+            partitionFilters.add(Arrays.asList(partitionValue, null));
+        }
+
+        PartitionFilterSet partitionFilterSet = new PartitionFilterSet(partitionFilters);
+        partitionFilterSet.remove(partitionFilters.get(1));
+
+        List<List<String>> expectedPartitionFilters = new ArrayList<>(partitionFilters);
+        expectedPartitionFilters.remove(1);
+        assertEquals(expectedPartitionFilters, partitionFilterSet.toList());
+
+        List<List<String>> iteratedPartitionFilters = new ArrayList<>();
+        for (List<String> partitionFilter : partitionFilterSet)
+        {
+            iteratedPartitionFilters.add(partitionFilter);
+        }
+        assertEquals(expectedPartitionFilters, iteratedPartitionFilters);
+    }
+
+    @Test
+    public void testCaseInsensitive()
+    {
+        List<String> partitionFilter = Arrays.asList(PARTITION_VALUE.toUpperCase(), null);
+
+        PartitionFilterSet partitionFilterSet = new PartitionFilterSet(Arrays.asList(partitionFilter), true);
+
+        // The first added spelling of the partition filter is kept.
+        assertFalse(partitionFilterSet.add(Arrays.asList(PARTITION_VALUE.toLowerCase(), null)));
+        assertEquals(Arrays.asList(partitionFilter), partitionFilterSet.toList());
+
+        assertTrue(partitionFilterSet.contains(Arrays.asList(PARTITION_VALUE.toLowerCase(), null)));
+        assertTrue(partitionFilterSet.remove(Arrays.asList(PARTITION_VALUE.toLowerCase(), null)));
+        assertTrue(partitionFilterSet.isEmpty());
+    }
+
+    @Test
+    public void testDuplicatePartitionFilters()
+    {
+        List<String> partitionFilter1 = Arrays.asList(PARTITION_VALUE, null);
+        List<String> partitionFilter2 = Arrays.asList(PARTITION_VALUE_2, null);
+        List<List<String>> partitionFilters = Arrays.asList(partitionFilter1, partitionFilter2, partitionFilter1);
+
+        // A list keeps the duplicate of an unmatched partition filter.
+        List<List<String>> unmatchedPartitionFilterList = new ArrayList<>(partitionFilters);
+        unmatchedPartitionFilterList.removeAll(Arrays.asList(partitionFilter2));
+        assertEquals(Arrays.asList(partitionFilter1, partitionFilter1), unmatchedPartitionFilterList);
+
+        // The set collapses the duplicates into the first added partition filter.
+        PartitionFilterSet partitionFilterSet = new PartitionFilterSet(partitionFilters);
+        assertEquals(2, partitionFilterSet.size());
+        assertFalse(partitionFilterSet.add(Arrays.asList(PARTITION_VALUE, null)));
+        partitionFilterSet.removeAll(Arrays.asList(partitionFilter2));
+        assertEquals(Arrays.asList(partitionFilter1), partitionFilterSet.toList());
+    }
+
+    @Test
+    public void testPartitionFilterChangedAfterAdd()
+    {
+        List<String> partitionFilter = new ArrayList<>(Arrays.asList(PARTITION_VALUE, null));
+
+        PartitionFilterSet partitionFilterSet = new PartitionFilterSet();
+        partitionFilterSet.add(partitionFilter);
+
+        // Changing the added partition filter does not affect the lookups.
+        partitionFilter.set(1, "");
+        assertTrue(partitionFilterSet.contains(Arrays.asList(PARTITION_VALUE, null)));
+    }
+}
@@ -15,6 +15,9 @@
 */
 package org.finra.herd.service.impl;
 
+import java.io.IOException;
+import java.io.Writer;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Primary;
 import org.springframework.stereotype.Service;
@@ -88,6 +91,13 @@ public class TestBusinessObjectDataServiceImpl extends BusinessObjectDataService
         return generateBusinessObjectDataDdlImpl(request, false);
     }
 
+    // Overwrite the base class method to change transactional attributes.
+    @Override
+    public void generateBusinessObjectDataDdl(BusinessObjectDataDdlRequest request, Writer writer) throws IOException
+    {
+        generateBusinessObjectDataDdlImpl(request, false, writer);
+    }
+
     // Overwrite the base class method to change transactional attributes.
     @Override
     public BusinessObjectDataDdlCollectionResponse generateBusinessObjectDataDdlCollection(BusinessObjectDataDdlCollectionRequest request)
@@ -0,0 +1,53 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.service.impl;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import org.finra.herd.dao.config.DaoSpringModuleConfig;
+import org.finra.herd.model.jpa.JmsMessageEntity;
+
+/**
+ * An implementation of the helper service class for the JMS publishing service for testing.
+ */
+@Service
+@Transactional(value = DaoSpringModuleConfig.HERD_TRANSACTION_MANAGER_BEAN_NAME)
+@Primary
+public class TestJmsPublishingHelperServiceImpl extends JmsPublishingHelperServiceImpl
+{
+    /**
+     * Overwrites the base class method to change transactional attributes.
+     */
+    @Override
+    public List<JmsMessageEntity> claimJmsMessages(String claimant, int claimDurationSeconds, Collection<String> orderedJmsQueueNames, int maxMessages)
+    {
+        return claimJmsMessagesImpl(claimant, claimDurationSeconds, orderedJmsQueueNames, maxMessages);
+    }
+
+    /**
+     * Overwrites the base class method to change transactional attributes.
+     */
+    @Override
+    public void deleteJmsMessages(List<Integer> jmsMessageIds)
+    {
+        deleteJmsMessagesImpl(jmsMessageIds);
+    }
+}
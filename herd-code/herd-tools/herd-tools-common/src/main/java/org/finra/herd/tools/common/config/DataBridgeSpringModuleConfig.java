@@ -25,6 +25,8 @@ import org.finra.herd.dao.S3Dao;
 import org.finra.herd.dao.helper.AwsHelper;
 import org.finra.herd.dao.helper.HerdStringHelper;
 import org.finra.herd.dao.helper.JavaPropertiesHelper;
+import org.finra.herd.dao.helper.S3ClientRegistry;
+import org.finra.herd.dao.helper.S3TransferExecutor;
 import org.finra.herd.dao.impl.S3DaoImpl;
 import org.finra.herd.service.S3Service;
 import org.finra.herd.service.helper.HerdHelper;
@@ -91,4 +93,18 @@ public class DataBridgeSpringModuleConfig
     {
         return new JavaPropertiesHelper();
     }
+
+    // This dependency is required when S3Dao is used.
+    @Bean
+    public S3ClientRegistry s3ClientRegistry()
+    {
+        return new S3ClientRegistry();
+    }
+
+    // This dependency is required when S3ClientRegistry is used.
+    @Bean
+    public S3TransferExecutor s3TransferExecutor()
+    {
+        return new S3TransferExecutor();
+    }
 }
\ No newline at end of file
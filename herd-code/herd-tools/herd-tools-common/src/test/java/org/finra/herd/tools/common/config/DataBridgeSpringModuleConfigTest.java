@@ -0,0 +1,56 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.tools.common.config;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import org.finra.herd.core.AbstractCoreTest;
+import org.finra.herd.dao.S3Dao;
+import org.finra.herd.dao.helper.S3ClientRegistry;
+import org.finra.herd.dao.helper.S3TransferExecutor;
+
+/**
+ * Tests the Data Bridge Spring module configuration.
+ */
+@ContextConfiguration(classes = DataBridgeTestSpringModuleConfig.class, inheritLocations = false)
+public class DataBridgeSpringModuleConfigTest extends AbstractCoreTest
+{
+    @Autowired
+    private S3Dao s3Dao;
+
+    @Autowired
+    private S3ClientRegistry s3ClientRegistry;
+
+    @Autowired
+    private S3TransferExecutor s3TransferExecutor;
+
+    @Test
+    public void testS3DaoDependencies()
+    {
+        // Validate that the S3 DAO got wired with the S3 client registry defined in the context.
+        assertNotNull(s3Dao);
+        assertSame(s3ClientRegistry, ReflectionTestUtils.getField(s3Dao, "s3ClientRegistry"));
+
+        // Validate that the S3 client registry got wired with the S3 transfer executor defined in the context.
+        assertSame(s3TransferExecutor, ReflectionTestUtils.getField(s3ClientRegistry, "s3TransferExecutor"));
+    }
+}